@@ -16,12 +16,17 @@
 package org.flywaydb.commandline;
 
 import org.flywaydb.core.Flyway;
+import org.flywaydb.core.FlywayFleet;
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.fleet.FleetMigrationReport;
+import org.flywaydb.core.api.fleet.FleetMigrationResult;
+import org.flywaydb.core.api.fleet.FleetTarget;
 import org.flywaydb.core.internal.info.MigrationInfoDumper;
 import org.flywaydb.core.internal.util.ClassUtils;
 import org.flywaydb.core.internal.util.FileCopyUtils;
 import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.VersionPrinter;
+import org.flywaydb.core.internal.util.jdbc.DriverDataSource;
 import org.flywaydb.core.internal.util.logging.Log;
 import org.flywaydb.core.internal.util.logging.LogFactory;
 import org.flywaydb.core.internal.util.logging.console.ConsoleLog.Level;
@@ -50,6 +55,22 @@ public class Main {
      */
     private static final String PROPERTY_JAR_DIRS = "flyway.jarDirs";
 
+    /**
+     * The property name for the file listing the targets of a fleet migration.
+     */
+    private static final String PROPERTY_TARGETS_FILE = "flyway.targetsFile";
+
+    /**
+     * The property name for the maximum number of targets of a fleet migration to migrate at the same time.
+     */
+    private static final String PROPERTY_FLEET_THREADS = "flyway.fleetThreads";
+
+    /**
+     * The property name for the maximum number of targets of a fleet migration to migrate at the same time on a
+     * single cluster.
+     */
+    private static final String PROPERTY_CLUSTER_THREADS = "flyway.clusterThreads";
+
     /**
      * Initializes the logging.
      *
@@ -91,12 +112,21 @@ public class Main {
             loadJdbcDrivers();
             loadJavaMigrationsFromJarDirs(properties);
 
+            Properties fleetProperties = new Properties();
+            fleetProperties.putAll(properties);
+
             Flyway flyway = new Flyway();
+            // The operations run back-to-back in this short-lived process, so they can share the resolved migrations
+            flyway.setReuseResolvedMigrations(true);
             filterProperties(properties);
             flyway.configure(properties);
 
             for (String operation : operations) {
-                executeOperation(flyway, operation);
+                if (fleetProperties.containsKey(PROPERTY_TARGETS_FILE)) {
+                    executeFleetOperation(flyway, operation, fleetProperties);
+                } else {
+                    executeOperation(flyway, operation);
+                }
             }
         } catch (Exception e) {
             if (logLevel == Level.DEBUG) {
@@ -147,6 +177,106 @@ public class Main {
         }
     }
 
+    /**
+     * Executes this operation on all the targets listed in the targets file.
+     *
+     * @param flyway     The Flyway instance holding the configuration common to all targets.
+     * @param operation  The operation to execute.
+     * @param properties The configured properties.
+     */
+    private static void executeFleetOperation(Flyway flyway, String operation, Properties properties) {
+        if (!"migrate".equals(operation)) {
+            throw new FlywayException("Invalid operation for a targetsFile: " + operation + " (only migrate is supported)");
+        }
+
+        String targetsFile = properties.getProperty(PROPERTY_TARGETS_FILE);
+        String encoding = properties.getProperty("flyway.configFileEncoding", "UTF-8");
+        List<FleetTarget> targets = loadTargets(readFile(targetsFile, encoding), properties);
+
+        FlywayFleet fleet = new FlywayFleet(flyway);
+        String fleetThreads = properties.getProperty(PROPERTY_FLEET_THREADS);
+        if (fleetThreads != null) {
+            fleet.setThreads(Integer.parseInt(fleetThreads));
+        }
+        String clusterThreads = properties.getProperty(PROPERTY_CLUSTER_THREADS);
+        if (clusterThreads != null) {
+            fleet.setClusterThreads(Integer.parseInt(clusterThreads));
+        }
+
+        FleetMigrationReport report;
+        try {
+            report = fleet.migrate(targets);
+        } finally {
+            for (FleetTarget target : targets) {
+                ((DriverDataSource) target.getDataSource()).close();
+            }
+        }
+
+        for (FleetMigrationResult result : report.getResults()) {
+            LOG.info(StringUtils.trimOrPad(result.getTarget().getName(), 30) + " : "
+                    + (result.isSuccess()
+                    ? result.getMigrationsExecuted() + " migrations applied"
+                    : "FAILED (" + result.getException().getMessage() + ")"));
+        }
+        if (!report.isSuccess()) {
+            throw new FlywayException("Migration failed for " + report.getFailures().size() + " of "
+                    + report.getResults().size() + " targets");
+        }
+    }
+
+    /**
+     * Parses the contents of a targets file. Each non-blank line that is not a # comment describes one target as
+     * {@code <name> <cluster> <url> [<schema>,<schema>,...]}. All targets use the configured driver, user and password.
+     *
+     * @param contents   The contents of the targets file.
+     * @param properties The configured properties.
+     * @return The targets, in the order of the file.
+     * @throws FlywayException when a line could not be parsed.
+     */
+    /* private -> for testing */
+    static List<FleetTarget> loadTargets(String contents, Properties properties) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        String driver = properties.getProperty("flyway.driver");
+        String user = properties.getProperty("flyway.user");
+        String password = properties.getProperty("flyway.password");
+
+        List<FleetTarget> targets = new ArrayList<FleetTarget>();
+        String[] lines = contents.split("\\r?\\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.length() == 0 || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] fields = line.split("\\s+");
+            if ((fields.length < 3) || (fields.length > 4)) {
+                throw new FlywayException("Invalid target at line " + (i + 1)
+                        + " of the targets file (expected: <name> <cluster> <url> [<schemas>]): " + line);
+            }
+            String[] schemas = fields.length == 4 ? StringUtils.tokenizeToStringArray(fields[3], ",") : new String[0];
+            targets.add(new FleetTarget(fields[0], fields[1],
+                    new DriverDataSource(classLoader, driver, fields[2], user, password), schemas));
+        }
+        return targets;
+    }
+
+    /**
+     * Reads the contents of this file.
+     *
+     * @param file     The file to read.
+     * @param encoding The encoding of the file.
+     * @return The contents of the file.
+     * @throws FlywayException when the file could not be read.
+     */
+    private static String readFile(String file, String encoding) {
+        File targetsFile = new File(file);
+        try {
+            return FileCopyUtils.copyToString(new InputStreamReader(new FileInputStream(targetsFile), encoding));
+        } catch (IOException e) {
+            throw new FlywayException("Unable to read targets file: " + targetsFile.getAbsolutePath(), e);
+        }
+    }
+
     /**
      * Checks the desired log level.
      *
@@ -184,6 +314,9 @@ public class Main {
         properties.remove(PROPERTY_JAR_DIRS);
         properties.remove("flyway.configFile");
         properties.remove("flyway.configFileEncoding");
+        properties.remove(PROPERTY_TARGETS_FILE);
+        properties.remove(PROPERTY_FLEET_THREADS);
+        properties.remove(PROPERTY_CLUSTER_THREADS);
     }
 
     /**
@@ -236,6 +369,7 @@ public class Main {
         LOG.info("sqlMigrationSeparator        : File name separator for sql migrations");
         LOG.info("sqlMigrationSuffix           : File name suffix for sql migrations");
         LOG.info("encoding                     : Encoding of sql migrations");
+        LOG.info("resolverThreads              : Max number of threads for loading migrations");
         LOG.info("placeholderReplacement       : Whether placeholders should be replaced");
         LOG.info("placeholders                 : Placeholders to replace in sql migrations");
         LOG.info("placeholderPrefix            : Prefix of every placeholder");
@@ -254,6 +388,9 @@ public class Main {
         LOG.info("configFile                   : Config file to use (default: conf/flyway.properties)");
         LOG.info("configFileEncoding           : Encoding of the config file (default: UTF-8)");
         LOG.info("jarDirs                      : Dirs for Jdbc drivers & Java migrations (default: jars)");
+        LOG.info("targetsFile                  : File listing the targets to migrate as a fleet");
+        LOG.info("fleetThreads                 : Max number of targets to migrate at the same time");
+        LOG.info("clusterThreads               : Max number of targets to migrate at the same time per cluster");
         LOG.info("");
         LOG.info("Add -X to print debug output");
         LOG.info("Add -q to suppress all output, except for errors and warnings");
@@ -15,12 +15,16 @@
  */
 package org.flywaydb.commandline;
 
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.fleet.FleetTarget;
 import org.flywaydb.core.internal.util.logging.console.ConsoleLog.Level;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
 import java.util.Properties;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -60,4 +64,27 @@ public class MainSmallTest {
 
         assertEquals("SA", properties.getProperty("flyway.user"));
     }
+
+    @Test
+    public void loadTargets() {
+        String contents = "# tenants\n"
+                + "tenant1 cluster1 jdbc:h2:mem:tenant1 tenant1,shared\n"
+                + "\n"
+                + "  tenant2\tcluster2   jdbc:h2:mem:tenant2  \r\n";
+
+        List<FleetTarget> targets = Main.loadTargets(contents, new Properties());
+
+        assertEquals(2, targets.size());
+        assertEquals("tenant1", targets.get(0).getName());
+        assertEquals("cluster1", targets.get(0).getCluster());
+        assertArrayEquals(new String[]{"tenant1", "shared"}, targets.get(0).getSchemas());
+        assertEquals("tenant2", targets.get(1).getName());
+        assertEquals("cluster2", targets.get(1).getCluster());
+        assertEquals(0, targets.get(1).getSchemas().length);
+    }
+
+    @Test(expected = FlywayException.class)
+    public void loadTargetsInvalidLine() {
+        Main.loadTargets("tenant1 jdbc:h2:mem:tenant1\n", new Properties());
+    }
 }
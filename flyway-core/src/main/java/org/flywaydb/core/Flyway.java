@@ -29,6 +29,7 @@ import org.flywaydb.core.internal.command.DbClean;
 import org.flywaydb.core.internal.command.DbMigrate;
 import org.flywaydb.core.internal.command.DbRepair;
 import org.flywaydb.core.internal.command.DbSchemas;
+import org.flywaydb.core.internal.command.DbSnapshot;
 import org.flywaydb.core.internal.command.DbValidate;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
 import org.flywaydb.core.internal.dbsupport.DbSupportFactory;
@@ -37,8 +38,11 @@ import org.flywaydb.core.internal.info.MigrationInfoServiceImpl;
 import org.flywaydb.core.internal.metadatatable.MetaDataTable;
 import org.flywaydb.core.internal.metadatatable.MetaDataTableImpl;
 import org.flywaydb.core.internal.resolver.CompositeMigrationResolver;
+import org.flywaydb.core.internal.resolver.FleetTargetMigrationResolver;
+import org.flywaydb.core.internal.resolver.sql.SqlMigrationBundle;
 import org.flywaydb.core.internal.util.ClassUtils;
 import org.flywaydb.core.internal.util.ConfigurationInjectionUtils;
+import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.Locations;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
 import org.flywaydb.core.internal.util.StringUtils;
@@ -49,8 +53,11 @@ import org.flywaydb.core.internal.util.jdbc.TransactionTemplate;
 import org.flywaydb.core.internal.util.logging.Log;
 import org.flywaydb.core.internal.util.logging.LogFactory;
 import org.flywaydb.core.internal.util.scanner.Scanner;
+import org.flywaydb.core.internal.util.scanner.classpath.ClassNameIndex;
 
 import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -309,6 +316,73 @@ public class Flyway implements SQLFlywayConfiguration {
      */
     private boolean allowMixedMigrations;
 
+    /**
+     * Whether migrate should plan all pending migrations once under a single lock of the metadata table and then
+     * apply them in order, instead of re-acquiring the lock and re-reading the metadata table before every migration.
+     * (default: {@code false})
+     */
+    private boolean plannedMigrate;
+
+    /**
+     * Whether migrate should switch embedded databases to settings favouring speed over durability while applying
+     * pending migrations. (default: false)
+     */
+    private boolean bulkMigrate;
+
+    /**
+     * The directory in which reset stores snapshots of migrated schemas. (default: flyway-snapshots in the system
+     * temporary directory)
+     */
+    private String snapshotDir;
+
+    /**
+     * The maximum number of consecutive INSERT, UPDATE, DELETE and MERGE statements of a sql migration to send to the
+     * database in a single JDBC batch. Values lower than 2 disable batching. (default: 0)
+     */
+    private int batchSize;
+
+    /**
+     * The file in which the checksums of sql migrations are cached between runs, keyed by the size and the last
+     * modification time (or jar entry crc) of each script. {@code null} disables the cache. (default: {@code null})
+     */
+    private String checksumCacheFile;
+
+    /**
+     * The maximum number of threads to use for scanning filesystem locations, loading migrations and calculating their
+     * checksums. Values lower than 2 resolve all migrations on the calling thread. (default: 1)
+     */
+    private int resolverThreads = 1;
+
+    /**
+     * The maximum number of schemas to clean at the same time, each on its own connection. Values lower than 2 clean
+     * all schemas on a single connection. (default: 1)
+     */
+    private int cleanThreads = 1;
+
+    /**
+     * The migration resolvers shared by the targets of a fleet migration, keyed by database name. {@code null} if this
+     * instance resolves its own migrations.
+     */
+    private Map<String, MigrationResolver> sharedMigrationResolvers;
+
+    /**
+     * The target-neutral configuration of the fleet, injected in the shared migration resolvers and their migrations.
+     * {@code null} if this instance resolves its own migrations.
+     */
+    private Flyway fleetConfiguration;
+
+    /**
+     * Whether the migrations and sql callbacks resolved by a command are reused by the following commands of this
+     * instance, as long as the configuration they were resolved with does not change. (default: {@code false})
+     */
+    private boolean reuseResolvedMigrations;
+
+    /**
+     * The scanner, migration resolver and sql callbacks of the last command. Only reused by the following commands
+     * when {@link #reuseResolvedMigrations} is enabled. {@code null} before the first command.
+     */
+    private Session session;
+
     /**
      * Creates a new instance of Flyway. This is your starting point.
      */
@@ -316,6 +390,66 @@ public class Flyway implements SQLFlywayConfiguration {
         // Do nothing
     }
 
+    /**
+     * Creates a new instance of Flyway with the configuration of this one, pointing at a different database target.
+     *
+     * @param configuration            The Flyway instance whose configuration to copy.
+     * @param dataSource               The DataSource of the target.
+     * @param schemaNames              The schemas managed by Flyway in the target.
+     * @param sharedMigrationResolvers The migration resolvers shared with the other targets, keyed by database name.
+     */
+    /* private -> for FlywayFleet */
+    Flyway(Flyway configuration, DataSource dataSource, String[] schemaNames,
+           Map<String, MigrationResolver> sharedMigrationResolvers) {
+        this.locations = configuration.locations;
+        this.encoding = configuration.encoding;
+        this.schemaNames = schemaNames;
+        this.table = configuration.table;
+        this.target = configuration.target;
+        this.placeholderReplacement = configuration.placeholderReplacement;
+        this.placeholders = configuration.placeholders;
+        this.placeholderPrefix = configuration.placeholderPrefix;
+        this.placeholderSuffix = configuration.placeholderSuffix;
+        this.sqlMigrationPrefix = configuration.sqlMigrationPrefix;
+        this.repeatableSqlMigrationPrefix = configuration.repeatableSqlMigrationPrefix;
+        this.sqlMigrationSeparator = configuration.sqlMigrationSeparator;
+        this.sqlMigrationSuffix = configuration.sqlMigrationSuffix;
+        this.ignoreFutureMigrations = configuration.ignoreFutureMigrations;
+        this.ignoreFailedFutureMigration = configuration.ignoreFailedFutureMigration;
+        this.validateOnMigrate = configuration.validateOnMigrate;
+        this.cleanOnValidationError = configuration.cleanOnValidationError;
+        this.cleanDisabled = configuration.cleanDisabled;
+        this.baselineVersion = configuration.baselineVersion;
+        this.baselineDescription = configuration.baselineDescription;
+        this.baselineOnMigrate = configuration.baselineOnMigrate;
+        this.outOfOrder = configuration.outOfOrder;
+        // The sql callbacks of the configuration are bound to its own database, the target resolves its own
+        List<FlywayCallback> flywayCallbacks = new ArrayList<FlywayCallback>();
+        for (FlywayCallback callback : configuration.callbacks) {
+            if (!(callback instanceof SqlScriptFlywayCallback)) {
+                flywayCallbacks.add(callback);
+            }
+        }
+        this.callbacks = flywayCallbacks.toArray(new FlywayCallback[flywayCallbacks.size()]);
+        this.sqlCallbacks = configuration.sqlCallbacks.clone();
+        this.skipDefaultCallbacks = configuration.skipDefaultCallbacks;
+        this.resolvers = configuration.resolvers;
+        this.skipDefaultResolvers = configuration.skipDefaultResolvers;
+        this.dataSource = dataSource;
+        this.classLoader = configuration.classLoader;
+        this.allowMixedMigrations = configuration.allowMixedMigrations;
+        this.plannedMigrate = configuration.plannedMigrate;
+        this.bulkMigrate = configuration.bulkMigrate;
+        this.snapshotDir = configuration.snapshotDir;
+        this.batchSize = configuration.batchSize;
+        this.checksumCacheFile = configuration.checksumCacheFile;
+        this.resolverThreads = configuration.resolverThreads;
+        this.cleanThreads = configuration.cleanThreads;
+        this.reuseResolvedMigrations = configuration.reuseResolvedMigrations;
+        this.sharedMigrationResolvers = sharedMigrationResolvers;
+        this.fleetConfiguration = configuration;
+    }
+
     @Override
     public String[] getLocations() {
         String[] result = new String[locations.getLocations().size()];
@@ -479,6 +613,143 @@ public class Flyway implements SQLFlywayConfiguration {
         this.allowMixedMigrations = allowMixedMigrations;
     }
 
+    @Override
+    public boolean isPlannedMigrate() {
+        return plannedMigrate;
+    }
+
+    /**
+     * Whether migrate should plan all pending migrations once under a single lock of the metadata table and then
+     * apply them in order, instead of re-acquiring the lock and re-reading the metadata table before every migration.
+     * <p>Each migration still runs in its own transaction. This is recommended for large numbers of pending migrations.</p>
+     *
+     * @param plannedMigrate {@code true} if migrate should use a single plan, {@code false} if not. (default: {@code false})
+     */
+    public void setPlannedMigrate(boolean plannedMigrate) {
+        this.plannedMigrate = plannedMigrate;
+    }
+
+    @Override
+    public boolean isBulkMigrate() {
+        return bulkMigrate;
+    }
+
+    /**
+     * Whether migrate should switch embedded databases (SQLite, H2 and HSQLDB) to settings favouring speed over
+     * durability while applying pending migrations, such as disabling the transaction log or journal fsyncs. The
+     * original settings are restored and a checkpoint is forced once the migrations have been applied.
+     * <p>Only use this for databases that can be rebuilt from scratch if the process crashes midway, like databases
+     * built at packaging time. Other databases are not affected.</p>
+     *
+     * @param bulkMigrate {@code true} if migrate should use the bulk settings, {@code false} if not. (default: {@code false})
+     */
+    public void setBulkMigrate(boolean bulkMigrate) {
+        this.bulkMigrate = bulkMigrate;
+    }
+
+    @Override
+    public String getSnapshotDir() {
+        return snapshotDir;
+    }
+
+    /**
+     * Sets the directory in which reset stores snapshots of migrated schemas. Snapshots are keyed by the resolved
+     * migrations, so a directory can safely be shared between builds and projects.
+     *
+     * @param snapshotDir The snapshot directory. {@code null} for flyway-snapshots in the system temporary directory.
+     *                    (default: {@code null})
+     */
+    public void setSnapshotDir(String snapshotDir) {
+        this.snapshotDir = snapshotDir;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of consecutive INSERT, UPDATE, DELETE and MERGE statements of a sql migration to send to
+     * the database in a single JDBC batch. Batches are flushed before any other statement is executed. This greatly
+     * reduces the number of round-trips for migrations loading large amounts of data.
+     *
+     * @param batchSize The maximum number of statements per batch. Values lower than 2 disable batching. (default: 0)
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public String getChecksumCacheFile() {
+        return checksumCacheFile;
+    }
+
+    /**
+     * Sets the file in which the checksums of sql migrations are cached between runs. Each entry is keyed by the size
+     * and the last modification time (or jar entry crc) of its script, so only scripts that changed since the last run
+     * have to be read again. A missing, stale or corrupt cache file simply causes all scripts to be read.
+     *
+     * @param checksumCacheFile The path of the cache file. {@code null} disables the cache. (default: {@code null})
+     */
+    public void setChecksumCacheFile(String checksumCacheFile) {
+        this.checksumCacheFile = checksumCacheFile;
+    }
+
+    @Override
+    public int getResolverThreads() {
+        return resolverThreads;
+    }
+
+    /**
+     * Sets the maximum number of threads to use for scanning filesystem locations, loading migrations and calculating
+     * their checksums. This speeds up resolving large numbers of migrations, especially on network filesystems. The resulting migrations are always sorted the same way, regardless of
+     * the number of threads.
+     *
+     * @param resolverThreads The maximum number of threads. Values lower than 2 resolve all migrations on the calling
+     *                        thread. (default: 1)
+     */
+    public void setResolverThreads(int resolverThreads) {
+        this.resolverThreads = resolverThreads;
+    }
+
+    /**
+     * @return Whether the migrations and sql callbacks resolved by a command are reused by the following commands of
+     * this instance. (default: {@code false})
+     */
+    public boolean isReuseResolvedMigrations() {
+        return reuseResolvedMigrations;
+    }
+
+    /**
+     * Sets whether the migrations and sql callbacks resolved by a command are reused by the following commands of this
+     * instance, as long as the configuration they were resolved with does not change. Commands executed back-to-back
+     * then neither scan the locations nor read the scripts again. Only enable this for short-lived instances, as
+     * migrations added, modified or removed on disk in between are not picked up.
+     *
+     * @param reuseResolvedMigrations {@code true} to reuse the resolved migrations, {@code false} to resolve them
+     *                                again for every command. (default: {@code false})
+     */
+    public void setReuseResolvedMigrations(boolean reuseResolvedMigrations) {
+        this.reuseResolvedMigrations = reuseResolvedMigrations;
+    }
+
+    @Override
+    public int getCleanThreads() {
+        return cleanThreads;
+    }
+
+    /**
+     * Sets the maximum number of schemas to clean at the same time, each on its own connection from the DataSource.
+     * This speeds up cleaning many schemas, but must only be used for schemas without dependencies between them.
+     * Databases where cleaning schemas concurrently is unsafe always clean them one by one.
+     *
+     * @param cleanThreads The maximum number of schemas to clean at the same time. Values lower than 2 clean all
+     *                     schemas on a single connection. (default: 1)
+     */
+    public void setCleanThreads(int cleanThreads) {
+        this.cleanThreads = cleanThreads;
+    }
+
     /**
      * Whether to ignore future migrations when reading the metadata table. These are migrations that were performed by a
      * newer deployment of the application that are not yet available in this version. For example: we have migrations
@@ -1012,7 +1283,8 @@ public class Flyway implements SQLFlywayConfiguration {
 
         if (validationError != null) {
             if (cleanOnValidationError) {
-                new DbClean(connectionMetaDataTable, dbSupport, metaDataTable, schemas, flywayCallbacks, cleanDisabled).clean();
+                new DbClean(connectionMetaDataTable, dbSupport, metaDataTable, schemas, flywayCallbacks, cleanDisabled,
+                        dataSource, cleanThreads).clean();
             } else {
                 throw new FlywayException("Validate failed: " + validationError);
             }
@@ -1031,10 +1303,113 @@ public class Flyway implements SQLFlywayConfiguration {
             public Void execute(Connection connectionMetaDataTable,
                                 MigrationResolver migrationResolver, MetaDataTable metaDataTable, DbSupport dbSupport, Schema[] schemas,
                                 FlywayCallback[] flywayCallbacks) {
-                new DbClean(connectionMetaDataTable, dbSupport, metaDataTable, schemas, flywayCallbacks, cleanDisabled).clean();
+                new DbClean(connectionMetaDataTable, dbSupport, metaDataTable, schemas, flywayCallbacks, cleanDisabled,
+                        dataSource, cleanThreads).clean();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * <p>Resets the configured schemas to their fully migrated state, as a faster alternative to clean followed by
+     * migrate for test databases.</p>
+     * <p>If a snapshot of the current set of resolved migrations exists, the schemas are cleaned and the snapshot is
+     * restored. Otherwise the schemas are cleaned and migrated, and a snapshot is taken for the next reset. Snapshots are
+     * currently supported for H2 and for SQLite with a single schema. Other databases are always cleaned and migrated.</p>
+     *
+     * @return The number of successfully applied migrations. {@code 0} if the schemas were restored from a snapshot.
+     * @throws FlywayException when the reset fails.
+     */
+    public int reset() throws FlywayException {
+        boolean restored = execute(new Command<Boolean>() {
+            public Boolean execute(Connection connectionMetaDataTable,
+                                   MigrationResolver migrationResolver, MetaDataTable metaDataTable, DbSupport dbSupport, Schema[] schemas,
+                                   FlywayCallback[] flywayCallbacks) {
+                DbSnapshot dbSnapshot = createDbSnapshot(migrationResolver, dbSupport, schemas, flywayCallbacks);
+                if (!dbSnapshot.exists()) {
+                    return false;
+                }
+
+                new DbClean(connectionMetaDataTable, dbSupport, metaDataTable, schemas, flywayCallbacks, cleanDisabled,
+                        dataSource, cleanThreads).clean();
+                dbSnapshot.restore();
+                metaDataTable.clearCache();
+                return true;
+            }
+        });
+        if (restored) {
+            return 0;
+        }
+
+        clean();
+        int migrationsApplied = migrate();
+        execute(new Command<Void>() {
+            public Void execute(Connection connectionMetaDataTable,
+                                MigrationResolver migrationResolver, MetaDataTable metaDataTable, DbSupport dbSupport, Schema[] schemas,
+                                FlywayCallback[] flywayCallbacks) {
+                createDbSnapshot(migrationResolver, dbSupport, schemas, flywayCallbacks).create();
                 return null;
             }
         });
+        return migrationsApplied;
+    }
+
+    /**
+     * Creates the snapshot handler for the configured snapshot directory.
+     *
+     * @param migrationResolver The migration resolver.
+     * @param dbSupport         The database-specific support.
+     * @param schemas           The schemas managed by Flyway.
+     * @param flywayCallbacks   The callbacks in use.
+     * @return The snapshot handler.
+     */
+    private DbSnapshot createDbSnapshot(MigrationResolver migrationResolver, DbSupport dbSupport, Schema[] schemas,
+                                        FlywayCallback[] flywayCallbacks) {
+        File dir = snapshotDir == null
+                ? new File(System.getProperty("java.io.tmpdir"), "flyway-snapshots")
+                : new File(snapshotDir);
+        return new DbSnapshot(dbSupport, migrationResolver, schemas, flywayCallbacks, this, dir);
+    }
+
+    /**
+     * <p>Precompiles the migrations of the configured classpath locations for faster startup. This is meant to be run at
+     * build time, once the migrations have been compiled and copied to the output directory, and does not require a
+     * database.</p>
+     * <p>For each location a {@link SqlMigrationBundle} with the version, description and checksum of its sql migrations
+     * and a {@link ClassNameIndex} of its classes are written to the location in the output directory. At runtime the
+     * location is then resolved from these files instead of being scanned, unless the naming convention or encoding
+     * has changed since. When no classpath location is configured, {@code db/migration} is bundled.</p>
+     *
+     * @param outputDirectory The root of the compiled classes and resources, such as target/classes.
+     * @return The number of sql migrations bundled.
+     * @throws FlywayException when the bundles could not be written.
+     */
+    public int bundle(File outputDirectory) throws FlywayException {
+        List<Location> classPathLocations = new ArrayList<Location>();
+        for (Location location : locations.getLocations()) {
+            if (location.isClassPath()) {
+                classPathLocations.add(location);
+            }
+        }
+        if (classPathLocations.isEmpty()) {
+            classPathLocations.add(new Location("db/migration"));
+        }
+
+        int migrations = 0;
+        for (Location location : classPathLocations) {
+            try {
+                int bundled = SqlMigrationBundle.write(outputDirectory, location, this);
+                if (bundled < 0) {
+                    LOG.warn("Unable to bundle location " + location + ": not found in " + outputDirectory.getAbsolutePath());
+                    continue;
+                }
+                migrations += bundled;
+                ClassNameIndex.generate(outputDirectory, location);
+            } catch (IOException e) {
+                throw new FlywayException("Unable to bundle location " + location + " in " + outputDirectory.getAbsolutePath(), e);
+            }
+        }
+        return migrations;
     }
 
     /**
@@ -1135,6 +1510,71 @@ public class Flyway implements SQLFlywayConfiguration {
         return new CompositeMigrationResolver(dbSupport, scanner, this, locations, createPlaceholderReplacer(), resolvers);
     }
 
+    /**
+     * Retrieves the migration resolver shared with the other targets of a fleet migration for this type of database,
+     * creating it and resolving its migrations if this is the first target of this type. It is created with the
+     * configuration of the fleet rather than the one of this target, as it is shared by all targets.
+     *
+     * @param dbSupport The database-specific support.
+     * @param scanner   The Scanner for resolving migrations.
+     * @return The shared MigrationResolver, with its migrations already resolved.
+     */
+    private MigrationResolver getSharedMigrationResolver(DbSupport dbSupport, Scanner scanner) {
+        synchronized (sharedMigrationResolvers) {
+            MigrationResolver migrationResolver = sharedMigrationResolvers.get(dbSupport.getDbName());
+            if (migrationResolver == null) {
+                migrationResolver = fleetConfiguration.createMigrationResolver(dbSupport, scanner);
+                migrationResolver.resolveMigrations();
+                sharedMigrationResolvers.put(dbSupport.getDbName(), migrationResolver);
+            }
+            return migrationResolver;
+        }
+    }
+
+    /**
+     * Retrieves the session for the current command. When resolved migrations are reused, the session of the previous
+     * command is returned as long as the configuration did not change since, so commands executed back-to-back neither
+     * scan the locations nor read the scripts again. Otherwise a new session is created.
+     *
+     * @param dbSupport The database-specific support.
+     * @return The session.
+     */
+    private Session getSession(DbSupport dbSupport) {
+        List<Object> key = getSessionKey(dbSupport);
+        if (reuseResolvedMigrations && (session != null) && session.key.equals(key)) {
+            return session;
+        }
+
+        if ((session != null) && (session.sqlScriptFlywayCallback != null)) {
+            List<FlywayCallback> flywayCallbacks = new ArrayList<FlywayCallback>(Arrays.asList(callbacks));
+            flywayCallbacks.remove(session.sqlScriptFlywayCallback);
+            callbacks = flywayCallbacks.toArray(new FlywayCallback[flywayCallbacks.size()]);
+        }
+
+        Scanner scanner = new Scanner(classLoader, resolverThreads);
+        MigrationResolver migrationResolver = sharedMigrationResolvers == null
+                ? createMigrationResolver(dbSupport, scanner)
+                : new FleetTargetMigrationResolver(getSharedMigrationResolver(dbSupport, scanner), this);
+        SqlScriptFlywayCallback sqlScriptFlywayCallback = skipDefaultCallbacks
+                ? null
+                : new SqlScriptFlywayCallback(dbSupport, scanner, locations, createPlaceholderReplacer(), this);
+        session = new Session(key, migrationResolver, sqlScriptFlywayCallback);
+        return session;
+    }
+
+    /**
+     * @param dbSupport The database-specific support.
+     * @return The settings the migrations and sql callbacks are resolved with. A session can only be reused while these
+     * are unchanged.
+     */
+    private List<Object> getSessionKey(DbSupport dbSupport) {
+        return Arrays.asList(dbSupport.getClass(), classLoader, resolverThreads, locations.getLocations(), encoding,
+                sqlMigrationPrefix, repeatableSqlMigrationPrefix, sqlMigrationSeparator, sqlMigrationSuffix,
+                placeholderReplacement, new HashMap<String, String>(placeholders), placeholderPrefix, placeholderSuffix,
+                Arrays.asList(resolvers), skipDefaultResolvers, skipDefaultCallbacks, checksumCacheFile,
+                allowMixedMigrations, batchSize);
+    }
+
     /**
      * @return A new, fully configured, PlaceholderReplacer.
      */
@@ -1308,6 +1748,46 @@ public class Flyway implements SQLFlywayConfiguration {
             setAllowMixedMigrations(Boolean.parseBoolean(allowMixedMigrationsProp));
         }
 
+        String plannedMigrateProp = getValueAndRemoveEntry(props, "flyway.plannedMigrate");
+        if (plannedMigrateProp != null) {
+            setPlannedMigrate(Boolean.parseBoolean(plannedMigrateProp));
+        }
+
+        String bulkMigrateProp = getValueAndRemoveEntry(props, "flyway.bulkMigrate");
+        if (bulkMigrateProp != null) {
+            setBulkMigrate(Boolean.parseBoolean(bulkMigrateProp));
+        }
+
+        String snapshotDirProp = getValueAndRemoveEntry(props, "flyway.snapshotDir");
+        if (snapshotDirProp != null) {
+            setSnapshotDir(snapshotDirProp);
+        }
+
+        String batchSizeProp = getValueAndRemoveEntry(props, "flyway.batchSize");
+        if (batchSizeProp != null) {
+            setBatchSize(Integer.parseInt(batchSizeProp));
+        }
+
+        String checksumCacheFileProp = getValueAndRemoveEntry(props, "flyway.checksumCacheFile");
+        if (checksumCacheFileProp != null) {
+            setChecksumCacheFile(checksumCacheFileProp);
+        }
+
+        String resolverThreadsProp = getValueAndRemoveEntry(props, "flyway.resolverThreads");
+        if (resolverThreadsProp != null) {
+            setResolverThreads(Integer.parseInt(resolverThreadsProp));
+        }
+
+        String cleanThreadsProp = getValueAndRemoveEntry(props, "flyway.cleanThreads");
+        if (cleanThreadsProp != null) {
+            setCleanThreads(Integer.parseInt(cleanThreadsProp));
+        }
+
+        String reuseResolvedMigrationsProp = getValueAndRemoveEntry(props, "flyway.reuseResolvedMigrations");
+        if (reuseResolvedMigrationsProp != null) {
+            setReuseResolvedMigrations(Boolean.parseBoolean(reuseResolvedMigrationsProp));
+        }
+
         for (String key : props.keySet()) {
             if (key.startsWith("flyway.")) {
                 LOG.warn("Unknown configuration property: " + key);
@@ -1349,7 +1829,8 @@ public class Flyway implements SQLFlywayConfiguration {
 
             connectionMetaDataTable = JdbcUtils.openConnection(dataSource);
 
-            DbSupport dbSupport = DbSupportFactory.createDbSupport(connectionMetaDataTable, !dbConnectionInfoPrinted);
+            DbSupport dbSupport =
+                    DbSupportFactory.createDbSupport(dataSource, connectionMetaDataTable, !dbConnectionInfoPrinted);
             dbConnectionInfoPrinted = true;
             LOG.debug("DDL Transactions Supported: " + dbSupport.supportsDdlTransactions());
 
@@ -1373,13 +1854,12 @@ public class Flyway implements SQLFlywayConfiguration {
                 schemas[i] = dbSupport.getSchema(schemaNames[i]);
             }
 
-            Scanner scanner = new Scanner(classLoader);
-            MigrationResolver migrationResolver = createMigrationResolver(dbSupport, scanner);
+            Session currentSession = getSession(dbSupport);
+            MigrationResolver migrationResolver = currentSession.migrationResolver;
 
             if (!skipDefaultCallbacks) {
                 Set<FlywayCallback> flywayCallbacks = new LinkedHashSet<FlywayCallback>(Arrays.asList(callbacks));
-                flywayCallbacks.add(
-                        new SqlScriptFlywayCallback(dbSupport, scanner, locations, createPlaceholderReplacer(), this));
+                flywayCallbacks.add(currentSession.sqlScriptFlywayCallback);
                 callbacks = flywayCallbacks.toArray(new FlywayCallback[flywayCallbacks.size()]);
             }
 
@@ -1422,4 +1902,37 @@ public class Flyway implements SQLFlywayConfiguration {
          */
         T execute(Connection connectionMetaDataTable, MigrationResolver migrationResolver, MetaDataTable metaDataTable, DbSupport dbSupport, Schema[] schemas, FlywayCallback[] flywayCallbacks);
     }
+
+    /**
+     * The scanner, migration resolver and sql callbacks reused by consecutive commands.
+     */
+    private static class Session {
+        /**
+         * The settings the migrations and sql callbacks were resolved with.
+         */
+        private final List<Object> key;
+
+        /**
+         * The migration resolver, caching the resolved migrations.
+         */
+        private final MigrationResolver migrationResolver;
+
+        /**
+         * The sql callbacks. {@code null} if the default callbacks are skipped.
+         */
+        private final SqlScriptFlywayCallback sqlScriptFlywayCallback;
+
+        /**
+         * Creates a new session.
+         *
+         * @param key                     The settings the migrations and sql callbacks were resolved with.
+         * @param migrationResolver       The migration resolver, caching the resolved migrations.
+         * @param sqlScriptFlywayCallback The sql callbacks. {@code null} if the default callbacks are skipped.
+         */
+        Session(List<Object> key, MigrationResolver migrationResolver, SqlScriptFlywayCallback sqlScriptFlywayCallback) {
+            this.key = key;
+            this.migrationResolver = migrationResolver;
+            this.sqlScriptFlywayCallback = sqlScriptFlywayCallback;
+        }
+    }
 }
@@ -0,0 +1,244 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.fleet.FleetMigrationReport;
+import org.flywaydb.core.api.fleet.FleetMigrationResult;
+import org.flywaydb.core.api.fleet.FleetTarget;
+import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.internal.util.ParallelUtils;
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Migrates a fleet of database targets with a common Flyway configuration. Migrations are resolved once per type of
+ * database and shared by all targets, which are then migrated concurrently on a bounded number of threads. The number
+ * of targets migrated at the same time on a single cluster can be limited as well.
+ * <p>Callbacks and custom resolvers configured on the Flyway instance are shared by all targets and must therefore be
+ * thread-safe when more than one thread is used.</p>
+ */
+public class FlywayFleet {
+    private static final Log LOG = LogFactory.getLog(FlywayFleet.class);
+
+    /**
+     * The Flyway instance holding the configuration common to all targets. Its DataSource and schemas are ignored.
+     */
+    private final Flyway configuration;
+
+    /**
+     * The maximum number of targets to migrate at the same time. (default: 1)
+     */
+    private int threads = 1;
+
+    /**
+     * The maximum number of targets to migrate at the same time on a single cluster. Values lower than 1 disable the
+     * limit. (default: 0)
+     */
+    private int clusterThreads;
+
+    /**
+     * Creates a new fleet migration.
+     *
+     * @param configuration The Flyway instance holding the configuration common to all targets. Its DataSource and
+     *                      schemas are ignored.
+     */
+    public FlywayFleet(Flyway configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * @return The maximum number of targets to migrate at the same time. (default: 1)
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the maximum number of targets to migrate at the same time.
+     *
+     * @param threads The maximum number of targets to migrate at the same time. (default: 1)
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * @return The maximum number of targets to migrate at the same time on a single cluster. Values lower than 1
+     * disable the limit. (default: 0)
+     */
+    public int getClusterThreads() {
+        return clusterThreads;
+    }
+
+    /**
+     * Sets the maximum number of targets to migrate at the same time on a single cluster.
+     *
+     * @param clusterThreads The maximum number of targets to migrate at the same time on a single cluster. Values lower
+     *                       than 1 disable the limit. (default: 0)
+     */
+    public void setClusterThreads(int clusterThreads) {
+        this.clusterThreads = clusterThreads;
+    }
+
+    /**
+     * Migrates all these targets. The failure of a target does not prevent the others from being migrated.
+     *
+     * @param targets The targets to migrate.
+     * @return The report with the result of every target, in the order of the targets.
+     */
+    public FleetMigrationReport migrate(List<FleetTarget> targets) {
+        Map<String, MigrationResolver> sharedMigrationResolvers = new HashMap<String, MigrationResolver>();
+        Map<String, Semaphore> clusterPermits = new HashMap<String, Semaphore>();
+        FleetMigrationResult[] results = new FleetMigrationResult[targets.size()];
+
+        List<FleetMigrationTask> tasks = new ArrayList<FleetMigrationTask>(targets.size());
+        for (List<Integer> positions : interleaveClusters(targets)) {
+            for (int position : positions) {
+                FleetTarget target = targets.get(position);
+                Semaphore permits = null;
+                if (clusterThreads > 0) {
+                    permits = clusterPermits.get(target.getCluster());
+                    if (permits == null) {
+                        permits = new Semaphore(clusterThreads);
+                        clusterPermits.put(target.getCluster(), permits);
+                    }
+                }
+                tasks.add(new FleetMigrationTask(target, position, results, permits, sharedMigrationResolvers));
+            }
+        }
+
+        ParallelUtils.invokeAll(tasks, threads, "flyway-fleet");
+
+        FleetMigrationReport report = new FleetMigrationReport(Arrays.asList(results));
+        LOG.info("Migrated " + (targets.size() - report.getFailures().size()) + " of " + targets.size()
+                + " targets (" + report.getMigrationsExecuted() + " migrations applied)");
+        return report;
+    }
+
+    /**
+     * Orders the positions of these targets so that consecutive tasks hit different clusters, preventing the worker
+     * threads from all waiting on the limit of the same cluster.
+     *
+     * @param targets The targets.
+     * @return The positions of the targets, in rounds of at most one target per cluster.
+     */
+    private List<List<Integer>> interleaveClusters(List<FleetTarget> targets) {
+        Map<String, List<Integer>> positionsByCluster = new LinkedHashMap<String, List<Integer>>();
+        for (int i = 0; i < targets.size(); i++) {
+            String cluster = targets.get(i).getCluster();
+            List<Integer> positions = positionsByCluster.get(cluster);
+            if (positions == null) {
+                positions = new ArrayList<Integer>();
+                positionsByCluster.put(cluster, positions);
+            }
+            positions.add(i);
+        }
+
+        List<List<Integer>> rounds = new ArrayList<List<Integer>>();
+        for (List<Integer> positions : positionsByCluster.values()) {
+            for (int i = 0; i < positions.size(); i++) {
+                if (rounds.size() == i) {
+                    rounds.add(new ArrayList<Integer>());
+                }
+                rounds.get(i).add(positions.get(i));
+            }
+        }
+        return rounds;
+    }
+
+    /**
+     * Migrates a single target of the fleet and records its result.
+     */
+    private class FleetMigrationTask implements Callable<Void> {
+        /**
+         * The target to migrate.
+         */
+        private final FleetTarget target;
+
+        /**
+         * The position of the target in the fleet.
+         */
+        private final int position;
+
+        /**
+         * The results of the fleet, indexed by position.
+         */
+        private final FleetMigrationResult[] results;
+
+        /**
+         * The permits of the cluster of the target. {@code null} if unlimited.
+         */
+        private final Semaphore permits;
+
+        /**
+         * The migration resolvers shared by the targets, keyed by database name.
+         */
+        private final Map<String, MigrationResolver> sharedMigrationResolvers;
+
+        /**
+         * Creates a new task.
+         *
+         * @param target                   The target to migrate.
+         * @param position                 The position of the target in the fleet.
+         * @param results                  The results of the fleet, indexed by position.
+         * @param permits                  The permits of the cluster of the target. {@code null} if unlimited.
+         * @param sharedMigrationResolvers The migration resolvers shared by the targets, keyed by database name.
+         */
+        FleetMigrationTask(FleetTarget target, int position, FleetMigrationResult[] results, Semaphore permits,
+                           Map<String, MigrationResolver> sharedMigrationResolvers) {
+            this.target = target;
+            this.position = position;
+            this.results = results;
+            this.permits = permits;
+            this.sharedMigrationResolvers = sharedMigrationResolvers;
+        }
+
+        @Override
+        public Void call() throws InterruptedException {
+            if (permits != null) {
+                permits.acquire();
+            }
+            long start = System.currentTimeMillis();
+            try {
+                Flyway flyway = new Flyway(configuration, target.getDataSource(), target.getSchemas(),
+                        sharedMigrationResolvers);
+                int migrationsExecuted = flyway.migrate();
+                results[position] = new FleetMigrationResult(target, migrationsExecuted, null,
+                        System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                FlywayException exception = e instanceof FlywayException
+                        ? (FlywayException) e : new FlywayException(e.getMessage(), e);
+                LOG.error("Migration of " + target + " failed: " + exception.getMessage());
+                results[position] = new FleetMigrationResult(target, 0, exception, System.currentTimeMillis() - start);
+            } finally {
+                if (permits != null) {
+                    permits.release();
+                }
+            }
+            return null;
+        }
+    }
+}
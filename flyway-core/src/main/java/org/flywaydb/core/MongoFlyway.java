@@ -247,6 +247,12 @@ public class MongoFlyway implements MongoFlywayConfiguration {
 	 */
 	private boolean allowMixedMigrations;
 
+	/**
+	 * The maximum number of threads to use for scanning filesystem locations, loading migrations and calculating
+	 * their checksums. Values lower than 2 resolve all migrations on the calling thread. (default: 1)
+	 */
+	private int resolverThreads = 1;
+
 	/**
 	 * Creates a new instance of MongoFlyway. This is your starting point.
 	 */
@@ -417,6 +423,11 @@ public class MongoFlyway implements MongoFlywayConfiguration {
         return allowMixedMigrations;
     }
 
+	@Override
+	public int getResolverThreads() {
+		return resolverThreads;
+	}
+
 
 	/**
 	 * Whether to ignore future migrations when reading the metadata table. These are migrations
@@ -470,6 +481,17 @@ public class MongoFlyway implements MongoFlywayConfiguration {
 		this.cleanDisabled = cleanDisabled;
 	}
 
+	/**
+	 * Sets the maximum number of threads to use for scanning filesystem locations, loading migrations and calculating
+	 * their checksums. The resulting migrations are always sorted the same way, regardless of the number of threads.
+	 *
+	 * @param resolverThreads The maximum number of threads. Values lower than 2 resolve all migrations on the
+	 *                        calling thread. (default: 1)
+	 */
+	public void setResolverThreads(int resolverThreads) {
+		this.resolverThreads = resolverThreads;
+	}
+
 	/**
 	 * Sets the locations to scan recursively for migrations.
 	 * <p/>
@@ -1021,6 +1043,10 @@ public class MongoFlyway implements MongoFlywayConfiguration {
 		if (skipDefaultCallbacksProp != null) {
 			setSkipDefaultCallbacks(Boolean.parseBoolean(skipDefaultCallbacksProp));
 		}
+		String resolverThreadsProp = props.remove("flyway.mongo.resolverThreads");
+		if (resolverThreadsProp != null) {
+			setResolverThreads(Integer.parseInt(resolverThreadsProp));
+		}
 
 		for (String key : props.keySet()) {
 			if (key.startsWith("flyway.mongo.")) {
@@ -1060,7 +1086,7 @@ public class MongoFlyway implements MongoFlywayConfiguration {
 				throw new FlywayException("Unable to connect to the database. Configure the Mongo URI!");
 			}
 
-			Scanner scanner = new Scanner(classLoader);
+			Scanner scanner = new Scanner(classLoader, resolverThreads);
 			MigrationResolver migrationResolver = createMigrationResolver(scanner);
 			Set<MongoFlywayCallback> flywayCallbacks = new LinkedHashSet<MongoFlywayCallback>(Arrays.asList(callbacks));
 			if (!skipDefaultCallbacks) {
@@ -18,6 +18,8 @@ package org.flywaydb.core.api;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 /**
@@ -41,15 +43,39 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
      */
     public static final MigrationVersion CURRENT = new MigrationVersion(BigInteger.valueOf(-2), "<< Current Version >>");
 
+    /**
+     * The maximum number of parsed versions to keep interned.
+     */
+    private static final int MAX_INTERNED_VERSIONS = 10000;
+
+    /**
+     * The versions parsed so far, keyed by version string. Versions are immutable and the same strings get parsed over
+     * and over (once for every row of the metadata table and every resolved migration), so they can be shared.
+     */
+    private static final ConcurrentMap<String, MigrationVersion> INTERNED_VERSIONS =
+            new ConcurrentHashMap<String, MigrationVersion>();
+
     /**
      * Compiled pattern for matching proper version format
      */
     private static Pattern splitPattern = Pattern.compile("\\.(?=\\d)");
 
     /**
-     * The individual parts this version string is composed of. Ex. 1.2.3.4.0 -> [1, 2, 3, 4, 0]
+     * The individual parts this version string is composed of. Ex. 1.2.3.4.0 -> [1, 2, 3, 4]
+     * {@code null} if any of them doesn't fit in a long, in which case {@link #bigVersionParts} is used instead.
      */
-    private final List<BigInteger> versionParts;
+    private final long[] versionParts;
+
+    /**
+     * The individual parts this version string is composed of, for versions whose parts don't all fit in a long.
+     * {@code null} otherwise.
+     */
+    private final BigInteger[] bigVersionParts;
+
+    /**
+     * The hash code of this version, computed once upfront.
+     */
+    private final int hashCode;
 
     /**
      * The printable text to represent the version.
@@ -68,7 +94,15 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
         if ("current".equalsIgnoreCase(version)) return CURRENT;
         if (LATEST.getVersion().equals(version)) return LATEST;
         if (version == null) return EMPTY;
-        return new MigrationVersion(version);
+
+        MigrationVersion migrationVersion = INTERNED_VERSIONS.get(version);
+        if (migrationVersion == null) {
+            migrationVersion = new MigrationVersion(version);
+            if (INTERNED_VERSIONS.size() < MAX_INTERNED_VERSIONS) {
+                INTERNED_VERSIONS.putIfAbsent(version, migrationVersion);
+            }
+        }
+        return migrationVersion;
     }
 
     /**
@@ -79,7 +113,18 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
      */
     private MigrationVersion(String version) {
         String normalizedVersion = version.replace('_', '.');
-        this.versionParts = tokenize(normalizedVersion);
+        long[] parts = parse(normalizedVersion);
+        BigInteger[] bigParts = null;
+        if (parts == null) {
+            List<BigInteger> numbers = tokenize(normalizedVersion);
+            parts = toLongs(numbers);
+            if (parts == null) {
+                bigParts = numbers.toArray(new BigInteger[numbers.size()]);
+            }
+        }
+        this.versionParts = parts;
+        this.bigVersionParts = bigParts;
+        this.hashCode = computeHashCode();
         this.displayText = normalizedVersion;
     }
 
@@ -91,8 +136,13 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
      * @param displayText The alternative text to display instead of the version number.
      */
     private MigrationVersion(BigInteger version, String displayText) {
-        this.versionParts = new ArrayList<BigInteger>();
-        this.versionParts.add(version);
+        if (version == null) {
+            this.versionParts = new long[0];
+        } else {
+            this.versionParts = new long[]{version.longValue()};
+        }
+        this.bigVersionParts = null;
+        this.hashCode = computeHashCode();
         this.displayText = displayText;
     }
 
@@ -125,7 +175,26 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
 
     @Override
     public int hashCode() {
-        return versionParts == null ? 0 : versionParts.hashCode();
+        return hashCode;
+    }
+
+    /**
+     * Computes the hash code of the parts of this version.
+     *
+     * @return The hash code.
+     */
+    private int computeHashCode() {
+        int result = 1;
+        if (versionParts != null) {
+            for (long part : versionParts) {
+                result = 31 * result + (int) (part ^ (part >>> 32));
+            }
+        } else {
+            for (BigInteger part : bigVersionParts) {
+                result = 31 * result + part.hashCode();
+            }
+        }
+        return result;
     }
 
     @SuppressWarnings("NullableProblems")
@@ -157,11 +226,25 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
         if (o == LATEST) {
             return Integer.MIN_VALUE;
         }
-        final List<BigInteger> elements1 = versionParts;
-        final List<BigInteger> elements2 = o.versionParts;
-        int largestNumberOfElements = Math.max(elements1.size(), elements2.size());
+
+        if (versionParts != null && o.versionParts != null) {
+            final long[] elements1 = versionParts;
+            final long[] elements2 = o.versionParts;
+            int largestNumberOfElements = Math.max(elements1.length, elements2.length);
+            for (int i = 0; i < largestNumberOfElements; i++) {
+                long element1 = i < elements1.length ? elements1[i] : 0;
+                long element2 = i < elements2.length ? elements2[i] : 0;
+                if (element1 != element2) {
+                    return element1 < element2 ? -1 : 1;
+                }
+            }
+            return 0;
+        }
+
+        // At least one of the versions has parts too large for a long
+        int largestNumberOfElements = Math.max(size(), o.size());
         for (int i = 0; i < largestNumberOfElements; i++) {
-            final int compared = getOrZero(elements1, i).compareTo(getOrZero(elements2, i));
+            final int compared = getOrZero(i).compareTo(o.getOrZero(i));
             if (compared != 0) {
                 return compared;
             }
@@ -169,17 +252,106 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
         return 0;
     }
 
-    private BigInteger getOrZero(List<BigInteger> elements, int i) {
-        return i < elements.size() ? elements.get(i) : BigInteger.ZERO;
+    /**
+     * @return The number of parts of this version.
+     */
+    private int size() {
+        return versionParts != null ? versionParts.length : bigVersionParts.length;
+    }
+
+    private BigInteger getOrZero(int i) {
+        if (i >= size()) {
+            return BigInteger.ZERO;
+        }
+        return versionParts != null ? BigInteger.valueOf(versionParts[i]) : bigVersionParts[i];
+    }
+
+    /**
+     * Parses this string into its parts, with trailing zero parts removed. Only handles the common case of parts made
+     * of ASCII digits that fit in a long.
+     *
+     * @param str The string to parse.
+     * @return The parts or {@code null} if this string can only be handled by {@link #tokenize(String)}.
+     */
+    private static long[] parse(String str) {
+        int length = str.length();
+        if (length == 0) {
+            return null;
+        }
+
+        int numberOfParts = 1;
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if (c == '.') {
+                if (i == 0 || i + 1 == length || !isDigit(str.charAt(i + 1))) {
+                    return null;
+                }
+                numberOfParts++;
+            } else if (!isDigit(c)) {
+                return null;
+            }
+        }
+
+        long[] parts = new long[numberOfParts];
+        int part = 0;
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if (c == '.') {
+                parts[part++] = value;
+                value = 0;
+            } else {
+                int digit = c - '0';
+                if (value > (Long.MAX_VALUE - digit) / 10) {
+                    // Too large for a long
+                    return null;
+                }
+                value = value * 10 + digit;
+            }
+        }
+        parts[part] = value;
+
+        int size = parts.length;
+        while (size > 1 && parts[size - 1] == 0) {
+            size--;
+        }
+        if (size == parts.length) {
+            return parts;
+        }
+        long[] trimmed = new long[size];
+        System.arraycopy(parts, 0, trimmed, 0, size);
+        return trimmed;
+    }
+
+    /**
+     * Converts these parts to longs.
+     *
+     * @param numbers The parts to convert.
+     * @return The converted parts or {@code null} if any of them doesn't fit in a long.
+     */
+    private static long[] toLongs(List<BigInteger> numbers) {
+        long[] parts = new long[numbers.size()];
+        for (int i = 0; i < parts.length; i++) {
+            BigInteger number = numbers.get(i);
+            if (number.bitLength() > 63) {
+                return null;
+            }
+            parts[i] = number.longValue();
+        }
+        return parts;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 
     /**
-     * Splits this string into list of Long
+     * Splits this string into list of BigInteger
      *
      * @param str The string to split.
      * @return The resulting array.
      */
-    private List<BigInteger> tokenize(String str) {
+    private static List<BigInteger> tokenize(String str) {
         List<BigInteger> numbers = new ArrayList<BigInteger>();
         for (String number : splitPattern.split(str)) {
             try {
@@ -178,4 +178,13 @@ public interface FlywayConfiguration {
      * @return {@code true} if mixed migrations should be allowed. {@code false} if an error should be thrown instead. (default: {@code false})
      */
     boolean isAllowMixedMigrations();
+
+    /**
+     * The maximum number of threads to use for scanning filesystem locations, loading migrations and calculating their
+     * checksums. The resulting migrations are always sorted the same way, regardless of the number of threads.
+     *
+     * @return The maximum number of threads. Values lower than 2 resolve all migrations on the calling thread.
+     * (default: {@code 1})
+     */
+    int getResolverThreads();
 }
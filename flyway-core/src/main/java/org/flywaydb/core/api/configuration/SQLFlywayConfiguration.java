@@ -133,4 +133,60 @@ public interface SQLFlywayConfiguration extends FlywayConfiguration {
 	 */
 	String[] getSchemas();
 
+	/**
+	 * Whether migrate should plan all pending migrations once under a single lock of the metadata table and then
+	 * apply them in order, instead of re-acquiring the lock and re-reading the metadata table before every migration.
+	 * <p>Each migration still runs in its own transaction. This is recommended for large numbers of pending migrations.</p>
+	 *
+	 * @return {@code true} if migrate should use a single plan, {@code false} if not. (default: {@code false})
+	 */
+	boolean isPlannedMigrate();
+
+	/**
+	 * Whether migrate should switch embedded databases (SQLite, H2 and HSQLDB) to settings favouring speed over
+	 * durability while applying pending migrations, such as disabling the transaction log or journal fsyncs. The
+	 * original settings are restored and a checkpoint is forced once the migrations have been applied. Only use this
+	 * for databases that can be rebuilt from scratch if the process crashes midway, like databases built at packaging
+	 * time. Other databases are not affected.
+	 *
+	 * @return {@code true} if migrate should use the bulk settings, {@code false} if not. (default: {@code false})
+	 */
+	boolean isBulkMigrate();
+
+	/**
+	 * The directory in which reset stores snapshots of migrated schemas. Snapshots are keyed by the resolved
+	 * migrations, so a directory can safely be shared between builds and projects.
+	 *
+	 * @return The snapshot directory. {@code null} for flyway-snapshots in the system temporary directory.
+	 * (default: {@code null})
+	 */
+	String getSnapshotDir();
+
+	/**
+	 * The maximum number of consecutive INSERT, UPDATE, DELETE and MERGE statements of a sql migration to send to the
+	 * database in a single JDBC batch. Batches are flushed before any other statement is executed.
+	 * Values lower than 2 disable batching.
+	 *
+	 * @return The maximum number of statements per batch. (default: {@code 0})
+	 */
+	int getBatchSize();
+
+	/**
+	 * The file in which the checksums of sql migrations are cached between runs. Each entry is keyed by the size and
+	 * the last modification time (or jar entry crc) of its script, so only scripts that changed since the last run
+	 * have to be read again. A missing, stale or corrupt cache file simply causes all scripts to be read.
+	 *
+	 * @return The path of the cache file. {@code null} if the cache is disabled. (default: {@code null})
+	 */
+	String getChecksumCacheFile();
+
+	/**
+	 * The maximum number of schemas to clean at the same time, each on its own connection from the DataSource.
+	 * Only use this for schemas without dependencies between them. Databases where cleaning schemas concurrently is
+	 * unsafe always clean them one by one. Values lower than 2 clean all schemas on a single connection.
+	 *
+	 * @return The maximum number of schemas to clean at the same time. (default: {@code 1})
+	 */
+	int getCleanThreads();
+
 }
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.fleet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The aggregated outcome of migrating a fleet of targets.
+ */
+public class FleetMigrationReport {
+    /**
+     * The results per target, in the order of the targets.
+     */
+    private final List<FleetMigrationResult> results;
+
+    /**
+     * Creates a new fleet migration report.
+     *
+     * @param results The results per target, in the order of the targets.
+     */
+    public FleetMigrationReport(List<FleetMigrationResult> results) {
+        this.results = Collections.unmodifiableList(results);
+    }
+
+    /**
+     * @return The results per target, in the order of the targets.
+     */
+    public List<FleetMigrationResult> getResults() {
+        return results;
+    }
+
+    /**
+     * @return The results of the targets that failed to migrate. An empty list if none.
+     */
+    public List<FleetMigrationResult> getFailures() {
+        List<FleetMigrationResult> failures = new ArrayList<FleetMigrationResult>();
+        for (FleetMigrationResult result : results) {
+            if (!result.isSuccess()) {
+                failures.add(result);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * @return The total number of successfully applied migrations across all targets.
+     */
+    public int getMigrationsExecuted() {
+        int migrationsExecuted = 0;
+        for (FleetMigrationResult result : results) {
+            migrationsExecuted += result.getMigrationsExecuted();
+        }
+        return migrationsExecuted;
+    }
+
+    /**
+     * @return {@code true} if all targets were migrated successfully, {@code false} if not.
+     */
+    public boolean isSuccess() {
+        return getFailures().isEmpty();
+    }
+}
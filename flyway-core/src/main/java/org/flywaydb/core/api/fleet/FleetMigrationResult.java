@@ -0,0 +1,93 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.fleet;
+
+import org.flywaydb.core.api.FlywayException;
+
+/**
+ * The outcome of migrating a single target of a fleet.
+ */
+public class FleetMigrationResult {
+    /**
+     * The target that was migrated.
+     */
+    private final FleetTarget target;
+
+    /**
+     * The number of successfully applied migrations.
+     */
+    private final int migrationsExecuted;
+
+    /**
+     * The exception that made the migration of this target fail. {@code null} if it succeeded.
+     */
+    private final FlywayException exception;
+
+    /**
+     * The time it took to migrate this target, in milliseconds.
+     */
+    private final long executionTime;
+
+    /**
+     * Creates a new fleet migration result.
+     *
+     * @param target             The target that was migrated.
+     * @param migrationsExecuted The number of successfully applied migrations.
+     * @param exception          The exception that made the migration fail. {@code null} if it succeeded.
+     * @param executionTime      The time it took to migrate this target, in milliseconds.
+     */
+    public FleetMigrationResult(FleetTarget target, int migrationsExecuted, FlywayException exception, long executionTime) {
+        this.target = target;
+        this.migrationsExecuted = migrationsExecuted;
+        this.exception = exception;
+        this.executionTime = executionTime;
+    }
+
+    /**
+     * @return The target that was migrated.
+     */
+    public FleetTarget getTarget() {
+        return target;
+    }
+
+    /**
+     * @return The number of successfully applied migrations.
+     */
+    public int getMigrationsExecuted() {
+        return migrationsExecuted;
+    }
+
+    /**
+     * @return The exception that made the migration of this target fail. {@code null} if it succeeded.
+     */
+    public FlywayException getException() {
+        return exception;
+    }
+
+    /**
+     * @return The time it took to migrate this target, in milliseconds.
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * @return {@code true} if this target was migrated successfully, {@code false} if not.
+     */
+    public boolean isSuccess() {
+        return exception == null;
+    }
+}
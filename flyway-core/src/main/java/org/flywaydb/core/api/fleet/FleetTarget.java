@@ -0,0 +1,91 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.fleet;
+
+import javax.sql.DataSource;
+
+/**
+ * A database target of a fleet migration: a DataSource together with the schemas Flyway manages in it.
+ */
+public class FleetTarget {
+    /**
+     * The name of this target, used for logging and reporting.
+     */
+    private final String name;
+
+    /**
+     * The cluster this target lives on. Targets on the same cluster share its concurrency limit.
+     */
+    private final String cluster;
+
+    /**
+     * The DataSource to connect to this target.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * The schemas managed by Flyway in this target. An empty array for the default schema of the connection.
+     */
+    private final String[] schemas;
+
+    /**
+     * Creates a new fleet target.
+     *
+     * @param name       The name of this target, used for logging and reporting.
+     * @param cluster    The cluster this target lives on. Targets on the same cluster share its concurrency limit.
+     * @param dataSource The DataSource to connect to this target.
+     * @param schemas    The schemas managed by Flyway in this target. None for the default schema of the connection.
+     */
+    public FleetTarget(String name, String cluster, DataSource dataSource, String... schemas) {
+        this.name = name;
+        this.cluster = cluster;
+        this.dataSource = dataSource;
+        this.schemas = schemas;
+    }
+
+    /**
+     * @return The name of this target, used for logging and reporting.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The cluster this target lives on.
+     */
+    public String getCluster() {
+        return cluster;
+    }
+
+    /**
+     * @return The DataSource to connect to this target.
+     */
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * @return The schemas managed by Flyway in this target. An empty array for the default schema of the connection.
+     */
+    public String[] getSchemas() {
+        return schemas;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
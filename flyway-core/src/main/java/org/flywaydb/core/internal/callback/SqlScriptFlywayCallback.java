@@ -22,6 +22,8 @@ import org.flywaydb.core.api.configuration.SQLFlywayConfiguration;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
 import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.internal.dbsupport.SqlScript;
+import org.flywaydb.core.internal.resolver.ChecksumCalculator;
+import org.flywaydb.core.internal.resolver.sql.SqlMigrationBundle;
 import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.Locations;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
@@ -29,12 +31,14 @@ import org.flywaydb.core.internal.util.logging.Log;
 import org.flywaydb.core.internal.util.logging.LogFactory;
 import org.flywaydb.core.internal.util.scanner.Resource;
 import org.flywaydb.core.internal.util.scanner.Scanner;
+import org.flywaydb.core.internal.util.scanner.classpath.ClassPathResource;
 
 import java.sql.Connection;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Flyway Callback, looking for SQL scripts (named like on the callback methods) inside the configured locations.
@@ -83,6 +87,16 @@ public class SqlScriptFlywayCallback implements FlywayCallback {
 
         LOG.debug("Scanning for SQL callbacks ...");
         for (Location location : locations.getLocations()) {
+            SqlMigrationBundle bundle = location.isClassPath()
+                    ? SqlMigrationBundle.load(scanner.getClassLoader(), location, configuration) : null;
+            if (bundle != null) {
+                for (SqlMigrationBundle.Entry entry : bundle.getCallbacks()) {
+                    addScript(new ClassPathResource(entry.getResourcePath(), scanner.getClassLoader()),
+                            dbSupport, placeholderReplacer, configuration);
+                }
+                continue;
+            }
+
             Resource[] resources;
             try {
                 resources = scanner.scanForResources(location, "", configuration.getSqlMigrationSuffix());
@@ -91,19 +105,49 @@ public class SqlScriptFlywayCallback implements FlywayCallback {
                 continue;
             }
             for (Resource resource : resources) {
-                String key = resource.getFilename().replace(configuration.getSqlMigrationSuffix(), "");
-                if (scripts.keySet().contains(key)) {
-                    SqlScript existing = scripts.get(key);
-                    if (existing != null) {
-                        throw new FlywayException("Found more than 1 SQL callback script for " + key + "!\n" +
-                                "Offenders:\n" +
-                                "-> " + existing.getResource().getLocationOnDisk() + "\n" +
-                                "-> " + resource.getLocationOnDisk());
-                    }
-                    scripts.put(key, new SqlScript(dbSupport, resource, placeholderReplacer, configuration.getEncoding(), configuration.isAllowMixedMigrations()));
-                }
+                addScript(resource, dbSupport, placeholderReplacer, configuration);
+            }
+        }
+    }
+
+    /**
+     * Registers this resource as callback script if it is named like one.
+     *
+     * @param resource            The resource to check.
+     * @param dbSupport           The database-specific support.
+     * @param placeholderReplacer The placeholder replacer to apply to sql migration scripts.
+     * @param configuration       The Flyway configuration.
+     * @throws FlywayException when there is already a script registered for this callback.
+     */
+    private void addScript(Resource resource, DbSupport dbSupport, PlaceholderReplacer placeholderReplacer,
+                           SQLFlywayConfiguration configuration) {
+        String key = resource.getFilename().replace(configuration.getSqlMigrationSuffix(), "");
+        if (scripts.keySet().contains(key)) {
+            SqlScript existing = scripts.get(key);
+            if (existing != null) {
+                throw new FlywayException("Found more than 1 SQL callback script for " + key + "!\n" +
+                        "Offenders:\n" +
+                        "-> " + existing.getResource().getLocationOnDisk() + "\n" +
+                        "-> " + resource.getLocationOnDisk());
+            }
+            scripts.put(key, new SqlScript(dbSupport, resource, placeholderReplacer, configuration.getEncoding(), configuration.isAllowMixedMigrations(), configuration.getBatchSize()));
+        }
+    }
+
+    /**
+     * Calculates the checksums of the callback scripts that were found.
+     *
+     * @param encoding The encoding of the scripts.
+     * @return The checksums, keyed and sorted by callback name.
+     */
+    public Map<String, Integer> calculateChecksums(String encoding) {
+        Map<String, Integer> checksums = new TreeMap<String, Integer>();
+        for (Map.Entry<String, SqlScript> script : scripts.entrySet()) {
+            if (script.getValue() != null) {
+                checksums.put(script.getKey(), ChecksumCalculator.calculate(script.getValue().getResource(), encoding));
             }
         }
+        return checksums;
     }
 
     @Override
@@ -18,16 +18,22 @@ package org.flywaydb.core.internal.command;
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.callback.FlywayCallback;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
+import org.flywaydb.core.internal.dbsupport.DbSupportFactory;
 import org.flywaydb.core.internal.dbsupport.Schema;
 import org.flywaydb.core.internal.metadatatable.MetaDataTable;
+import org.flywaydb.core.internal.util.ParallelUtils;
 import org.flywaydb.core.internal.util.StopWatch;
 import org.flywaydb.core.internal.util.TimeFormat;
+import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
 import org.flywaydb.core.internal.util.jdbc.TransactionTemplate;
 import org.flywaydb.core.internal.util.logging.Log;
 import org.flywaydb.core.internal.util.logging.LogFactory;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 /**
@@ -69,6 +75,16 @@ public class DbClean implements Clean {
      */
     private final DbSupport dbSupport;
 
+    /**
+     * The DataSource to open additional connections from when cleaning schemas in parallel.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * The maximum number of schemas to clean at the same time. Values lower than 2 clean all schemas on the connection.
+     */
+    private final int cleanThreads;
+
     /**
      * Creates a new database cleaner.
      *
@@ -78,15 +94,20 @@ public class DbClean implements Clean {
      * @param schemas       The schemas to clean.
      * @param callbacks     The list of callbacks that fire before or after the clean task is executed.
      * @param cleanDisabled Whether to disable clean.
+     * @param dataSource    The DataSource to open additional connections from when cleaning schemas in parallel.
+     * @param cleanThreads  The maximum number of schemas to clean at the same time. Values lower than 2 clean all
+     *                      schemas on the connection.
      */
     public DbClean(Connection connection, DbSupport dbSupport, MetaDataTable metaDataTable, Schema[] schemas,
-                   FlywayCallback[] callbacks, boolean cleanDisabled) {
+                   FlywayCallback[] callbacks, boolean cleanDisabled, DataSource dataSource, int cleanThreads) {
         this.connection = connection;
         this.dbSupport = dbSupport;
         this.metaDataTable = metaDataTable;
         this.schemas = schemas;
         this.callbacks = callbacks;
         this.cleanDisabled = cleanDisabled;
+        this.dataSource = dataSource;
+        this.cleanThreads = cleanThreads;
     }
 
     @Override
@@ -114,18 +135,32 @@ public class DbClean implements Clean {
                 LOG.error("Error while checking whether the schemas should be dropped", e);
             }
 
+            List<Schema> existingSchemas = new ArrayList<Schema>();
             for (Schema schema : schemas) {
                 if (!schema.exists()) {
                     LOG.warn("Unable to clean unknown schema: " + schema);
                     continue;
                 }
+                existingSchemas.add(schema);
+            }
 
-                if (dropSchemas) {
-                    dropSchema(schema);
-                } else {
-                    cleanSchema(schema);
+            if ((cleanThreads > 1) && (existingSchemas.size() > 1) && (dataSource != null)
+                    && dbSupport.supportsParallelClean()) {
+                cleanSchemasInParallel(existingSchemas, dropSchemas);
+            } else {
+                if ((cleanThreads > 1) && (existingSchemas.size() > 1)) {
+                    LOG.debug("Cleaning schemas one by one as " + dbSupport.getDbName()
+                            + " does not support cleaning schemas in parallel");
+                }
+                for (Schema schema : existingSchemas) {
+                    if (dropSchemas) {
+                        dropSchema(connection, schema);
+                    } else {
+                        cleanSchema(connection, schema);
+                    }
                 }
             }
+            metaDataTable.clearCache();
 
             for (final FlywayCallback callback : callbacks) {
                 new TransactionTemplate(connection).execute(new Callable<Object>() {
@@ -142,13 +177,69 @@ public class DbClean implements Clean {
         }
     }
 
+    /**
+     * Cleans (or drops) these schemas concurrently, each on its own connection. All schemas are processed, even if
+     * some of them fail.
+     *
+     * @param schemas     The schemas to clean.
+     * @param dropSchemas Whether to drop the schemas instead of cleaning them.
+     * @throws FlywayException when cleaning at least one of the schemas failed.
+     */
+    private void cleanSchemasInParallel(List<Schema> schemas, final boolean dropSchemas) {
+        List<Callable<FlywayException>> tasks = new ArrayList<Callable<FlywayException>>(schemas.size());
+        for (final Schema schema : schemas) {
+            tasks.add(new Callable<FlywayException>() {
+                @Override
+                public FlywayException call() {
+                    Connection schemaConnection = null;
+                    try {
+                        schemaConnection = JdbcUtils.openConnection(dataSource);
+                        Schema schemaOnConnection =
+                                DbSupportFactory.createDbSupport(schemaConnection, dbSupport.getClass()).getSchema(schema.getName());
+                        if (dropSchemas) {
+                            dropSchema(schemaConnection, schemaOnConnection);
+                        } else {
+                            cleanSchema(schemaConnection, schemaOnConnection);
+                        }
+                        return null;
+                    } catch (FlywayException e) {
+                        LOG.error("Unable to clean schema " + schema + ": " + e.getMessage());
+                        return e;
+                    } finally {
+                        JdbcUtils.closeConnection(schemaConnection);
+                    }
+                }
+            });
+        }
+
+        List<FlywayException> results = ParallelUtils.invokeAll(tasks, cleanThreads, "flyway-clean");
+
+        StringBuilder failedSchemas = new StringBuilder();
+        FlywayException firstFailure = null;
+        for (int i = 0; i < results.size(); i++) {
+            FlywayException failure = results.get(i);
+            if (failure != null) {
+                if (firstFailure == null) {
+                    firstFailure = failure;
+                } else {
+                    failedSchemas.append(", ");
+                }
+                failedSchemas.append(schemas.get(i)).append(" (").append(failure.getMessage()).append(")");
+            }
+        }
+        if (firstFailure != null) {
+            throw new FlywayException("Unable to clean schemas: " + failedSchemas, firstFailure);
+        }
+    }
+
     /**
      * Drops this schema.
      *
-     * @param schema The schema to drop.
+     * @param connection The connection to use.
+     * @param schema     The schema to drop.
      * @throws FlywayException when the drop failed.
      */
-    private void dropSchema(final Schema schema) {
+    private void dropSchema(Connection connection, final Schema schema) {
         LOG.debug("Dropping schema " + schema + " ...");
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
@@ -167,10 +258,11 @@ public class DbClean implements Clean {
     /**
      * Cleans this schema of all objects.
      *
-     * @param schema The schema to clean.
+     * @param connection The connection to use.
+     * @param schema     The schema to clean.
      * @throws FlywayException when clean failed.
      */
-    private void cleanSchema(final Schema schema) {
+    private void cleanSchema(Connection connection, final Schema schema) {
         LOG.debug("Cleaning schema " + schema + " ...");
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
@@ -111,7 +111,7 @@ public class DbMigrate implements Migrate {
         this.ignoreFailedFutureMigration = ignoreFailedFutureMigration;
         this.configuration = configuration;
 
-        dbSupportUserObjects = DbSupportFactory.createDbSupport(connectionUserObjects, false);
+        dbSupportUserObjects = DbSupportFactory.createDbSupport(connectionUserObjects, dbSupport.getClass());
     }
 
   	@Override
@@ -132,73 +132,23 @@ public class DbMigrate implements Migrate {
             stopWatch.start();
 
             int migrationSuccessCount = 0;
-            while (true) {
-                final boolean firstRun = migrationSuccessCount == 0;
-                boolean done = metaDataTable.lock(new Callable<Boolean>() {
-                    @Override
-                    public Boolean call() {
-                        MigrationInfoServiceImpl infoService =
-                                new MigrationInfoServiceImpl(migrationResolver, metaDataTable, configuration.getTarget(), configuration.isOutOfOrder(), true, true);
-                        infoService.refresh();
-
-                        MigrationVersion currentSchemaVersion = MigrationVersion.EMPTY;
-                        if (infoService.current() != null) {
-                            currentSchemaVersion = infoService.current().getVersion();
-                        }
-                        if (firstRun) {
-                            LOG.info("Current version of schema " + schema + ": " + currentSchemaVersion);
-
-                            if (configuration.isOutOfOrder()) {
-                                LOG.warn("outOfOrder mode is active. Migration of schema " + schema + " may not be reproducible.");
-                            }
-                        }
-
-                        MigrationInfo[] future = infoService.future();
-                        if (future.length > 0) {
-                            MigrationInfo[] resolved = infoService.resolved();
-                            if (resolved.length == 0) {
-                                LOG.warn("Schema " + schema + " has version " + currentSchemaVersion
-                                        + ", but no migration could be resolved in the configured locations !");
-                            } else {
-                                int offset = resolved.length - 1;
-                                while (resolved[offset].getVersion() == null) {
-                                    // Skip repeatable migrations
-                                    offset--;
-                                }
-                                LOG.warn("Schema " + schema + " has a version (" + currentSchemaVersion
-                                        + ") that is newer than the latest available migration ("
-                                        + resolved[offset].getVersion() + ") !");
-                            }
-                        }
-
-                        MigrationInfo[] failed = infoService.failed();
-                        if (failed.length > 0) {
-                            if ((failed.length == 1)
-                                    && (failed[0].getState() == MigrationState.FUTURE_FAILED)
-                                    && (configuration.isIgnoreFutureMigrations() || ignoreFailedFutureMigration)) {
-                                LOG.warn("Schema " + schema + " contains a failed future migration to version " + failed[0].getVersion() + " !");
-                            } else {
-                                throw new FlywayException("Schema " + schema + " contains a failed migration to version " + failed[0].getVersion() + " !");
-                            }
-                        }
-
-                        MigrationInfoImpl[] pendingMigrations = infoService.pending();
-
-                        if (pendingMigrations.length == 0) {
-                            return true;
-                        }
-
-                        boolean isOutOfOrder = pendingMigrations[0].getVersion() != null
-                                && pendingMigrations[0].getVersion().compareTo(currentSchemaVersion) < 0;
-                        return applyMigration(pendingMigrations[0], isOutOfOrder);
+            if (!hasPendingMigrations()) {
+                LOG.debug("No pending migrations for schema " + schema + ". Skipping the lock on the metadata table.");
+                metaDataTable.createIfNotExists();
+            } else {
+                boolean bulkMode = configuration.isBulkMigrate() && dbSupportUserObjects.enableBulkMode();
+                if (bulkMode) {
+                    LOG.info("Switched " + dbSupportUserObjects.getDbName() + " to bulk mode");
+                }
+                boolean migrated = false;
+                try {
+                    migrationSuccessCount = applyPendingMigrations();
+                    migrated = true;
+                } finally {
+                    if (bulkMode) {
+                        restoreBulkMode(migrated);
                     }
-                });
-                if (done) {
-                    // No further migrations available
-                    break;
                 }
-
-                migrationSuccessCount++;
             }
 
             stopWatch.stop();
@@ -222,6 +172,176 @@ public class DbMigrate implements Migrate {
         }
     }
 
+    /**
+     * Restores the original settings of the database after bulk mode.
+     *
+     * @param migrated Whether the pending migrations were applied. If not, a failure to restore the settings is only
+     *                 logged, so it doesn't hide the migration failure.
+     * @throws FlywayException when the settings could not be restored after a successful migration.
+     */
+    private void restoreBulkMode(boolean migrated) {
+        try {
+            dbSupportUserObjects.restoreBulkMode();
+        } catch (FlywayException e) {
+            if (migrated) {
+                throw e;
+            }
+            LOG.error(e.getMessage(), e);
+            return;
+        }
+        LOG.info("Restored the original settings of " + dbSupportUserObjects.getDbName() + " after bulk mode");
+    }
+
+    /**
+     * Applies all pending migrations, under a single lock of the metadata table for planned migrations or with one lock
+     * per migration otherwise.
+     *
+     * @return The number of successfully applied migrations.
+     */
+    private int applyPendingMigrations() {
+        if (configuration.isPlannedMigrate()) {
+            return metaDataTable.lock(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    return applyPlannedMigrations();
+                }
+            });
+        }
+
+        int migrationSuccessCount = 0;
+        while (true) {
+            boolean done = metaDataTable.lock(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    MigrationInfoServiceImpl infoService = refreshInfoService(false);
+
+                    MigrationInfoImpl[] pendingMigrations = infoService.pending();
+
+                    if (pendingMigrations.length == 0) {
+                        return true;
+                    }
+
+                    boolean isOutOfOrder = pendingMigrations[0].getVersion() != null
+                            && pendingMigrations[0].getVersion().compareTo(getCurrentSchemaVersion(infoService)) < 0;
+                    return applyMigration(pendingMigrations[0], isOutOfOrder);
+                }
+            });
+            if (done) {
+                // No further migrations available
+                return migrationSuccessCount;
+            }
+
+            migrationSuccessCount++;
+        }
+    }
+
+    /**
+     * Checks whether there are any pending migrations, without taking the lock on the metadata table. This lets
+     * concurrent migration runs against an up-to-date schema return without queueing up for the lock. When migrations
+     * are pending, the state is checked again once the lock has been acquired, as another run may have applied them in
+     * the meantime.
+     *
+     * @return {@code true} if there are pending migrations, {@code false} if the schema is up to date.
+     */
+    private boolean hasPendingMigrations() {
+        return refreshInfoService(true).pending().length > 0;
+    }
+
+    /**
+     * Applies all pending migrations based on a plan calculated once upfront. This must be called while holding the
+     * lock on the metadata table. Instead of re-reading the metadata table after every migration, the current schema
+     * version is tracked in memory as the migrations get applied.
+     *
+     * @return The number of successfully applied migrations.
+     */
+    private int applyPlannedMigrations() {
+        MigrationInfoServiceImpl infoService = refreshInfoService(false);
+
+        MigrationInfoImpl[] pendingMigrations = infoService.pending();
+        if (pendingMigrations.length > 0) {
+            LOG.debug("Planned " + pendingMigrations.length + " pending migration(s) for schema " + schema);
+        }
+
+        MigrationVersion currentSchemaVersion = getCurrentSchemaVersion(infoService);
+        int migrationSuccessCount = 0;
+        for (MigrationInfoImpl pendingMigration : pendingMigrations) {
+            MigrationVersion version = pendingMigration.getVersion();
+            boolean isOutOfOrder = version != null && version.compareTo(currentSchemaVersion) < 0;
+            applyMigration(pendingMigration, isOutOfOrder);
+
+            if ((version != null) && (version.compareTo(currentSchemaVersion) > 0)) {
+                currentSchemaVersion = version;
+            }
+            migrationSuccessCount++;
+        }
+        return migrationSuccessCount;
+    }
+
+    /**
+     * Refreshes the info about all known migrations and checks them for future and failed migrations.
+     *
+     * @param firstRun Whether this is the first refresh of this migration run.
+     * @return The refreshed info service.
+     */
+    private MigrationInfoServiceImpl refreshInfoService(boolean firstRun) {
+        MigrationInfoServiceImpl infoService =
+                new MigrationInfoServiceImpl(migrationResolver, metaDataTable, configuration.getTarget(), configuration.isOutOfOrder(), true, true);
+        infoService.refresh();
+
+        MigrationVersion currentSchemaVersion = getCurrentSchemaVersion(infoService);
+        if (firstRun) {
+            LOG.info("Current version of schema " + schema + ": " + currentSchemaVersion);
+
+            if (configuration.isOutOfOrder()) {
+                LOG.warn("outOfOrder mode is active. Migration of schema " + schema + " may not be reproducible.");
+            }
+        }
+
+        MigrationInfo[] future = infoService.future();
+        if (future.length > 0) {
+            MigrationInfo[] resolved = infoService.resolved();
+            if (resolved.length == 0) {
+                LOG.warn("Schema " + schema + " has version " + currentSchemaVersion
+                        + ", but no migration could be resolved in the configured locations !");
+            } else {
+                int offset = resolved.length - 1;
+                while (resolved[offset].getVersion() == null) {
+                    // Skip repeatable migrations
+                    offset--;
+                }
+                LOG.warn("Schema " + schema + " has a version (" + currentSchemaVersion
+                        + ") that is newer than the latest available migration ("
+                        + resolved[offset].getVersion() + ") !");
+            }
+        }
+
+        MigrationInfo[] failed = infoService.failed();
+        if (failed.length > 0) {
+            if ((failed.length == 1)
+                    && (failed[0].getState() == MigrationState.FUTURE_FAILED)
+                    && (configuration.isIgnoreFutureMigrations() || ignoreFailedFutureMigration)) {
+                LOG.warn("Schema " + schema + " contains a failed future migration to version " + failed[0].getVersion() + " !");
+            } else {
+                throw new FlywayException("Schema " + schema + " contains a failed migration to version " + failed[0].getVersion() + " !");
+            }
+        }
+
+        return infoService;
+    }
+
+    /**
+     * Determines the current version of the schema.
+     *
+     * @param infoService The refreshed info service.
+     * @return The current version of the schema. {@code MigrationVersion.EMPTY} if none.
+     */
+    private MigrationVersion getCurrentSchemaVersion(MigrationInfoServiceImpl infoService) {
+        if (infoService.current() != null) {
+            return infoService.current().getVersion();
+        }
+        return MigrationVersion.EMPTY;
+    }
+
     /**
      * Logs the summary of this migration run.
      *
@@ -0,0 +1,259 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.callback.FlywayCallback;
+import org.flywaydb.core.api.configuration.SQLFlywayConfiguration;
+import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.callback.SqlScriptFlywayCallback;
+import org.flywaydb.core.internal.dbsupport.DbSupport;
+import org.flywaydb.core.internal.dbsupport.Schema;
+import org.flywaydb.core.internal.util.ClassUtils;
+import org.flywaydb.core.internal.util.StopWatch;
+import org.flywaydb.core.internal.util.StringUtils;
+import org.flywaydb.core.internal.util.TimeFormat;
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshots of fully migrated schemas, used to reset test databases without applying all migrations again. A snapshot
+ * is keyed by everything that determines the migrated state: the database type, the schemas, the metadata table, the
+ * target, the baseline settings, the placeholders, the checksums of the SQL callback scripts and the version,
+ * description, type, script and checksum of every resolved migration. Java migrations without a checksum are keyed
+ * by the contents of their class file instead.
+ */
+public class DbSnapshot {
+    private static final Log LOG = LogFactory.getLog(DbSnapshot.class);
+
+    /**
+     * The database-specific support.
+     */
+    private final DbSupport dbSupport;
+
+    /**
+     * The migration resolver.
+     */
+    private final MigrationResolver migrationResolver;
+
+    /**
+     * The schemas managed by Flyway.
+     */
+    private final Schema[] schemas;
+
+    /**
+     * The callbacks in use.
+     */
+    private final FlywayCallback[] callbacks;
+
+    /**
+     * The Flyway configuration.
+     */
+    private final SQLFlywayConfiguration configuration;
+
+    /**
+     * The directory in which snapshots are stored.
+     */
+    private final File snapshotDir;
+
+    /**
+     * The snapshot file for the current state of the migrations. {@code null} until it has been determined.
+     */
+    private File snapshotFile;
+
+    /**
+     * Creates a new snapshot handler.
+     *
+     * @param dbSupport         The database-specific support.
+     * @param migrationResolver The migration resolver.
+     * @param schemas           The schemas managed by Flyway.
+     * @param callbacks         The callbacks in use.
+     * @param configuration     The Flyway configuration.
+     * @param snapshotDir       The directory in which snapshots are stored.
+     */
+    public DbSnapshot(DbSupport dbSupport, MigrationResolver migrationResolver, Schema[] schemas,
+                      FlywayCallback[] callbacks, SQLFlywayConfiguration configuration, File snapshotDir) {
+        this.dbSupport = dbSupport;
+        this.migrationResolver = migrationResolver;
+        this.schemas = schemas;
+        this.callbacks = callbacks;
+        this.configuration = configuration;
+        this.snapshotDir = snapshotDir;
+    }
+
+    /**
+     * @return Whether a snapshot of the current state of the migrations exists and can be restored.
+     */
+    public boolean exists() {
+        return dbSupport.supportsSnapshots(schemas) && getSnapshotFile().isFile();
+    }
+
+    /**
+     * Restores the snapshot of the current state of the migrations. The schemas must have been cleaned beforehand.
+     *
+     * @throws FlywayException when the snapshot could not be restored.
+     */
+    public void restore() {
+        File file = getSnapshotFile();
+        LOG.debug("Restoring snapshot " + file.getAbsolutePath() + " ...");
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        dbSupport.restoreSnapshot(schemas, file);
+        stopWatch.stop();
+        LOG.info(String.format("Successfully restored snapshot %s (execution time %s)",
+                file.getName(), TimeFormat.format(stopWatch.getTotalTimeMillis())));
+    }
+
+    /**
+     * Takes a snapshot of the migrated schemas. Does nothing if the database does not support snapshots of these
+     * schemas, in which case every reset cleans and migrates them. The snapshot is written to a temporary file first,
+     * so concurrent builds never see a partially written snapshot.
+     *
+     * @throws FlywayException when the snapshot could not be taken.
+     */
+    public void create() {
+        if (!dbSupport.supportsSnapshots(schemas)) {
+            LOG.debug("Snapshots of schemas " + StringUtils.arrayToCommaDelimitedString(schemas)
+                    + " are not supported for " + dbSupport.getDbName() + ". Skipping snapshot.");
+            return;
+        }
+
+        File file = getSnapshotFile();
+        if (!snapshotDir.isDirectory() && !snapshotDir.mkdirs()) {
+            throw new FlywayException("Unable to create snapshot directory: " + snapshotDir.getAbsolutePath());
+        }
+
+        File tempFile = new File(snapshotDir, file.getName() + "." + System.nanoTime() + ".tmp");
+        try {
+            dbSupport.createSnapshot(schemas, tempFile);
+            if (!tempFile.renameTo(file) && !file.isFile()) {
+                throw new FlywayException("Unable to write snapshot: " + file.getAbsolutePath());
+            }
+        } finally {
+            if (tempFile.exists() && !tempFile.delete()) {
+                LOG.warn("Unable to delete temporary snapshot: " + tempFile.getAbsolutePath());
+            }
+        }
+        LOG.info("Created snapshot " + file.getName());
+    }
+
+    /**
+     * @return The snapshot file for the current state of the migrations.
+     */
+    private File getSnapshotFile() {
+        if (snapshotFile == null) {
+            snapshotFile = new File(snapshotDir, dbSupport.getDbName() + "-" + calculateKey() + ".snapshot");
+        }
+        return snapshotFile;
+    }
+
+    /**
+     * Calculates the key of the snapshot for the current state of the migrations.
+     *
+     * @return The key, as a hexadecimal SHA-1 digest.
+     */
+    private String calculateKey() {
+        StringBuilder state = new StringBuilder();
+        state.append(dbSupport.getDbName()).append('\n');
+        for (Schema schema : schemas) {
+            state.append(schema.getName()).append(',');
+        }
+        state.append('\n').append(configuration.getTable()).append('\n');
+        state.append(configuration.getTarget()).append('\n');
+        state.append(configuration.getBaselineVersion()).append('|')
+                .append(configuration.isBaselineOnMigrate()).append('\n');
+        for (Map.Entry<String, String> placeholder : new TreeMap<String, String>(configuration.getPlaceholders()).entrySet()) {
+            state.append(placeholder.getKey()).append('=').append(placeholder.getValue()).append('\n');
+        }
+        for (FlywayCallback callback : callbacks) {
+            if (callback instanceof SqlScriptFlywayCallback) {
+                for (Map.Entry<String, Integer> checksum
+                        : ((SqlScriptFlywayCallback) callback).calculateChecksums(configuration.getEncoding()).entrySet()) {
+                    state.append(checksum.getKey()).append('=').append(checksum.getValue()).append('\n');
+                }
+            }
+        }
+        for (ResolvedMigration migration : migrationResolver.resolveMigrations()) {
+            Integer checksum = migration.getChecksum();
+            if (checksum == null) {
+                checksum = calculateClassChecksum(migration.getScript());
+            }
+            state.append(migration.getVersion()).append('|')
+                    .append(migration.getDescription()).append('|')
+                    .append(migration.getType()).append('|')
+                    .append(migration.getScript()).append('|')
+                    .append(checksum).append('\n');
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(state.toString().getBytes("UTF-8"));
+            StringBuilder key = new StringBuilder();
+            for (byte b : digest) {
+                key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new FlywayException("Unable to calculate snapshot key", e);
+        } catch (UnsupportedEncodingException e) {
+            throw new FlywayException("Unable to calculate snapshot key", e);
+        }
+    }
+
+    /**
+     * Calculates the checksum of the class file of this Java migration, so that changing the migration code also
+     * changes the key.
+     *
+     * @param className The fully qualified name of the migration class.
+     * @return The crc-32 checksum of the class file. {@code null} if it could not be found.
+     */
+    private Integer calculateClassChecksum(String className) {
+        String resourceName = className.replace('.', '/') + ".class";
+        InputStream inputStream = configuration.getClassLoader().getResourceAsStream(resourceName);
+        if (inputStream == null) {
+            return null;
+        }
+
+        try {
+            CRC32 crc32 = new CRC32();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                crc32.update(buffer, 0, read);
+            }
+            return (int) crc32.getValue();
+        } catch (IOException e) {
+            throw new FlywayException("Unable to calculate snapshot key: unable to read " + resourceName
+                    + " (" + ClassUtils.getLocationOnDisk(className, configuration.getClassLoader()) + ")", e);
+        } finally {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                //Ignore
+            }
+        }
+    }
+}
@@ -16,8 +16,11 @@
 package org.flywaydb.core.internal.dbsupport;
 
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.jdbc.TransactionTemplate;
 
+import java.io.File;
+import java.io.Reader;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.concurrent.Callable;
@@ -107,6 +110,125 @@ public abstract class DbSupport {
      */
     protected abstract String doGetCurrentSchemaName() throws SQLException;
 
+    /**
+     * Switches the database to settings favouring speed over durability for applying a large number of migrations.
+     * The original settings must be restored with {@link #restoreBulkMode()} afterwards.
+     *
+     * @return {@code true} if the settings were changed, {@code false} if this database has no such settings.
+     */
+    public boolean enableBulkMode() {
+        try {
+            return doEnableBulkMode();
+        } catch (SQLException e) {
+            throw new FlywayException("Unable to switch " + getDbName() + " to bulk mode", e);
+        }
+    }
+
+    /**
+     * Switches the database to settings favouring speed over durability for applying a large number of migrations.
+     *
+     * @return {@code true} if the settings were changed, {@code false} if this database has no such settings.
+     * @throws SQLException when the settings could not be changed.
+     */
+    protected boolean doEnableBulkMode() throws SQLException {
+        return false;
+    }
+
+    /**
+     * Restores the settings changed by {@link #enableBulkMode()} and forces the changes made in bulk mode to disk.
+     */
+    public void restoreBulkMode() {
+        try {
+            doRestoreBulkMode();
+        } catch (SQLException e) {
+            throw new FlywayException("Unable to restore the original settings of " + getDbName() + " after bulk mode", e);
+        }
+    }
+
+    /**
+     * Restores the settings changed by {@link #doEnableBulkMode()} and forces the changes made in bulk mode to disk.
+     *
+     * @throws SQLException when the settings could not be restored.
+     */
+    protected void doRestoreBulkMode() throws SQLException {
+        // Nothing to restore by default
+    }
+
+    /**
+     * @param schemas The schemas to snapshot.
+     * @return Whether this database can take and restore snapshots of these schemas.
+     */
+    public boolean supportsSnapshots(Schema[] schemas) {
+        return false;
+    }
+
+    /**
+     * Takes a snapshot of the structure and the data of these schemas.
+     *
+     * @param schemas The schemas to include in the snapshot.
+     * @param file    The file to write the snapshot to.
+     * @throws FlywayException when snapshots of these schemas are not supported or the snapshot could not be taken.
+     */
+    public void createSnapshot(Schema[] schemas, File file) {
+        checkSnapshotsSupported(schemas);
+        try {
+            doCreateSnapshot(schemas, file);
+        } catch (SQLException e) {
+            throw new FlywayException("Unable to create snapshot " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the structure and the data of these schemas.
+     *
+     * @param schemas The schemas to include in the snapshot.
+     * @param file    The file to write the snapshot to.
+     * @throws SQLException when the snapshot could not be taken.
+     */
+    protected void doCreateSnapshot(Schema[] schemas, File file) throws SQLException {
+        // Never called, as snapshots are not supported by default
+    }
+
+    /**
+     * Restores a snapshot taken with {@link #createSnapshot(Schema[], File)} into the cleaned schemas.
+     *
+     * @param schemas The schemas included in the snapshot.
+     * @param file    The file containing the snapshot.
+     * @throws FlywayException when snapshots of these schemas are not supported or the snapshot could not be restored.
+     */
+    public void restoreSnapshot(Schema[] schemas, File file) {
+        checkSnapshotsSupported(schemas);
+        try {
+            doRestoreSnapshot(schemas, file);
+        } catch (SQLException e) {
+            throw new FlywayException("Unable to restore snapshot " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Restores a snapshot taken with {@link #doCreateSnapshot(Schema[], File)} into the cleaned schemas.
+     *
+     * @param schemas The schemas included in the snapshot.
+     * @param file    The file containing the snapshot.
+     * @throws SQLException when the snapshot could not be restored.
+     */
+    protected void doRestoreSnapshot(Schema[] schemas, File file) throws SQLException {
+        // Never called, as snapshots are not supported by default
+    }
+
+    /**
+     * Checks whether this database can take and restore snapshots of these schemas.
+     *
+     * @param schemas The schemas to snapshot.
+     * @throws FlywayException when snapshots of these schemas are not supported.
+     */
+    private void checkSnapshotsSupported(Schema[] schemas) {
+        if (!supportsSnapshots(schemas)) {
+            throw new FlywayException("Snapshots of schemas " + StringUtils.arrayToCommaDelimitedString(schemas)
+                    + " are not supported for " + getDbName());
+        }
+    }
+
     /**
      * Sets the current schema to this schema.
      *
@@ -209,6 +331,17 @@ public abstract class DbSupport {
         // Do nothing by default
     }
 
+    /**
+     * Executes this COPY command, streaming its data from this reader (PostgreSQL only).
+     *
+     * @param connection The connection to use.
+     * @param command    The COPY command to execute, without its data.
+     * @param data       The data to copy.
+     */
+    public void executePgCopy(Connection connection, String command, Reader data) throws SQLException {
+        // Do nothing by default
+    }
+
     /**
      * Locks this table and executes this callable.
      *
@@ -232,4 +365,11 @@ public abstract class DbSupport {
     public boolean useSingleConnection() {
         return false;
     }
+
+    /**
+     * @return Whether independent schemas can safely be cleaned at the same time, each on its own connection.
+     */
+    public boolean supportsParallelClean() {
+        return true;
+    }
 }
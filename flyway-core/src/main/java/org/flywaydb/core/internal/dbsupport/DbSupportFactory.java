@@ -34,12 +34,18 @@ import org.flywaydb.core.internal.dbsupport.sqlite.SQLiteDbSupport;
 import org.flywaydb.core.internal.dbsupport.sqlserver.SQLServerDbSupport;
 import org.flywaydb.core.internal.dbsupport.sybase.ase.SybaseASEDbSupport;
 import org.flywaydb.core.internal.dbsupport.vertica.VerticaDbSupport;
+import org.flywaydb.core.internal.util.Pair;
 import org.flywaydb.core.internal.util.logging.Log;
 import org.flywaydb.core.internal.util.logging.LogFactory;
 
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Factory for obtaining the correct DbSupport instance for the current connection.
@@ -47,6 +53,12 @@ import java.sql.SQLException;
 public class DbSupportFactory {
     private static final Log LOG = LogFactory.getLog(DbSupportFactory.class);
 
+    /**
+     * The database product name and DbSupport class detected so far per data source, keyed by Jdbc url.
+     */
+    private static final Map<DataSource, Map<String, Pair<String, Class<? extends DbSupport>>>> DETECTED_DATABASES =
+            new WeakHashMap<DataSource, Map<String, Pair<String, Class<? extends DbSupport>>>>();
+
     /**
      * Prevent instantiation.
      */
@@ -68,6 +80,79 @@ public class DbSupportFactory {
             LOG.info("Database: " + getJdbcUrl(connection) + " (" + databaseProductName + ")");
         }
 
+        return createDbSupport(connection, databaseProductName);
+    }
+
+    /**
+     * Initializes the appropriate DbSupport class for the database product used by this data source. The database
+     * product is only detected for the first connection of each data source and url. Connections obtained later
+     * reuse the result without querying the database metadata again.
+     *
+     * @param dataSource The data source the connection was obtained from.
+     * @param connection The Jdbc connection to use to query the database.
+     * @param printInfo  Where the DB info should be printed in the logs.
+     * @return The appropriate DbSupport class.
+     */
+    public static DbSupport createDbSupport(DataSource dataSource, Connection connection, boolean printInfo) {
+        String url = getJdbcUrl(connection);
+
+        Pair<String, Class<? extends DbSupport>> detected;
+        synchronized (DETECTED_DATABASES) {
+            Map<String, Pair<String, Class<? extends DbSupport>>> databases = DETECTED_DATABASES.get(dataSource);
+            detected = databases == null ? null : databases.get(url);
+        }
+        if (detected != null) {
+            if (printInfo) {
+                LOG.info("Database: " + url + " (" + detected.getLeft() + ")");
+            }
+            return createDbSupport(connection, detected.getRight());
+        }
+
+        String databaseProductName = getDatabaseProductName(connection);
+        if (printInfo) {
+            LOG.info("Database: " + url + " (" + databaseProductName + ")");
+        }
+        DbSupport dbSupport = createDbSupport(connection, databaseProductName);
+
+        synchronized (DETECTED_DATABASES) {
+            Map<String, Pair<String, Class<? extends DbSupport>>> databases = DETECTED_DATABASES.get(dataSource);
+            if (databases == null) {
+                databases = new HashMap<String, Pair<String, Class<? extends DbSupport>>>();
+                DETECTED_DATABASES.put(dataSource, databases);
+            }
+            databases.put(url, Pair.<String, Class<? extends DbSupport>>of(databaseProductName, dbSupport.getClass()));
+        }
+        return dbSupport;
+    }
+
+    /**
+     * Initializes a DbSupport of this type for another connection to an already detected database.
+     *
+     * @param connection The Jdbc connection.
+     * @param type       The DbSupport class of the database.
+     * @return The new DbSupport instance.
+     */
+    public static DbSupport createDbSupport(Connection connection, Class<? extends DbSupport> type) {
+        try {
+            return type.getConstructor(Connection.class).newInstance(connection);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new FlywayException("Unable to instantiate " + type.getName(), e.getCause());
+        } catch (Exception e) {
+            throw new FlywayException("Unable to instantiate " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Initializes the appropriate DbSupport class for this database product.
+     *
+     * @param connection          The Jdbc connection to use to query the database.
+     * @param databaseProductName The name and version of the database product.
+     * @return The appropriate DbSupport class.
+     */
+    private static DbSupport createDbSupport(Connection connection, String databaseProductName) {
         if (databaseProductName.startsWith("Apache Derby")) {
             return new DerbyDbSupport(connection);
         }
@@ -266,16 +266,7 @@ public class JdbcTemplate {
             try {
                 hasResults = statement.execute(sql);
             } finally {
-                @SuppressWarnings("ThrowableResultOfMethodCallIgnored") SQLWarning warning = statement.getWarnings();
-                while (warning != null) {
-                    if ("00000".equals(warning.getSQLState())) {
-                        LOG.info("DB: " + warning.getMessage());
-                    } else {
-                        LOG.warn("DB: " + warning.getMessage()
-                                + " (SQL State: " + warning.getSQLState() + " - Error Code: " + warning.getErrorCode() + ")");
-                    }
-                    warning = warning.getNextWarning();
-                }
+                logWarnings(statement);
                 // retrieve all results to ensure all errors are detected
                 int updateCount = -1;
                 while (hasResults || (updateCount = statement.getUpdateCount()) != -1) {
@@ -290,6 +281,84 @@ public class JdbcTemplate {
         }
     }
 
+    /**
+     * Executes these sql statements as a single JDBC batch. Statements producing result sets are not allowed.
+     *
+     * @param sqls The statements to execute.
+     * @return The update counts of the statements, in order.
+     * @throws SQLException when the execution failed. Drivers usually report this as a
+     *                      {@link java.sql.BatchUpdateException} with the update counts of the statements executed so far.
+     */
+    public int[] executeBatch(List<String> sqls) throws SQLException {
+        return executeBatch(sqls, false);
+    }
+
+    /**
+     * Executes these sql statements as a single JDBC batch. Statements producing result sets are not allowed.
+     *
+     * @param sqls  The statements to execute.
+     * @param quiet {@code true} to only log the warnings reported by the database at debug level (for example the
+     *              notices of the individual drops of a clean), {@code false} to log them as usual.
+     * @return The update counts of the statements, in order.
+     * @throws SQLException when the execution failed. Drivers usually report this as a
+     *                      {@link java.sql.BatchUpdateException} with the update counts of the statements executed so far.
+     */
+    public int[] executeBatch(List<String> sqls, boolean quiet) throws SQLException {
+        Statement statement = null;
+        try {
+            statement = connection.createStatement();
+            statement.setEscapeProcessing(false);
+            for (String sql : sqls) {
+                statement.addBatch(sql);
+            }
+            try {
+                return statement.executeBatch();
+            } finally {
+                if (quiet) {
+                    logWarningsAtDebug(statement);
+                } else {
+                    logWarnings(statement);
+                }
+            }
+        } finally {
+            JdbcUtils.closeStatement(statement);
+        }
+    }
+
+    /**
+     * Logs all warnings reported by the database for this statement.
+     *
+     * @param statement The statement that was executed.
+     * @throws SQLException when the warnings could not be retrieved.
+     */
+    private void logWarnings(Statement statement) throws SQLException {
+        @SuppressWarnings("ThrowableResultOfMethodCallIgnored") SQLWarning warning = statement.getWarnings();
+        while (warning != null) {
+            if ("00000".equals(warning.getSQLState())) {
+                LOG.info("DB: " + warning.getMessage());
+            } else {
+                LOG.warn("DB: " + warning.getMessage()
+                        + " (SQL State: " + warning.getSQLState() + " - Error Code: " + warning.getErrorCode() + ")");
+            }
+            warning = warning.getNextWarning();
+        }
+    }
+
+    /**
+     * Logs all warnings reported by the database for this statement at debug level.
+     *
+     * @param statement The statement that was executed.
+     * @throws SQLException when the warnings could not be retrieved.
+     */
+    private void logWarningsAtDebug(Statement statement) throws SQLException {
+        @SuppressWarnings("ThrowableResultOfMethodCallIgnored") SQLWarning warning = statement.getWarnings();
+        while (warning != null) {
+            LOG.debug("DB: " + warning.getMessage()
+                    + " (SQL State: " + warning.getSQLState() + " - Error Code: " + warning.getErrorCode() + ")");
+            warning = warning.getNextWarning();
+        }
+    }
+
     /**
      * Executes this update sql statement.
      *
@@ -307,6 +376,20 @@ public class JdbcTemplate {
         }
     }
 
+    /**
+     * Executes this previously prepared sql statement with these params. The statement is left open so it can be
+     * reused for subsequent updates.
+     *
+     * @param statement The prepared statement to execute.
+     * @param params    The statement parameters.
+     * @throws SQLException when the execution failed.
+     */
+    public void update(PreparedStatement statement, Object... params) throws SQLException {
+        statement.clearParameters();
+        setParams(statement, params);
+        statement.executeUpdate();
+    }
+
     /**
      * Creates a new prepared statement for this sql with these params.
      *
@@ -317,6 +400,18 @@ public class JdbcTemplate {
      */
     private PreparedStatement prepareStatement(String sql, Object[] params) throws SQLException {
         PreparedStatement statement = connection.prepareStatement(sql);
+        setParams(statement, params);
+        return statement;
+    }
+
+    /**
+     * Binds these params to this prepared statement.
+     *
+     * @param statement The prepared statement.
+     * @param params    The params.
+     * @throws SQLException when the params could not be set.
+     */
+    private void setParams(PreparedStatement statement, Object[] params) throws SQLException {
         for (int i = 0; i < params.length; i++) {
             if (params[i] == null) {
                 statement.setNull(i + 1, nullType);
@@ -328,7 +423,6 @@ public class JdbcTemplate {
                 statement.setString(i + 1, (String) params[i]);
             }
         }
-        return statement;
     }
 
     /**
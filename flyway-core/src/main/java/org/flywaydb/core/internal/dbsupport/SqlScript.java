@@ -16,6 +16,7 @@
 package org.flywaydb.core.internal.dbsupport;
 
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.util.FileCopyUtils;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
 import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.logging.Log;
@@ -26,13 +27,22 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.sql.BatchUpdateException;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
 
 /**
  * Sql script containing a series of statements terminated by a delimiter (eg: ;).
  * Single-line (--) and multi-line (/* * /) comments are stripped and ignored.
+ *
+ * <p>Scripts created from a resource are streamed: the resource is read line by line, placeholders are replaced per
+ * line and every statement is executed as soon as it is terminated. Memory use is therefore bounded by the largest
+ * single statement instead of by the size of the script. The data of PostgreSQL COPY FROM STDIN statements is not
+ * even held in memory: it is read straight from the resource while the database consumes it.</p>
  */
 public class SqlScript {
     private static final Log LOG = LogFactory.getLog(SqlScript.class);
@@ -48,7 +58,7 @@ public class SqlScript {
     private final boolean allowMixedMigrations;
 
     /**
-     * The sql statements contained in this script.
+     * The sql statements contained in this script. {@code null} for scripts streamed from a resource.
      */
     private final List<SqlStatement> sqlStatements;
 
@@ -57,6 +67,22 @@ public class SqlScript {
      */
     private final Resource resource;
 
+    /**
+     * The placeholder replacer to apply to every line read from the resource.
+     */
+    private final PlaceholderReplacer placeholderReplacer;
+
+    /**
+     * The encoding of the resource.
+     */
+    private final String encoding;
+
+    /**
+     * The maximum number of consecutive DML statements to send to the database in a single JDBC batch.
+     * Batching is disabled for values lower than 2.
+     */
+    private final int batchSize;
+
     /**
      * Whether this SQL script contains at least one transactional statement.
      */
@@ -76,27 +102,44 @@ public class SqlScript {
     public SqlScript(String sqlScriptSource, DbSupport dbSupport) {
         this.dbSupport = dbSupport;
         this.allowMixedMigrations = false;
-        this.sqlStatements = parse(sqlScriptSource);
         this.resource = null;
+        this.placeholderReplacer = null;
+        this.encoding = null;
+        this.batchSize = 0;
+        this.sqlStatements = parse(sqlScriptSource);
     }
 
     /**
-     * Creates a new sql script from this resource.
+     * Creates a new sql script from this resource. If the database supports non-transactional statements, the resource
+     * is scanned once to determine whether the script must be executed in a transaction. Its statements are never
+     * retained.
      *
      * @param dbSupport            The database-specific support.
      * @param sqlScriptResource    The resource containing the statements.
      * @param placeholderReplacer  The placeholder replacer.
      * @param encoding             The encoding to use.
      * @param allowMixedMigrations Whether to allow mixing transactional and non-transactional statements within the same migration.
+     * @param batchSize            The maximum number of consecutive DML statements to send in a single JDBC batch.
+     *                             Batching is disabled for values lower than 2.
      */
-    public SqlScript(DbSupport dbSupport, Resource sqlScriptResource, PlaceholderReplacer placeholderReplacer, String encoding, boolean allowMixedMigrations) {
+    public SqlScript(DbSupport dbSupport, Resource sqlScriptResource, PlaceholderReplacer placeholderReplacer, String encoding,
+                     boolean allowMixedMigrations, int batchSize) {
         this.dbSupport = dbSupport;
         this.allowMixedMigrations = allowMixedMigrations;
-
-        String sqlScriptSource = sqlScriptResource.loadAsString(encoding);
-        this.sqlStatements = parse(placeholderReplacer.replacePlaceholders(sqlScriptSource));
-
         this.resource = sqlScriptResource;
+        this.placeholderReplacer = placeholderReplacer;
+        this.encoding = encoding;
+        this.batchSize = batchSize;
+        this.sqlStatements = null;
+
+        if (dbSupport.createSqlStatementBuilder().supportsNonTransactionalStatements()) {
+            streamStatements(new SqlStatementHandler() {
+                @Override
+                public void handle(SqlStatement sqlStatement) {
+                    // Only the transactional mode is of interest here.
+                }
+            });
+        }
     }
 
     /**
@@ -110,12 +153,36 @@ public class SqlScript {
     }
 
     /**
-     * For increased testability.
+     * For increased testability. Scripts streamed from a resource are parsed again on every call.
      *
      * @return The sql statements contained in this script.
      */
     public List<SqlStatement> getSqlStatements() {
-        return sqlStatements;
+        if (sqlStatements != null) {
+            return sqlStatements;
+        }
+
+        final List<SqlStatement> statements = new ArrayList<SqlStatement>();
+        streamStatements(new SqlStatementHandler() {
+            @Override
+            public void handle(SqlStatement sqlStatement) {
+                if (sqlStatement.getPgCopyData() == null) {
+                    statements.add(sqlStatement);
+                    return;
+                }
+
+                // Streamed data is only readable while the statement is handled. Inline it the way parsing does.
+                try {
+                    statements.add(new SqlStatement(sqlStatement.getLineNumber(),
+                            sqlStatement.getSql() + "\n" + FileCopyUtils.copyToString(sqlStatement.getPgCopyData()),
+                            true, sqlStatement.isExecuteInTransaction()));
+                } catch (IOException e) {
+                    throw new FlywayException("Unable to read COPY data at line " + sqlStatement.getLineNumber()
+                            + " of " + resource.getLocation(), e);
+                }
+            }
+        });
+        return statements;
     }
 
     /**
@@ -131,20 +198,141 @@ public class SqlScript {
      * @param jdbcTemplate The jdbc template to use to execute this script.
      */
     public void execute(final JdbcTemplate jdbcTemplate) {
-        for (SqlStatement sqlStatement : sqlStatements) {
-            String sql = sqlStatement.getSql();
-            LOG.debug("Executing SQL: " + sql);
+        SqlStatementExecutor executor = new SqlStatementExecutor(jdbcTemplate);
+        if (sqlStatements != null) {
+            for (SqlStatement sqlStatement : sqlStatements) {
+                executor.handle(sqlStatement);
+            }
+        } else {
+            streamStatements(executor);
+        }
+        executor.flush();
+    }
 
-            try {
-                if (sqlStatement.isPgCopy()) {
-                    dbSupport.executePgCopy(jdbcTemplate.getConnection(), sql);
-                } else {
-                    jdbcTemplate.executeStatement(sql);
+    /**
+     * Executes this statement against the database.
+     *
+     * @param jdbcTemplate The jdbc template to use to execute this statement.
+     * @param sqlStatement The statement to execute.
+     */
+    private void executeStatement(JdbcTemplate jdbcTemplate, SqlStatement sqlStatement) {
+        String sql = sqlStatement.getSql();
+        LOG.debug("Executing SQL: " + sql);
+
+        try {
+            if (sqlStatement.getPgCopyData() != null) {
+                dbSupport.executePgCopy(jdbcTemplate.getConnection(), sqlStatement.getPgCopyCommand(),
+                        sqlStatement.getPgCopyData());
+            } else if (sqlStatement.isPgCopy()) {
+                dbSupport.executePgCopy(jdbcTemplate.getConnection(), sql);
+            } else {
+                jdbcTemplate.executeStatement(sql);
+            }
+        } catch (SQLException e) {
+            throw new FlywaySqlScriptException(resource, sqlStatement, e);
+        }
+    }
+
+    /**
+     * Checks whether this statement is a plain INSERT, UPDATE, DELETE or MERGE that may be sent to the database as part
+     * of a JDBC batch.
+     *
+     * @param sqlStatement The statement to check.
+     * @return {@code true} if it can be batched, {@code false} if it must be executed on its own.
+     */
+    /* private -> for testing */
+    static boolean isBatchable(SqlStatement sqlStatement) {
+        if (sqlStatement.isPgCopy() || !sqlStatement.isExecuteInTransaction()) {
+            return false;
+        }
+
+        String sql = sqlStatement.getSql();
+        int start = 0;
+        while (start < sql.length()) {
+            if (Character.isWhitespace(sql.charAt(start))) {
+                start++;
+            } else if (sql.startsWith("--", start)) {
+                int end = sql.indexOf('\n', start);
+                start = end < 0 ? sql.length() : end + 1;
+            } else if (sql.startsWith("/*", start)) {
+                int end = sql.indexOf("*/", start + 2);
+                start = end < 0 ? sql.length() : end + 2;
+            } else {
+                break;
+            }
+        }
+
+        int end = start;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        if (!isKeyword(sql, start, end, "INSERT") && !isKeyword(sql, start, end, "UPDATE")
+                && !isKeyword(sql, start, end, "DELETE") && !isKeyword(sql, start, end, "MERGE")) {
+            return false;
+        }
+
+        // Statements returning rows can not be part of a batch
+        return !containsKeyword(sql, end, "RETURNING");
+    }
+
+    /**
+     * Checks whether the word between these positions is this keyword, ignoring case.
+     *
+     * @param sql     The sql to check.
+     * @param start   The start of the word.
+     * @param end     The end of the word (exclusive).
+     * @param keyword The keyword in upper case.
+     * @return {@code true} if it is, {@code false} if it isn't.
+     */
+    private static boolean isKeyword(String sql, int start, int end, String keyword) {
+        return (end - start == keyword.length()) && sql.regionMatches(true, start, keyword, 0, keyword.length());
+    }
+
+    /**
+     * Checks whether this sql contains this keyword as a separate word, ignoring case. String literals, quoted
+     * identifiers and comments are skipped, so neither {@code 'returning'} nor {@code returning_customer} match.
+     *
+     * @param sql     The sql to check.
+     * @param start   The position to start looking from. Must not be inside a literal, identifier or comment.
+     * @param keyword The keyword in upper case.
+     * @return {@code true} if it does, {@code false} if it doesn't.
+     */
+    private static boolean containsKeyword(String sql, int start, String keyword) {
+        int i = start;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if ((c == '\'') || (c == '"') || (c == '`')) {
+                // Doubled quotes simply reopen the literal
+                int end = sql.indexOf(c, i + 1);
+                i = end < 0 ? sql.length() : end + 1;
+            } else if (sql.startsWith("--", i)) {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? sql.length() : end + 1;
+            } else if (sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? sql.length() : end + 2;
+            } else if (isIdentifierPart(c)) {
+                int end = i + 1;
+                while ((end < sql.length()) && isIdentifierPart(sql.charAt(end))) {
+                    end++;
                 }
-            } catch (SQLException e) {
-                throw new FlywaySqlScriptException(resource, sqlStatement, e);
+                if (isKeyword(sql, i, end, keyword)) {
+                    return true;
+                }
+                i = end;
+            } else {
+                i++;
             }
         }
+        return false;
+    }
+
+    /**
+     * @param c The character to check.
+     * @return Whether this character can be part of an unquoted identifier or keyword.
+     */
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || (c == '_') || (c == '$');
     }
 
     /**
@@ -166,58 +354,98 @@ public class SqlScript {
      */
     /* private -> for testing */
     List<SqlStatement> linesToStatements(List<String> lines) {
-        List<SqlStatement> statements = new ArrayList<SqlStatement>();
+        final List<SqlStatement> statements = new ArrayList<SqlStatement>();
 
-        Delimiter nonStandardDelimiter = null;
-        SqlStatementBuilder sqlStatementBuilder = dbSupport.createSqlStatementBuilder();
+        SqlStatementParser parser = new SqlStatementParser(new SqlStatementHandler() {
+            @Override
+            public void handle(SqlStatement sqlStatement) {
+                statements.add(sqlStatement);
+            }
+        });
+        for (String line : lines) {
+            parser.addLine(line);
+        }
+        parser.finish();
 
-        for (int lineNumber = 1; lineNumber <= lines.size(); lineNumber++) {
-            String line = lines.get(lineNumber - 1);
+        return statements;
+    }
 
-            if (sqlStatementBuilder.isEmpty()) {
-                if (!StringUtils.hasText(line)) {
-                    // Skip empty line between statements.
-                    continue;
-                }
+    /**
+     * Reads the resource of this script line by line, replaces the placeholders of each line and passes every
+     * statement to this handler as soon as it is terminated.
+     *
+     * @param handler The handler for the statements.
+     */
+    private void streamStatements(SqlStatementHandler handler) {
+        SqlStatementParser parser = new SqlStatementParser(handler);
 
-                Delimiter newDelimiter = sqlStatementBuilder.extractNewDelimiterFromLine(line);
-                if (newDelimiter != null) {
-                    nonStandardDelimiter = newDelimiter;
-                    // Skip this line as it was an explicit delimiter change directive outside of any statements.
-                    continue;
-                }
+        BufferedReader bufferedReader = new BufferedReader(resource.loadAsReader(encoding));
+        try {
+            String line = bufferedReader.readLine();
 
-                sqlStatementBuilder.setLineNumber(lineNumber);
+            //Strip UTF-8 BOM if necessary
+            if (line != null && line.startsWith("\ufeff")) {
+                line = line.substring(1);
+            }
 
-                // Start a new statement, marking it with this line number.
-                if (nonStandardDelimiter != null) {
-                    sqlStatementBuilder.setDelimiter(nonStandardDelimiter);
+            while (line != null) {
+                List<String> replacedLines = splitLines(placeholderReplacer.replacePlaceholders(line));
+                for (int i = 0; i < replacedLines.size(); i++) {
+                    parser.addLine(replacedLines.get(i));
+                    if (parser.isPgCopyCommandComplete()) {
+                        // The lines that follow are the COPY data. Stream them instead of feeding the parser.
+                        parser.addPgCopy(new PgCopyDataReader(bufferedReader,
+                                replacedLines.subList(i + 1, replacedLines.size())));
+                        break;
+                    }
                 }
+                line = bufferedReader.readLine();
+            }
+        } catch (IOException e) {
+            throw new FlywayException("Unable to parse " + resource.getLocation() + " (" + resource.getLocationOnDisk() + ")", e);
+        } finally {
+            try {
+                bufferedReader.close();
+            } catch (IOException e) {
+                // Ignore
             }
+        }
 
-            sqlStatementBuilder.addLine(line);
+        parser.finish();
+    }
 
-            if (sqlStatementBuilder.canDiscard()) {
-                sqlStatementBuilder = dbSupport.createSqlStatementBuilder();
-            } else if (sqlStatementBuilder.isTerminated()) {
-                addStatement(statements, sqlStatementBuilder);
-                sqlStatementBuilder = dbSupport.createSqlStatementBuilder();
+    /**
+     * Splits this line with all placeholders replaced. Placeholder values may contain line breaks, in which case the
+     * line is split the same way the whole script would have been after replacing its placeholders.
+     *
+     * @param line The line with all placeholders replaced.
+     * @return The resulting lines.
+     */
+    private List<String> splitLines(String line) {
+        List<String> lines = null;
+        int start = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\n' || c == '\r') {
+                if (lines == null) {
+                    lines = new ArrayList<String>();
+                }
+                lines.add(line.substring(start, i));
+                if (c == '\r' && i + 1 < line.length() && line.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                start = i + 1;
             }
         }
-
-        // Catch any statements not followed by delimiter.
-        if (!sqlStatementBuilder.isEmpty()) {
-            addStatement(statements, sqlStatementBuilder);
+        if (lines == null) {
+            return Collections.singletonList(line);
         }
-
-        return statements;
+        lines.add(line.substring(start));
+        return lines;
     }
 
-    private void addStatement(List<SqlStatement> statements, SqlStatementBuilder sqlStatementBuilder) {
-        SqlStatement sqlStatement = sqlStatementBuilder.getSqlStatement();
-        statements.add(sqlStatement);
-
-        if (sqlStatementBuilder.executeInTransaction()) {
+    private void addStatement(SqlStatementHandler handler, SqlStatement sqlStatement) {
+        if (sqlStatement.isExecuteInTransaction()) {
             transactionalStatementFound = true;
         } else {
             nonTransactionalStatementFound = true;
@@ -228,10 +456,12 @@ public class SqlScript {
                     "Detected both transactional and non-transactional statements within the same migration"
                             + " (even though allowMixedMigrations is false). Offending statement found at line "
                             + sqlStatement.getLineNumber() + ": " + sqlStatement.getSql()
-                            + (sqlStatementBuilder.executeInTransaction() ? "" : " [non-transactional]"));
+                            + (sqlStatement.isExecuteInTransaction() ? "" : " [non-transactional]"));
         }
 
-        LOG.debug("Found statement at line " + sqlStatement.getLineNumber() + ": " + sqlStatement.getSql() + (sqlStatementBuilder.executeInTransaction() ? "" : " [non-transactional]"));
+        LOG.debug("Found statement at line " + sqlStatement.getLineNumber() + ": " + sqlStatement.getSql() + (sqlStatement.isExecuteInTransaction() ? "" : " [non-transactional]"));
+
+        handler.handle(sqlStatement);
     }
 
     /**
@@ -260,4 +490,343 @@ public class SqlScript {
 
         return lines;
     }
+
+    /**
+     * Callback receiving the statements of a script in order, as soon as they have been parsed.
+     */
+    private interface SqlStatementHandler {
+        /**
+         * Handles this statement.
+         *
+         * @param sqlStatement The statement that was just parsed.
+         */
+        void handle(SqlStatement sqlStatement);
+    }
+
+    /**
+     * Executes statements as they are handed to it. When batching is enabled, runs of consecutive batchable statements
+     * are collected and sent to the database as a single JDBC batch. The pending batch is flushed before any other
+     * statement is executed.
+     */
+    private class SqlStatementExecutor implements SqlStatementHandler {
+        /**
+         * The jdbc template to use to execute the statements.
+         */
+        private final JdbcTemplate jdbcTemplate;
+
+        /**
+         * The statements of the current batch that have not been executed yet.
+         */
+        private final List<SqlStatement> batch = new ArrayList<SqlStatement>();
+
+        /**
+         * Creates a new executor.
+         *
+         * @param jdbcTemplate The jdbc template to use to execute the statements.
+         */
+        SqlStatementExecutor(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @Override
+        public void handle(SqlStatement sqlStatement) {
+            if (batchSize > 1 && isBatchable(sqlStatement)) {
+                batch.add(sqlStatement);
+                if (batch.size() >= batchSize) {
+                    flush();
+                }
+                return;
+            }
+
+            flush();
+            executeStatement(jdbcTemplate, sqlStatement);
+        }
+
+        /**
+         * Executes the statements of the current batch, if any.
+         */
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            if (batch.size() == 1) {
+                executeStatement(jdbcTemplate, batch.get(0));
+                batch.clear();
+                return;
+            }
+
+            List<String> sqls = new ArrayList<String>(batch.size());
+            for (SqlStatement sqlStatement : batch) {
+                sqls.add(sqlStatement.getSql());
+            }
+
+            LOG.debug("Executing batch of " + sqls.size() + " SQL statements starting at line " + batch.get(0).getLineNumber());
+            try {
+                jdbcTemplate.executeBatch(sqls);
+            } catch (SQLException e) {
+                throw new FlywaySqlScriptException(resource, findFailedStatement(e), e);
+            }
+            batch.clear();
+        }
+
+        /**
+         * Determines which statement of the current batch caused it to fail, based on the update counts reported by
+         * the driver. Falls back to the first statement of the batch if the driver does not report them.
+         *
+         * @param e The exception thrown by the batch.
+         * @return The statement that failed.
+         */
+        private SqlStatement findFailedStatement(SQLException e) {
+            if (e instanceof BatchUpdateException) {
+                int[] updateCounts = ((BatchUpdateException) e).getUpdateCounts();
+                if (updateCounts != null) {
+                    for (int i = 0; i < updateCounts.length && i < batch.size(); i++) {
+                        if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                            return batch.get(i);
+                        }
+                    }
+                    // The driver stopped at the first failure
+                    if (updateCounts.length < batch.size()) {
+                        return batch.get(updateCounts.length);
+                    }
+                }
+            }
+            return batch.get(0);
+        }
+    }
+
+    /**
+     * Turns a series of lines, fed one at a time, into statements.
+     */
+    private class SqlStatementParser {
+        /**
+         * The handler receiving the parsed statements.
+         */
+        private final SqlStatementHandler handler;
+
+        /**
+         * The builder for the statement currently being parsed.
+         */
+        private SqlStatementBuilder sqlStatementBuilder = dbSupport.createSqlStatementBuilder();
+
+        /**
+         * The delimiter set by the last explicit delimiter change directive, if any.
+         */
+        private Delimiter nonStandardDelimiter;
+
+        /**
+         * The number of the last line that was added.
+         */
+        private int lineNumber;
+
+        /**
+         * Creates a new parser.
+         *
+         * @param handler The handler receiving the parsed statements.
+         */
+        SqlStatementParser(SqlStatementHandler handler) {
+            this.handler = handler;
+        }
+
+        /**
+         * Adds the next line of the script.
+         *
+         * @param line The line to add.
+         */
+        void addLine(String line) {
+            lineNumber++;
+
+            if (sqlStatementBuilder.isEmpty()) {
+                if (!StringUtils.hasText(line)) {
+                    // Skip empty line between statements.
+                    return;
+                }
+
+                Delimiter newDelimiter = sqlStatementBuilder.extractNewDelimiterFromLine(line);
+                if (newDelimiter != null) {
+                    nonStandardDelimiter = newDelimiter;
+                    // Skip this line as it was an explicit delimiter change directive outside of any statements.
+                    return;
+                }
+
+                sqlStatementBuilder.setLineNumber(lineNumber);
+
+                // Start a new statement, marking it with this line number.
+                if (nonStandardDelimiter != null) {
+                    sqlStatementBuilder.setDelimiter(nonStandardDelimiter);
+                }
+            }
+
+            sqlStatementBuilder.addLine(line);
+
+            if (sqlStatementBuilder.canDiscard()) {
+                sqlStatementBuilder = dbSupport.createSqlStatementBuilder();
+            } else if (sqlStatementBuilder.isTerminated()) {
+                addStatement(handler, sqlStatementBuilder.getSqlStatement());
+                sqlStatementBuilder = dbSupport.createSqlStatementBuilder();
+            }
+        }
+
+        /**
+         * @return Whether the statement being parsed is a PostgreSQL COPY FROM STDIN statement whose command is
+         * complete, meaning the next lines are its data.
+         */
+        boolean isPgCopyCommandComplete() {
+            return sqlStatementBuilder.isPgCopyCommandComplete();
+        }
+
+        /**
+         * Completes the current PostgreSQL COPY FROM STDIN statement with this data and hands it to the handler.
+         * Whatever data the handler doesn't consume is skipped afterwards.
+         *
+         * @param data The data of the statement.
+         * @throws IOException when the data could not be read.
+         */
+        void addPgCopy(PgCopyDataReader data) throws IOException {
+            SqlStatement command = sqlStatementBuilder.getSqlStatement();
+            addStatement(handler, new SqlStatement(command.getLineNumber(), command.getSql(),
+                    sqlStatementBuilder.getPgCopyCommand(), command.isExecuteInTransaction(), data));
+            data.skipRemaining();
+
+            lineNumber += data.getLineCount();
+            sqlStatementBuilder = dbSupport.createSqlStatementBuilder();
+        }
+
+        /**
+         * Signals the end of the script.
+         */
+        void finish() {
+            // Catch any statements not followed by delimiter.
+            if (!sqlStatementBuilder.isEmpty()) {
+                addStatement(handler, sqlStatementBuilder.getSqlStatement());
+            }
+        }
+    }
+
+    /**
+     * Reads the data of a PostgreSQL COPY FROM STDIN statement line by line from the script, up to the end-of-data
+     * marker. Only a single line is held in memory at any time.
+     */
+    private class PgCopyDataReader extends Reader {
+        /**
+         * The reader of the script, positioned at the start of the data.
+         */
+        private final BufferedReader source;
+
+        /**
+         * Lines already split off the script that precede the ones still to be read from the source.
+         */
+        private final LinkedList<String> pendingLines;
+
+        /**
+         * The line currently being read, including its line break.
+         */
+        private String currentLine = "";
+
+        /**
+         * The position within the current line.
+         */
+        private int position;
+
+        /**
+         * Whether the end of the data has been reached.
+         */
+        private boolean endOfData;
+
+        /**
+         * The number of lines of the script consumed so far, including the end-of-data marker.
+         */
+        private int lineCount;
+
+        /**
+         * Creates a new reader for the COPY data.
+         *
+         * @param source       The reader of the script, positioned at the start of the data.
+         * @param pendingLines Lines already split off the script that precede the ones still to be read from the source.
+         */
+        PgCopyDataReader(BufferedReader source, List<String> pendingLines) {
+            this.source = source;
+            this.pendingLines = new LinkedList<String>(pendingLines);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            while (position >= currentLine.length()) {
+                if (!nextLine()) {
+                    return -1;
+                }
+            }
+
+            int count = Math.min(len, currentLine.length() - position);
+            currentLine.getChars(position, position + count, cbuf, off);
+            position += count;
+            return count;
+        }
+
+        /**
+         * Moves on to the next line of data.
+         *
+         * @return {@code true} if there is one, {@code false} if the end of the data has been reached.
+         * @throws IOException when the script could not be read.
+         */
+        private boolean nextLine() throws IOException {
+            if (endOfData) {
+                return false;
+            }
+
+            String line;
+            if (pendingLines.isEmpty()) {
+                line = source.readLine();
+                if (line != null) {
+                    line = placeholderReplacer.replacePlaceholders(line);
+                }
+            } else {
+                line = pendingLines.removeFirst();
+            }
+
+            if (line == null) {
+                endOfData = true;
+                return false;
+            }
+
+            lineCount++;
+            if ("\\.".equals(line.trim())) {
+                endOfData = true;
+                return false;
+            }
+
+            currentLine = line + "\n";
+            position = 0;
+            return true;
+        }
+
+        /**
+         * Skips the data that hasn't been read yet.
+         *
+         * @throws IOException when the script could not be read.
+         */
+        void skipRemaining() throws IOException {
+            //noinspection StatementWithEmptyBody
+            while (nextLine()) {
+                // Skip
+            }
+        }
+
+        /**
+         * @return The number of lines of the script consumed so far, including the end-of-data marker.
+         */
+        int getLineCount() {
+            return lineCount;
+        }
+
+        @Override
+        public void close() {
+            // The script reader is owned and closed by the script.
+        }
+    }
 }
@@ -15,6 +15,8 @@
  */
 package org.flywaydb.core.internal.dbsupport;
 
+import java.io.Reader;
+
 /**
  * A sql statement from a script that can be executed at once against a database.
  */
@@ -36,6 +38,23 @@ public class SqlStatement {
      */
     private boolean pgCopy;
 
+    /**
+     * Whether this statement can be executed within a transaction.
+     */
+    private boolean executeInTransaction;
+
+    /**
+     * The data of this PostgreSQL COPY FROM STDIN statement, streamed from the script it came from. {@code null} if
+     * the data is part of the sql instead.
+     */
+    private Reader pgCopyData;
+
+    /**
+     * The command of this PostgreSQL COPY FROM STDIN statement, without its terminating semicolon. {@code null} if the
+     * data is part of the sql instead.
+     */
+    private String pgCopyCommand;
+
     /**
      * Creates a new sql statement.
      *
@@ -44,9 +63,38 @@ public class SqlStatement {
      * @param pgCopy     Whether this is a PostgreSQL COPY FROM STDIN statement.
      */
     public SqlStatement(int lineNumber, String sql, boolean pgCopy) {
+        this(lineNumber, sql, pgCopy, true);
+    }
+
+    /**
+     * Creates a new sql statement.
+     *
+     * @param lineNumber           The original line number where the statement was located in the script it came from.
+     * @param sql                  The sql to send to the database.
+     * @param pgCopy               Whether this is a PostgreSQL COPY FROM STDIN statement.
+     * @param executeInTransaction Whether this statement can be executed within a transaction.
+     */
+    public SqlStatement(int lineNumber, String sql, boolean pgCopy, boolean executeInTransaction) {
         this.lineNumber = lineNumber;
         this.sql = sql;
         this.pgCopy = pgCopy;
+        this.executeInTransaction = executeInTransaction;
+    }
+
+    /**
+     * Creates a new PostgreSQL COPY FROM STDIN statement whose data is streamed from the script it came from.
+     *
+     * @param lineNumber           The original line number where the statement was located in the script it came from.
+     * @param sql                  The COPY command as found in the script, without its data.
+     * @param pgCopyCommand        The COPY command to execute, without its terminating semicolon.
+     * @param executeInTransaction Whether this statement can be executed within a transaction.
+     * @param pgCopyData           The data of the COPY statement.
+     */
+    public SqlStatement(int lineNumber, String sql, String pgCopyCommand, boolean executeInTransaction,
+                        Reader pgCopyData) {
+        this(lineNumber, sql, true, executeInTransaction);
+        this.pgCopyCommand = pgCopyCommand;
+        this.pgCopyData = pgCopyData;
     }
 
     /**
@@ -69,4 +117,27 @@ public class SqlStatement {
     public boolean isPgCopy() {
         return pgCopy;
     }
+
+    /**
+     * @return Whether this statement can be executed within a transaction.
+     */
+    public boolean isExecuteInTransaction() {
+        return executeInTransaction;
+    }
+
+    /**
+     * @return The data of this PostgreSQL COPY FROM STDIN statement, streamed from the script it came from.
+     * {@code null} if the data is part of the sql instead. Only readable while the statement is being handled.
+     */
+    public Reader getPgCopyData() {
+        return pgCopyData;
+    }
+
+    /**
+     * @return The command of this PostgreSQL COPY FROM STDIN statement, without its terminating semicolon.
+     * {@code null} if the data is part of the sql instead.
+     */
+    public String getPgCopyCommand() {
+        return pgCopyCommand;
+    }
 }
@@ -17,9 +17,6 @@ package org.flywaydb.core.internal.dbsupport;
 
 import org.flywaydb.core.internal.util.StringUtils;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Builds a SQL statement, one line at a time.
  */
@@ -74,6 +71,12 @@ public class SqlStatementBuilder {
      */
     private boolean nonCommentStatementPartSeen = false;
 
+    /**
+     * The types of the token currently being processed. A single token can have up to three types (eg: --' is both
+     * a single line comment and a quote). Reused for every token to avoid allocations.
+     */
+    private final TokenType[] tokenTypes = new TokenType[3];
+
     /**
      * Whether this statement should be executed within a transaction or not.
      */
@@ -128,7 +131,7 @@ public class SqlStatementBuilder {
      */
     public SqlStatement getSqlStatement() {
         String sql = statement.toString();
-        return new SqlStatement(lineNumber, sql, isPgCopyFromStdIn());
+        return new SqlStatement(lineNumber, sql, isPgCopyFromStdIn(), executeInTransaction());
     }
 
     /**
@@ -151,6 +154,24 @@ public class SqlStatementBuilder {
         return false;
     }
 
+    /**
+     * Checks whether this statement is a COPY statement for PostgreSQL whose command is complete, which means all
+     * lines that follow up to the end-of-data marker are its data.
+     *
+     * @return {@code true} if it is, {@code false} if not.
+     */
+    public boolean isPgCopyCommandComplete() {
+        return false;
+    }
+
+    /**
+     * @return The command of this PostgreSQL COPY statement, without its terminating semicolon and its data.
+     * {@code null} if this is not a COPY statement whose command is complete.
+     */
+    public String getPgCopyCommand() {
+        return null;
+    }
+
     /**
      * Checks whether this line is in fact a directive disguised as a comment.
      *
@@ -227,11 +248,46 @@ public class SqlStatementBuilder {
      * @return The simplified line.
      */
     protected String simplifyLine(String line) {
-        return removeEscapedQuotes(line)
-                .replace("--", " -- ")
-                .replace("/*", " /* ")
-                .replace("*/", " */ ")
-                .replaceAll("\\s+", " ").trim().toUpperCase();
+        String noEscapedQuotes = removeEscapedQuotes(line);
+        int length = noEscapedQuotes.length();
+        StringBuilder simplified = new StringBuilder(length + 16);
+
+        // Surround comment markers with spaces and collapse whitespace in a single pass
+        boolean whitespace = false;
+        for (int i = 0; i < length; i++) {
+            char c = noEscapedQuotes.charAt(i);
+            char next = i + 1 < length ? noEscapedQuotes.charAt(i + 1) : 0;
+            if ((c == '-' && next == '-') || (c == '/' && next == '*')
+                    // */ that is not part of a /* (as in */* or /*/)
+                    || (c == '*' && next == '/' && (i + 2 >= length || noEscapedQuotes.charAt(i + 2) != '*'))) {
+                if (!whitespace) {
+                    simplified.append(' ');
+                }
+                simplified.append(c).append(next).append(' ');
+                whitespace = true;
+                i++;
+            } else if (isRegexWhitespace(c)) {
+                if (!whitespace) {
+                    simplified.append(' ');
+                }
+                whitespace = true;
+            } else {
+                simplified.append(c);
+                whitespace = false;
+            }
+        }
+
+        return simplified.toString().trim().toUpperCase();
+    }
+
+    /**
+     * Checks whether this character is whitespace according to the \\s character class of regular expressions.
+     *
+     * @param c The character to check.
+     * @return {@code true} if it is, {@code false} if not.
+     */
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 
     /**
@@ -288,7 +344,8 @@ public class SqlStatementBuilder {
     }
 
     /**
-     * Extracts the alternate open quote from this token (if any).
+     * Extracts the alternate open quote from this token (if any). Tokens consisting solely of letters, digits,
+     * underscores and dots are never passed to this method.
      *
      * @param token The token to check.
      * @return The alternate open quote. {@code null} if none.
@@ -310,123 +367,225 @@ public class SqlStatementBuilder {
     /**
      * Applies any state changes resulting from this line being added.
      *
+     * <p>The line is scanned character by character and split into tokens on whitespace and on all special characters
+     * that naturally occur in SQL, but are not opening or closing string literals. Each token is classified as soon as
+     * it has been found, without building any intermediate arrays or lists.</p>
+     *
      * @param line The line that was just added to the statement.
      */
     protected void applyStateChanges(String line) {
-        //Ignore all special characters that naturally occur in SQL, but are not opening or closing string literals
-        String[] tokens = StringUtils.tokenizeToStringArray(line, " @<>;:=|(),+{}");
+        lineEndsWithSingleLineComment = false;
 
-        List<TokenType> delimitingTokens = extractStringLiteralDelimitingTokens(tokens);
+        if (line.length() == 0) {
+            // An empty line is a single empty token
+            applyStateChange(TokenType.OTHER);
+            return;
+        }
 
-        lineEndsWithSingleLineComment = false;
-        for (TokenType delimitingToken : delimitingTokens) {
-            if (!insideQuoteStringLiteral && !insideAlternateQuoteStringLiteral
-                    && TokenType.MULTI_LINE_COMMENT_OPEN.equals(delimitingToken)) {
-                insideMultiLineComment = true;
-            }
-            if (!insideQuoteStringLiteral && !insideAlternateQuoteStringLiteral
-                    && TokenType.MULTI_LINE_COMMENT_CLOSE.equals(delimitingToken)) {
-                insideMultiLineComment = false;
-            }
+        // Trailing empty tokens are ignored
+        int end = line.length();
+        while (end > 0 && isTokenSeparator(line.charAt(end - 1))) {
+            end--;
+        }
 
-            if (!insideQuoteStringLiteral && !insideAlternateQuoteStringLiteral && !insideMultiLineComment
-                    && TokenType.SINGLE_LINE_COMMENT.equals(delimitingToken)) {
-                lineEndsWithSingleLineComment = true;
-                return;
+        // Once a single line comment has been found, the state is final for this line. The remaining tokens are still
+        // classified though, as they can open or close alternate quotes.
+        boolean stateFinal = false;
+        int tokenStart = 0;
+        for (int i = 0; i < end; i++) {
+            if (isTokenSeparator(line.charAt(i))) {
+                stateFinal = processToken(line, tokenStart, i, stateFinal);
+                tokenStart = i + 1;
             }
+        }
+        if (end > 0) {
+            processToken(line, tokenStart, end, stateFinal);
+        }
+    }
 
-            if (!insideMultiLineComment && !insideQuoteStringLiteral &&
-                    TokenType.ALTERNATE_QUOTE.equals(delimitingToken)) {
-                insideAlternateQuoteStringLiteral = !insideAlternateQuoteStringLiteral;
-            }
+    /**
+     * Checks whether this character separates tokens.
+     *
+     * @param c The character to check.
+     * @return {@code true} if it does, {@code false} if not.
+     */
+    private static boolean isTokenSeparator(char c) {
+        switch (c) {
+            case ' ':
+            case '@':
+            case '<':
+            case '>':
+            case ';':
+            case ':':
+            case '=':
+            case '|':
+            case '(':
+            case ')':
+            case ',':
+            case '+':
+            case '{':
+            case '}':
+                return true;
+            default:
+                return false;
+        }
+    }
 
-            if (!insideMultiLineComment && !insideAlternateQuoteStringLiteral &&
-                    TokenType.QUOTE.equals(delimitingToken)) {
-                insideQuoteStringLiteral = !insideQuoteStringLiteral;
-            }
+    /**
+     * Classifies the token between these two positions of this line and applies the resulting state change.
+     *
+     * @param line       The line containing the token.
+     * @param start      The start of the token (inclusive).
+     * @param end        The end of the token (exclusive).
+     * @param stateFinal Whether the state of this line is already final.
+     * @return Whether the state of this line is now final.
+     */
+    private boolean processToken(String line, int start, int end, boolean stateFinal) {
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (start < end && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
 
-            if (!insideMultiLineComment && !insideQuoteStringLiteral && !insideAlternateQuoteStringLiteral &&
-                    TokenType.OTHER.equals(delimitingToken)) {
-                nonCommentStatementPartSeen = true;
-            }
+        int count;
+        if (isPlainToken(line, start, end)) {
+            tokenTypes[0] = TokenType.OTHER;
+            count = 1;
+        } else {
+            count = classifyToken(line.substring(start, end));
         }
+
+        for (int i = 0; i < count && !stateFinal; i++) {
+            stateFinal = applyStateChange(tokenTypes[i]);
+        }
+        return stateFinal;
     }
 
     /**
-     * Extract the type of all tokens that potentially delimit string literals.
+     * Checks whether the token between these two positions consists solely of letters, digits, underscores and dots.
+     * Such tokens can neither open nor close a string literal or a comment in any dialect.
      *
-     * @param tokens The tokens to analyse.
-     * @return The list of potentially delimiting string literals token types per token. Tokens that do not have any
-     * impact on string delimiting are discarded.
-     */
-    private List<TokenType> extractStringLiteralDelimitingTokens(String[] tokens) {
-        List<TokenType> delimitingTokens = new ArrayList<TokenType>();
-        for (String token : tokens) {
-            String cleanToken = cleanToken(token);
-            boolean handled = false;
-
-            if (alternateQuote == null) {
-                String alternateQuoteFromToken = extractAlternateOpenQuote(cleanToken);
-                if (alternateQuoteFromToken != null) {
-                    String closeQuote = computeAlternateCloseQuote(alternateQuoteFromToken);
-                    if (cleanToken.length() >= (alternateQuoteFromToken.length() + closeQuote.length())
-                            && cleanToken.startsWith(alternateQuoteFromToken) && cleanToken.endsWith(closeQuote)) {
-                        //Skip $$abc$$, ...
-                        continue;
-                    }
-
-                    alternateQuote = closeQuote;
-                    delimitingTokens.add(TokenType.ALTERNATE_QUOTE);
-
-                    continue;
-                }
-            }
-            if ((alternateQuote != null) && cleanToken.endsWith(alternateQuote)) {
-                alternateQuote = null;
-                delimitingTokens.add(TokenType.ALTERNATE_QUOTE);
-                continue;
+     * @param line  The line containing the token.
+     * @param start The start of the token (inclusive).
+     * @param end   The end of the token (exclusive).
+     * @return {@code true} if it does, {@code false} if not.
+     */
+    private static boolean isPlainToken(String line, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '.') {
+                return false;
             }
+        }
+        return true;
+    }
 
-            if ((cleanToken.length() >= 2) && cleanToken.startsWith("'") && cleanToken.endsWith("'")) {
-                //Skip '', 'abc', ...
-                continue;
-            }
-            if ((cleanToken.length() >= 4)) {
-                int numberOfOpeningMultiLineComments = StringUtils.countOccurrencesOf(cleanToken, "/*");
-                int numberOfClosingMultiLineComments = StringUtils.countOccurrencesOf(cleanToken, "*/");
-                if (numberOfOpeningMultiLineComments > 0 && numberOfOpeningMultiLineComments == numberOfClosingMultiLineComments) {
-                    //Skip /**/, /*comment*/, ...
-                    continue;
+    /**
+     * Applies the state change resulting from a token of this type.
+     *
+     * @param tokenType The type of the token.
+     * @return {@code true} if the token starts a single line comment, which makes the state of this line final.
+     */
+    private boolean applyStateChange(TokenType tokenType) {
+        if (!insideQuoteStringLiteral && !insideAlternateQuoteStringLiteral
+                && TokenType.MULTI_LINE_COMMENT_OPEN == tokenType) {
+            insideMultiLineComment = true;
+        }
+        if (!insideQuoteStringLiteral && !insideAlternateQuoteStringLiteral
+                && TokenType.MULTI_LINE_COMMENT_CLOSE == tokenType) {
+            insideMultiLineComment = false;
+        }
+
+        if (!insideQuoteStringLiteral && !insideAlternateQuoteStringLiteral && !insideMultiLineComment
+                && TokenType.SINGLE_LINE_COMMENT == tokenType) {
+            lineEndsWithSingleLineComment = true;
+            return true;
+        }
+
+        if (!insideMultiLineComment && !insideQuoteStringLiteral &&
+                TokenType.ALTERNATE_QUOTE == tokenType) {
+            insideAlternateQuoteStringLiteral = !insideAlternateQuoteStringLiteral;
+        }
+
+        if (!insideMultiLineComment && !insideAlternateQuoteStringLiteral &&
+                TokenType.QUOTE == tokenType) {
+            insideQuoteStringLiteral = !insideQuoteStringLiteral;
+        }
+
+        if (!insideMultiLineComment && !insideQuoteStringLiteral && !insideAlternateQuoteStringLiteral &&
+                TokenType.OTHER == tokenType) {
+            nonCommentStatementPartSeen = true;
+        }
+        return false;
+    }
+
+    /**
+     * Determines the types of this token with regard to delimiting string literals and comments and stores them in
+     * {@code tokenTypes}.
+     *
+     * @param token The token to analyse.
+     * @return The number of types found. {@code 0} if the token has no impact on string delimiting and should be
+     * discarded.
+     */
+    private int classifyToken(String token) {
+        String cleanToken = cleanToken(token);
+
+        if (alternateQuote == null) {
+            String alternateQuoteFromToken = extractAlternateOpenQuote(cleanToken);
+            if (alternateQuoteFromToken != null) {
+                String closeQuote = computeAlternateCloseQuote(alternateQuoteFromToken);
+                if (cleanToken.length() >= (alternateQuoteFromToken.length() + closeQuote.length())
+                        && cleanToken.startsWith(alternateQuoteFromToken) && cleanToken.endsWith(closeQuote)) {
+                    //Skip $$abc$$, ...
+                    return 0;
                 }
-            }
 
-            if (isSingleLineComment(cleanToken)) {
-                delimitingTokens.add(TokenType.SINGLE_LINE_COMMENT);
-                handled = true;
+                alternateQuote = closeQuote;
+                tokenTypes[0] = TokenType.ALTERNATE_QUOTE;
+                return 1;
             }
+        }
+        if ((alternateQuote != null) && cleanToken.endsWith(alternateQuote)) {
+            alternateQuote = null;
+            tokenTypes[0] = TokenType.ALTERNATE_QUOTE;
+            return 1;
+        }
 
-            if (cleanToken.contains("/*")) {
-                delimitingTokens.add(TokenType.MULTI_LINE_COMMENT_OPEN);
-                handled = true;
-            } else if (cleanToken.startsWith("'")) {
-                delimitingTokens.add(TokenType.QUOTE);
-                handled = true;
+        if ((cleanToken.length() >= 2) && cleanToken.startsWith("'") && cleanToken.endsWith("'")) {
+            //Skip '', 'abc', ...
+            return 0;
+        }
+        if ((cleanToken.length() >= 4)) {
+            int numberOfOpeningMultiLineComments = StringUtils.countOccurrencesOf(cleanToken, "/*");
+            int numberOfClosingMultiLineComments = StringUtils.countOccurrencesOf(cleanToken, "*/");
+            if (numberOfOpeningMultiLineComments > 0 && numberOfOpeningMultiLineComments == numberOfClosingMultiLineComments) {
+                //Skip /**/, /*comment*/, ...
+                return 0;
             }
+        }
 
-            if (!cleanToken.contains("/*") && cleanToken.contains("*/")) {
-                delimitingTokens.add(TokenType.MULTI_LINE_COMMENT_CLOSE);
-                handled = true;
-            } else if (!cleanToken.startsWith("'") && cleanToken.endsWith("'")) {
-                delimitingTokens.add(TokenType.QUOTE);
-                handled = true;
-            }
+        int count = 0;
+        if (isSingleLineComment(cleanToken)) {
+            tokenTypes[count++] = TokenType.SINGLE_LINE_COMMENT;
+        }
 
-            if (!handled) {
-                delimitingTokens.add(TokenType.OTHER);
-            }
+        if (cleanToken.contains("/*")) {
+            tokenTypes[count++] = TokenType.MULTI_LINE_COMMENT_OPEN;
+        } else if (cleanToken.startsWith("'")) {
+            tokenTypes[count++] = TokenType.QUOTE;
+        }
+
+        if (!cleanToken.contains("/*") && cleanToken.contains("*/")) {
+            tokenTypes[count++] = TokenType.MULTI_LINE_COMMENT_CLOSE;
+        } else if (!cleanToken.startsWith("'") && cleanToken.endsWith("'")) {
+            tokenTypes[count++] = TokenType.QUOTE;
         }
 
-        return delimitingTokens;
+        if (count == 0) {
+            tokenTypes[count++] = TokenType.OTHER;
+        }
+        return count;
     }
 
     /**
@@ -441,7 +600,8 @@ public class SqlStatementBuilder {
 
     /**
      * Performs additional cleanup on this token, such as removing charset casting that prefixes string literals.
-     * Must be implemented in dialect specific sub classes.
+     * Must be implemented in dialect specific sub classes. Tokens consisting solely of letters, digits, underscores
+     * and dots are never passed to this method.
      *
      * @param token The token to clean.
      * @return The cleaned token.
@@ -460,6 +620,16 @@ public class SqlStatementBuilder {
         return executeInTransaction;
     }
 
+    /**
+     * Whether this builder may ever mark a statement as non-transactional. Scripts for databases whose builder never
+     * does can be executed in a transaction without scanning them first.
+     *
+     * @return {@code true} if it may, {@code false} if every statement is always executed within a transaction.
+     */
+    public boolean supportsNonTransactionalStatements() {
+        return false;
+    }
+
     /**
      * The types of tokens relevant for string delimiter related parsing.
      */
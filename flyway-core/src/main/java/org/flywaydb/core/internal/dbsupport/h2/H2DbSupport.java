@@ -21,6 +21,7 @@ import org.flywaydb.core.internal.dbsupport.Schema;
 import org.flywaydb.core.internal.dbsupport.SqlStatementBuilder;
 import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
 
+import java.io.File;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -30,6 +31,16 @@ import java.sql.Types;
  * H2 database specific support
  */
 public class H2DbSupport extends DbSupport {
+    /**
+     * The transaction log mode before bulk mode was enabled. {@code null} if bulk mode is not enabled.
+     */
+    private String originalLogMode;
+
+    /**
+     * The undo log setting before bulk mode was enabled. {@code null} if bulk mode is not enabled.
+     */
+    private String originalUndoLog;
+
     /**
      * Creates a new instance.
      *
@@ -56,6 +67,65 @@ public class H2DbSupport extends DbSupport {
         jdbcTemplate.execute("SET SCHEMA " + schema);
     }
 
+    @Override
+    protected boolean doEnableBulkMode() throws SQLException {
+        if (jdbcTemplate.getMetaData().getURL().startsWith("jdbc:h2:mem:")) {
+            // In-memory databases have nothing to write to disk
+            return false;
+        }
+
+        String logMode = jdbcTemplate.queryForString("SELECT VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE NAME = 'LOG'");
+        originalLogMode = logMode == null ? "2" : logMode;
+        String undoLog = jdbcTemplate.queryForString("SELECT VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE NAME = 'UNDO_LOG'");
+        originalUndoLog = undoLog == null ? "1" : undoLog;
+        jdbcTemplate.execute("SET LOG 0");
+        jdbcTemplate.execute("SET UNDO_LOG 0");
+        return true;
+    }
+
+    @Override
+    protected void doRestoreBulkMode() throws SQLException {
+        if (originalLogMode == null) {
+            return;
+        }
+
+        jdbcTemplate.execute("SET UNDO_LOG " + originalUndoLog);
+        jdbcTemplate.execute("SET LOG " + originalLogMode);
+        jdbcTemplate.execute("CHECKPOINT SYNC");
+        originalLogMode = null;
+        originalUndoLog = null;
+    }
+
+    @Override
+    public boolean supportsSnapshots(Schema[] schemas) {
+        return true;
+    }
+
+    @Override
+    protected void doCreateSnapshot(Schema[] schemas, File file) throws SQLException {
+        StringBuilder schemaList = new StringBuilder();
+        for (Schema schema : schemas) {
+            if (schemaList.length() > 0) {
+                schemaList.append(", ");
+            }
+            schemaList.append(schema);
+        }
+        jdbcTemplate.execute("SCRIPT TO " + toStringLiteral(file) + " SCHEMA " + schemaList);
+    }
+
+    @Override
+    protected void doRestoreSnapshot(Schema[] schemas, File file) throws SQLException {
+        jdbcTemplate.execute("RUNSCRIPT FROM " + toStringLiteral(file));
+    }
+
+    /**
+     * @param file The file.
+     * @return The absolute path of this file as an SQL string literal.
+     */
+    private static String toStringLiteral(File file) {
+        return "'" + file.getAbsolutePath().replace("'", "''") + "'";
+    }
+
     public boolean supportsDdlTransactions() {
         return false;
     }
@@ -30,6 +30,10 @@ import java.sql.Types;
  * HsqlDb-specific support
  */
 public class HsqlDbSupport extends DbSupport {
+    /**
+     * Whether data changes were logged before bulk mode was enabled. {@code null} if bulk mode is not enabled.
+     */
+    private String originalLogData;
     /**
      * Creates a new instance.
      *
@@ -72,6 +76,36 @@ public class HsqlDbSupport extends DbSupport {
         jdbcTemplate.execute("SET SCHEMA " + schema);
     }
 
+    @Override
+    protected boolean doEnableBulkMode() throws SQLException {
+        if (jdbcTemplate.getMetaData().getURL().startsWith("jdbc:hsqldb:mem:")) {
+            // In-memory databases have nothing to write to disk
+            return false;
+        }
+
+        // HSQLDB 2.x only
+        String logData = jdbcTemplate.queryForString("SELECT PROPERTY_VALUE FROM INFORMATION_SCHEMA.SYSTEM_PROPERTIES"
+                + " WHERE PROPERTY_NAME = 'hsqldb.log_data'");
+        if (logData == null) {
+            return false;
+        }
+
+        originalLogData = logData;
+        jdbcTemplate.execute("SET FILES LOG FALSE");
+        return true;
+    }
+
+    @Override
+    protected void doRestoreBulkMode() throws SQLException {
+        if (originalLogData == null) {
+            return;
+        }
+
+        jdbcTemplate.execute("SET FILES LOG " + ("false".equalsIgnoreCase(originalLogData) ? "FALSE" : "TRUE"));
+        jdbcTemplate.execute("CHECKPOINT");
+        originalLogData = null;
+    }
+
     public boolean supportsDdlTransactions() {
         return false;
     }
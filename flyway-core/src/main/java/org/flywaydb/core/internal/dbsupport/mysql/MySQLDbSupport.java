@@ -121,4 +121,10 @@ public class MySQLDbSupport extends DbSupport {
     public boolean catalogIsSchema() {
         return true;
     }
+
+    @Override
+    public boolean supportsParallelClean() {
+        // Foreign keys commonly span databases and are only ignored by the connection that disabled their checks.
+        return false;
+    }
 }
@@ -29,7 +29,26 @@ public class MySQLSqlStatementBuilder extends SqlStatementBuilder {
      * The keyword that indicates a change in delimiter.
      */
     private static final String DELIMITER_KEYWORD = "DELIMITER";
-    private final String[] charSets = {
+
+    /**
+     * Regex for single-line comment directives.
+     */
+    private static final Pattern SINGLE_LINE_COMMENT_DIRECTIVE_REGEX =
+            Pattern.compile("^" + Pattern.quote("/*!") + "\\d{5} .*" + Pattern.quote("*/") + "\\s*;?");
+
+    /**
+     * Regex for the start of multi-line comment directives.
+     */
+    private static final Pattern MULTI_LINE_COMMENT_DIRECTIVE_START_REGEX =
+            Pattern.compile("^" + Pattern.quote("/*!") + "\\d{5} .*");
+
+    /**
+     * Regex for the last line of multi-line comment directives.
+     */
+    private static final Pattern MULTI_LINE_COMMENT_DIRECTIVE_END_REGEX =
+            Pattern.compile(".*" + Pattern.quote("*/") + "\\s*;?");
+
+    private static final String[] CHAR_SETS = {
             "ARMSCII8", "ASCII", "BIG5", "BINARY", "CP1250", "CP1251", "CP1256", "CP1257", "CP850", "CP852", "CP866", "CP932",
             "DEC8", "EUCJPMS", "EUCKR", "GB2312", "GBK", "GEOSTD8", "GREEK", "HEBREW", "HP8", "KEYBCS2", "KOI8R", "KOI8U", "LATIN1",
             "LATIN2", "LATIN5", "LATIN7", "MACCE", "MACROMAN", "SJIS", "SWE7", "TIS620", "UCS2", "UJIS", "UTF8"
@@ -58,16 +77,16 @@ public class MySQLSqlStatementBuilder extends SqlStatementBuilder {
     @Override
     public boolean isCommentDirective(String line) {
         // single-line comment directive
-        if (line.matches("^" + Pattern.quote("/*!") + "\\d{5} .*" + Pattern.quote("*/") + "\\s*;?")) {
+        if (SINGLE_LINE_COMMENT_DIRECTIVE_REGEX.matcher(line).matches()) {
             return true;
         }
         // start of multi-line comment directive
-        if (line.matches("^" + Pattern.quote("/*!") + "\\d{5} .*")) {
+        if (MULTI_LINE_COMMENT_DIRECTIVE_START_REGEX.matcher(line).matches()) {
             isInMultiLineCommentDirective = true;
             return true;
         }
         // last line of multi-line comment directive
-        if (isInMultiLineCommentDirective && line.matches(".*" + Pattern.quote("*/") + "\\s*;?")) {
+        if (isInMultiLineCommentDirective && MULTI_LINE_COMMENT_DIRECTIVE_END_REGEX.matcher(line).matches()) {
             isInMultiLineCommentDirective = false;
             return true;
         }
@@ -93,7 +112,7 @@ public class MySQLSqlStatementBuilder extends SqlStatementBuilder {
         }
 
         if (token.startsWith("_")) {
-            for (String charSet : charSets) {
+            for (String charSet : CHAR_SETS) {
                 String cast = "_" + charSet;
                 if (token.startsWith(cast)) {
                     return token.substring(cast.length());
@@ -85,4 +85,10 @@ public class OracleDbSupport extends DbSupport {
     public boolean catalogIsSchema() {
         return false;
     }
+
+    @Override
+    public boolean supportsParallelClean() {
+        // Tables are dropped with CASCADE CONSTRAINTS, which also drops the constraints of other schemas.
+        return false;
+    }
 }
@@ -41,25 +41,47 @@ public class OracleSqlStatementBuilder extends SqlStatementBuilder {
      */
     private static final Delimiter PLSQL_DELIMITER = new Delimiter("/", true);
 
+    /**
+     * Regex for lines starting a PL/SQL block.
+     */
+    private static final Pattern PLSQL_BLOCK_START_REGEX = Pattern.compile("DECLARE|DECLARE\\s.*|BEGIN|BEGIN\\s.*");
+
+    /**
+     * Regex for the beginning of statements containing PL/SQL or Java code.
+     */
+    private static final Pattern PLSQL_STATEMENT_START_REGEX = Pattern.compile(
+            "CREATE( OR REPLACE)? (FUNCTION|PROCEDURE|PACKAGE|TYPE|TRIGGER).*"
+                    + "|CREATE( OR REPLACE)?( AND (RESOLVE|COMPILE))?( NOFORCE)? JAVA (SOURCE|RESOURCE|CLASS).*");
+
+    /**
+     * Regex for sequences of whitespace.
+     */
+    private static final Pattern WHITESPACE_REGEX = Pattern.compile("\\s+");
+
     /**
      * Holds the beginning of the statement.
      */
     private String statementStart = "";
 
+    /**
+     * Whether the beginning of the statement indicates PL/SQL or Java code.
+     */
+    private boolean plsqlStatement;
+
     @Override
     protected Delimiter changeDelimiterIfNecessary(String line, Delimiter delimiter) {
-        if (line.matches("DECLARE|DECLARE\\s.*") || line.matches("BEGIN|BEGIN\\s.*")) {
+        if (PLSQL_BLOCK_START_REGEX.matcher(line).matches()) {
             return PLSQL_DELIMITER;
         }
 
         if (StringUtils.countOccurrencesOf(statementStart, " ") < 8) {
             statementStart += line;
             statementStart += " ";
-            statementStart = statementStart.replaceAll("\\s+", " ");
+            statementStart = WHITESPACE_REGEX.matcher(statementStart).replaceAll(" ");
+            plsqlStatement = PLSQL_STATEMENT_START_REGEX.matcher(statementStart).matches();
         }
 
-        if (statementStart.matches("CREATE( OR REPLACE)? (FUNCTION|PROCEDURE|PACKAGE|TYPE|TRIGGER).*")
-                || statementStart.matches("CREATE( OR REPLACE)?( AND (RESOLVE|COMPILE))?( NOFORCE)? JAVA (SOURCE|RESOURCE|CLASS).*")) {
+        if (plsqlStatement) {
             return PLSQL_DELIMITER;
         }
 
@@ -26,6 +26,7 @@ import org.postgresql.copy.CopyManager;
 import org.postgresql.core.BaseConnection;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -142,13 +143,18 @@ public class PostgreSQLDbSupport extends DbSupport {
 
     @Override
     public void executePgCopy(Connection connection, String sql) throws SQLException {
-        int split = sql.indexOf(";");
+        int split = PostgreSQLSqlStatementBuilder.indexOfPgCopyCommandEnd(sql);
         String statement = sql.substring(0, split);
         String data = sql.substring(split + 1).trim();
 
+        executePgCopy(connection, statement, new StringReader(data));
+    }
+
+    @Override
+    public void executePgCopy(Connection connection, String command, Reader data) throws SQLException {
         CopyManager copyManager = new CopyManager(connection.unwrap(BaseConnection.class));
         try {
-            copyManager.copyIn(statement, new StringReader(data));
+            copyManager.copyIn(command, data);
         } catch (IOException e) {
             throw new SQLException("Unable to execute COPY operation", e);
         }
@@ -23,6 +23,7 @@ import org.flywaydb.core.internal.dbsupport.Type;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -30,6 +31,58 @@ import java.util.Map;
  * PostgreSQL implementation of Schema.
  */
 public class PostgreSQLSchema extends Schema<PostgreSQLDbSupport> {
+    /**
+     * The maximum number of objects to drop in a single multi-object DROP statement.
+     */
+    private static final int MAX_OBJECTS_PER_DROP = 500;
+
+    /**
+     * Query reading all droppable objects of a schema from the catalog in a single round-trip, one row per object
+     * with its kind, name, argument types (routines only) and type category (base types only). The predicates are the
+     * same as the ones of the per-kind queries. As these read tables, sequences and domains from information_schema,
+     * which only lists the objects the current role owns or has privileges on, the same filters apply here.
+     */
+    private static final String CATALOG_SNAPSHOT_QUERY =
+            "WITH ns AS (SELECT oid FROM pg_catalog.pg_namespace WHERE nspname = ?) "
+                    // materialized views
+                    + "SELECT 'm' AS kind, c.relname::text AS name, NULL::text AS args, NULL::text AS category"
+                    + " FROM pg_catalog.pg_class c WHERE c.relkind = 'm' AND c.relnamespace IN (SELECT oid FROM ns) "
+                    // views that don't depend on an extension
+                    + "UNION ALL SELECT 'v', c.relname::text, NULL, NULL FROM pg_catalog.pg_class c"
+                    + " LEFT JOIN pg_catalog.pg_depend dep ON dep.objid = c.oid AND dep.deptype = 'e'"
+                    + " WHERE c.relkind = 'v' AND c.relnamespace IN (SELECT oid FROM ns) AND dep.objid IS NULL "
+                    // tables that are not child tables (these are dropped with their parent)
+                    + "UNION ALL SELECT 'r', c.relname::text, NULL, NULL FROM pg_catalog.pg_class c"
+                    + " WHERE c.relkind IN ('r', 'p') AND c.relnamespace IN (SELECT oid FROM ns)"
+                    + " AND NOT EXISTS (SELECT 1 FROM pg_catalog.pg_inherits i WHERE i.inhrelid = c.oid)"
+                    + " AND (pg_catalog.pg_has_role(c.relowner, 'USAGE')"
+                    + " OR pg_catalog.has_table_privilege(c.oid, 'SELECT, INSERT, UPDATE, DELETE, TRUNCATE, REFERENCES, TRIGGER')"
+                    + " OR pg_catalog.has_any_column_privilege(c.oid, 'SELECT, INSERT, UPDATE, REFERENCES')) "
+                    // sequences
+                    + "UNION ALL SELECT 'S', c.relname::text, NULL, NULL FROM pg_catalog.pg_class c"
+                    + " WHERE c.relkind = 'S' AND c.relnamespace IN (SELECT oid FROM ns)"
+                    + " AND (pg_catalog.pg_has_role(c.relowner, 'USAGE')"
+                    + " OR pg_catalog.has_sequence_privilege(c.oid, 'SELECT, UPDATE, USAGE')) "
+                    // base types
+                    + "UNION ALL SELECT 'b', t.typname::text, NULL, t.typcategory::text FROM pg_catalog.pg_type t"
+                    + " WHERE (t.typrelid = 0 OR (SELECT c.relkind = 'c' FROM pg_catalog.pg_class c WHERE c.oid = t.typrelid))"
+                    + " AND NOT EXISTS (SELECT 1 FROM pg_catalog.pg_type el WHERE el.oid = t.typelem AND el.typarray = t.oid)"
+                    + " AND t.typnamespace IN (SELECT oid FROM ns) "
+                    // aggregates
+                    + "UNION ALL SELECT 'a', p.proname::text, oidvectortypes(p.proargtypes), NULL FROM pg_catalog.pg_proc p"
+                    + " WHERE p.proisagg = true AND p.pronamespace IN (SELECT oid FROM ns) "
+                    // routines that don't depend on an extension
+                    + "UNION ALL SELECT 'f', p.proname::text, oidvectortypes(p.proargtypes), NULL FROM pg_catalog.pg_proc p"
+                    + " LEFT JOIN pg_catalog.pg_depend dep ON dep.objid = p.oid AND dep.deptype = 'e'"
+                    + " WHERE p.proisagg = false AND p.pronamespace IN (SELECT oid FROM ns) AND dep.objid IS NULL "
+                    // enums
+                    + "UNION ALL SELECT 'e', t.typname::text, NULL, NULL FROM pg_catalog.pg_type t"
+                    + " WHERE t.typtype = 'e' AND t.typnamespace IN (SELECT oid FROM ns) "
+                    // domains
+                    + "UNION ALL SELECT 'd', t.typname::text, NULL, NULL FROM pg_catalog.pg_type t"
+                    + " WHERE t.typtype = 'd' AND t.typnamespace IN (SELECT oid FROM ns)"
+                    + " AND (pg_catalog.pg_has_role(t.typowner, 'USAGE') OR pg_catalog.has_type_privilege(t.oid, 'USAGE'))";
+
     /**
      * Creates a new PostgreSQL schema.
      *
@@ -69,6 +122,14 @@ public class PostgreSQLSchema extends Schema<PostgreSQLDbSupport> {
         int databaseMajorVersion = jdbcTemplate.getMetaData().getDatabaseMajorVersion();
         int databaseMinorVersion = jdbcTemplate.getMetaData().getDatabaseMinorVersion();
 
+        if ((databaseMajorVersion > 9) || ((databaseMajorVersion == 9) && (databaseMinorVersion >= 4))) {
+            // PostgreSQL 9.4 and newer only: DROP ... IF EXISTS reliably skips objects already dropped by a cascade,
+            // which a snapshot taken before the first drop requires
+            // The server reports a NOTICE for every object dropped by a cascade, which is noise during a clean
+            jdbcTemplate.executeBatch(generateDropStatementsFromCatalogSnapshot(databaseMajorVersion >= 10), true);
+            return;
+        }
+
         if ((databaseMajorVersion > 9) || ((databaseMajorVersion == 9) && (databaseMinorVersion >= 3))) {
             // PostgreSQL 9.3 and newer only
             for (String statement : generateDropStatementsForMaterializedViews()) {
@@ -114,6 +175,74 @@ public class PostgreSQLSchema extends Schema<PostgreSQLDbSupport> {
 
     }
 
+    /**
+     * Generates the statements for dropping all objects in this schema from a single snapshot of the catalog. Objects
+     * of the same kind are dropped together in multi-object DROP statements, in the same order as the per-kind clean.
+     *
+     * @param groupRoutines Whether aggregates and routines can be dropped with multi-object DROP statements as well
+     *                      (PostgreSQL 10 and newer).
+     * @return The drop statements.
+     * @throws SQLException when the clean statements could not be generated.
+     */
+    /* private -> for testing */
+    List<String> generateDropStatementsFromCatalogSnapshot(boolean groupRoutines) throws SQLException {
+        Map<String, List<String>> objectsByKind = new LinkedHashMap<String, List<String>>();
+        for (String kind : Arrays.asList("m", "v", "r", "S", "b", "a", "f", "e", "d")) {
+            objectsByKind.put(kind, new ArrayList<String>());
+        }
+        List<String> recreatedTypes = new ArrayList<String>();
+
+        for (Map<String, String> row : jdbcTemplate.queryForList(CATALOG_SNAPSHOT_QUERY, name)) {
+            String kind = row.get("kind");
+            String object = dbSupport.quote(name, row.get("name"));
+            if (row.get("args") != null) {
+                object += "(" + row.get("args") + ")";
+            }
+            objectsByKind.get(kind).add(object);
+
+            // Only recreate Pseudo-types (P) and User-defined types (U)
+            if ("b".equals(kind) && Arrays.asList("P", "U").contains(row.get("category"))) {
+                recreatedTypes.add("CREATE TYPE " + object);
+            }
+        }
+
+        List<String> statements = new ArrayList<String>();
+        addDropStatements(statements, "DROP MATERIALIZED VIEW IF EXISTS", objectsByKind.get("m"), " CASCADE", true);
+        addDropStatements(statements, "DROP VIEW IF EXISTS", objectsByKind.get("v"), " CASCADE", true);
+        addDropStatements(statements, "DROP TABLE IF EXISTS", objectsByKind.get("r"), " CASCADE", true);
+        addDropStatements(statements, "DROP SEQUENCE IF EXISTS", objectsByKind.get("S"), "", true);
+        addDropStatements(statements, "DROP TYPE IF EXISTS", objectsByKind.get("b"), " CASCADE", true);
+        statements.addAll(recreatedTypes);
+        addDropStatements(statements, "DROP AGGREGATE IF EXISTS", objectsByKind.get("a"), " CASCADE", groupRoutines);
+        addDropStatements(statements, "DROP FUNCTION IF EXISTS", objectsByKind.get("f"), " CASCADE", groupRoutines);
+        addDropStatements(statements, "DROP TYPE IF EXISTS", objectsByKind.get("e"), "", true);
+        addDropStatements(statements, "DROP DOMAIN IF EXISTS", objectsByKind.get("d"), "", true);
+        addDropStatements(statements, "DROP TYPE IF EXISTS", objectsByKind.get("b"), " CASCADE", true);
+        return statements;
+    }
+
+    /**
+     * Adds the statements for dropping these objects, grouping them into multi-object DROP statements if allowed.
+     *
+     * @param statements The statements to add to.
+     * @param drop       The DROP command, up to the object names.
+     * @param objects    The (quoted) objects to drop.
+     * @param suffix     The suffix of the DROP command, after the object names.
+     * @param group      Whether multiple objects can be dropped by a single statement.
+     */
+    private void addDropStatements(List<String> statements, String drop, List<String> objects, String suffix,
+                                   boolean group) {
+        int groupSize = group ? MAX_OBJECTS_PER_DROP : 1;
+        for (int i = 0; i < objects.size(); i += groupSize) {
+            StringBuilder statement = new StringBuilder(drop);
+            List<String> objectGroup = objects.subList(i, Math.min(i + groupSize, objects.size()));
+            for (int j = 0; j < objectGroup.size(); j++) {
+                statement.append(j == 0 ? " " : ", ").append(objectGroup.get(j));
+            }
+            statements.add(statement.append(suffix).toString());
+        }
+    }
+
     /**
      * Generates the statements for dropping the sequences in this schema.
      *
@@ -37,6 +37,33 @@ public class PostgreSQLSqlStatementBuilder extends SqlStatementBuilder {
     /*private -> for testing*/
     static final String DOLLAR_QUOTE_REGEX = "(\\$[A-Za-z0-9_]*\\$).*";
 
+    /**
+     * Compiled form of the dollar quote regex.
+     */
+    private static final Pattern DOLLAR_QUOTE_PATTERN = Pattern.compile(DOLLAR_QUOTE_REGEX);
+
+    /**
+     * Matches the beginning of statements that can not be executed within a transaction.
+     */
+    private static final Pattern NON_TRANSACTIONAL_STATEMENT_PATTERN = Pattern.compile(
+            "(CREATE|DROP) (DATABASE|TABLESPACE) .*"
+                    + "|ALTER SYSTEM .*"
+                    + "|CREATE( UNIQUE)? INDEX CONCURRENTLY .*"
+                    + "|REINDEX( VERBOSE)? (SCHEMA|DATABASE|SYSTEM) .*"
+                    + "|VACUUM .*"
+                    + "|DISCARD ALL .*"
+                    + "|ALTER TYPE .* ADD VALUE .*");
+
+    /**
+     * Matches the beginning of COPY statements.
+     */
+    private static final Pattern COPY_PATTERN = Pattern.compile("COPY|COPY\\s.*");
+
+    /**
+     * Matches sequences of whitespace.
+     */
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
     /**
      * Are we at the beginning of the statement.
      */
@@ -52,6 +79,11 @@ public class PostgreSQLSqlStatementBuilder extends SqlStatementBuilder {
      */
     private boolean pgCopy;
 
+    /**
+     * Whether the command of this COPY statement is complete, making all following lines part of its data.
+     */
+    private boolean pgCopyCommandComplete;
+
     /**
      * Holds the beginning of the statement.
      */
@@ -65,27 +97,31 @@ public class PostgreSQLSqlStatementBuilder extends SqlStatementBuilder {
             return;
         }
 
+        // The beginning of the statement only changes for its first few words. Once it is complete, there is no
+        // need to check it again.
         if (StringUtils.countOccurrencesOf(statementStart, " ") < 8) {
             statementStart += line;
             statementStart += " ";
-            statementStart = statementStart.replaceAll("\\s+", " ");
-        }
+            statementStart = WHITESPACE_PATTERN.matcher(statementStart).replaceAll(" ");
 
-        if (statementStart.matches("(CREATE|DROP) (DATABASE|TABLESPACE) .*")
-                || statementStart.matches("ALTER SYSTEM .*")
-                || statementStart.matches("CREATE( UNIQUE)? INDEX CONCURRENTLY .*")
-                || statementStart.matches("REINDEX( VERBOSE)? (SCHEMA|DATABASE|SYSTEM) .*")
-                || statementStart.matches("VACUUM .*")
-                || statementStart.matches("DISCARD ALL .*")
-                || statementStart.matches("ALTER TYPE .* ADD VALUE .*")
-                ) {
-            executeInTransaction = false;
+            if (NON_TRANSACTIONAL_STATEMENT_PATTERN.matcher(statementStart).matches()) {
+                executeInTransaction = false;
+            }
         }
     }
 
+    @Override
+    public boolean supportsNonTransactionalStatements() {
+        return true;
+    }
+
     @Override
     protected String extractAlternateOpenQuote(String token) {
-        Matcher matcher = Pattern.compile(DOLLAR_QUOTE_REGEX).matcher(token);
+        if (token.indexOf('$') < 0) {
+            return null;
+        }
+
+        Matcher matcher = DOLLAR_QUOTE_PATTERN.matcher(token);
         if (matcher.find()) {
             return matcher.group(1);
         }
@@ -95,12 +131,15 @@ public class PostgreSQLSqlStatementBuilder extends SqlStatementBuilder {
     @Override
     protected Delimiter changeDelimiterIfNecessary(String line, Delimiter delimiter) {
         if (pgCopy) {
+            if (indexOfPgCopyCommandEnd(line) >= 0) {
+                pgCopyCommandComplete = true;
+            }
             return COPY_DELIMITER;
         }
 
         if (firstLine) {
             firstLine = false;
-            if (line.matches("COPY|COPY\\s.*")) {
+            if (COPY_PATTERN.matcher(line).matches()) {
                 copyStatement = line;
             }
         } else if (copyStatement != null) {
@@ -109,6 +148,7 @@ public class PostgreSQLSqlStatementBuilder extends SqlStatementBuilder {
 
         if (copyStatement != null && copyStatement.contains(" FROM STDIN")) {
             pgCopy = true;
+            pgCopyCommandComplete = indexOfPgCopyCommandEnd(line) >= 0;
             return COPY_DELIMITER;
         }
 
@@ -120,6 +160,58 @@ public class PostgreSQLSqlStatementBuilder extends SqlStatementBuilder {
         return pgCopy;
     }
 
+    @Override
+    public boolean isPgCopyCommandComplete() {
+        return pgCopyCommandComplete;
+    }
+
+    @Override
+    public String getPgCopyCommand() {
+        if (!pgCopyCommandComplete) {
+            return null;
+        }
+
+        String sql = getSqlStatement().getSql();
+        return sql.substring(0, indexOfPgCopyCommandEnd(sql));
+    }
+
+    /**
+     * Finds the semicolon terminating the command of this COPY statement, skipping string literals, quoted identifiers
+     * and comments.
+     *
+     * @param sql The COPY statement, optionally followed by its data.
+     * @return The index of the semicolon. {@code -1} if the command is not terminated.
+     */
+    /* private -> for testing */
+    static int indexOfPgCopyCommandEnd(String sql) {
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == ';') {
+                return i;
+            }
+
+            if ((c == '\'') || (c == '"')) {
+                // Backslashes only escape characters in E'...' strings. Doubled quotes simply reopen the literal.
+                boolean backslashEscapes = (c == '\'') && (i > 0) && (Character.toUpperCase(sql.charAt(i - 1)) == 'E');
+                i++;
+                while ((i < sql.length()) && (sql.charAt(i) != c)) {
+                    i += (backslashEscapes && (sql.charAt(i) == '\\')) ? 2 : 1;
+                }
+                i++;
+            } else if (sql.startsWith("--", i)) {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? sql.length() : end + 1;
+            } else if (sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? sql.length() : end + 2;
+            } else {
+                i++;
+            }
+        }
+        return -1;
+    }
+
     @Override
     protected String cleanToken(String token) {
         if (token.startsWith("E'")) {
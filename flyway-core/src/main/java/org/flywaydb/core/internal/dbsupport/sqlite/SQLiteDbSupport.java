@@ -22,6 +22,7 @@ import org.flywaydb.core.internal.dbsupport.SqlStatementBuilder;
 import org.flywaydb.core.internal.util.logging.Log;
 import org.flywaydb.core.internal.util.logging.LogFactory;
 
+import java.io.File;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Types;
@@ -32,6 +33,17 @@ import java.sql.Types;
 public class SQLiteDbSupport extends DbSupport {
     private static final Log LOG = LogFactory.getLog(SQLiteDbSupport.class);
 
+    /**
+     * The page cache size to use in bulk mode, in KiB (negative values are sizes instead of page counts).
+     */
+    private static final String BULK_CACHE_SIZE = "-262144";
+
+    /**
+     * The journal mode, synchronous flag, locking mode and cache size before bulk mode was enabled, in that order.
+     * {@code null} if bulk mode is not enabled.
+     */
+    private String[] originalSettings;
+
     /**
      * Creates a new instance.
      *
@@ -93,4 +105,69 @@ public class SQLiteDbSupport extends DbSupport {
     public boolean useSingleConnection() {
         return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    protected boolean doEnableBulkMode() throws SQLException {
+        originalSettings = new String[]{
+                jdbcTemplate.queryForString("PRAGMA journal_mode"),
+                jdbcTemplate.queryForString("PRAGMA synchronous"),
+                jdbcTemplate.queryForString("PRAGMA locking_mode"),
+                jdbcTemplate.queryForString("PRAGMA cache_size")};
+
+        // The rollback journal is kept in memory so failed migrations can still be rolled back
+        jdbcTemplate.executeStatement("PRAGMA locking_mode = EXCLUSIVE");
+        jdbcTemplate.executeStatement("PRAGMA journal_mode = MEMORY");
+        jdbcTemplate.executeStatement("PRAGMA synchronous = OFF");
+        jdbcTemplate.executeStatement("PRAGMA cache_size = " + BULK_CACHE_SIZE);
+        return true;
+    }
+
+    @Override
+    protected void doRestoreBulkMode() throws SQLException {
+        if (originalSettings == null) {
+            return;
+        }
+
+        jdbcTemplate.executeStatement("PRAGMA cache_size = " + originalSettings[3]);
+        jdbcTemplate.executeStatement("PRAGMA synchronous = " + originalSettings[1]);
+        jdbcTemplate.executeStatement("PRAGMA journal_mode = " + originalSettings[0]);
+        if ("wal".equalsIgnoreCase(originalSettings[0])) {
+            jdbcTemplate.executeStatement("PRAGMA wal_checkpoint(TRUNCATE)");
+        }
+        // The exclusive lock is released on the next access of the database
+        jdbcTemplate.executeStatement("PRAGMA locking_mode = " + originalSettings[2]);
+        jdbcTemplate.queryForInt("SELECT COUNT(*) FROM sqlite_master");
+        originalSettings = null;
+    }
+
+    @Override
+    public boolean supportsParallelClean() {
+        // All attached databases live behind a single connection and writes to a database file are serialized anyway.
+        return false;
+    }
+
+    @Override
+    public boolean supportsSnapshots(Schema[] schemas) {
+        // Each snapshot file holds a single database. Multiple attached databases are cleaned and migrated instead.
+        return schemas.length == 1;
+    }
+
+    @Override
+    protected void doCreateSnapshot(Schema[] schemas, File file) throws SQLException {
+        // Uses the online backup API exposed by the sqlite-jdbc driver
+        jdbcTemplate.executeStatement("backup " + schemas[0].getName() + " to " + toQuotedPath(file));
+    }
+
+    @Override
+    protected void doRestoreSnapshot(Schema[] schemas, File file) throws SQLException {
+        jdbcTemplate.executeStatement("restore " + schemas[0].getName() + " from " + toQuotedPath(file));
+    }
+
+    /**
+     * @param file The file.
+     * @return The absolute path of this file, quoted for the backup and restore commands of the sqlite-jdbc driver.
+     */
+    private static String toQuotedPath(File file) {
+        return "\"" + file.getAbsolutePath() + "\"";
+    }
+}
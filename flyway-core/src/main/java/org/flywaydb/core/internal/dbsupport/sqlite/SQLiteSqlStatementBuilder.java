@@ -19,23 +19,40 @@ import org.flywaydb.core.internal.dbsupport.Delimiter;
 import org.flywaydb.core.internal.dbsupport.SqlStatementBuilder;
 import org.flywaydb.core.internal.util.StringUtils;
 
+import java.util.regex.Pattern;
+
 /**
  * SqlStatementBuilder supporting H2-specific delimiter changes.
  */
 public class SQLiteSqlStatementBuilder extends SqlStatementBuilder {
+    /**
+     * Matches the beginning of CREATE TRIGGER statements.
+     */
+    private static final Pattern CREATE_TRIGGER_PATTERN = Pattern.compile("CREATE( TEMP| TEMPORARY)? TRIGGER.*");
+
+    /**
+     * Matches sequences of whitespace.
+     */
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
     /**
      * Holds the beginning of the statement.
      */
     private String statementStart = "";
 
+    /**
+     * Whether the beginning of the statement indicates a CREATE TRIGGER statement.
+     */
+    private boolean createTriggerStatement;
+
     @Override
     protected Delimiter changeDelimiterIfNecessary(String line, Delimiter delimiter) {
         if (StringUtils.countOccurrencesOf(statementStart, " ") < 8) {
             statementStart += line;
             statementStart += " ";
-            statementStart = statementStart.replaceAll("\\s+", " ");
+            statementStart = WHITESPACE_PATTERN.matcher(statementStart).replaceAll(" ");
+            createTriggerStatement = CREATE_TRIGGER_PATTERN.matcher(statementStart).matches();
         }
-        boolean createTriggerStatement = statementStart.matches("CREATE( TEMP| TEMPORARY)? TRIGGER.*");
 
         if (createTriggerStatement && !line.endsWith("END;")) {
             return null;
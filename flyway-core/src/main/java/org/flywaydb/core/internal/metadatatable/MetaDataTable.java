@@ -30,6 +30,11 @@ public interface MetaDataTable extends FlywayMetaDataTable {
 	 */
 	<T> T lock(Callable<T> callable);
 
+	/**
+	 * Creates the metadata table if it doesn't exist yet.
+	 */
+	void createIfNotExists();
+
 	/**
 	 * Indicates in the metadata table that Flyway created these schemas.
 	 *
@@ -37,4 +42,10 @@ public interface MetaDataTable extends FlywayMetaDataTable {
 	 */
 	void addSchemasMarker(Schema[] schemas);
 
+	/**
+	 * Discards everything cached about the metadata table. Must be called when the metadata table has been changed
+	 * behind its back, like when the schemas containing it have been cleaned.
+	 */
+	void clearCache();
+
 }
@@ -25,11 +25,13 @@ import org.flywaydb.core.internal.dbsupport.SqlScript;
 import org.flywaydb.core.internal.dbsupport.Table;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
 import org.flywaydb.core.internal.util.StringUtils;
+import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
 import org.flywaydb.core.internal.util.jdbc.RowMapper;
 import org.flywaydb.core.internal.util.logging.Log;
 import org.flywaydb.core.internal.util.logging.LogFactory;
 import org.flywaydb.core.internal.util.scanner.classpath.ClassPathResource;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -37,6 +39,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Supports reading and writing to the metadata table.
@@ -44,6 +48,17 @@ import java.util.concurrent.Callable;
 public class MetaDataTableImpl implements MetaDataTable {
     private static final Log LOG = LogFactory.getLog(MetaDataTableImpl.class);
 
+    /**
+     * Marker for dialect templates that do not exist on the classpath.
+     */
+    private static final String NO_TEMPLATE = "";
+
+    /**
+     * The dialect templates loaded so far, keyed by resource name. Templates never change at runtime, so they only
+     * need to be looked up and loaded once.
+     */
+    private static final ConcurrentMap<String, String> TEMPLATES = new ConcurrentHashMap<String, String>();
+
     /**
      * Database-specific functionality.
      */
@@ -59,6 +74,39 @@ public class MetaDataTableImpl implements MetaDataTable {
      */
     private final JdbcTemplate jdbcTemplate;
 
+    /**
+     * The sql used to insert a row in the metadata table. (Created lazily)
+     */
+    private String insertSql;
+
+    /**
+     * Whether the lock on the metadata table is currently held by this instance.
+     */
+    private boolean locked;
+
+    /**
+     * The installed rank of the next row to insert. Only valid while the lock is held, as no one else can add rows
+     * then. {@code null} until it has been read from the metadata table.
+     */
+    private Integer nextInstalledRank;
+
+    /**
+     * The statement used to insert rows in the metadata table. Reused while the lock is held and closed when
+     * the lock is released. {@code null} while not prepared.
+     */
+    /* private -> for testing */ PreparedStatement insertStatement;
+
+    /**
+     * Snapshot of all rows of the metadata table, ordered by installed rank. Empty if the table doesn't exist.
+     * {@code null} until loaded and whenever it has been invalidated by a write or by acquiring the lock.
+     */
+    private List<AppliedMigration> snapshot;
+
+    /**
+     * Whether the metadata table is known to exist.
+     */
+    private boolean tableExists;
+
     /**
      * Creates a new instance of the metadata table support.
      *
@@ -75,8 +123,7 @@ public class MetaDataTableImpl implements MetaDataTable {
     public boolean upgradeIfNecessary() {
         if (table.exists() && table.hasColumn("version_rank")) {
             LOG.info("Upgrading metadata table " + table + " to the Flyway 4.0 format ...");
-            String resourceName = "org/flywaydb/core/internal/dbsupport/" + dbSupport.getDbName() + "/upgradeMetaDataTable.sql";
-            String source = new ClassPathResource(resourceName, getClass().getClassLoader()).loadAsString("UTF-8");
+            String source = loadRequiredTemplate("upgradeMetaDataTable.sql");
 
             Map<String, String> placeholders = new HashMap<String, String>();
             placeholders.put("schema", table.getSchema().getName());
@@ -85,23 +132,22 @@ public class MetaDataTableImpl implements MetaDataTable {
 
             SqlScript sqlScript = new SqlScript(sourceNoPlaceholders, dbSupport);
             sqlScript.execute(jdbcTemplate);
+            clearCache();
             return true;
         }
         return false;
     }
 
-    /**
-     * Creates the metatable if it doesn't exist, upgrades it if it does.
-     */
-    private void createIfNotExists() {
-        if (table.exists()) {
+    @Override
+    public void createIfNotExists() {
+        if (tableExists || table.exists()) {
+            tableExists = true;
             return;
         }
 
         LOG.info("Creating Metadata table: " + table);
 
-        String resourceName = "org/flywaydb/core/internal/dbsupport/" + dbSupport.getDbName() + "/createMetaDataTable.sql";
-        String source = new ClassPathResource(resourceName, getClass().getClassLoader()).loadAsString("UTF-8");
+        String source = loadRequiredTemplate("createMetaDataTable.sql");
 
         Map<String, String> placeholders = new HashMap<String, String>();
         placeholders.put("schema", table.getSchema().getName());
@@ -110,31 +156,83 @@ public class MetaDataTableImpl implements MetaDataTable {
 
         SqlScript sqlScript = new SqlScript(sourceNoPlaceholders, dbSupport);
         sqlScript.execute(jdbcTemplate);
+        tableExists = true;
+        snapshot = new ArrayList<AppliedMigration>();
 
         LOG.debug("Metadata table " + table + " created.");
     }
 
+    /**
+     * Loads the dialect template with this name for the current database.
+     *
+     * @param name The name of the template file.
+     * @return The source of the template or {@code null} if this database has no such template.
+     */
+    private String loadTemplate(String name) {
+        String resourceName = "org/flywaydb/core/internal/dbsupport/" + dbSupport.getDbName() + "/" + name;
+        String source = TEMPLATES.get(resourceName);
+        if (source == null) {
+            ClassPathResource classPathResource = new ClassPathResource(resourceName, getClass().getClassLoader());
+            source = classPathResource.exists() ? classPathResource.loadAsString("UTF-8") : NO_TEMPLATE;
+            TEMPLATES.putIfAbsent(resourceName, source);
+        }
+        //noinspection StringEquality
+        return source == NO_TEMPLATE ? null : source;
+    }
+
+    /**
+     * Loads the dialect template with this name for the current database.
+     *
+     * @param name The name of the template file.
+     * @return The source of the template.
+     * @throws FlywayException when this database has no such template.
+     */
+    private String loadRequiredTemplate(String name) {
+        String source = loadTemplate(name);
+        if (source == null) {
+            throw new FlywayException("Unable to find metadata table template " + name + " for " + dbSupport.getDbName());
+        }
+        return source;
+    }
+
     @Override
-    public <T> T lock(Callable<T> callable) {
+    public <T> T lock(final Callable<T> callable) {
         createIfNotExists();
-        return dbSupport.lock(table, callable);
+        return dbSupport.lock(table, new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                // Others may have changed the metadata table before the lock was acquired
+                snapshot = null;
+                locked = true;
+                try {
+                    return callable.call();
+                } finally {
+                    locked = false;
+                    nextInstalledRank = null;
+                    JdbcUtils.closeStatement(insertStatement);
+                    insertStatement = null;
+                }
+            }
+        });
     }
 
     @Override
     public void addAppliedMigration(AppliedMigration appliedMigration) {
-        createIfNotExists();
+        if (!locked) {
+            // While the lock is held, the metadata table is known to exist
+            createIfNotExists();
+        }
 
         MigrationVersion version = appliedMigration.getVersion();
 
         try {
             String versionStr = version == null ? null : version.toString();
 
-            // Try load an updateMetaDataTable.sql file if it exists
-            String resourceName = "org/flywaydb/core/internal/dbsupport/" + dbSupport.getDbName() + "/updateMetaDataTable.sql";
-            ClassPathResource classPathResource = new ClassPathResource(resourceName, getClass().getClassLoader());
             int installedRank = calculateInstalledRank();
-            if (classPathResource.exists()) {
-                String source = classPathResource.loadAsString("UTF-8");
+
+            // Use an updateMetaDataTable.sql file if it exists
+            String source = loadTemplate("updateMetaDataTable.sql");
+            if (source != null) {
                 Map<String, String> placeholders = new HashMap<String, String>();
 
                 // Placeholders for schema and table
@@ -159,18 +257,7 @@ public class MetaDataTableImpl implements MetaDataTable {
                 sqlScript.execute(jdbcTemplate);
             } else {
                 // Fall back to hard-coded statements
-                jdbcTemplate.update("INSERT INTO " + table
-                                + " (" + dbSupport.quote("installed_rank")
-                                + "," + dbSupport.quote("version")
-                                + "," + dbSupport.quote("description")
-                                + "," + dbSupport.quote("type")
-                                + "," + dbSupport.quote("script")
-                                + "," + dbSupport.quote("checksum")
-                                + "," + dbSupport.quote("installed_by")
-                                + "," + dbSupport.quote("execution_time")
-                                + "," + dbSupport.quote("success")
-                                + ")"
-                                + " VALUES (?, ?, ?, ?, ?, ?, " + dbSupport.getCurrentUserFunction() + ", ?, ?)",
+                Object[] params = new Object[]{
                         installedRank,
                         versionStr,
                         appliedMigration.getDescription(),
@@ -179,8 +266,21 @@ public class MetaDataTableImpl implements MetaDataTable {
                         appliedMigration.getChecksum(),
                         appliedMigration.getExecutionTime(),
                         appliedMigration.isSuccess()
-                );
+                };
+                if (locked) {
+                    if (insertStatement == null) {
+                        insertStatement = jdbcTemplate.getConnection().prepareStatement(getInsertSql());
+                    }
+                    jdbcTemplate.update(insertStatement, params);
+                } else {
+                    jdbcTemplate.update(getInsertSql(), params);
+                }
+            }
+
+            if (locked) {
+                nextInstalledRank = installedRank + 1;
             }
+            snapshot = null;
 
             LOG.debug("MetaData table " + table + " successfully updated to reflect changes");
         } catch (SQLException e) {
@@ -189,11 +289,36 @@ public class MetaDataTableImpl implements MetaDataTable {
     }
 
     /**
-     * Calculates the installed rank for the new migration to be inserted.
+     * @return The sql used to insert a row in the metadata table.
+     */
+    private String getInsertSql() {
+        if (insertSql == null) {
+            insertSql = "INSERT INTO " + table
+                    + " (" + dbSupport.quote("installed_rank")
+                    + "," + dbSupport.quote("version")
+                    + "," + dbSupport.quote("description")
+                    + "," + dbSupport.quote("type")
+                    + "," + dbSupport.quote("script")
+                    + "," + dbSupport.quote("checksum")
+                    + "," + dbSupport.quote("installed_by")
+                    + "," + dbSupport.quote("execution_time")
+                    + "," + dbSupport.quote("success")
+                    + ")"
+                    + " VALUES (?, ?, ?, ?, ?, ?, " + dbSupport.getCurrentUserFunction() + ", ?, ?)";
+        }
+        return insertSql;
+    }
+
+    /**
+     * Calculates the installed rank for the new migration to be inserted. While the lock is held, the metadata table
+     * is only queried for the first insert and the rank is then tracked in memory.
      *
      * @return The installed rank.
      */
     private int calculateInstalledRank() throws SQLException {
+        if (locked && nextInstalledRank != null) {
+            return nextInstalledRank;
+        }
         int currentMax = jdbcTemplate.queryForInt("SELECT MAX(" + dbSupport.quote("installed_rank") + ")"
                 + " FROM " + table);
         return currentMax + 1;
@@ -201,22 +326,38 @@ public class MetaDataTableImpl implements MetaDataTable {
 
     @Override
     public List<AppliedMigration> allAppliedMigrations() {
-        return findAppliedMigrations();
+        return new ArrayList<AppliedMigration>(getSnapshot());
+    }
+
+    @Override
+    public void clearCache() {
+        snapshot = null;
+        tableExists = false;
     }
 
     /**
-     * Retrieve the applied migrations from the metadata table.
+     * Retrieves the snapshot of all rows of the metadata table, loading it if necessary.
      *
-     * @param migrationTypes The specific migration types to look for. (Optional) None means find all migrations.
-     * @return The applied migrations.
+     * @return The applied migrations, ordered by installed rank. Empty if the metadata table doesn't exist.
      */
-    private List<AppliedMigration> findAppliedMigrations(MigrationType... migrationTypes) {
-        if (!table.exists()) {
-            return new ArrayList<AppliedMigration>();
+    private List<AppliedMigration> getSnapshot() {
+        if (snapshot == null) {
+            if (tableExists || table.exists()) {
+                tableExists = true;
+                snapshot = findAppliedMigrations();
+            } else {
+                snapshot = new ArrayList<AppliedMigration>();
+            }
         }
+        return snapshot;
+    }
 
-        createIfNotExists();
-
+    /**
+     * Retrieve the applied migrations from the metadata table.
+     *
+     * @return The applied migrations.
+     */
+    private List<AppliedMigration> findAppliedMigrations() {
         String query = "SELECT " + dbSupport.quote("installed_rank")
                 + "," + dbSupport.quote("version")
                 + "," + dbSupport.quote("description")
@@ -227,20 +368,8 @@ public class MetaDataTableImpl implements MetaDataTable {
                 + "," + dbSupport.quote("installed_by")
                 + "," + dbSupport.quote("execution_time")
                 + "," + dbSupport.quote("success")
-                + " FROM " + table;
-
-        if (migrationTypes.length > 0) {
-            query += " WHERE " + dbSupport.quote("type") + " IN (";
-            for (int i = 0; i < migrationTypes.length; i++) {
-                if (i > 0) {
-                    query += ",";
-                }
-                query += "'" + migrationTypes[i] + "'";
-            }
-            query += ")";
-        }
-
-        query += " ORDER BY " + dbSupport.quote("installed_rank");
+                + " FROM " + table
+                + " ORDER BY " + dbSupport.quote("installed_rank");
 
         try {
             return jdbcTemplate.query(query, new RowMapper<AppliedMigration>() {
@@ -270,6 +399,33 @@ public class MetaDataTableImpl implements MetaDataTable {
         }
     }
 
+    /**
+     * Checks whether the metadata table contains a row of any of these types.
+     *
+     * @param migrationTypes The types to look for.
+     * @return {@code true} if it does, {@code false} if not.
+     */
+    private boolean hasMigrationOfType(MigrationType... migrationTypes) {
+        return findFirstMigrationOfType(migrationTypes) != null;
+    }
+
+    /**
+     * Finds the row with the lowest installed rank of any of these types in the metadata table.
+     *
+     * @param migrationTypes The types to look for.
+     * @return The applied migration or {@code null} if none was found.
+     */
+    private AppliedMigration findFirstMigrationOfType(MigrationType... migrationTypes) {
+        for (AppliedMigration appliedMigration : getSnapshot()) {
+            for (MigrationType migrationType : migrationTypes) {
+                if (appliedMigration.getType() == migrationType) {
+                    return appliedMigration;
+                }
+            }
+        }
+        return null;
+    }
+
     @Override
     public void addBaselineMarker(final MigrationVersion baselineVersion, final String baselineDescription) {
         addAppliedMigration(new AppliedMigration(baselineVersion, baselineDescription, MigrationType.BASELINE, baselineDescription, null,
@@ -278,27 +434,22 @@ public class MetaDataTableImpl implements MetaDataTable {
 
     @Override
     public void removeFailedMigrations() {
-        if (!table.exists()) {
+        boolean failedMigrationFound = false;
+        for (AppliedMigration appliedMigration : getSnapshot()) {
+            if (!appliedMigration.isSuccess()) {
+                failedMigrationFound = true;
+                break;
+            }
+        }
+        if (!failedMigrationFound) {
             LOG.info("Repair of failed migration in metadata table " + table + " not necessary. No failed migration detected.");
             return;
         }
 
-        createIfNotExists();
-
-        try {
-            int failedCount = jdbcTemplate.queryForInt("SELECT COUNT(*) FROM " + table
-                    + " WHERE " + dbSupport.quote("success") + "=" + dbSupport.getBooleanFalse());
-            if (failedCount == 0) {
-                LOG.info("Repair of failed migration in metadata table " + table + " not necessary. No failed migration detected.");
-                return;
-            }
-        } catch (SQLException e) {
-            throw new FlywayException("Unable to check the metadata table " + table + " for failed migrations", e);
-        }
-
         try {
             jdbcTemplate.execute("DELETE FROM " + table
                     + " WHERE " + dbSupport.quote("success") + " = " + dbSupport.getBooleanFalse());
+            snapshot = null;
         } catch (SQLException e) {
             throw new FlywayException("Unable to repair metadata table " + table, e);
         }
@@ -314,69 +465,37 @@ public class MetaDataTableImpl implements MetaDataTable {
 
     @Override
     public boolean hasSchemasMarker() {
-        if (!table.exists()) {
-            return false;
-        }
-
-        createIfNotExists();
-
-        try {
-            int count = jdbcTemplate.queryForInt(
-                    "SELECT COUNT(*) FROM " + table + " WHERE " + dbSupport.quote("type") + "='SCHEMA'");
-            return count > 0;
-        } catch (SQLException e) {
-            throw new FlywayException("Unable to check whether the metadata table " + table + " has a schema marker migration", e);
-        }
+        return hasMigrationOfType(MigrationType.SCHEMA);
     }
 
     @Override
     public boolean hasBaselineMarker() {
-        if (!table.exists()) {
-            return false;
-        }
-
-        createIfNotExists();
-
-        try {
-            int count = jdbcTemplate.queryForInt(
-                    "SELECT COUNT(*) FROM " + table + " WHERE " + dbSupport.quote("type") + "='INIT' OR " + dbSupport.quote("type") + "='BASELINE'");
-            return count > 0;
-        } catch (SQLException e) {
-            throw new FlywayException("Unable to check whether the metadata table " + table + " has an baseline marker migration", e);
-        }
+        return hasMigrationOfType(MigrationType.BASELINE);
     }
 
     @Override
     public AppliedMigration getBaselineMarker() {
-        List<AppliedMigration> appliedMigrations = findAppliedMigrations(MigrationType.BASELINE);
-        return appliedMigrations.isEmpty() ? null : appliedMigrations.get(0);
+        return findFirstMigrationOfType(MigrationType.BASELINE);
     }
 
     @Override
     public boolean hasAppliedMigrations() {
-        if (!table.exists()) {
-            return false;
-        }
-
-        createIfNotExists();
-
-        try {
-            int count = jdbcTemplate.queryForInt(
-                    "SELECT COUNT(*) FROM " + table + " WHERE " + dbSupport.quote("type") + " NOT IN ('SCHEMA', 'INIT', 'BASELINE')");
-            return count > 0;
-        } catch (SQLException e) {
-            throw new FlywayException("Unable to check whether the metadata table " + table + " has applied migrations", e);
+        for (AppliedMigration appliedMigration : getSnapshot()) {
+            if (appliedMigration.getType() != MigrationType.SCHEMA && appliedMigration.getType() != MigrationType.BASELINE) {
+                return true;
+            }
         }
+        return false;
     }
 
     @Override
     public void updateChecksum(MigrationVersion version, Integer checksum) {
         LOG.info("Updating checksum of " + version + " to " + checksum + " ...");
+        snapshot = null;
 
-        // Try load an updateChecksum.sql file if it exists
+        // Try to use an updateChecksum.sql file if it exists
         try {
-            String resourceName = "org/flywaydb/core/internal/dbsupport/" + dbSupport.getDbName() + "/updateChecksum.sql";
-            String source = new ClassPathResource(resourceName, getClass().getClassLoader()).loadAsString("UTF-8");
+            String source = loadRequiredTemplate("updateChecksum.sql");
             Map<String, String> placeholders = new HashMap<String, String>();
 
             // Placeholders for column names
@@ -0,0 +1,220 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.util.scanner.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+
+/**
+ * Calculates the checksums of script migrations. The checksum is the crc-32 of the UTF-8 bytes of all lines of the
+ * script, without their line terminators. A leading byte order mark is ignored.
+ */
+public class ChecksumCalculator {
+    /**
+     * The size of the buffer used for streaming resources.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The UTF-8 byte order mark.
+     */
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    /**
+     * Prevents instantiation.
+     */
+    private ChecksumCalculator() {
+        //Do nothing.
+    }
+
+    /**
+     * Calculates the checksum of this resource.
+     * <p>UTF-8 resources are checksummed directly over their raw bytes, without decoding them, as long as they are
+     * well-formed. All other resources are decoded first.</p>
+     *
+     * @param resource The resource to calculate the checksum for.
+     * @param encoding The encoding of the resource.
+     * @return The crc-32 checksum of the resource.
+     */
+    public static int calculate(Resource resource, String encoding) {
+        if (isUtf8(encoding)) {
+            InputStream inputStream = resource.loadAsInputStream();
+            try {
+                Integer checksum = calculateUtf8(inputStream);
+                if (checksum != null) {
+                    return checksum;
+                }
+            } catch (IOException e) {
+                throw new FlywayException("Unable to calculate checksum for " + resource.getLocation()
+                        + " (" + resource.getLocationOnDisk() + ")", e);
+            } finally {
+                try {
+                    inputStream.close();
+                } catch (IOException e) {
+                    //Ignore
+                }
+            }
+            // Malformed UTF-8: the decoder substitutes replacement characters, so the decoded text must be used
+        }
+
+        return calculate(resource.loadAsString(encoding));
+    }
+
+    /**
+     * Calculates the checksum of this string.
+     *
+     * @param str The string to calculate the checksum for.
+     * @return The crc-32 checksum of the bytes.
+     */
+    public static int calculate(String str) {
+        final CRC32 crc32 = new CRC32();
+
+        BufferedReader bufferedReader = new BufferedReader(new StringReader(str));
+        try {
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                crc32.update(line.getBytes("UTF-8"));
+            }
+        } catch (IOException e) {
+            throw new FlywayException("Unable to calculate checksum", e);
+        }
+
+        return (int) crc32.getValue();
+    }
+
+    /**
+     * Checks whether this encoding is UTF-8.
+     *
+     * @param encoding The encoding to check.
+     * @return {@code true} if it is, {@code false} if it isn't or if it is not supported.
+     */
+    private static boolean isUtf8(String encoding) {
+        try {
+            return "UTF-8".equals(Charset.forName(encoding).name());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Calculates the checksum of this UTF-8 stream directly over its bytes. As CR and LF never occur within multi-byte
+     * sequences, line terminators can simply be skipped byte by byte. For well-formed input, the result is identical
+     * to decoding the stream and checksumming the UTF-8 bytes of its lines.
+     *
+     * @param inputStream The stream to read. Not closed by this method.
+     * @return The crc-32 checksum of the stream. {@code null} if the stream is not well-formed UTF-8.
+     * @throws IOException when the stream could not be read.
+     */
+    /* private -> for testing */
+    static Integer calculateUtf8(InputStream inputStream) throws IOException {
+        CRC32 crc32 = new CRC32();
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        // Number of continuation bytes still expected and the valid range of the next one (Unicode Table 3-7)
+        int pending = 0;
+        int lower = 0x80;
+        int upper = 0xBF;
+
+        int length = fill(inputStream, buffer);
+        int start = hasBom(buffer, length) ? UTF8_BOM.length : 0;
+        while (length > 0) {
+            int segmentStart = start;
+            for (int i = start; i < length; i++) {
+                int b = buffer[i] & 0xFF;
+                if (pending > 0) {
+                    if ((b < lower) || (b > upper)) {
+                        return null;
+                    }
+                    pending--;
+                    lower = 0x80;
+                    upper = 0xBF;
+                } else if (b < 0x80) {
+                    if ((b == '\n') || (b == '\r')) {
+                        crc32.update(buffer, segmentStart, i - segmentStart);
+                        segmentStart = i + 1;
+                    }
+                } else if ((b >= 0xC2) && (b <= 0xDF)) {
+                    pending = 1;
+                } else if (b == 0xE0) {
+                    pending = 2;
+                    lower = 0xA0;
+                } else if (b == 0xED) {
+                    pending = 2;
+                    upper = 0x9F;
+                } else if ((b >= 0xE1) && (b <= 0xEF)) {
+                    pending = 2;
+                } else if (b == 0xF0) {
+                    pending = 3;
+                    lower = 0x90;
+                } else if ((b >= 0xF1) && (b <= 0xF3)) {
+                    pending = 3;
+                } else if (b == 0xF4) {
+                    pending = 3;
+                    upper = 0x8F;
+                } else {
+                    return null;
+                }
+            }
+            crc32.update(buffer, segmentStart, length - segmentStart);
+
+            start = 0;
+            length = inputStream.read(buffer);
+        }
+
+        if (pending > 0) {
+            // Truncated multi-byte sequence at the end of the stream
+            return null;
+        }
+        return (int) crc32.getValue();
+    }
+
+    /**
+     * Reads from this stream until the buffer is full or the stream is exhausted, so the byte order mark can be
+     * detected reliably.
+     *
+     * @param inputStream The stream to read.
+     * @param buffer      The buffer to fill.
+     * @return The number of bytes read. {@code 0} for an empty stream.
+     * @throws IOException when the stream could not be read.
+     */
+    private static int fill(InputStream inputStream, byte[] buffer) throws IOException {
+        int length = 0;
+        int read;
+        while ((length < buffer.length) && ((read = inputStream.read(buffer, length, buffer.length - length)) != -1)) {
+            length += read;
+        }
+        return length;
+    }
+
+    /**
+     * Checks whether this buffer starts with a UTF-8 byte order mark.
+     *
+     * @param buffer The buffer to check.
+     * @param length The number of valid bytes in the buffer.
+     * @return {@code true} if it does, {@code false} if not.
+     */
+    private static boolean hasBom(byte[] buffer, int length) {
+        return (length >= UTF8_BOM.length)
+                && (buffer[0] == UTF8_BOM[0]) && (buffer[1] == UTF8_BOM[1]) && (buffer[2] == UTF8_BOM[2]);
+    }
+}
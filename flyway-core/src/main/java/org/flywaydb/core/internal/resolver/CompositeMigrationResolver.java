@@ -22,6 +22,8 @@ import org.flywaydb.core.api.resolver.ResolvedMigration;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
 import org.flywaydb.core.internal.resolver.jdbc.JdbcMigrationResolver;
 import org.flywaydb.core.internal.resolver.spring.SpringJdbcMigrationResolver;
+import org.flywaydb.core.internal.resolver.sql.ChecksumCache;
+import org.flywaydb.core.internal.resolver.sql.SqlMigrationBundleResolver;
 import org.flywaydb.core.internal.resolver.sql.SqlMigrationResolver;
 import org.flywaydb.core.internal.util.FeatureDetector;
 import org.flywaydb.core.internal.util.Location;
@@ -29,6 +31,7 @@ import org.flywaydb.core.internal.util.Locations;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
 import org.flywaydb.core.internal.util.scanner.Scanner;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -53,6 +56,11 @@ public class CompositeMigrationResolver implements MigrationResolver {
      */
     private List<ResolvedMigration> availableMigrations;
 
+    /**
+     * The cache of checksums shared by the sql migration resolvers. {@code null} if disabled.
+     */
+    private ChecksumCache checksumCache;
+
     /**
      * Creates a new CompositeMigrationResolver.
      *
@@ -67,8 +75,12 @@ public class CompositeMigrationResolver implements MigrationResolver {
                                       PlaceholderReplacer placeholderReplacer,
                                       MigrationResolver... customMigrationResolvers) {
         if (!configuration.isSkipDefaultResolvers()) {
+            if (configuration.getChecksumCacheFile() != null) {
+                checksumCache = new ChecksumCache(new File(configuration.getChecksumCacheFile()), configuration.getEncoding());
+            }
             for (Location location : locations.getLocations()) {
-                migrationResolvers.add(new SqlMigrationResolver(dbSupport, scanner, location, placeholderReplacer, configuration));
+                migrationResolvers.add(new SqlMigrationBundleResolver(dbSupport, scanner, location, placeholderReplacer, configuration,
+                        new SqlMigrationResolver(dbSupport, scanner, location, placeholderReplacer, configuration, checksumCache)));
                 migrationResolvers.add(new JdbcMigrationResolver(scanner, location, configuration));
 
                 if (new FeatureDetector(scanner.getClassLoader()).isSpringJdbcAvailable()) {
@@ -104,6 +116,9 @@ public class CompositeMigrationResolver implements MigrationResolver {
      */
     private List<ResolvedMigration> doFindAvailableMigrations() throws FlywayException {
         List<ResolvedMigration> migrations = new ArrayList<ResolvedMigration>(collectMigrations(migrationResolvers));
+        if (checksumCache != null) {
+            checksumCache.save();
+        }
         Collections.sort(migrations, new ResolvedMigrationComparator());
 
         checkForIncompatibilities(migrations);
@@ -0,0 +1,99 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver;
+
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.configuration.FlywayConfiguration;
+import org.flywaydb.core.api.resolver.FlywayMigrationExecutor;
+import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.resolver.jdbc.JdbcMigrationExecutor;
+import org.flywaydb.core.internal.resolver.spring.SpringJdbcMigrationExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves the migrations of one target of a fleet migration from the migrations resolved once for all targets with
+ * the same type of database. The Java migrations get executors of their own, so every target instantiates them with
+ * its own configuration injected instead of sharing instances configured for another target.
+ */
+public class FleetTargetMigrationResolver implements MigrationResolver {
+    /**
+     * The migration resolver shared by all targets with the same type of database.
+     */
+    private final MigrationResolver sharedMigrationResolver;
+
+    /**
+     * The configuration of the target, injected (if necessary) in its Java migrations.
+     */
+    private final FlywayConfiguration configuration;
+
+    /**
+     * The migrations of the target. {@code null} until they have been resolved.
+     */
+    private List<ResolvedMigration> migrations;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param sharedMigrationResolver The migration resolver shared by all targets with the same type of database.
+     * @param configuration           The configuration of the target, injected (if necessary) in its Java migrations.
+     */
+    public FleetTargetMigrationResolver(MigrationResolver sharedMigrationResolver, FlywayConfiguration configuration) {
+        this.sharedMigrationResolver = sharedMigrationResolver;
+        this.configuration = configuration;
+    }
+
+    @Override
+    public synchronized List<ResolvedMigration> resolveMigrations() {
+        if (migrations == null) {
+            migrations = new ArrayList<ResolvedMigration>();
+            for (ResolvedMigration migration : sharedMigrationResolver.resolveMigrations()) {
+                migrations.add(forTarget(migration));
+            }
+        }
+        return migrations;
+    }
+
+    /**
+     * Adapts this shared migration to the target.
+     *
+     * @param migration The migration shared by all targets.
+     * @return The migration itself, or a copy with an executor of its own for Java migrations.
+     */
+    private ResolvedMigration forTarget(ResolvedMigration migration) {
+        FlywayMigrationExecutor executor;
+        if (migration.getExecutor() instanceof JdbcMigrationExecutor) {
+            executor = new JdbcMigrationExecutor(migration.getScript(), configuration.getClassLoader(), configuration);
+        } else if ((migration.getType() == MigrationType.SPRING_JDBC)
+                && (migration.getExecutor() instanceof SpringJdbcMigrationExecutor)) {
+            executor = new SpringJdbcMigrationExecutor(migration.getScript(), configuration.getClassLoader(), configuration);
+        } else {
+            return migration;
+        }
+
+        ResolvedMigrationImpl targetMigration = new ResolvedMigrationImpl();
+        targetMigration.setVersion(migration.getVersion());
+        targetMigration.setDescription(migration.getDescription());
+        targetMigration.setScript(migration.getScript());
+        targetMigration.setChecksum(migration.getChecksum());
+        targetMigration.setType(migration.getType());
+        targetMigration.setPhysicalLocation(migration.getPhysicalLocation());
+        targetMigration.setExecutor(executor);
+        return targetMigration;
+    }
+}
@@ -60,4 +60,22 @@ public class MigrationInfoHelper {
         }
         return Pair.of(null, description);
     }
+
+    /**
+     * Extracts the schema version and the description from the name of a Java migration class formatted as
+     * V1_2__Description or R__Description.
+     *
+     * @param className The fully qualified name of the migration class.
+     * @return The extracted schema version and description.
+     * @throws FlywayException if the class name does not follow the standard conventions.
+     */
+    public static Pair<MigrationVersion, String> extractVersionAndDescriptionFromClassName(String className) {
+        String shortName = className.substring(className.lastIndexOf(".") + 1);
+        if (!shortName.startsWith("V") && !shortName.startsWith("R")) {
+            throw new FlywayException("Invalid Jdbc migration class name: " + className
+                    + " => ensure it starts with V or R," +
+                    " or implement org.flywaydb.core.api.migration.MigrationInfoProvider for non-default naming");
+        }
+        return extractVersionAndDescription(shortName, shortName.substring(0, 1), "__", "");
+    }
 }
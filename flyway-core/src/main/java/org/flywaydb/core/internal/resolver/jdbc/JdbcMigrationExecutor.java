@@ -16,8 +16,11 @@
 package org.flywaydb.core.internal.resolver.jdbc;
 
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.FlywayConfiguration;
 import org.flywaydb.core.api.migration.jdbc.JdbcMigration;
 import org.flywaydb.core.api.resolver.MigrationExecutor;
+import org.flywaydb.core.internal.util.ClassUtils;
+import org.flywaydb.core.internal.util.ConfigurationInjectionUtils;
 
 import java.sql.Connection;
 
@@ -28,7 +31,22 @@ public class JdbcMigrationExecutor implements MigrationExecutor {
     /**
      * The JdbcMigration to execute.
      */
-    private final JdbcMigration jdbcMigration;
+    private JdbcMigration jdbcMigration;
+
+    /**
+     * The fully qualified name of the migration class. {@code null} if the migration was instantiated upfront.
+     */
+    private final String className;
+
+    /**
+     * The ClassLoader to load the migration class with. {@code null} if the migration was instantiated upfront.
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * The configuration to inject (if necessary) in the migration. {@code null} if the migration was instantiated upfront.
+     */
+    private final FlywayConfiguration configuration;
 
     /**
      * Creates a new JdbcMigrationExecutor.
@@ -37,17 +55,45 @@ public class JdbcMigrationExecutor implements MigrationExecutor {
      */
     public JdbcMigrationExecutor(JdbcMigration jdbcMigration) {
         this.jdbcMigration = jdbcMigration;
+        this.className = null;
+        this.classLoader = null;
+        this.configuration = null;
+    }
+
+    /**
+     * Creates a new JdbcMigrationExecutor that only loads and instantiates the migration class when it is executed.
+     *
+     * @param className     The fully qualified name of the migration class.
+     * @param classLoader   The ClassLoader to load the migration class with.
+     * @param configuration The configuration to inject (if necessary) in the migration.
+     */
+    public JdbcMigrationExecutor(String className, ClassLoader classLoader, FlywayConfiguration configuration) {
+        this.className = className;
+        this.classLoader = classLoader;
+        this.configuration = configuration;
     }
 
     @Override
     public void execute(Connection connection) {
         try {
-            jdbcMigration.migrate(connection);
+            getJdbcMigration().migrate(connection);
         } catch (Exception e) {
             throw new FlywayException("Migration failed !", e);
         }
     }
 
+    /**
+     * @return The migration to execute, instantiated on first use.
+     * @throws Exception when the migration class could not be instantiated.
+     */
+    private synchronized JdbcMigration getJdbcMigration() throws Exception {
+        if (jdbcMigration == null) {
+            jdbcMigration = ClassUtils.instantiate(className, classLoader);
+            ConfigurationInjectionUtils.injectFlywayConfiguration(jdbcMigration, configuration);
+        }
+        return jdbcMigration;
+    }
+
     @Override
     public boolean executeInTransaction() {
         return true;
@@ -80,14 +80,23 @@ public class JdbcMigrationResolver implements MigrationResolver {
         }
 
         try {
-            Class<?>[] classes = scanner.scanForClasses(location, JdbcMigration.class);
-            for (Class<?> clazz : classes) {
-                JdbcMigration jdbcMigration = ClassUtils.instantiate(clazz.getName(), scanner.getClassLoader());
-                ConfigurationInjectionUtils.injectFlywayConfiguration(jdbcMigration, configuration);
+            ClassLoader classLoader = scanner.getClassLoader();
+            for (String className : scanner.scanForClassNames(location, JdbcMigration.class)) {
+                ResolvedMigrationImpl migrationInfo;
+                if (scanner.implementsInterface(className, MigrationInfoProvider.class)
+                        || scanner.implementsInterface(className, MigrationChecksumProvider.class)) {
+                    // Only the migration itself knows its version, description or checksum
+                    JdbcMigration jdbcMigration = ClassUtils.instantiate(className, classLoader);
+                    ConfigurationInjectionUtils.injectFlywayConfiguration(jdbcMigration, configuration);
 
-                ResolvedMigrationImpl migrationInfo = extractMigrationInfo(jdbcMigration);
-                migrationInfo.setPhysicalLocation(ClassUtils.getLocationOnDisk(clazz));
-                migrationInfo.setExecutor(new JdbcMigrationExecutor(jdbcMigration));
+                    migrationInfo = extractMigrationInfo(jdbcMigration);
+                    migrationInfo.setExecutor(new JdbcMigrationExecutor(jdbcMigration));
+                } else {
+                    // Defer loading and instantiating the class until the migration is executed
+                    migrationInfo = extractMigrationInfo(className);
+                    migrationInfo.setExecutor(new JdbcMigrationExecutor(className, classLoader, configuration));
+                }
+                migrationInfo.setPhysicalLocation(ClassUtils.getLocationOnDisk(className, classLoader));
 
                 migrations.add(migrationInfo);
             }
@@ -122,16 +131,8 @@ public class JdbcMigrationResolver implements MigrationResolver {
                 throw new FlywayException("Missing description for migration " + version);
             }
         } else {
-            String shortName = ClassUtils.getShortName(jdbcMigration.getClass());
-            String prefix;
-            if (shortName.startsWith("V") || shortName.startsWith("R")) {
-                prefix = shortName.substring(0, 1);
-            } else {
-                throw new FlywayException("Invalid Jdbc migration class name: " + jdbcMigration.getClass().getName()
-                        + " => ensure it starts with V or R," +
-                        " or implement org.flywaydb.core.api.migration.MigrationInfoProvider for non-default naming");
-            }
-            Pair<MigrationVersion, String> info = MigrationInfoHelper.extractVersionAndDescription(shortName, prefix, "__", "");
+            Pair<MigrationVersion, String> info =
+                    MigrationInfoHelper.extractVersionAndDescriptionFromClassName(jdbcMigration.getClass().getName());
             version = info.getLeft();
             description = info.getRight();
         }
@@ -144,4 +145,21 @@ public class JdbcMigrationResolver implements MigrationResolver {
         resolvedMigration.setType(MigrationType.JDBC);
         return resolvedMigration;
     }
+
+    /**
+     * Extracts the migration info from the name of this migration class, without loading it.
+     *
+     * @param className The fully qualified name of the migration class.
+     * @return The migration info.
+     */
+    /* private -> testing */ ResolvedMigrationImpl extractMigrationInfo(String className) {
+        Pair<MigrationVersion, String> info = MigrationInfoHelper.extractVersionAndDescriptionFromClassName(className);
+
+        ResolvedMigrationImpl resolvedMigration = new ResolvedMigrationImpl();
+        resolvedMigration.setVersion(info.getLeft());
+        resolvedMigration.setDescription(info.getRight());
+        resolvedMigration.setScript(className);
+        resolvedMigration.setType(MigrationType.JDBC);
+        return resolvedMigration;
+    }
 }
@@ -15,28 +15,26 @@
  */
 package org.flywaydb.core.internal.resolver.mongoscript;
 
-import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.MigrationType;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.configuration.MongoFlywayConfiguration;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
 import org.flywaydb.core.internal.callback.MongoScriptFlywayCallback;
+import org.flywaydb.core.internal.resolver.ChecksumCalculator;
 import org.flywaydb.core.internal.resolver.MigrationInfoHelper;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationComparator;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
 import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.Pair;
+import org.flywaydb.core.internal.util.ParallelUtils;
 import org.flywaydb.core.internal.util.scanner.Resource;
 import org.flywaydb.core.internal.util.scanner.Scanner;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.zip.CRC32;
+import java.util.concurrent.Callable;
 
 /**
  * Migration resolver for Mongo JavaScript files on the classpath. The javascript files must have
@@ -84,6 +82,11 @@ public class MongoScriptMigrationResolver implements MigrationResolver {
      */
     private final String mongoMigrationSuffix;
 
+    /**
+     * The maximum number of threads to use for loading migrations and calculating their checksums.
+     */
+    private final int resolverThreads;
+
     /**
      * Creates a new instance.
      *
@@ -101,6 +104,7 @@ public class MongoScriptMigrationResolver implements MigrationResolver {
         this.mongoRepeatableMigrationPrefix = config.getRepeatableMongoMigrationPrefix();
         this.mongoMigrationSeparator = config.getMongoMigrationSeparator();
         this.mongoMigrationSuffix = config.getMongoMigrationSuffix();
+        this.resolverThreads = config.getResolverThreads();
     }
 
     /**
@@ -127,39 +131,66 @@ public class MongoScriptMigrationResolver implements MigrationResolver {
         this.mongoRepeatableMigrationPrefix = repeatableMongoMigrationPrefix;
         this.mongoMigrationSeparator = mongoMigrationSeparator;
         this.mongoMigrationSuffix = mongoMigrationSuffix;
+        this.resolverThreads = 1;
     }
 
     public List<ResolvedMigration> resolveMigrations() {
-        List<ResolvedMigration> migrations = new ArrayList<ResolvedMigration>();
+        List<Callable<ResolvedMigration>> tasks = new ArrayList<Callable<ResolvedMigration>>();
 
-        scanForMigrations(migrations, mongoMigrationPrefix, mongoMigrationSeparator, mongoMigrationSuffix);
-        scanForMigrations(migrations, mongoRepeatableMigrationPrefix, mongoMigrationSeparator, mongoMigrationSuffix);
+        scanForMigrations(tasks, mongoMigrationPrefix, mongoMigrationSeparator, mongoMigrationSuffix);
+        scanForMigrations(tasks, mongoRepeatableMigrationPrefix, mongoMigrationSeparator, mongoMigrationSuffix);
 
+        List<ResolvedMigration> migrations = ParallelUtils.invokeAll(tasks, resolverThreads, "flyway-mongoscript-resolver");
         Collections.sort(migrations, new ResolvedMigrationComparator());
         return migrations;
     }
 
-    public void scanForMigrations(List<ResolvedMigration> migrations, String prefix, String separator, String suffix) {
-        for (Resource resource : scanner.scanForResources(location, prefix, suffix)) {
-            String filename = resource.getFilename();
-            if (isMongoScriptCallback(filename, suffix)) {
+    /**
+     * Scans for MongoScript migrations with this naming pattern and adds a task for resolving each of them.
+     *
+     * @param tasks     The list to add the tasks to.
+     * @param prefix    The prefix of the file names.
+     * @param separator The separator between version and description.
+     * @param suffix    The suffix of the file names.
+     */
+    private void scanForMigrations(List<Callable<ResolvedMigration>> tasks, final String prefix, final String separator, final String suffix) {
+        for (final Resource resource : scanner.scanForResources(location, prefix, suffix)) {
+            if (isMongoScriptCallback(resource.getFilename(), suffix)) {
                 continue;
             }
-            Pair<MigrationVersion, String> info =
-                    MigrationInfoHelper.extractVersionAndDescription(filename, prefix, separator, suffix);
-
-            ResolvedMigrationImpl migration = new ResolvedMigrationImpl();
-            migration.setVersion(info.getLeft());
-            migration.setDescription(info.getRight());
-            migration.setScript(extractScriptName(resource));
-            migration.setChecksum(calculateChecksum(resource, resource.loadAsString(encoding)));
-            migration.setType(MigrationType.MONGOSCRIPT);
-            migration.setPhysicalLocation(resource.getLocationOnDisk());
-            migration.setExecutor(new MongoScriptMigrationExecutor(resource, encoding, databaseName));
-            migrations.add(migration);
+            tasks.add(new Callable<ResolvedMigration>() {
+                @Override
+                public ResolvedMigration call() {
+                    return resolveMigration(resource, prefix, separator, suffix);
+                }
+            });
         }
     }
 
+    /**
+     * Resolves the MongoScript migration in this resource. This loads the resource to calculate its checksum.
+     *
+     * @param resource  The resource containing the migration.
+     * @param prefix    The prefix of the file name.
+     * @param separator The separator between version and description.
+     * @param suffix    The suffix of the file name.
+     * @return The resolved migration.
+     */
+    private ResolvedMigration resolveMigration(Resource resource, String prefix, String separator, String suffix) {
+        Pair<MigrationVersion, String> info =
+                MigrationInfoHelper.extractVersionAndDescription(resource.getFilename(), prefix, separator, suffix);
+
+        ResolvedMigrationImpl migration = new ResolvedMigrationImpl();
+        migration.setVersion(info.getLeft());
+        migration.setDescription(info.getRight());
+        migration.setScript(extractScriptName(resource));
+        migration.setChecksum(ChecksumCalculator.calculate(resource, encoding));
+        migration.setType(MigrationType.MONGOSCRIPT);
+        migration.setPhysicalLocation(resource.getLocationOnDisk());
+        migration.setExecutor(new MongoScriptMigrationExecutor(resource, encoding, databaseName));
+        return migration;
+    }
+
     /**
      * Checks whether this filename is actually a javascript-based callback instead of a regular migration.
      *
@@ -186,31 +217,4 @@ public class MongoScriptMigrationResolver implements MigrationResolver {
 
         return resource.getLocation().substring(location.getPath().length() + 1);
     }
-
-    /**
-     * Calculates the checksum of this string.
-     *
-     * @param str The string to calculate the checksum for.
-     * @return The crc-32 checksum of the bytes.
-     */
-    /* private -> for testing */
-    static int calculateChecksum(Resource resource, String str) {
-        final CRC32 crc32 = new CRC32();
-
-        BufferedReader bufferedReader = new BufferedReader(new StringReader(str));
-        try {
-            String line;
-            while ((line = bufferedReader.readLine()) != null) {
-                crc32.update(line.getBytes("UTF-8"));
-            }
-        } catch (IOException e) {
-            String message = "Unable to calculate checksum";
-            if (resource != null) {
-                message += " for " + resource.getLocation() + " (" + resource.getLocationOnDisk() + ")";
-            }
-            throw new FlywayException(message, e);
-        }
-
-        return (int) crc32.getValue();
-    }
 }
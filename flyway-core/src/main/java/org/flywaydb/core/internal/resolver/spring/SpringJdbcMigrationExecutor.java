@@ -16,8 +16,11 @@
 package org.flywaydb.core.internal.resolver.spring;
 
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.FlywayConfiguration;
 import org.flywaydb.core.api.migration.spring.SpringJdbcMigration;
 import org.flywaydb.core.api.resolver.MigrationExecutor;
+import org.flywaydb.core.internal.util.ClassUtils;
+import org.flywaydb.core.internal.util.ConfigurationInjectionUtils;
 import org.springframework.jdbc.datasource.SingleConnectionDataSource;
 
 import java.sql.Connection;
@@ -29,7 +32,22 @@ public class SpringJdbcMigrationExecutor implements MigrationExecutor {
     /**
      * The SpringJdbcMigration to execute.
      */
-    private final SpringJdbcMigration springJdbcMigration;
+    private SpringJdbcMigration springJdbcMigration;
+
+    /**
+     * The fully qualified name of the migration class. {@code null} if the migration was instantiated upfront.
+     */
+    private final String className;
+
+    /**
+     * The ClassLoader to load the migration class with. {@code null} if the migration was instantiated upfront.
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * The configuration to inject (if necessary) in the migration. {@code null} if the migration was instantiated upfront.
+     */
+    private final FlywayConfiguration configuration;
 
     /**
      * Creates a new SpringJdbcMigrationExecutor.
@@ -38,18 +56,46 @@ public class SpringJdbcMigrationExecutor implements MigrationExecutor {
      */
     public SpringJdbcMigrationExecutor(SpringJdbcMigration springJdbcMigration) {
         this.springJdbcMigration = springJdbcMigration;
+        this.className = null;
+        this.classLoader = null;
+        this.configuration = null;
+    }
+
+    /**
+     * Creates a new SpringJdbcMigrationExecutor that only loads and instantiates the migration class when it is executed.
+     *
+     * @param className     The fully qualified name of the migration class.
+     * @param classLoader   The ClassLoader to load the migration class with.
+     * @param configuration The configuration to inject (if necessary) in the migration.
+     */
+    public SpringJdbcMigrationExecutor(String className, ClassLoader classLoader, FlywayConfiguration configuration) {
+        this.className = className;
+        this.classLoader = classLoader;
+        this.configuration = configuration;
     }
 
     @Override
     public void execute(Connection connection) {
         try {
-            springJdbcMigration.migrate(new org.springframework.jdbc.core.JdbcTemplate(
+            getSpringJdbcMigration().migrate(new org.springframework.jdbc.core.JdbcTemplate(
                     new SingleConnectionDataSource(connection, true)));
         } catch (Exception e) {
             throw new FlywayException("Migration failed !", e);
         }
     }
 
+    /**
+     * @return The migration to execute, instantiated on first use.
+     * @throws Exception when the migration class could not be instantiated.
+     */
+    private synchronized SpringJdbcMigration getSpringJdbcMigration() throws Exception {
+        if (springJdbcMigration == null) {
+            springJdbcMigration = ClassUtils.instantiate(className, classLoader);
+            ConfigurationInjectionUtils.injectFlywayConfiguration(springJdbcMigration, configuration);
+        }
+        return springJdbcMigration;
+    }
+
     @Override
     public boolean executeInTransaction() {
         return true;
@@ -81,14 +81,23 @@ public class SpringJdbcMigrationResolver implements MigrationResolver {
         }
 
         try {
-            Class<?>[] classes = scanner.scanForClasses(location, SpringJdbcMigration.class);
-            for (Class<?> clazz : classes) {
-                SpringJdbcMigration springJdbcMigration = ClassUtils.instantiate(clazz.getName(), scanner.getClassLoader());
-                ConfigurationInjectionUtils.injectFlywayConfiguration(springJdbcMigration, configuration);
+            ClassLoader classLoader = scanner.getClassLoader();
+            for (String className : scanner.scanForClassNames(location, SpringJdbcMigration.class)) {
+                ResolvedMigrationImpl migrationInfo;
+                if (scanner.implementsInterface(className, MigrationInfoProvider.class)
+                        || scanner.implementsInterface(className, MigrationChecksumProvider.class)) {
+                    // Only the migration itself knows its version, description or checksum
+                    SpringJdbcMigration springJdbcMigration = ClassUtils.instantiate(className, classLoader);
+                    ConfigurationInjectionUtils.injectFlywayConfiguration(springJdbcMigration, configuration);
 
-                ResolvedMigrationImpl migrationInfo = extractMigrationInfo(springJdbcMigration);
-                migrationInfo.setPhysicalLocation(ClassUtils.getLocationOnDisk(clazz));
-                migrationInfo.setExecutor(new SpringJdbcMigrationExecutor(springJdbcMigration));
+                    migrationInfo = extractMigrationInfo(springJdbcMigration);
+                    migrationInfo.setExecutor(new SpringJdbcMigrationExecutor(springJdbcMigration));
+                } else {
+                    // Defer loading and instantiating the class until the migration is executed
+                    migrationInfo = extractMigrationInfo(className);
+                    migrationInfo.setExecutor(new SpringJdbcMigrationExecutor(className, classLoader, configuration));
+                }
+                migrationInfo.setPhysicalLocation(ClassUtils.getLocationOnDisk(className, classLoader));
 
                 migrations.add(migrationInfo);
             }
@@ -123,16 +132,8 @@ public class SpringJdbcMigrationResolver implements MigrationResolver {
                 throw new FlywayException("Missing description for migration " + version);
             }
         } else {
-            String shortName = ClassUtils.getShortName(springJdbcMigration.getClass());
-            String prefix;
-            if (shortName.startsWith("V") || shortName.startsWith("R")) {
-                prefix = shortName.substring(0, 1);
-            } else {
-                throw new FlywayException("Invalid Jdbc migration class name: " + springJdbcMigration.getClass().getName()
-                        + " => ensure it starts with V or R," +
-                        " or implement org.flywaydb.core.api.migration.MigrationInfoProvider for non-default naming");
-            }
-            Pair<MigrationVersion, String> info = MigrationInfoHelper.extractVersionAndDescription(shortName, prefix, "__", "");
+            Pair<MigrationVersion, String> info =
+                    MigrationInfoHelper.extractVersionAndDescriptionFromClassName(springJdbcMigration.getClass().getName());
             version = info.getLeft();
             description = info.getRight();
         }
@@ -145,4 +146,21 @@ public class SpringJdbcMigrationResolver implements MigrationResolver {
         resolvedMigration.setType(MigrationType.SPRING_JDBC);
         return resolvedMigration;
     }
+
+    /**
+     * Extracts the migration info from the name of this migration class, without loading it.
+     *
+     * @param className The fully qualified name of the migration class.
+     * @return The migration info.
+     */
+    /* private -> testing */ ResolvedMigrationImpl extractMigrationInfo(String className) {
+        Pair<MigrationVersion, String> info = MigrationInfoHelper.extractVersionAndDescriptionFromClassName(className);
+
+        ResolvedMigrationImpl resolvedMigration = new ResolvedMigrationImpl();
+        resolvedMigration.setVersion(info.getLeft());
+        resolvedMigration.setDescription(info.getRight());
+        resolvedMigration.setScript(className);
+        resolvedMigration.setType(MigrationType.SPRING_JDBC);
+        return resolvedMigration;
+    }
 }
@@ -0,0 +1,258 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.sql;
+
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * On-disk cache of the checksums of sql migrations. Each entry is keyed by the location of the script on disk and is
+ * only valid as long as the fingerprint of the resource (size and last modification time or jar entry crc) is
+ * unchanged. This avoids having to read every script on each run just to calculate its checksum. The version,
+ * description, script name and type of a migration are derived from its file name and need no caching.
+ *
+ * <p>A missing, stale or corrupt cache file is never an error: the affected checksums are simply calculated again.</p>
+ * <p>Several configurations or modules may share a cache file. Saving merges the checksums calculated during this run
+ * into the entries currently in the file and only drops entries whose script no longer exists on disk.</p>
+ */
+public class ChecksumCache {
+    private static final Log LOG = LogFactory.getLog(ChecksumCache.class);
+
+    /**
+     * The key under which the encoding used to calculate the cached checksums is stored.
+     */
+    private static final String ENCODING_KEY = "flyway.encoding";
+
+    /**
+     * The file backing this cache.
+     */
+    private final File file;
+
+    /**
+     * The encoding of the sql migrations. Checksums depend on it.
+     */
+    private final String encoding;
+
+    /**
+     * The entries read from the cache file (location on disk to fingerprint and checksum).
+     */
+    private final Map<String, String> previousEntries = new HashMap<String, String>();
+
+    /**
+     * The entries calculated during this run that are not in the cache file yet (location on disk to fingerprint and
+     * checksum).
+     */
+    private final Map<String, String> addedEntries = new HashMap<String, String>();
+
+    /**
+     * Creates a new checksum cache and loads its entries from this file if it exists.
+     *
+     * @param file     The file backing this cache.
+     * @param encoding The encoding of the sql migrations.
+     */
+    public ChecksumCache(File file, String encoding) {
+        this.file = file;
+        this.encoding = encoding;
+        previousEntries.putAll(load());
+    }
+
+    /**
+     * Loads the entries of the cache file. Unreadable files and files written for another encoding are ignored.
+     *
+     * @return The entries (location on disk to fingerprint and checksum). Empty if there are none.
+     */
+    private Map<String, String> load() {
+        Map<String, String> loadedEntries = new HashMap<String, String>();
+        if (!file.isFile()) {
+            return loadedEntries;
+        }
+
+        Properties properties = new Properties();
+        InputStream inputStream = null;
+        try {
+            inputStream = new FileInputStream(file);
+            properties.load(inputStream);
+        } catch (Exception e) {
+            LOG.warn("Ignoring unreadable checksum cache " + file.getAbsolutePath() + ": " + e.getMessage());
+            return loadedEntries;
+        } finally {
+            close(inputStream);
+        }
+
+        if (!encoding.equals(properties.getProperty(ENCODING_KEY))) {
+            LOG.debug("Ignoring checksum cache " + file.getAbsolutePath() + " as it was written for another encoding");
+            return loadedEntries;
+        }
+
+        for (String key : properties.stringPropertyNames()) {
+            if (!ENCODING_KEY.equals(key)) {
+                loadedEntries.put(key, properties.getProperty(key));
+            }
+        }
+        return loadedEntries;
+    }
+
+    /**
+     * Retrieves the cached checksum of this resource.
+     *
+     * @param location    The location of the resource on disk.
+     * @param fingerprint The current fingerprint of the resource.
+     * @return The checksum. {@code null} if none is cached or if the resource changed since it was cached.
+     */
+    public synchronized Integer get(String location, String fingerprint) {
+        if ((location == null) || (fingerprint == null)) {
+            return null;
+        }
+
+        String value = previousEntries.get(location);
+        if (value == null) {
+            return null;
+        }
+
+        int separator = value.lastIndexOf('|');
+        if ((separator < 0) || !fingerprint.equals(value.substring(0, separator))) {
+            return null;
+        }
+
+        Integer checksum;
+        try {
+            checksum = Integer.valueOf(value.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return checksum;
+    }
+
+    /**
+     * Stores the checksum of this resource.
+     *
+     * @param location    The location of the resource on disk.
+     * @param fingerprint The current fingerprint of the resource.
+     * @param checksum    The checksum of the resource.
+     */
+    public synchronized void put(String location, String fingerprint, int checksum) {
+        if ((location == null) || (fingerprint == null)) {
+            return;
+        }
+        String value = fingerprint + "|" + checksum;
+        if (!value.equals(previousEntries.get(location))) {
+            addedEntries.put(location, value);
+        }
+    }
+
+    /**
+     * Merges the entries calculated during this run into the cache file, if there are any. The entries currently in the
+     * file are kept, unless their script no longer exists on disk. Failures are logged, but never abort the run.
+     */
+    public synchronized void save() {
+        if (addedEntries.isEmpty()) {
+            return;
+        }
+
+        // Reload, so the entries saved by other configurations sharing this file in the meantime are kept as well
+        Map<String, String> mergedEntries = load();
+        mergedEntries.putAll(addedEntries);
+        for (Iterator<String> iterator = mergedEntries.keySet().iterator(); iterator.hasNext(); ) {
+            if (!existsOnDisk(iterator.next())) {
+                iterator.remove();
+            }
+        }
+
+        Properties properties = new Properties();
+        properties.putAll(mergedEntries);
+        properties.setProperty(ENCODING_KEY, encoding);
+
+        File directory = file.getAbsoluteFile().getParentFile();
+        File tempFile = null;
+        OutputStream outputStream = null;
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Unable to create directory " + directory.getAbsolutePath());
+            }
+            tempFile = File.createTempFile(file.getName(), ".tmp", directory);
+            outputStream = new FileOutputStream(tempFile);
+            properties.store(outputStream, "Flyway sql migration checksum cache");
+            outputStream.close();
+            outputStream = null;
+
+            // Windows refuses to rename onto an existing file
+            if (!tempFile.renameTo(file) && !(file.delete() && tempFile.renameTo(file))) {
+                throw new IOException("Unable to replace " + file.getAbsolutePath());
+            }
+            tempFile = null;
+
+            previousEntries.clear();
+            previousEntries.putAll(mergedEntries);
+            addedEntries.clear();
+        } catch (IOException e) {
+            LOG.warn("Unable to write checksum cache " + file.getAbsolutePath() + ": " + e.getMessage());
+        } finally {
+            close(outputStream);
+            if (tempFile != null) {
+                //noinspection ResultOfMethodCallIgnored
+                tempFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Checks whether the script at this location still exists on disk. Scripts inside a jar are located as
+     * {@code /path/to/file:/path/to/the.jar!/db/migration/V1__Init.sql}, and only the jar itself is checked for them.
+     *
+     * @param location The location of the script on disk.
+     * @return {@code true} if it exists, {@code false} if not.
+     */
+    private static boolean existsOnDisk(String location) {
+        int separator = location.indexOf("!/");
+        if (separator < 0) {
+            return new File(location).isFile();
+        }
+
+        String jarPath = location.substring(0, separator);
+        int protocol = jarPath.indexOf("file:");
+        if (protocol >= 0) {
+            jarPath = jarPath.substring(protocol + "file:".length());
+        }
+        return new File(jarPath).isFile();
+    }
+
+    /**
+     * Closes this stream, ignoring any errors.
+     *
+     * @param closeable The stream to close. May be {@code null}.
+     */
+    private static void close(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                //Ignore
+            }
+        }
+    }
+}
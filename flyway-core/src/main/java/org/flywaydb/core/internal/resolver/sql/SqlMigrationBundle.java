@@ -0,0 +1,510 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.sql;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.configuration.SQLFlywayConfiguration;
+import org.flywaydb.core.internal.resolver.ChecksumCalculator;
+import org.flywaydb.core.internal.resolver.MigrationInfoHelper;
+import org.flywaydb.core.internal.util.FileCopyUtils;
+import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.Pair;
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
+import org.flywaydb.core.internal.util.scanner.Resource;
+import org.flywaydb.core.internal.util.scanner.classpath.ClassPathScanner;
+import org.flywaydb.core.internal.util.scanner.filesystem.FileSystemScanner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precompiled description of the sql migrations and sql callbacks of a classpath location, generated at build time.
+ * It holds the version, description, script name and checksum of every migration, so they can be resolved at runtime
+ * without scanning the classpath or reading the scripts. The bundle is a binary file named {@value #FILE_NAME} in the
+ * location itself.
+ * <p>A bundle is ignored, and the location scanned as usual, when it was generated with a different naming
+ * convention or encoding, or when the location spans more classpath roots than there are bundles, counting jars
+ * without directory entries as well. Bundles on disk are also ignored when the size or modification time of one of
+ * their scripts changed, or when a script was added or removed since the bundle was generated.</p>
+ */
+public class SqlMigrationBundle {
+    private static final Log LOG = LogFactory.getLog(SqlMigrationBundle.class);
+
+    /**
+     * The name of the bundle file inside a location.
+     */
+    public static final String FILE_NAME = "flyway-migrations.bundle";
+
+    /**
+     * The magic number identifying bundle files: "FLYB".
+     */
+    private static final int MAGIC = 0x464C5942;
+
+    /**
+     * The version of the bundle file format.
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    private static final byte KIND_MIGRATION = 0;
+    private static final byte KIND_CALLBACK = 1;
+    private static final byte KIND_OTHER = 2;
+
+    /**
+     * The migrations in all bundles of the location.
+     */
+    private final List<Entry> migrations;
+
+    /**
+     * The callbacks in all bundles of the location.
+     */
+    private final List<Entry> callbacks;
+
+    /**
+     * Creates a new bundle.
+     *
+     * @param migrations The migrations in all bundles of the location.
+     * @param callbacks  The callbacks in all bundles of the location.
+     */
+    private SqlMigrationBundle(List<Entry> migrations, List<Entry> callbacks) {
+        this.migrations = migrations;
+        this.callbacks = callbacks;
+    }
+
+    /**
+     * @return The migrations in all bundles of the location.
+     */
+    public List<Entry> getMigrations() {
+        return migrations;
+    }
+
+    /**
+     * @return The callbacks in all bundles of the location.
+     */
+    public List<Entry> getCallbacks() {
+        return callbacks;
+    }
+
+    /**
+     * Loads the bundles of this classpath location.
+     *
+     * @param classLoader   The ClassLoader to find the bundles with.
+     * @param location      The classpath location.
+     * @param configuration The Flyway configuration.
+     * @return The combined bundles. {@code null} if the location has no usable bundles and must be scanned instead.
+     */
+    public static SqlMigrationBundle load(ClassLoader classLoader, Location location, SQLFlywayConfiguration configuration) {
+        String path = location.getPath();
+        try {
+            List<URL> bundleUrls = Collections.list(classLoader.getResources(getBundlePath(location)));
+            if (bundleUrls.isEmpty()) {
+                return null;
+            }
+
+            int roots = new ClassPathScanner(classLoader).countLocationRoots(location);
+            if (bundleUrls.size() < roots) {
+                LOG.debug("Ignoring sql migration bundles of " + location + ": only " + bundleUrls.size()
+                        + " of its " + roots + " classpath roots have one");
+                return null;
+            }
+
+            List<Entry> migrations = new ArrayList<Entry>();
+            List<Entry> callbacks = new ArrayList<Entry>();
+            for (URL bundleUrl : bundleUrls) {
+                if (!read(bundleUrl, path, configuration, migrations, callbacks)) {
+                    return null;
+                }
+            }
+            LOG.debug("Loaded " + migrations.size() + " sql migrations from the bundles of " + location);
+            return new SqlMigrationBundle(migrations, callbacks);
+        } catch (IOException e) {
+            LOG.warn("Unable to read sql migration bundle of " + location + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads this bundle file.
+     *
+     * @param bundleUrl     The url of the bundle file.
+     * @param path          The path of the location on the classpath.
+     * @param configuration The Flyway configuration.
+     * @param migrations    The list to add the migrations to.
+     * @param callbacks     The list to add the callbacks to.
+     * @return {@code true} if the bundle was read, {@code false} if it is stale.
+     * @throws IOException when the bundle could not be read.
+     */
+    private static boolean read(URL bundleUrl, String path, SQLFlywayConfiguration configuration,
+                                List<Entry> migrations, List<Entry> callbacks) throws IOException {
+        File bundleFile = "file".equals(bundleUrl.getProtocol()) ? toFile(bundleUrl) : null;
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(readBytes(bundleUrl, bundleFile)));
+        if ((in.readInt() != MAGIC) || (in.readInt() != FORMAT_VERSION)) {
+            LOG.debug("Ignoring sql migration bundle with unknown format: " + bundleUrl);
+            return false;
+        }
+
+        if (!in.readUTF().equals(configuration.getSqlMigrationPrefix())
+                || !in.readUTF().equals(configuration.getRepeatableSqlMigrationPrefix())
+                || !in.readUTF().equals(configuration.getSqlMigrationSeparator())
+                || !in.readUTF().equals(configuration.getSqlMigrationSuffix())
+                || !in.readUTF().equals(configuration.getEncoding())) {
+            LOG.debug("Ignoring sql migration bundle generated for a different configuration: " + bundleUrl);
+            return false;
+        }
+
+        int count = in.readInt();
+        Map<String, Pair<Long, Long>> scripts = new HashMap<String, Pair<Long, Long>>();
+        for (int i = 0; i < count; i++) {
+            byte kind = in.readByte();
+            String relativePath = in.readUTF();
+            scripts.put(relativePath, Pair.of(in.readLong(), in.readLong()));
+            String resourcePath = path.length() == 0 ? relativePath : path + "/" + relativePath;
+            if (kind == KIND_OTHER) {
+                continue;
+            }
+            if (kind == KIND_CALLBACK) {
+                callbacks.add(new Entry(bundleUrl, resourcePath, relativePath, null, null, null));
+            } else {
+                String version = in.readUTF();
+                String description = in.readUTF();
+                int checksum = in.readInt();
+                migrations.add(new Entry(bundleUrl, resourcePath, relativePath,
+                        version.length() == 0 ? null : MigrationVersion.fromVersion(version), description, checksum));
+            }
+        }
+
+        if ((bundleFile != null) && isStale(bundleFile.getParentFile(), scripts, configuration)) {
+            LOG.debug("Ignoring stale sql migration bundle: " + bundleUrl);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the scripts in this directory on disk no longer match the ones listed in its bundle.
+     *
+     * @param directory     The directory of the location containing the bundle.
+     * @param scripts       The size and modification time of the scripts listed in the bundle, by relative path.
+     * @param configuration The Flyway configuration.
+     * @return {@code true} if a script was added, removed or modified since the bundle was generated, {@code false} if
+     * the bundle can be used.
+     * @throws IOException when the directory could not be scanned.
+     */
+    private static boolean isStale(File directory, Map<String, Pair<Long, Long>> scripts,
+                                   SQLFlywayConfiguration configuration) throws IOException {
+        Resource[] resources = new FileSystemScanner(configuration.getResolverThreads()).scanForResources(
+                new Location(Location.FILESYSTEM_PREFIX + directory.getAbsolutePath()), "", configuration.getSqlMigrationSuffix());
+        if (resources.length != scripts.size()) {
+            return true;
+        }
+
+        for (Resource resource : resources) {
+            Pair<Long, Long> sizeAndModified = scripts.get(toRelativePath(directory, resource));
+            File file = new File(resource.getLocation());
+            if ((sizeAndModified == null)
+                    || (file.length() != sizeAndModified.getLeft())
+                    || (file.lastModified() != sizeAndModified.getRight())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the contents of this bundle file. Bundles on disk are memory-mapped, bundles in jars are read in one go.
+     *
+     * @param bundleUrl  The url of the bundle file.
+     * @param bundleFile The bundle file on disk. {@code null} if it is not on disk.
+     * @return The contents.
+     * @throws IOException when the bundle could not be read.
+     */
+    private static byte[] readBytes(URL bundleUrl, File bundleFile) throws IOException {
+        if (bundleFile == null) {
+            return FileCopyUtils.copyToByteArray(bundleUrl.openStream());
+        }
+
+        FileInputStream inputStream = new FileInputStream(bundleFile);
+        try {
+            FileChannel channel = inputStream.getChannel();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * @param url The file url.
+     * @return The file on disk.
+     * @throws IOException when the url could not be decoded.
+     */
+    private static File toFile(URL url) throws IOException {
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException e) {
+            return new File(URLDecoder.decode(url.getPath(), "UTF-8"));
+        }
+    }
+
+    /**
+     * Writes the bundle of this location from the sql migrations and sql callbacks compiled to this output directory.
+     *
+     * @param outputDirectory The root of the compiled classes and resources, such as target/classes.
+     * @param location        The classpath location.
+     * @param configuration   The Flyway configuration.
+     * @return The number of migrations in the bundle. {@code -1} if the location does not exist in the output directory.
+     * @throws IOException when the bundle could not be written.
+     */
+    public static int write(File outputDirectory, Location location, SQLFlywayConfiguration configuration) throws IOException {
+        File directory = new File(outputDirectory, location.getPath());
+        if (!directory.isDirectory()) {
+            return -1;
+        }
+
+        String prefix = configuration.getSqlMigrationPrefix();
+        String repeatablePrefix = configuration.getRepeatableSqlMigrationPrefix();
+        String separator = configuration.getSqlMigrationSeparator();
+        String suffix = configuration.getSqlMigrationSuffix();
+        Resource[] resources = new FileSystemScanner(configuration.getResolverThreads())
+                .scanForResources(new Location(Location.FILESYSTEM_PREFIX + directory.getAbsolutePath()), "", suffix);
+
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        DataOutputStream entriesOut = new DataOutputStream(entries);
+        int count = 0;
+        int migrations = 0;
+        for (Resource resource : resources) {
+            String filename = resource.getFilename();
+            String relativePath = toRelativePath(directory, resource);
+            File file = new File(resource.getLocation());
+            count++;
+            if (SqlMigrationResolver.isSqlCallback(filename, suffix)) {
+                writeEntryHeader(entriesOut, KIND_CALLBACK, relativePath, file);
+                continue;
+            }
+
+            String migrationPrefix;
+            if (isMigration(filename, prefix, suffix)) {
+                migrationPrefix = prefix;
+            } else if (isMigration(filename, repeatablePrefix, suffix)) {
+                migrationPrefix = repeatablePrefix;
+            } else {
+                // Still listed, so scripts renamed into migrations later are detected
+                writeEntryHeader(entriesOut, KIND_OTHER, relativePath, file);
+                continue;
+            }
+
+            Pair<MigrationVersion, String> info =
+                    MigrationInfoHelper.extractVersionAndDescription(filename, migrationPrefix, separator, suffix);
+            writeEntryHeader(entriesOut, KIND_MIGRATION, relativePath, file);
+            entriesOut.writeUTF(info.getLeft() == null ? "" : info.getLeft().toString());
+            entriesOut.writeUTF(info.getRight());
+            entriesOut.writeInt(ChecksumCalculator.calculate(resource, configuration.getEncoding()));
+            migrations++;
+        }
+        entriesOut.flush();
+
+        File file = new File(directory, FILE_NAME);
+        DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(prefix);
+            out.writeUTF(repeatablePrefix);
+            out.writeUTF(separator);
+            out.writeUTF(suffix);
+            out.writeUTF(configuration.getEncoding());
+            out.writeInt(count);
+            entries.writeTo(out);
+        } finally {
+            out.close();
+        }
+        LOG.info("Bundled " + migrations + " sql migrations of " + location + " into " + file.getAbsolutePath());
+        return migrations;
+    }
+
+    /**
+     * Writes the fields common to all kinds of entries.
+     *
+     * @param out          The stream to write to.
+     * @param kind         The kind of entry.
+     * @param relativePath The path of the script relative to the location.
+     * @param file         The script on disk.
+     * @throws IOException when the entry could not be written.
+     */
+    private static void writeEntryHeader(DataOutputStream out, byte kind, String relativePath, File file) throws IOException {
+        out.writeByte(kind);
+        out.writeUTF(relativePath);
+        out.writeLong(file.length());
+        out.writeLong(file.lastModified());
+    }
+
+    /**
+     * @param filename The name of the file.
+     * @param prefix   The prefix of migrations.
+     * @param suffix   The suffix of migrations.
+     * @return Whether this file is named like a migration with this prefix.
+     */
+    private static boolean isMigration(String filename, String prefix, String suffix) {
+        return filename.startsWith(prefix) && (filename.length() > (prefix + suffix).length());
+    }
+
+    /**
+     * @param directory The directory of the location in the output directory.
+     * @param resource  A resource below this directory.
+     * @return The path of the resource relative to the directory, with forward slashes.
+     */
+    private static String toRelativePath(File directory, Resource resource) {
+        String relativePath = resource.getLocation().substring(directory.getAbsolutePath().length() + 1);
+        return relativePath.replace(File.separatorChar, '/');
+    }
+
+    /**
+     * @param location The classpath location.
+     * @return The path of the bundle file of this location on the classpath.
+     */
+    private static String getBundlePath(Location location) {
+        String path = location.getPath();
+        return path.length() == 0 ? FILE_NAME : path + "/" + FILE_NAME;
+    }
+
+    /**
+     * A sql migration or sql callback listed in a bundle.
+     */
+    public static class Entry {
+        /**
+         * The url of the bundle listing this entry.
+         */
+        private final URL bundleUrl;
+
+        /**
+         * The path of the script on the classpath.
+         */
+        private final String resourcePath;
+
+        /**
+         * The path of the script relative to the location.
+         */
+        private final String script;
+
+        /**
+         * The version of the migration. {@code null} for repeatable migrations and callbacks.
+         */
+        private final MigrationVersion version;
+
+        /**
+         * The description of the migration. {@code null} for callbacks.
+         */
+        private final String description;
+
+        /**
+         * The checksum of the migration. {@code null} for callbacks.
+         */
+        private final Integer checksum;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param bundleUrl    The url of the bundle listing this entry.
+         * @param resourcePath The path of the script on the classpath.
+         * @param script       The path of the script relative to the location.
+         * @param version      The version of the migration. {@code null} for repeatable migrations and callbacks.
+         * @param description  The description of the migration. {@code null} for callbacks.
+         * @param checksum     The checksum of the migration. {@code null} for callbacks.
+         */
+        Entry(URL bundleUrl, String resourcePath, String script, MigrationVersion version, String description, Integer checksum) {
+            this.bundleUrl = bundleUrl;
+            this.resourcePath = resourcePath;
+            this.script = script;
+            this.version = version;
+            this.description = description;
+            this.checksum = checksum;
+        }
+
+        /**
+         * @return The path of the script on the classpath.
+         */
+        public String getResourcePath() {
+            return resourcePath;
+        }
+
+        /**
+         * @return The path of the script relative to the location.
+         */
+        public String getScript() {
+            return script;
+        }
+
+        /**
+         * @return The file name of the script.
+         */
+        public String getFilename() {
+            return script.substring(script.lastIndexOf('/') + 1);
+        }
+
+        /**
+         * @return The version of the migration. {@code null} for repeatable migrations and callbacks.
+         */
+        public MigrationVersion getVersion() {
+            return version;
+        }
+
+        /**
+         * @return The description of the migration. {@code null} for callbacks.
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        /**
+         * @return The checksum of the migration. {@code null} for callbacks.
+         */
+        public Integer getChecksum() {
+            return checksum;
+        }
+
+        /**
+         * Computes the location of the script on disk from the location of the bundle, without looking it up.
+         *
+         * @return The absolute path of the script on disk.
+         */
+        public String getLocationOnDisk() {
+            try {
+                URL url = new URL(bundleUrl, script);
+                return new File(URLDecoder.decode(url.getPath(), "UTF-8")).getAbsolutePath();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+}
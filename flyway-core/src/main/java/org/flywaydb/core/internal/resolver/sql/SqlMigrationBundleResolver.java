@@ -0,0 +1,120 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.sql;
+
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.configuration.SQLFlywayConfiguration;
+import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.dbsupport.DbSupport;
+import org.flywaydb.core.internal.resolver.ResolvedMigrationComparator;
+import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
+import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.scanner.classpath.ClassPathResource;
+import org.flywaydb.core.internal.util.scanner.Scanner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Migration resolver for sql files on the classpath, listed in the precompiled {@link SqlMigrationBundle} of their
+ * location. Neither the classpath is scanned nor are the scripts read. Locations without a usable bundle are
+ * resolved by the fallback resolver instead.
+ */
+public class SqlMigrationBundleResolver implements MigrationResolver {
+    /**
+     * Database-specific support.
+     */
+    private final DbSupport dbSupport;
+
+    /**
+     * The scanner to use.
+     */
+    private final Scanner scanner;
+
+    /**
+     * The base directory on the classpath where to migrations are located.
+     */
+    private final Location location;
+
+    /**
+     * The placeholder replacer to apply to sql migration scripts.
+     */
+    private final PlaceholderReplacer placeholderReplacer;
+
+    /**
+     * The SQLFlyway configuration.
+     */
+    private final SQLFlywayConfiguration configuration;
+
+    /**
+     * The resolver to use when the location has no usable bundle.
+     */
+    private final MigrationResolver fallback;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param dbSupport           The database-specific support.
+     * @param scanner             The Scanner for loading migrations on the classpath.
+     * @param location            The location on the classpath where to migrations are located.
+     * @param placeholderReplacer The placeholder replacer to apply to sql migration scripts.
+     * @param configuration       The Flyway configuration.
+     * @param fallback            The resolver to use when the location has no usable bundle.
+     */
+    public SqlMigrationBundleResolver(DbSupport dbSupport, Scanner scanner, Location location,
+                                      PlaceholderReplacer placeholderReplacer, SQLFlywayConfiguration configuration,
+                                      MigrationResolver fallback) {
+        this.dbSupport = dbSupport;
+        this.scanner = scanner;
+        this.location = location;
+        this.placeholderReplacer = placeholderReplacer;
+        this.configuration = configuration;
+        this.fallback = fallback;
+    }
+
+    public Collection<ResolvedMigration> resolveMigrations() {
+        if (!location.isClassPath()) {
+            return fallback.resolveMigrations();
+        }
+
+        SqlMigrationBundle bundle = SqlMigrationBundle.load(scanner.getClassLoader(), location, configuration);
+        if (bundle == null) {
+            return fallback.resolveMigrations();
+        }
+
+        List<ResolvedMigration> migrations = new ArrayList<ResolvedMigration>();
+        for (SqlMigrationBundle.Entry entry : bundle.getMigrations()) {
+            ClassPathResource resource = new ClassPathResource(entry.getResourcePath(), scanner.getClassLoader());
+
+            ResolvedMigrationImpl migration = new ResolvedMigrationImpl();
+            migration.setVersion(entry.getVersion());
+            migration.setDescription(entry.getDescription());
+            migration.setScript(entry.getScript());
+            migration.setChecksum(entry.getChecksum());
+            migration.setType(MigrationType.SQL);
+            migration.setPhysicalLocation(entry.getLocationOnDisk());
+            migration.setExecutor(new SqlMigrationExecutor(dbSupport, resource, placeholderReplacer, configuration));
+            migrations.add(migration);
+        }
+
+        Collections.sort(migrations, new ResolvedMigrationComparator());
+        return migrations;
+    }
+}
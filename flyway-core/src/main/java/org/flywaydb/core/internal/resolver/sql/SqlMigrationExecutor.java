@@ -15,7 +15,7 @@
  */
 package org.flywaydb.core.internal.resolver.sql;
 
-import org.flywaydb.core.api.configuration.FlywayConfiguration;
+import org.flywaydb.core.api.configuration.SQLFlywayConfiguration;
 import org.flywaydb.core.api.resolver.MigrationExecutor;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
 import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
@@ -49,10 +49,16 @@ public class SqlMigrationExecutor implements MigrationExecutor {
     /**
      * The Flyway configuration.
      */
-    private final FlywayConfiguration configuration;
+    private final SQLFlywayConfiguration configuration;
 
     /**
-     * The SQL script that will be executed.
+     * Whether this migration must be executed within a transaction. {@code null} until it has been determined.
+     */
+    private Boolean executeInTransaction;
+
+    /**
+     * The SQL script created to determine the transactional mode, kept until the migration is executed.
+     * The statements themselves are never held: they are parsed and executed one by one.
      */
     private SqlScript sqlScript;
 
@@ -64,7 +70,7 @@ public class SqlMigrationExecutor implements MigrationExecutor {
      * @param placeholderReplacer The placeholder replacer to apply to sql migration scripts.
      * @param configuration       The Flyway configuration.
      */
-    public SqlMigrationExecutor(DbSupport dbSupport, Resource sqlScriptResource, PlaceholderReplacer placeholderReplacer, FlywayConfiguration configuration) {
+    public SqlMigrationExecutor(DbSupport dbSupport, Resource sqlScriptResource, PlaceholderReplacer placeholderReplacer, SQLFlywayConfiguration configuration) {
         this.dbSupport = dbSupport;
         this.sqlScriptResource = sqlScriptResource;
         this.placeholderReplacer = placeholderReplacer;
@@ -73,18 +79,31 @@ public class SqlMigrationExecutor implements MigrationExecutor {
 
     @Override
     public void execute(Connection connection) {
-        getSqlScript().execute(new JdbcTemplate(connection, 0));
+        SqlScript script;
+        synchronized (this) {
+            script = sqlScript == null ? createSqlScript() : sqlScript;
+            sqlScript = null;
+        }
+        script.execute(new JdbcTemplate(connection, 0));
     }
 
-    private synchronized SqlScript getSqlScript() {
-        if (sqlScript == null) {
-            sqlScript = new SqlScript(dbSupport, sqlScriptResource, placeholderReplacer, configuration.getEncoding(), configuration.isAllowMixedMigrations());
+    @Override
+    public synchronized boolean executeInTransaction() {
+        if (executeInTransaction == null) {
+            sqlScript = createSqlScript();
+            executeInTransaction = sqlScript.executeInTransaction();
         }
-        return sqlScript;
+        return executeInTransaction;
     }
 
-    @Override
-    public boolean executeInTransaction() {
-        return getSqlScript().executeInTransaction();
+    /**
+     * Creates the SQL script of this migration. For databases supporting non-transactional statements, this scans the
+     * script once to determine its transactional mode.
+     *
+     * @return The SQL script.
+     */
+    private SqlScript createSqlScript() {
+        return new SqlScript(dbSupport, sqlScriptResource, placeholderReplacer, configuration.getEncoding(),
+                configuration.isAllowMixedMigrations(), configuration.getBatchSize());
     }
 }
@@ -15,7 +15,6 @@
  */
 package org.flywaydb.core.internal.resolver.sql;
 
-import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.MigrationType;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.configuration.SQLFlywayConfiguration;
@@ -23,22 +22,21 @@ import org.flywaydb.core.api.resolver.MigrationResolver;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
 import org.flywaydb.core.internal.callback.SqlScriptFlywayCallback;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
+import org.flywaydb.core.internal.resolver.ChecksumCalculator;
 import org.flywaydb.core.internal.resolver.MigrationInfoHelper;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationComparator;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
 import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.Pair;
+import org.flywaydb.core.internal.util.ParallelUtils;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
 import org.flywaydb.core.internal.util.scanner.Resource;
 import org.flywaydb.core.internal.util.scanner.Scanner;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.zip.CRC32;
+import java.util.concurrent.Callable;
 
 /**
  * Migration resolver for sql files on the classpath. The sql files must have names like
@@ -70,6 +68,11 @@ public class SqlMigrationResolver implements MigrationResolver {
      */
     private final SQLFlywayConfiguration configuration;
 
+    /**
+     * The cache of checksums to consult before reading a script. {@code null} if none.
+     */
+    private final ChecksumCache checksumCache;
+
     /**
      * Creates a new instance.
      *
@@ -81,44 +84,113 @@ public class SqlMigrationResolver implements MigrationResolver {
      */
     public SqlMigrationResolver(DbSupport dbSupport, Scanner scanner, Location location,
                                 PlaceholderReplacer placeholderReplacer, SQLFlywayConfiguration configuration) {
+        this(dbSupport, scanner, location, placeholderReplacer, configuration, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param dbSupport                    The database-specific support.
+     * @param scanner                      The Scanner for loading migrations on the classpath.
+     * @param location                     The location on the classpath where to migrations are located.
+     * @param placeholderReplacer          The placeholder replacer to apply to sql migration scripts.
+     * @param configuration                The Flyway configuration.
+     * @param checksumCache                The cache of checksums to consult before reading a script. {@code null} if none.
+     */
+    public SqlMigrationResolver(DbSupport dbSupport, Scanner scanner, Location location,
+                                PlaceholderReplacer placeholderReplacer, SQLFlywayConfiguration configuration,
+                                ChecksumCache checksumCache) {
         this.dbSupport = dbSupport;
         this.scanner = scanner;
         this.location = location;
         this.placeholderReplacer = placeholderReplacer;
         this.configuration = configuration;
+        this.checksumCache = checksumCache;
     }
 
     public List<ResolvedMigration> resolveMigrations() {
-        List<ResolvedMigration> migrations = new ArrayList<ResolvedMigration>();
+        List<Callable<ResolvedMigration>> tasks = new ArrayList<Callable<ResolvedMigration>>();
 
-        scanForMigrations(migrations, configuration.getSqlMigrationPrefix(), configuration.getSqlMigrationSeparator(), configuration.getSqlMigrationSuffix());
-        scanForMigrations(migrations, configuration.getRepeatableSqlMigrationPrefix(), configuration.getSqlMigrationSeparator(), configuration.getSqlMigrationSuffix());
+        String[] prefixes = {configuration.getSqlMigrationPrefix(), configuration.getRepeatableSqlMigrationPrefix()};
+        Resource[][] resources = scanner.scanForResources(location, prefixes, configuration.getSqlMigrationSuffix());
+        for (int i = 0; i < prefixes.length; i++) {
+            addMigrationTasks(tasks, resources[i], prefixes[i], configuration.getSqlMigrationSeparator(), configuration.getSqlMigrationSuffix());
+        }
 
+        List<ResolvedMigration> migrations =
+                ParallelUtils.invokeAll(tasks, configuration.getResolverThreads(), "flyway-sql-resolver");
         Collections.sort(migrations, new ResolvedMigrationComparator());
         return migrations;
     }
 
-    private void scanForMigrations(List<ResolvedMigration> migrations, String prefix, String separator, String suffix) {
-        for (Resource resource : scanner.scanForResources(location, prefix, suffix)) {
-            String filename = resource.getFilename();
-            if (isSqlCallback(filename, suffix)) {
+    /**
+     * Adds a task for resolving each of these sql migrations with this naming pattern.
+     *
+     * @param tasks     The list to add the tasks to.
+     * @param resources The resources found for this naming pattern.
+     * @param prefix    The prefix of the file names.
+     * @param separator The separator between version and description.
+     * @param suffix    The suffix of the file names.
+     */
+    private void addMigrationTasks(List<Callable<ResolvedMigration>> tasks, Resource[] resources, final String prefix, final String separator, final String suffix) {
+        for (final Resource resource : resources) {
+            if (isSqlCallback(resource.getFilename(), suffix)) {
                 continue;
             }
-            Pair<MigrationVersion, String> info =
-                    MigrationInfoHelper.extractVersionAndDescription(filename, prefix, separator, suffix);
-
-            ResolvedMigrationImpl migration = new ResolvedMigrationImpl();
-            migration.setVersion(info.getLeft());
-            migration.setDescription(info.getRight());
-            migration.setScript(extractScriptName(resource));
-            migration.setChecksum(calculateChecksum(resource, resource.loadAsString(configuration.getEncoding())));
-            migration.setType(MigrationType.SQL);
-            migration.setPhysicalLocation(resource.getLocationOnDisk());
-            migration.setExecutor(new SqlMigrationExecutor(dbSupport, resource, placeholderReplacer, configuration));
-            migrations.add(migration);
+            tasks.add(new Callable<ResolvedMigration>() {
+                @Override
+                public ResolvedMigration call() {
+                    return resolveMigration(resource, prefix, separator, suffix);
+                }
+            });
         }
     }
 
+    /**
+     * Resolves the sql migration in this resource. This loads the resource to calculate its checksum.
+     *
+     * @param resource  The resource containing the migration.
+     * @param prefix    The prefix of the file name.
+     * @param separator The separator between version and description.
+     * @param suffix    The suffix of the file name.
+     * @return The resolved migration.
+     */
+    private ResolvedMigration resolveMigration(Resource resource, String prefix, String separator, String suffix) {
+        Pair<MigrationVersion, String> info =
+                MigrationInfoHelper.extractVersionAndDescription(resource.getFilename(), prefix, separator, suffix);
+
+        ResolvedMigrationImpl migration = new ResolvedMigrationImpl();
+        migration.setVersion(info.getLeft());
+        migration.setDescription(info.getRight());
+        migration.setScript(extractScriptName(resource));
+        migration.setChecksum(getChecksum(resource));
+        migration.setType(MigrationType.SQL);
+        migration.setPhysicalLocation(resource.getLocationOnDisk());
+        migration.setExecutor(new SqlMigrationExecutor(dbSupport, resource, placeholderReplacer, configuration));
+        return migration;
+    }
+
+    /**
+     * Retrieves the checksum of this resource, either from the checksum cache or by reading it.
+     *
+     * @param resource The resource to get the checksum for.
+     * @return The crc-32 checksum of the resource.
+     */
+    private int getChecksum(Resource resource) {
+        if (checksumCache == null) {
+            return ChecksumCalculator.calculate(resource, configuration.getEncoding());
+        }
+
+        String locationOnDisk = resource.getLocationOnDisk();
+        String fingerprint = resource.getFingerprint();
+        Integer checksum = checksumCache.get(locationOnDisk, fingerprint);
+        if (checksum == null) {
+            checksum = ChecksumCalculator.calculate(resource, configuration.getEncoding());
+            checksumCache.put(locationOnDisk, fingerprint, checksum);
+        }
+        return checksum;
+    }
+
     /**
      * Checks whether this filename is actually a sql-based callback instead of a regular migration.
      *
@@ -145,31 +217,4 @@ public class SqlMigrationResolver implements MigrationResolver {
 
         return resource.getLocation().substring(location.getPath().length() + 1);
     }
-
-    /**
-     * Calculates the checksum of this string.
-     *
-     * @param str The string to calculate the checksum for.
-     * @return The crc-32 checksum of the bytes.
-     */
-    /* private -> for testing */
-    static int calculateChecksum(Resource resource, String str) {
-        final CRC32 crc32 = new CRC32();
-
-        BufferedReader bufferedReader = new BufferedReader(new StringReader(str));
-        try {
-            String line;
-            while ((line = bufferedReader.readLine()) != null) {
-                crc32.update(line.getBytes("UTF-8"));
-            }
-        } catch (IOException e) {
-            String message = "Unable to calculate checksum";
-            if (resource != null) {
-                message += " for " + resource.getLocation() + " (" + resource.getLocationOnDisk() + ")";
-            }
-            throw new FlywayException(message, e);
-        }
-
-        return (int) crc32.getValue();
-    }
 }
@@ -132,6 +132,41 @@ public class ClassUtils {
         }
     }
 
+    /**
+     * Retrieves the physical location on disk of the class with this name, without loading it.
+     *
+     * @param className   The fully qualified name of the class.
+     * @param classLoader The ClassLoader to find the class file with.
+     * @return The absolute path of the jar file or the directory containing the class. {@code null} if the class file
+     * could not be found.
+     */
+    public static String getLocationOnDisk(String className, ClassLoader classLoader) {
+        String resourceName = className.replace('.', '/') + ".class";
+        URL url = classLoader.getResource(resourceName);
+        if (url == null) {
+            return null;
+        }
+
+        String path = url.getPath();
+        int separatorPos = path.indexOf("!/");
+        if (separatorPos >= 0) {
+            // jar:file:/path/to/the.jar!/org/example/V1__Init.class
+            path = path.substring(0, separatorPos);
+            if (path.startsWith("file:")) {
+                path = path.substring("file:".length());
+            }
+        } else if (path.endsWith(resourceName)) {
+            path = path.substring(0, path.length() - resourceName.length());
+        }
+
+        try {
+            return URLDecoder.decode(path, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            //Can never happen.
+            return null;
+        }
+    }
+
     /**
      * Adds a jar or a directory with this name to the classpath.
      *
@@ -0,0 +1,149 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util;
+
+import org.flywaydb.core.api.FlywayException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Utility methods for running independent tasks on a bounded pool of worker threads.
+ */
+public class ParallelUtils {
+    /**
+     * Prevents instantiation.
+     */
+    private ParallelUtils() {
+        // Do nothing
+    }
+
+    /**
+     * Runs these tasks on a pool of at most this many threads and waits for all of them to complete. With a single
+     * thread or a single task, everything runs on the calling thread. As soon as one task fails, the remaining ones
+     * are cancelled.
+     *
+     * @param tasks      The tasks to run.
+     * @param threads    The maximum number of threads to use.
+     * @param threadName The name prefix of the worker threads.
+     * @param <T>        The type of the results.
+     * @return The results of the tasks, in the order of the tasks.
+     * @throws FlywayException when a task threw a checked exception or the calling thread was interrupted. Runtime
+     *                         exceptions and errors thrown by a task are rethrown as is.
+     */
+    public static <T> List<T> invokeAll(List<? extends Callable<T>> tasks, int threads, String threadName) {
+        List<T> results = new ArrayList<T>(tasks.size());
+        if ((threads <= 1) || (tasks.size() <= 1)) {
+            for (Callable<T> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new FlywayException(e.getMessage(), e);
+                }
+            }
+            return results;
+        }
+
+        ExecutorService executorService =
+                Executors.newFixedThreadPool(Math.min(threads, tasks.size()), new DaemonThreadFactory(threadName));
+        try {
+            CompletionService<T> completionService = new ExecutorCompletionService<T>(executorService);
+            List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+            for (Callable<T> task : tasks) {
+                futures.add(completionService.submit(task));
+            }
+
+            // Wait in completion order to fail fast, then collect in task order
+            for (int i = 0; i < tasks.size(); i++) {
+                getResult(completionService.take());
+            }
+            for (Future<T> future : futures) {
+                results.add(getResult(future));
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlywayException("Interrupted while waiting for " + threadName + " threads", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Retrieves the result of this completed task.
+     *
+     * @param future The future of the task.
+     * @param <T>    The type of the result.
+     * @return The result.
+     * @throws InterruptedException when the calling thread was interrupted.
+     */
+    private static <T> T getResult(Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new FlywayException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Creates named daemon threads, so a pool that is not shut down never prevents the JVM from exiting.
+     */
+    private static class DaemonThreadFactory implements ThreadFactory {
+        /**
+         * The name prefix of the threads.
+         */
+        private final String threadName;
+
+        /**
+         * The number of threads created so far.
+         */
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        /**
+         * Creates a new thread factory.
+         *
+         * @param threadName The name prefix of the threads.
+         */
+        DaemonThreadFactory(String threadName) {
+            this.threadName = threadName;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, threadName + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -21,8 +21,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Tool for replacing placeholders.
@@ -67,44 +65,87 @@ public class PlaceholderReplacer {
     }
 
     /**
-     * Replaces the placeholders in this input string with their corresponding values.
+     * Replaces the placeholders in this input string with their corresponding values. The input is scanned once from
+     * left to right and every placeholder expression found is resolved through a single map lookup. Replacement values
+     * are not scanned again. Placeholder expressions can not span multiple lines, which makes it possible to process
+     * large inputs line by line.
      *
      * @param input The input to process.
      * @return The input string with all placeholders replaced.
+     * @throws FlywayException when the input contains placeholder expressions without a corresponding value.
      */
     public String replacePlaceholders(String input) {
-        String noPlaceholders = input;
+        if (placeholderPrefix.length() == 0) {
+            return input;
+        }
 
-        for (String placeholder : placeholders.keySet()) {
-            String searchTerm = placeholderPrefix + placeholder + placeholderSuffix;
-            String value = placeholders.get(placeholder);
-            noPlaceholders = StringUtils.replaceAll(noPlaceholders, searchTerm, value == null ? "" : value);
+        int prefixIndex = input.indexOf(placeholderPrefix);
+        if (prefixIndex < 0) {
+            // Nothing to replace, avoid copying the input
+            return input;
         }
-        checkForUnmatchedPlaceholderExpression(noPlaceholders);
 
-        return noPlaceholders;
-    }
+        StringBuilder result = new StringBuilder(input.length() + 16);
+        Set<String> unmatchedPlaceHolderExpressions = null;
+        int position = 0;
+        while (prefixIndex >= 0) {
+            int nameStart = prefixIndex + placeholderPrefix.length();
+            int suffixIndex = findSuffix(input, nameStart);
+            if (suffixIndex < 0) {
+                // Not a placeholder expression. Continue looking right after the start of this prefix.
+                prefixIndex = input.indexOf(placeholderPrefix, prefixIndex + 1);
+                continue;
+            }
 
-    /**
-     * Check for unmatched placeholder expressions in the input string and throw
-     * a FlywayException if they do not have corresponding values.
-     *
-     * @param input The input string.
-     * @throws FlywayException An exception listing the unmatched expressions.
-     */
-    private void checkForUnmatchedPlaceholderExpression(String input) {
-        String regex = Pattern.quote(placeholderPrefix) + "(.+?)" + Pattern.quote(placeholderSuffix);
-        Matcher matcher = Pattern.compile(regex).matcher(input);
-
-        Set<String> unmatchedPlaceHolderExpressions = new TreeSet<String>();
-        while (matcher.find()) {
-            unmatchedPlaceHolderExpressions.add(matcher.group());
+            String placeholder = input.substring(nameStart, suffixIndex);
+            int expressionEnd = suffixIndex + placeholderSuffix.length();
+            if (placeholders.containsKey(placeholder)) {
+                String value = placeholders.get(placeholder);
+                result.append(input, position, prefixIndex).append(value == null ? "" : value);
+                position = expressionEnd;
+            } else {
+                if (unmatchedPlaceHolderExpressions == null) {
+                    unmatchedPlaceHolderExpressions = new TreeSet<String>();
+                }
+                unmatchedPlaceHolderExpressions.add(input.substring(prefixIndex, expressionEnd));
+            }
+            prefixIndex = input.indexOf(placeholderPrefix, expressionEnd);
         }
 
-        if (!unmatchedPlaceHolderExpressions.isEmpty()) {
+        if (unmatchedPlaceHolderExpressions != null) {
             throw new FlywayException("No value provided for placeholder expressions: "
                     + StringUtils.collectionToCommaDelimitedString(unmatchedPlaceHolderExpressions)
                     + ".  Check your configuration!");
         }
+
+        if (position == 0) {
+            return input;
+        }
+        return result.append(input, position, input.length()).toString();
+    }
+
+    /**
+     * Finds the suffix terminating the placeholder expression whose name starts at this index. The name must consist
+     * of at least one character and may neither contain line breaks nor another prefix. A stray prefix followed by a
+     * placeholder expression on the same line therefore leaves the expression to be matched on its own.
+     *
+     * @param input     The input to search.
+     * @param nameStart The index at which the name of the placeholder starts.
+     * @return The index of the suffix or {@code -1} if there is no placeholder expression at this index.
+     */
+    private int findSuffix(String input, int nameStart) {
+        for (int i = nameStart; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '\n' || c == '\r') {
+                return -1;
+            }
+            if (i > nameStart && input.startsWith(placeholderSuffix, i)) {
+                return i;
+            }
+            if (input.startsWith(placeholderPrefix, i)) {
+                return -1;
+            }
+        }
+        return -1;
     }
 }
@@ -129,7 +129,13 @@ public class StringUtils {
      * @return The transformed str.
      */
     public static String replaceAll(String str, String originalToken, String replacementToken) {
-        return str.replaceAll(Pattern.quote(originalToken), Matcher.quoteReplacement(replacementToken));
+        if (originalToken.length() == 0) {
+            return str.replaceAll(Pattern.quote(originalToken), Matcher.quoteReplacement(replacementToken));
+        }
+        if (str.indexOf(originalToken) < 0) {
+            return str;
+        }
+        return replace(str, originalToken, replacementToken);
     }
 
     /**
@@ -225,18 +231,18 @@ public class StringUtils {
         if (!hasLength(inString) || !hasLength(oldPattern) || newPattern == null) {
             return inString;
         }
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = new StringBuilder(inString.length());
         int pos = 0; // our position in the old string
         int index = inString.indexOf(oldPattern);
         // the index of an occurrence we've found, or -1
         int patLen = oldPattern.length();
         while (index >= 0) {
-            sb.append(inString.substring(pos, index));
+            sb.append(inString, pos, index);
             sb.append(newPattern);
             pos = index + patLen;
             index = inString.indexOf(oldPattern, pos);
         }
-        sb.append(inString.substring(pos));
+        sb.append(inString, pos, inString.length());
         // remember to append any characters to the right of a match
         return sb.toString();
     }
@@ -15,6 +15,9 @@
  */
 package org.flywaydb.core.internal.util.scanner;
 
+import java.io.InputStream;
+import java.io.Reader;
+
 /**
  * A loadable resource.
  */
@@ -39,6 +42,21 @@ public interface Resource {
      */
     String loadAsString(String encoding);
 
+    /**
+     * Opens a reader over the contents of this resource. The caller is responsible for closing it.
+     *
+     * @param encoding The encoding to use.
+     * @return The reader for the contents of the resource.
+     */
+    Reader loadAsReader(String encoding);
+
+    /**
+     * Opens a stream over the raw bytes of this resource. The caller is responsible for closing it.
+     *
+     * @return The stream for the contents of the resource.
+     */
+    InputStream loadAsInputStream();
+
     /**
      * Loads this resource as a byte array.
      *
@@ -50,4 +68,12 @@ public interface Resource {
      * @return The filename of this resource, without the path.
      */
     String getFilename();
+
+    /**
+     * Computes a cheap fingerprint of this resource from its metadata (size and last modification time or jar entry
+     * crc), without reading its contents. The fingerprint changes whenever the contents of the resource change.
+     *
+     * @return The fingerprint of this resource. {@code null} if it cannot be determined.
+     */
+    String getFingerprint();
 }
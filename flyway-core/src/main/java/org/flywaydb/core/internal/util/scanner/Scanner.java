@@ -23,17 +23,41 @@ import org.flywaydb.core.internal.util.scanner.classpath.android.AndroidScanner;
 import org.flywaydb.core.internal.util.scanner.classpath.ClassPathScanner;
 import org.flywaydb.core.internal.util.scanner.filesystem.FileSystemScanner;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Scanner for Resources and Classes.
+ * <p>Each location is walked only once per Scanner. All resources found there are kept and every subsequent scan of the
+ * same location, whatever its prefix and suffix, is answered from them. A single Scanner is therefore meant to be
+ * shared by all resolvers and callbacks of a command.</p>
  */
 public class Scanner {
     private final ResourceAndClassScanner resourceAndClassScanner;
 
     private final ClassLoader classLoader;
-    private final FileSystemScanner fileSystemScanner = new FileSystemScanner();
+    private final FileSystemScanner fileSystemScanner;
+
+    /**
+     * All resources found so far per location, sorted by location.
+     */
+    private final Map<Location, Resource[]> resourceCache = new HashMap<Location, Resource[]>();
 
     public Scanner(ClassLoader classLoader) {
+        this(classLoader, 1);
+    }
+
+    /**
+     * Creates a new Scanner.
+     *
+     * @param classLoader The ClassLoader to use for classpath locations.
+     * @param threads     The maximum number of threads to use for walking filesystem locations.
+     */
+    public Scanner(ClassLoader classLoader, int threads) {
         this.classLoader = classLoader;
+        this.fileSystemScanner = new FileSystemScanner(threads);
         if (new FeatureDetector(classLoader).isAndroidAvailable()) {
             resourceAndClassScanner = new AndroidScanner(classLoader);
         } else {
@@ -50,14 +74,64 @@ public class Scanner {
      * @return The resources that were found.
      */
     public Resource[] scanForResources(Location location, String prefix, String suffix) {
-        try {
-            if (location.isFileSystem()) {
-                return fileSystemScanner.scanForResources(location, prefix, suffix);
+        return scanForResources(location, new String[]{prefix}, suffix)[0];
+    }
+
+    /**
+     * Scans this location for resources ending with the specified suffix and starting with any of the specified
+     * prefixes. The location is walked only once and every resource is classified against all prefixes in the same pass.
+     *
+     * @param location The location to start searching. Subdirectories are also searched.
+     * @param prefixes The prefixes of the resource names to match.
+     * @param suffix   The suffix of the resource names to match.
+     * @return The resources that were found, for each prefix at the same index.
+     */
+    public Resource[][] scanForResources(Location location, String[] prefixes, String suffix) {
+        List<List<Resource>> matches = new ArrayList<List<Resource>>();
+        for (int i = 0; i < prefixes.length; i++) {
+            matches.add(new ArrayList<Resource>());
+        }
+
+        for (Resource resource : getAllResources(location)) {
+            String filename = resource.getFilename();
+            if (!filename.endsWith(suffix)) {
+                continue;
+            }
+            for (int i = 0; i < prefixes.length; i++) {
+                if (filename.startsWith(prefixes[i]) && (filename.length() > (prefixes[i] + suffix).length())) {
+                    matches.get(i).add(resource);
+                }
             }
-            return resourceAndClassScanner.scanForResources(location, prefix, suffix);
-        } catch (Exception e) {
-            throw new FlywayException("Unable to scan for SQL migrations in location: " + location, e);
         }
+
+        Resource[][] result = new Resource[prefixes.length][];
+        for (int i = 0; i < prefixes.length; i++) {
+            result[i] = matches.get(i).toArray(new Resource[matches.get(i).size()]);
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves all resources at this location and below, walking the location on first use.
+     *
+     * @param location The location to start searching.
+     * @return The resources that were found.
+     */
+    private synchronized Resource[] getAllResources(Location location) {
+        Resource[] resources = resourceCache.get(location);
+        if (resources == null) {
+            try {
+                if (location.isFileSystem()) {
+                    resources = fileSystemScanner.scanForResources(location, "", "");
+                } else {
+                    resources = resourceAndClassScanner.scanForResources(location, "", "");
+                }
+            } catch (Exception e) {
+                throw new FlywayException("Unable to scan for SQL migrations in location: " + location, e);
+            }
+            resourceCache.put(location, resources);
+        }
+        return resources;
     }
 
 
@@ -75,6 +149,32 @@ public class Scanner {
         return resourceAndClassScanner.scanForClasses(location, implementedInterface);
     }
 
+    /**
+     * Scans the classpath for the names of concrete classes under the specified package implementing this interface.
+     * The classes are neither loaded nor instantiated, except on Android.
+     *
+     * @param location             The location (package) in the classpath to start scanning.
+     *                             Subpackages are also scanned.
+     * @param implementedInterface The interface the matching classes should implement.
+     * @return The fully qualified names of the classes that were found.
+     * @throws Exception when the location could not be scanned.
+     */
+    public String[] scanForClassNames(Location location, Class<?> implementedInterface) throws Exception {
+        return resourceAndClassScanner.scanForClassNames(location, implementedInterface);
+    }
+
+    /**
+     * Checks whether the class with this name implements this interface. The class is not loaded, except on Android.
+     *
+     * @param className            The fully qualified name of the class.
+     * @param implementedInterface The interface.
+     * @return {@code true} if it does, {@code false} if not.
+     * @throws Exception when the class could not be inspected.
+     */
+    public boolean implementsInterface(String className, Class<?> implementedInterface) throws Exception {
+        return resourceAndClassScanner.implementsInterface(className, implementedInterface);
+    }
+
     /**
      * @return The class loader used for scanning.
      */
@@ -0,0 +1,189 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The header of a class file: its access flags, its name, its superclass and the interfaces it directly implements.
+ * Reading it does not load or initialize the class.
+ */
+class ClassFileHeader {
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final int ACC_ENUM = 0x4000;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    /**
+     * The access flags of the class.
+     */
+    private final int accessFlags;
+
+    /**
+     * The internal name of the class, such as {@code org/example/V1__Init}.
+     */
+    private final String className;
+
+    /**
+     * The internal name of the superclass. {@code null} for java.lang.Object.
+     */
+    private final String superClassName;
+
+    /**
+     * The internal names of the interfaces directly implemented by the class.
+     */
+    private final String[] interfaceNames;
+
+    /**
+     * Creates a new header.
+     *
+     * @param accessFlags    The access flags of the class.
+     * @param className      The internal name of the class.
+     * @param superClassName The internal name of the superclass. {@code null} for java.lang.Object.
+     * @param interfaceNames The internal names of the interfaces directly implemented by the class.
+     */
+    private ClassFileHeader(int accessFlags, String className, String superClassName, String[] interfaceNames) {
+        this.accessFlags = accessFlags;
+        this.className = className;
+        this.superClassName = superClassName;
+        this.interfaceNames = interfaceNames;
+    }
+
+    /**
+     * Reads the header of the class file in this stream. The stream is not closed.
+     *
+     * @param inputStream The stream positioned at the start of the class file.
+     * @return The header.
+     * @throws IOException when the stream could not be read or does not contain a class file.
+     */
+    static ClassFileHeader read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+
+        int constantPoolCount = in.readUnsignedShort();
+        String[] utf8 = new String[constantPoolCount];
+        int[] classNameIndexes = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    utf8[i] = in.readUTF();
+                    break;
+                case CONSTANT_CLASS:
+                    classNameIndexes[i] = in.readUnsignedShort();
+                    break;
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    in.skipBytes(2);
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    in.skipBytes(3);
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    in.skipBytes(4);
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    in.skipBytes(8);
+                    // These take up two entries in the constant pool
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag: " + tag);
+            }
+        }
+
+        int accessFlags = in.readUnsignedShort();
+        String className = utf8[classNameIndexes[in.readUnsignedShort()]];
+        int superClassIndex = in.readUnsignedShort();
+        String superClassName = superClassIndex == 0 ? null : utf8[classNameIndexes[superClassIndex]];
+        String[] interfaceNames = new String[in.readUnsignedShort()];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            interfaceNames[i] = utf8[classNameIndexes[in.readUnsignedShort()]];
+        }
+        return new ClassFileHeader(accessFlags, className, superClassName, interfaceNames);
+    }
+
+    /**
+     * @return Whether this class can be instantiated: it is neither an interface, abstract, an enum nor anonymous.
+     */
+    public boolean isInstantiable() {
+        if ((accessFlags & (ACC_INTERFACE | ACC_ABSTRACT | ACC_ENUM)) != 0) {
+            return false;
+        }
+        String simpleName = className.substring(className.lastIndexOf('$') + 1);
+        for (int i = 0; i < simpleName.length(); i++) {
+            if (!Character.isDigit(simpleName.charAt(i))) {
+                return true;
+            }
+        }
+        // Anonymous classes are named Outer$1, Outer$2, ...
+        return false;
+    }
+
+    /**
+     * @return The internal name of the class, such as {@code org/example/V1__Init}.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return The internal name of the superclass. {@code null} for java.lang.Object.
+     */
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    /**
+     * @return The internal names of the interfaces directly implemented by the class.
+     */
+    public String[] getInterfaceNames() {
+        return interfaceNames;
+    }
+}
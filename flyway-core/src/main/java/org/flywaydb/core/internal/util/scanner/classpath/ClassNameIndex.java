@@ -0,0 +1,228 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import org.flywaydb.core.internal.util.FileCopyUtils;
+import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.UrlUtils;
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Index of the classes below a classpath location, generated at build time. When present, class scans of the location
+ * use it instead of walking the classpath. The index is a UTF-8 text file named {@value #FILE_NAME} in the location
+ * itself, listing one fully qualified class name per line. Lines starting with {@code #} are ignored.
+ * <p>The indexes are ignored, and the location scanned as usual, when the location spans more classpath roots than
+ * there are indexes, counting jars without directory entries as well, or when an index on disk is stale: a directory
+ * below it was modified after the index was written, or it does not list as many classes as there are class files
+ * below it.</p>
+ */
+public class ClassNameIndex {
+    private static final Log LOG = LogFactory.getLog(ClassNameIndex.class);
+
+    /**
+     * The name of the index file inside a location.
+     */
+    public static final String FILE_NAME = "flyway-classes.idx";
+
+    /**
+     * Prevents instantiation.
+     */
+    private ClassNameIndex() {
+        // Do nothing
+    }
+
+    /**
+     * Reads the names of the classes listed in all index files of this location.
+     *
+     * @param classLoader The ClassLoader to find the index files with.
+     * @param location    The location on the classpath.
+     * @return The class names, sorted. {@code null} if the location has no usable index files and must be scanned
+     * instead.
+     * @throws IOException when an index file could not be read.
+     */
+    public static Set<String> read(ClassLoader classLoader, Location location) throws IOException {
+        List<URL> indexUrls = Collections.list(classLoader.getResources(getIndexPath(location)));
+        if (indexUrls.isEmpty()) {
+            return null;
+        }
+
+        int roots = new ClassPathScanner(classLoader).countLocationRoots(location);
+        if (indexUrls.size() < roots) {
+            LOG.debug("Ignoring class name indexes of " + location + ": only " + indexUrls.size()
+                    + " of its " + roots + " classpath roots have one");
+            return null;
+        }
+
+        Set<String> classNames = new TreeSet<String>();
+        for (URL indexUrl : indexUrls) {
+            List<String> indexed = readIndex(indexUrl);
+            if ("file".equals(indexUrl.getProtocol()) && isStale(new File(UrlUtils.toFilePath(indexUrl)), indexed.size())) {
+                LOG.debug("Ignoring stale class name index: " + indexUrl);
+                return null;
+            }
+            classNames.addAll(indexed);
+        }
+        return classNames;
+    }
+
+    /**
+     * Reads the class names listed in this index file.
+     *
+     * @param indexUrl The url of the index file.
+     * @return The class names, in file order.
+     * @throws IOException when the index file could not be read.
+     */
+    private static List<String> readIndex(URL indexUrl) throws IOException {
+        List<String> classNames = new ArrayList<String>();
+        String contents = FileCopyUtils.copyToString(new InputStreamReader(indexUrl.openStream(), "UTF-8"));
+        for (String line : contents.split("\n")) {
+            String className = line.trim();
+            if ((className.length() > 0) && !className.startsWith("#")) {
+                classNames.add(className);
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * Checks whether this index file on disk no longer matches the classes below its directory. Class files can only be
+     * added, removed or renamed by modifying the directory containing them, which is caught by comparing the
+     * modification times.
+     *
+     * @param indexFile  The index file.
+     * @param classCount The number of classes listed in the index file.
+     * @return {@code true} if it is stale, {@code false} if it can be used.
+     */
+    private static boolean isStale(File indexFile, int classCount) {
+        long indexModified = indexFile.lastModified();
+        int count = 0;
+        List<File> directories = new ArrayList<File>();
+        directories.add(indexFile.getParentFile());
+        while (!directories.isEmpty()) {
+            File directory = directories.remove(directories.size() - 1);
+            File[] files = directory.listFiles();
+            if ((files == null) || (directory.lastModified() > indexModified)) {
+                return true;
+            }
+
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    directories.add(file);
+                } else if (file.getName().endsWith(".class")) {
+                    count++;
+                }
+            }
+        }
+        return count != classCount;
+    }
+
+    /**
+     * Writes the index file of this location.
+     *
+     * @param outputDirectory The root of the compiled classes, such as target/classes.
+     * @param location        The location on the classpath.
+     * @param classNames      The fully qualified names of the classes below the location.
+     * @return The index file.
+     * @throws IOException when the index file could not be written.
+     */
+    public static File write(File outputDirectory, Location location, Collection<String> classNames) throws IOException {
+        File file = new File(outputDirectory, getIndexPath(location));
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory " + directory.getAbsolutePath());
+        }
+
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write("# Generated by Flyway. Do not edit.\n");
+            for (String className : new TreeSet<String>(classNames)) {
+                writer.write(className);
+                writer.write('\n');
+            }
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+
+    /**
+     * Generates the index file of this location from the classes compiled to this output directory.
+     *
+     * @param outputDirectory The root of the compiled classes, such as target/classes.
+     * @param location        The location on the classpath.
+     * @return The number of classes in the index. {@code -1} if the location does not exist in the output directory.
+     * @throws IOException when the index file could not be written.
+     */
+    public static int generate(File outputDirectory, Location location) throws IOException {
+        File directory = new File(outputDirectory, location.getPath());
+        if (!directory.isDirectory()) {
+            return -1;
+        }
+
+        String packageName = location.getPath().replace('/', '.');
+        List<String> classNames = new ArrayList<String>();
+        addClassNames(classNames, directory, packageName.length() == 0 ? "" : packageName + ".");
+        write(outputDirectory, location, classNames);
+        return classNames.size();
+    }
+
+    /**
+     * Adds the names of the classes in this directory and its subdirectories.
+     *
+     * @param classNames The list to add the class names to.
+     * @param directory  The directory to walk.
+     * @param prefix     The package prefix of the classes in this directory.
+     */
+    private static void addClassNames(List<String> classNames, File directory, String prefix) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        for (File file : files) {
+            String fileName = file.getName();
+            if (file.isDirectory()) {
+                addClassNames(classNames, file, prefix + fileName + ".");
+            } else if (fileName.endsWith(".class")) {
+                classNames.add(prefix + fileName.substring(0, fileName.length() - ".class".length()));
+            }
+        }
+    }
+
+    /**
+     * @param location The location on the classpath.
+     * @return The path of the index file of this location on the classpath.
+     */
+    private static String getIndexPath(Location location) {
+        String path = location.getPath();
+        return path.length() == 0 ? FILE_NAME : path + "/" + FILE_NAME;
+    }
+}
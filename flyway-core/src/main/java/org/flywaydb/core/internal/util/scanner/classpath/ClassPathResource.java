@@ -25,9 +25,12 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
+import java.net.JarURLConnection;
 import java.net.URL;
+import java.net.URLConnection;
 import java.net.URLDecoder;
 import java.nio.charset.Charset;
+import java.util.jar.JarEntry;
 
 /**
  * A resource on the classpath.
@@ -91,6 +94,18 @@ public class ClassPathResource implements Comparable<ClassPathResource>, Resourc
         }
     }
 
+    public Reader loadAsReader(String encoding) {
+        return new InputStreamReader(loadAsInputStream(), Charset.forName(encoding));
+    }
+
+    public InputStream loadAsInputStream() {
+        InputStream inputStream = classLoader.getResourceAsStream(location);
+        if (inputStream == null) {
+            throw new FlywayException("Unable to obtain inputstream for resource: " + location);
+        }
+        return inputStream;
+    }
+
     public byte[] loadAsBytes() {
         try {
             InputStream inputStream = classLoader.getResourceAsStream(location);
@@ -107,6 +122,32 @@ public class ClassPathResource implements Comparable<ClassPathResource>, Resourc
         return location.substring(location.lastIndexOf("/") + 1);
     }
 
+    public String getFingerprint() {
+        URL url = getUrl();
+        if (url == null) {
+            return null;
+        }
+        try {
+            if ("file".equals(url.getProtocol())) {
+                File file = new File(URLDecoder.decode(url.getPath(), "UTF-8"));
+                if (file.isFile()) {
+                    return "file:" + file.length() + ":" + file.lastModified();
+                }
+            } else if ("jar".equals(url.getProtocol())) {
+                URLConnection connection = url.openConnection();
+                if (connection instanceof JarURLConnection) {
+                    JarEntry jarEntry = ((JarURLConnection) connection).getJarEntry();
+                    if ((jarEntry != null) && (jarEntry.getCrc() != -1)) {
+                        return "jar:" + jarEntry.getSize() + ":" + jarEntry.getCrc();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Fall through: no fingerprint available
+        }
+        return null;
+    }
+
     public boolean exists() {
         return getUrl() != null;
     }
@@ -26,7 +26,10 @@ import org.flywaydb.core.internal.util.scanner.Resource;
 import org.flywaydb.core.internal.util.scanner.classpath.jboss.JBossVFSv2UrlResolver;
 import org.flywaydb.core.internal.util.scanner.classpath.jboss.JBossVFSv3ClassPathLocationScanner;
 
+import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Modifier;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -39,8 +42,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
 import java.util.regex.Pattern;
 
 /**
@@ -54,6 +55,11 @@ public class ClassPathScanner implements ResourceAndClassScanner {
      */
     private final ClassLoader classLoader;
 
+    /**
+     * Cache the class file headers read so far, keyed by internal class name. {@code null} for unreadable classes.
+     */
+    private final Map<String, ClassFileHeader> classFileHeaderCache = new HashMap<String, ClassFileHeader>();
+
     /**
      * Cache location lookups.
      */
@@ -69,6 +75,11 @@ public class ClassPathScanner implements ResourceAndClassScanner {
      */
     private final Map<ClassPathLocationScanner, Map<URL, Set<String>>> resourceNameCache = new HashMap<ClassPathLocationScanner, Map<URL, Set<String>>>();
 
+    /**
+     * Cache the indexes of the jar files without directory entries. {@code null} until first needed.
+     */
+    private List<JarFileIndex> jarFileIndexes;
+
     /**
      * Creates a new Classpath scanner.
      *
@@ -137,6 +148,124 @@ public class ClassPathScanner implements ResourceAndClassScanner {
         return classes.toArray(new Class<?>[classes.size()]);
     }
 
+    @Override
+    public String[] scanForClassNames(Location location, Class<?> implementedInterface) throws Exception {
+        LOG.debug("Scanning for class names at '" + location + "' (Implementing: '" + implementedInterface.getName() + "')");
+
+        Set<String> candidates = ClassNameIndex.read(classLoader, location);
+        if (candidates == null) {
+            candidates = new TreeSet<String>();
+            for (String resourceName : findResourceNames(location, "", ".class")) {
+                candidates.add(toClassName(resourceName));
+            }
+        } else {
+            LOG.debug("Using class name index of location " + location);
+        }
+
+        String interfaceName = toInternalName(implementedInterface.getName());
+        List<String> classNames = new ArrayList<String>();
+        for (String className : candidates) {
+            ClassFileHeader header = getClassFileHeader(toInternalName(className));
+            if ((header == null) || !implementsInterface(header, interfaceName)) {
+                continue;
+            }
+
+            if (!header.isInstantiable()) {
+                LOG.debug("Skipping non-instantiable class: " + className);
+                continue;
+            }
+
+            classNames.add(className);
+            LOG.debug("Found class: " + className);
+        }
+
+        return classNames.toArray(new String[classNames.size()]);
+    }
+
+    @Override
+    public boolean implementsInterface(String className, Class<?> implementedInterface) {
+        ClassFileHeader header = getClassFileHeader(toInternalName(className));
+        return (header != null) && implementsInterface(header, toInternalName(implementedInterface.getName()));
+    }
+
+    /**
+     * Checks whether the class with this header implements this interface, either directly or through its
+     * superclasses and superinterfaces.
+     *
+     * @param header        The header of the class file.
+     * @param interfaceName The internal name of the interface.
+     * @return {@code true} if it does, {@code false} if not.
+     */
+    private boolean implementsInterface(ClassFileHeader header, String interfaceName) {
+        for (String name : header.getInterfaceNames()) {
+            if (name.equals(interfaceName)) {
+                return true;
+            }
+            ClassFileHeader interfaceHeader = getSupertypeHeader(name, interfaceName);
+            if ((interfaceHeader != null) && implementsInterface(interfaceHeader, interfaceName)) {
+                return true;
+            }
+        }
+
+        ClassFileHeader superClassHeader = getSupertypeHeader(header.getSuperClassName(), interfaceName);
+        return (superClassHeader != null) && implementsInterface(superClassHeader, interfaceName);
+    }
+
+    /**
+     * Retrieves the header of this supertype when it could implement this interface.
+     *
+     * @param name          The internal name of the supertype. {@code null} if there is none.
+     * @param interfaceName The internal name of the interface.
+     * @return The header. {@code null} if there is none or if it can not implement the interface.
+     */
+    private ClassFileHeader getSupertypeHeader(String name, String interfaceName) {
+        if ((name == null) || (name.startsWith("java/") && !interfaceName.startsWith("java/"))) {
+            // JDK classes never implement interfaces from outside the JDK
+            return null;
+        }
+        return getClassFileHeader(name);
+    }
+
+    /**
+     * Retrieves the header of the class file of this class. Headers are read only once per scanner.
+     *
+     * @param internalName The internal name of the class, such as {@code org/example/V1__Init}.
+     * @return The header. {@code null} if the class file could not be found or read.
+     */
+    private ClassFileHeader getClassFileHeader(String internalName) {
+        if (classFileHeaderCache.containsKey(internalName)) {
+            return classFileHeaderCache.get(internalName);
+        }
+
+        ClassFileHeader header = null;
+        InputStream inputStream = classLoader.getResourceAsStream(internalName + ".class");
+        if (inputStream != null) {
+            try {
+                header = ClassFileHeader.read(new BufferedInputStream(inputStream));
+            } catch (IOException e) {
+                LOG.debug("Skipping unreadable class file: " + internalName + " (" + e.getMessage() + ")");
+            } finally {
+                try {
+                    inputStream.close();
+                } catch (IOException e) {
+                    // Ignore
+                }
+            }
+        }
+        classFileHeaderCache.put(internalName, header);
+        return header;
+    }
+
+    /**
+     * Converts this fully qualified class name to an internal class name.
+     *
+     * @param className The class name, such as {@code org.example.V1__Init}.
+     * @return The internal name, such as {@code org/example/V1__Init}.
+     */
+    private static String toInternalName(String className) {
+        return className.replace('.', '/');
+    }
+
     /**
      * Converts this resource name to a fully qualified class name.
      *
@@ -186,6 +315,59 @@ public class ClassPathScanner implements ResourceAndClassScanner {
         boolean locationResolved = !locationUrls.isEmpty();
 
         // Make an additional attempt at finding resources in jar files that don't contain directory entries
+        for (JarFileIndex jarFileIndex : getJarFileIndexesWithoutDirectoryEntries()) {
+            for (String entryName : jarFileIndex.getEntryNames()) {
+                if (entryName.startsWith(location.getPath())) {
+                    locationResolved = true;
+                    if (entryName.endsWith(suffix)) {
+                        resourceNames.add(entryName);
+                    }
+                }
+            }
+        }
+
+        if (!locationResolved) {
+            LOG.warn("Unable to resolve location " + location);
+        }
+
+        return filterResourceNames(resourceNames, prefix, suffix);
+    }
+
+    /**
+     * Counts the classpath roots containing this location, resolved the same way as for scanning: the directories and
+     * jars found through the ClassLoader, plus the jars without directory entries containing resources below it.
+     *
+     * @param location The location on the classpath.
+     * @return The number of classpath roots.
+     * @throws IOException when the roots could not be determined.
+     */
+    public int countLocationRoots(Location location) throws IOException {
+        int roots = getLocationUrlsForPath(location).size();
+        String prefix = location.getPath().length() == 0 ? "" : location.getPath() + "/";
+        for (JarFileIndex jarFileIndex : getJarFileIndexesWithoutDirectoryEntries()) {
+            for (String entryName : jarFileIndex.getEntryNames()) {
+                if (entryName.startsWith(prefix)) {
+                    roots++;
+                    break;
+                }
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Retrieves the indexes of all non-system jars on disk of the ClassLoader that don't contain directory entries.
+     * These are determined once and then shared by all subsequent scans.
+     *
+     * @return The jar file indexes.
+     * @throws IOException when a jar file could not be read.
+     */
+    private List<JarFileIndex> getJarFileIndexesWithoutDirectoryEntries() throws IOException {
+        if (jarFileIndexes != null) {
+            return jarFileIndexes;
+        }
+
+        List<JarFileIndex> indexes = new ArrayList<JarFileIndex>();
         if (classLoader instanceof URLClassLoader) {
             URLClassLoader urlClassLoader = (URLClassLoader) classLoader;
             for (URL url : urlClassLoader.getURLs()) {
@@ -193,47 +375,24 @@ public class ClassPathScanner implements ResourceAndClassScanner {
                         && url.getPath().endsWith(".jar")
                         && !url.getPath().matches(".*" + Pattern.quote("/jre/lib/") + ".*")) {
                     // All non-system jars on disk
-                    JarFile jarFile;
+                    File file;
                     try {
-                        jarFile = new JarFile(url.toURI().getSchemeSpecificPart());
+                        file = new File(url.toURI().getSchemeSpecificPart());
                     } catch (URISyntaxException ex) {
                         // Fallback for URLs that are not valid URIs (should hardly ever happen).
-                        jarFile = new JarFile(url.getPath().substring("file:".length()));
+                        file = new File(url.getPath().substring("file:".length()));
                     }
 
-                    try {
-                        boolean directoryFound = false;
-                        Enumeration<JarEntry> entries = jarFile.entries();
-                        while (entries.hasMoreElements()) {
-                            if (entries.nextElement().isDirectory()) {
-                                directoryFound = true;
-                                break;
-                            }
-                        }
-                        if (!directoryFound) {
-                            entries = jarFile.entries();
-                            while (entries.hasMoreElements()) {
-                                String entryName = entries.nextElement().getName();
-                                if (entryName.startsWith(location.getPath())) {
-                                    locationResolved = true;
-                                    if (entryName.endsWith(suffix)) {
-                                        resourceNames.add(entryName);
-                                    }
-                                }
-                            }
-                        }
-                    } finally {
-                        jarFile.close();
+                    JarFileIndex jarFileIndex = JarFileIndex.forJarFile(classLoader, file);
+                    if (!jarFileIndex.hasDirectoryEntries()) {
+                        indexes.add(jarFileIndex);
                     }
                 }
             }
         }
 
-        if (!locationResolved) {
-            LOG.warn("Unable to resolve location " + location);
-        }
-
-        return filterResourceNames(resourceNames, prefix, suffix);
+        jarFileIndexes = indexes;
+        return jarFileIndexes;
     }
 
     /**
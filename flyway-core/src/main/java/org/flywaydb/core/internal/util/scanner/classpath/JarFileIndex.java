@@ -0,0 +1,153 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Index of the entry names of a jar file on disk. Jar files without directory entries can not be found through
+ * {@link ClassLoader#getResources(String)}, so they must be scanned entry by entry instead. Indexes are built once
+ * per ClassLoader and jar file and are rebuilt when the last modification time or the size of the jar changes.
+ */
+class JarFileIndex {
+    /**
+     * The indexes built so far per ClassLoader, keyed by absolute jar file path.
+     */
+    private static final Map<ClassLoader, Map<String, JarFileIndex>> CACHE =
+            new WeakHashMap<ClassLoader, Map<String, JarFileIndex>>();
+
+    /**
+     * The last modification time of the jar file when this index was built.
+     */
+    private final long lastModified;
+
+    /**
+     * The size of the jar file when this index was built.
+     */
+    private final long length;
+
+    /**
+     * Whether the jar file contains directory entries.
+     */
+    private final boolean directoryEntries;
+
+    /**
+     * The names of all entries in the jar file. Only retained for jar files without directory entries.
+     */
+    private final List<String> entryNames;
+
+    /**
+     * Creates a new index.
+     *
+     * @param lastModified     The last modification time of the jar file when this index was built.
+     * @param length           The size of the jar file when this index was built.
+     * @param directoryEntries Whether the jar file contains directory entries.
+     * @param entryNames       The names of all entries in the jar file.
+     */
+    private JarFileIndex(long lastModified, long length, boolean directoryEntries, List<String> entryNames) {
+        this.lastModified = lastModified;
+        this.length = length;
+        this.directoryEntries = directoryEntries;
+        this.entryNames = entryNames;
+    }
+
+    /**
+     * Retrieves the index of this jar file for this ClassLoader, building it if necessary.
+     *
+     * @param classLoader The ClassLoader the jar file belongs to.
+     * @param file        The jar file.
+     * @return The index.
+     * @throws IOException when the jar file could not be read.
+     */
+    static JarFileIndex forJarFile(ClassLoader classLoader, File file) throws IOException {
+        String path = file.getAbsolutePath();
+        long lastModified = file.lastModified();
+        long length = file.length();
+
+        synchronized (CACHE) {
+            Map<String, JarFileIndex> indexes = CACHE.get(classLoader);
+            if (indexes != null) {
+                JarFileIndex index = indexes.get(path);
+                if ((index != null) && (index.lastModified == lastModified) && (index.length == length)) {
+                    return index;
+                }
+            }
+        }
+
+        JarFileIndex index = build(file, lastModified, length);
+
+        synchronized (CACHE) {
+            Map<String, JarFileIndex> indexes = CACHE.get(classLoader);
+            if (indexes == null) {
+                indexes = new HashMap<String, JarFileIndex>();
+                CACHE.put(classLoader, indexes);
+            }
+            indexes.put(path, index);
+        }
+        return index;
+    }
+
+    /**
+     * Builds the index of this jar file in a single pass over its entries.
+     *
+     * @param file         The jar file.
+     * @param lastModified The last modification time of the jar file.
+     * @param length       The size of the jar file.
+     * @return The index.
+     * @throws IOException when the jar file could not be read.
+     */
+    private static JarFileIndex build(File file, long lastModified, long length) throws IOException {
+        JarFile jarFile = new JarFile(file);
+        try {
+            List<String> entryNames = new ArrayList<String>();
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    return new JarFileIndex(lastModified, length, true, Collections.<String>emptyList());
+                }
+                entryNames.add(entry.getName());
+            }
+            return new JarFileIndex(lastModified, length, false, Collections.unmodifiableList(entryNames));
+        } finally {
+            jarFile.close();
+        }
+    }
+
+    /**
+     * @return Whether the jar file contains directory entries.
+     */
+    public boolean hasDirectoryEntries() {
+        return directoryEntries;
+    }
+
+    /**
+     * @return The names of all entries in the jar file. Empty if the jar contains directory entries.
+     */
+    public List<String> getEntryNames() {
+        return entryNames;
+    }
+}
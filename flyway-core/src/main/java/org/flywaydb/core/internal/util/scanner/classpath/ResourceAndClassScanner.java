@@ -45,4 +45,27 @@ public interface ResourceAndClassScanner {
      * @throws Exception when the location could not be scanned.
      */
     Class<?>[] scanForClasses(Location location, Class<?> implementedInterface) throws Exception;
+
+    /**
+     * Scans the classpath for the names of concrete classes under the specified package implementing this interface,
+     * without loading or instantiating them where possible. Interfaces, abstract classes, enums and anonymous classes
+     * are filtered out.
+     *
+     * @param location             The location (package) in the classpath to start scanning.
+     *                             Subpackages are also scanned.
+     * @param implementedInterface The interface the matching classes should implement.
+     * @return The fully qualified names of the classes that were found.
+     * @throws Exception when the location could not be scanned.
+     */
+    String[] scanForClassNames(Location location, Class<?> implementedInterface) throws Exception;
+
+    /**
+     * Checks whether the class with this name implements this interface, without loading it where possible.
+     *
+     * @param className            The fully qualified name of the class.
+     * @param implementedInterface The interface.
+     * @return {@code true} if it does, {@code false} if it doesn't or if the class could not be found.
+     * @throws Exception when the class could not be inspected.
+     */
+    boolean implementsInterface(String className, Class<?> implementedInterface) throws Exception;
 }
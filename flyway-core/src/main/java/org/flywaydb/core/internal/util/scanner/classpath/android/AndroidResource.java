@@ -21,7 +21,9 @@ import org.flywaydb.core.internal.util.FileCopyUtils;
 import org.flywaydb.core.internal.util.scanner.Resource;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 
 /**
  * Resource within an Android App.
@@ -56,6 +58,24 @@ public class AndroidResource implements Resource {
         }
     }
 
+    @Override
+    public Reader loadAsReader(String encoding) {
+        try {
+            return new InputStreamReader(assetManager.open(getLocation()), encoding);
+        } catch (IOException e) {
+            throw new FlywayException("Unable to load asset: " + getLocation(), e);
+        }
+    }
+
+    @Override
+    public InputStream loadAsInputStream() {
+        try {
+            return assetManager.open(getLocation());
+        } catch (IOException e) {
+            throw new FlywayException("Unable to load asset: " + getLocation(), e);
+        }
+    }
+
     @Override
     public byte[] loadAsBytes() {
         try {
@@ -69,4 +89,9 @@ public class AndroidResource implements Resource {
     public String getFilename() {
         return name;
     }
+
+    @Override
+    public String getFingerprint() {
+        return null;
+    }
 }
@@ -99,4 +99,18 @@ public class AndroidScanner implements ResourceAndClassScanner {
         }
         return classes.toArray(new Class<?>[classes.size()]);
     }
+
+    public String[] scanForClassNames(Location location, Class<?> implementedInterface) throws Exception {
+        // Dex files can not be inspected without loading the classes
+        Class<?>[] classes = scanForClasses(location, implementedInterface);
+        String[] classNames = new String[classes.length];
+        for (int i = 0; i < classes.length; i++) {
+            classNames[i] = classes[i].getName();
+        }
+        return classNames;
+    }
+
+    public boolean implementsInterface(String className, Class<?> implementedInterface) throws Exception {
+        return implementedInterface.isAssignableFrom(classLoader.loadClass(className));
+    }
 }
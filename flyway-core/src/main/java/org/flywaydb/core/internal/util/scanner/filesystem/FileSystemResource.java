@@ -79,6 +79,33 @@ public class FileSystemResource implements Resource, Comparable<FileSystemResour
         }
     }
 
+    /**
+     * Opens a reader over the contents of this resource. The caller is responsible for closing it.
+     *
+     * @param encoding The encoding to use.
+     * @return The reader for the contents of the resource.
+     */
+    public Reader loadAsReader(String encoding) {
+        try {
+            return new InputStreamReader(new FileInputStream(location), Charset.forName(encoding));
+        } catch (IOException e) {
+            throw new FlywayException("Unable to load filesystem resource: " + location.getPath() + " (encoding: " + encoding + ")", e);
+        }
+    }
+
+    /**
+     * Opens a stream over the raw bytes of this resource. The caller is responsible for closing it.
+     *
+     * @return The stream for the contents of the resource.
+     */
+    public InputStream loadAsInputStream() {
+        try {
+            return new FileInputStream(location);
+        } catch (IOException e) {
+            throw new FlywayException("Unable to load filesystem resource: " + location.getPath(), e);
+        }
+    }
+
     /**
      * Loads this resource as a byte array.
      *
@@ -100,6 +127,18 @@ public class FileSystemResource implements Resource, Comparable<FileSystemResour
         return location.getName();
     }
 
+    /**
+     * Computes a cheap fingerprint of this resource from its size and last modification time.
+     *
+     * @return The fingerprint of this resource. {@code null} if it cannot be determined.
+     */
+    public String getFingerprint() {
+        if (!location.isFile()) {
+            return null;
+        }
+        return "file:" + location.length() + ":" + location.lastModified();
+    }
+
     @SuppressWarnings("NullableProblems")
     public int compareTo(FileSystemResource o) {
         return location.compareTo(o.location);
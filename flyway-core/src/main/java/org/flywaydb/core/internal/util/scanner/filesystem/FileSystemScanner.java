@@ -16,21 +16,49 @@
 package org.flywaydb.core.internal.util.scanner.filesystem;
 
 import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.Pair;
+import org.flywaydb.core.internal.util.ParallelUtils;
 import org.flywaydb.core.internal.util.logging.Log;
 import org.flywaydb.core.internal.util.logging.LogFactory;
 import org.flywaydb.core.internal.util.scanner.Resource;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * FileSystem scanner.
+ * <p>Directories are walked level by level. All directories of a level are listed in parallel on up to the configured
+ * number of threads, which hides the latency of network filesystems. The files found are sorted once at the end.</p>
  */
 public class FileSystemScanner {
     private static final Log LOG = LogFactory.getLog(FileSystemScanner.class);
 
+    /**
+     * The maximum number of threads to use for listing directories.
+     */
+    private final int threads;
+
+    /**
+     * Creates a new FileSystem scanner listing all directories on the calling thread.
+     */
+    public FileSystemScanner() {
+        this(1);
+    }
+
+    /**
+     * Creates a new FileSystem scanner.
+     *
+     * @param threads The maximum number of threads to use for listing directories. Values lower than 2 list all
+     *                directories on the calling thread.
+     */
+    public FileSystemScanner(int threads) {
+        this.threads = threads;
+    }
+
     /**
      * Scans the FileSystem for resources under the specified location, starting with the specified prefix and ending with
      * the specified suffix.
@@ -51,79 +79,80 @@ public class FileSystemScanner {
             return new Resource[0];
         }
 
-        Set<Resource> resources = new TreeSet<Resource>();
-
-        Set<String> resourceNames = findResourceNames(path, prefix, suffix);
-        for (String resourceName : resourceNames) {
-            resources.add(new FileSystemResource(resourceName));
-            LOG.debug("Found filesystem resource: " + resourceName);
+        List<Resource> resources = new ArrayList<Resource>();
+        for (File file : findFiles(dir)) {
+            String fileName = file.getName();
+            if (fileName.startsWith(prefix) && fileName.endsWith(suffix)
+                    && (fileName.length() > (prefix + suffix).length())) {
+                resources.add(new FileSystemResource(file.getPath()));
+                LOG.debug("Found filesystem resource: " + file.getPath());
+            } else {
+                LOG.debug("Filtering out resource: " + file.getPath() + " (filename: " + fileName + ")");
+            }
         }
 
         return resources.toArray(new Resource[resources.size()]);
     }
 
     /**
-     * Finds the resources names present at this location and below on the classpath starting with this prefix and
-     * ending with this suffix.
-     *
-     * @param path   The path on the classpath to scan.
-     * @param prefix The filename prefix to match.
-     * @param suffix The filename suffix to match.
-     * @return The resource names.
-     * @throws java.io.IOException when scanning this location failed.
-     */
-    private Set<String> findResourceNames(String path, String prefix, String suffix) throws IOException {
-        Set<String> resourceNames = findResourceNamesFromFileSystem(path, new File(path));
-        return filterResourceNames(resourceNames, prefix, suffix);
-    }
-
-    /**
-     * Finds all the resource names contained in this file system folder.
+     * Finds all the readable files contained in this file system folder and its subfolders.
      *
-     * @param scanRootLocation The root location of the scan on disk.
-     * @param folder           The folder to look for resources under on disk.
-     * @return The resource names;
-     * @throws IOException when the folder could not be read.
+     * @param folder The folder to look for files under on disk.
+     * @return The files, sorted by path.
      */
-    @SuppressWarnings("ConstantConditions")
-    private Set<String> findResourceNamesFromFileSystem(String scanRootLocation, File folder) throws IOException {
-        LOG.debug("Scanning for resources in path: " + folder.getPath() + " (" + scanRootLocation + ")");
-
-        Set<String> resourceNames = new TreeSet<String>();
+    private List<File> findFiles(File folder) {
+        List<File> files = new ArrayList<File>();
+        List<File> folders = Collections.singletonList(folder);
+        while (!folders.isEmpty()) {
+            List<Callable<Pair<List<File>, List<File>>>> tasks =
+                    new ArrayList<Callable<Pair<List<File>, List<File>>>>(folders.size());
+            for (final File current : folders) {
+                tasks.add(new Callable<Pair<List<File>, List<File>>>() {
+                    @Override
+                    public Pair<List<File>, List<File>> call() {
+                        return listFolder(current);
+                    }
+                });
+            }
 
-        File[] files = folder.listFiles();
-        for (File file : files) {
-            if (file.canRead()) {
-                if (file.isDirectory()) {
-                    resourceNames.addAll(findResourceNamesFromFileSystem(scanRootLocation, file));
-                } else {
-                    resourceNames.add(file.getPath());
-                }
+            List<File> subFolders = new ArrayList<File>();
+            for (Pair<List<File>, List<File>> listing : ParallelUtils.invokeAll(tasks, threads, "flyway-filesystem-scanner")) {
+                subFolders.addAll(listing.getLeft());
+                files.addAll(listing.getRight());
             }
+            folders = subFolders;
         }
 
-        return resourceNames;
+        Collections.sort(files);
+        return files;
     }
 
     /**
-     * Filters this list of resource names to only include the ones whose filename matches this prefix and this suffix.
+     * Lists this folder and classifies its entries. This runs on the listing threads, as checking the type and
+     * readability of an entry costs a round trip per entry on network filesystems, just like the listing itself.
      *
-     * @param resourceNames The names to filter.
-     * @param prefix        The prefix to match.
-     * @param suffix        The suffix to match.
-     * @return The filtered names set.
+     * @param folder The folder to list.
+     * @return The subfolders (left) and the readable files (right) of this folder. Both are empty if the folder could
+     * not be listed.
      */
-    private Set<String> filterResourceNames(Set<String> resourceNames, String prefix, String suffix) {
-        Set<String> filteredResourceNames = new TreeSet<String>();
-        for (String resourceName : resourceNames) {
-            String fileName = resourceName.substring(resourceName.lastIndexOf(File.separator) + 1);
-            if (fileName.startsWith(prefix) && fileName.endsWith(suffix)
-                    && (fileName.length() > (prefix + suffix).length())) {
-                filteredResourceNames.add(resourceName);
-            } else {
-                LOG.debug("Filtering out resource: " + resourceName + " (filename: " + fileName + ")");
+    private static Pair<List<File>, List<File>> listFolder(File folder) {
+        LOG.debug("Scanning for resources in path: " + folder.getPath());
+        List<File> subFolders = new ArrayList<File>();
+        List<File> files = new ArrayList<File>();
+
+        File[] entries = folder.listFiles();
+        // Unreadable folders can not be listed
+        if (entries != null) {
+            for (File entry : entries) {
+                if (entry.isDirectory()) {
+                    subFolders.add(entry);
+                } else if (entry.canRead()) {
+                    files.add(entry);
+                } else {
+                    LOG.debug("Filtering out unreadable resource: " + entry.getPath());
+                }
             }
         }
-        return filteredResourceNames;
+        return Pair.of(subFolders, files);
     }
 }
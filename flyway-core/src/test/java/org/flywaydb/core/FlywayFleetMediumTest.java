@@ -0,0 +1,132 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core;
+
+import org.flywaydb.core.api.fleet.FleetMigrationReport;
+import org.flywaydb.core.api.fleet.FleetMigrationResult;
+import org.flywaydb.core.api.fleet.FleetTarget;
+import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
+import org.flywaydb.core.internal.util.jdbc.DriverDataSource;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Medium tests for FlywayFleet.
+ */
+public class FlywayFleetMediumTest {
+    @Test
+    public void migrate() throws Exception {
+        List<FleetTarget> targets = Arrays.asList(
+                createTarget("fleet_1", "a"),
+                createTarget("fleet_2", "a"),
+                createTarget("fleet_3", "b"),
+                createTarget("fleet_4", "b"));
+
+        Flyway flyway = new Flyway();
+        flyway.setLocations("migration/sql");
+
+        FlywayFleet fleet = new FlywayFleet(flyway);
+        fleet.setThreads(3);
+        fleet.setClusterThreads(1);
+        FleetMigrationReport report = fleet.migrate(targets);
+
+        assertTrue(report.isSuccess());
+        assertEquals(4, report.getResults().size());
+        assertEquals(16, report.getMigrationsExecuted());
+        for (int i = 0; i < targets.size(); i++) {
+            assertEquals(targets.get(i), report.getResults().get(i).getTarget());
+            assertEquals(4, report.getResults().get(i).getMigrationsExecuted());
+        }
+
+        assertEquals(0, fleet.migrate(targets).getMigrationsExecuted());
+    }
+
+    @Test
+    public void failedTargetDoesNotStopOthers() throws Exception {
+        FleetTarget nonEmpty = createTarget("fleet_non_empty", "a");
+        Connection connection = nonEmpty.getDataSource().getConnection();
+        try {
+            new JdbcTemplate(connection, 0).execute("CREATE TABLE t1 (name VARCHAR(25) NOT NULL)");
+        } finally {
+            connection.close();
+        }
+        FleetTarget empty = createTarget("fleet_empty", "a");
+
+        Flyway flyway = new Flyway();
+        flyway.setLocations("migration/sql");
+
+        FleetMigrationReport report = new FlywayFleet(flyway).migrate(Arrays.asList(nonEmpty, empty));
+
+        assertFalse(report.isSuccess());
+        assertEquals(1, report.getFailures().size());
+        FleetMigrationResult failure = report.getFailures().get(0);
+        assertEquals(nonEmpty, failure.getTarget());
+        assertNotNull(failure.getException());
+        assertEquals(4, report.getResults().get(1).getMigrationsExecuted());
+    }
+
+    @Test
+    public void javaMigrationsConfiguredPerTarget() throws Exception {
+        List<FleetTarget> targets = Arrays.asList(
+                createTarget("fleet_java_1", "a"),
+                createTarget("fleet_java_2", "a"));
+
+        Flyway flyway = new Flyway();
+        flyway.setLocations("org/flywaydb/core/internal/resolver/jdbc/fleet");
+
+        FlywayFleet fleet = new FlywayFleet(flyway);
+        fleet.setThreads(1);
+        FleetMigrationReport report = fleet.migrate(targets);
+
+        assertTrue(report.isSuccess());
+        assertEquals(2, report.getMigrationsExecuted());
+    }
+
+    @Test
+    public void sqlCallbacksOfConfigurationNotCopied() throws Exception {
+        Flyway flyway = new Flyway();
+        flyway.setDataSource(new DriverDataSource(Thread.currentThread().getContextClassLoader(), null,
+                "jdbc:h2:mem:fleet_callback_template;DB_CLOSE_DELAY=-1", "sa", ""));
+        flyway.setSqlMigrationPrefix("");
+        flyway.setLocations("migration/callback");
+        // Registers the sql callbacks of the configuration itself
+        flyway.info();
+
+        FleetTarget target = createTarget("fleet_callback", "a");
+        assertTrue(new FlywayFleet(flyway).migrate(Arrays.asList(target)).isSuccess());
+
+        Connection connection = target.getDataSource().getConnection();
+        try {
+            assertEquals(1, new JdbcTemplate(connection, 0).queryForInt("SELECT COUNT(*) FROM test_user"));
+        } finally {
+            connection.close();
+        }
+    }
+
+    private FleetTarget createTarget(String name, String cluster) {
+        DriverDataSource dataSource = new DriverDataSource(Thread.currentThread().getContextClassLoader(), null,
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        return new FleetTarget(name, cluster, dataSource);
+    }
+}
@@ -103,6 +103,91 @@ public class FlywayMediumTest {
         connection2.close();
     }
 
+    @Test
+    public void cleanInParallel() throws Exception {
+        DriverDataSource dataSource =
+                new DriverDataSource(Thread.currentThread().getContextClassLoader(), null, "jdbc:h2:mem:flyway_db_clean_parallel;DB_CLOSE_DELAY=-1", "sa", "");
+
+        // Created outside of Flyway, so clean empties the schemas on parallel connections instead of dropping them
+        Flyway flyway = createParallelCleanFlyway(dataSource);
+        assertEquals(4, flyway.migrate());
+        createParallelCleanTables(dataSource);
+
+        flyway.clean();
+
+        Connection connection = dataSource.getConnection();
+        H2DbSupport dbSupport = new H2DbSupport(connection);
+        for (String schema : new String[]{"PARALLEL_1", "PARALLEL_2", "PARALLEL_3"}) {
+            assertTrue(dbSupport.getSchema(schema).exists());
+            assertTrue(dbSupport.getSchema(schema).empty());
+        }
+        connection.close();
+
+        assertEquals(4, flyway.migrate());
+    }
+
+    @Test
+    public void cleanInParallelFailure() throws Exception {
+        DriverDataSource dataSource = new FailingDropDriverDataSource("jdbc:h2:mem:flyway_db_clean_parallel_failure;DB_CLOSE_DELAY=-1");
+
+        Flyway flyway = createParallelCleanFlyway(dataSource);
+        assertEquals(4, flyway.migrate());
+        createParallelCleanTables(dataSource);
+
+        try {
+            flyway.clean();
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("\"PARALLEL_2\""));
+            assertFalse(e.getMessage(), e.getMessage().contains("\"PARALLEL_1\""));
+            assertFalse(e.getMessage(), e.getMessage().contains("\"PARALLEL_3\""));
+        }
+
+        // The other schemas are still cleaned
+        Connection connection = dataSource.getConnection();
+        H2DbSupport dbSupport = new H2DbSupport(connection);
+        assertTrue(dbSupport.getSchema("PARALLEL_1").empty());
+        assertFalse(dbSupport.getSchema("PARALLEL_2").empty());
+        assertTrue(dbSupport.getSchema("PARALLEL_3").empty());
+        connection.close();
+    }
+
+    /**
+     * Creates the schemas PARALLEL_1 to PARALLEL_3 and a Flyway instance cleaning them with three threads.
+     *
+     * @param dataSource The data source to use.
+     * @return The Flyway instance.
+     */
+    private Flyway createParallelCleanFlyway(DriverDataSource dataSource) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(connection, 0);
+        for (String schema : new String[]{"PARALLEL_1", "PARALLEL_2", "PARALLEL_3"}) {
+            jdbcTemplate.execute("CREATE SCHEMA " + schema);
+        }
+        connection.close();
+
+        Flyway flyway = new Flyway();
+        flyway.setDataSource(dataSource);
+        flyway.setSchemas("PARALLEL_1", "PARALLEL_2", "PARALLEL_3");
+        flyway.setLocations("migration/sql");
+        flyway.setCleanThreads(3);
+        return flyway;
+    }
+
+    /**
+     * Creates a table in each of the schemas PARALLEL_1 to PARALLEL_3, so clean has something to drop in all of them.
+     *
+     * @param dataSource The data source to use.
+     */
+    private void createParallelCleanTables(DriverDataSource dataSource) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(connection, 0);
+        for (String schema : new String[]{"PARALLEL_1", "PARALLEL_2", "PARALLEL_3"}) {
+            jdbcTemplate.execute("CREATE TABLE " + schema + ".parallel_clean (id INT)");
+        }
+        connection.close();
+    }
+
     @Test
     public void info() throws Exception {
         DriverDataSource dataSource =
@@ -801,4 +886,30 @@ public class FlywayMediumTest {
             });
         }
     }
+
+    /**
+     * Data source whose connections fail to drop any object of the schema PARALLEL_2.
+     */
+    private static class FailingDropDriverDataSource extends DriverDataSource {
+        public FailingDropDriverDataSource(String url) {
+            super(Thread.currentThread().getContextClassLoader(), null, url, "sa", "");
+        }
+
+        @Override
+        protected Connection getConnectionFromDriver(String username, String password) throws SQLException {
+            final Connection connection = super.getConnectionFromDriver(username, password);
+
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class}, new InvocationHandler() {
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    if ("prepareStatement".equals(method.getName())) {
+                        String sql = (String) args[0];
+                        if (sql.startsWith("DROP") && sql.contains("\"PARALLEL_2\"")) {
+                            throw new SQLException("Not allowed: " + sql);
+                        }
+                    }
+                    return method.invoke(connection, args);
+                }
+            });
+        }
+    }
 }
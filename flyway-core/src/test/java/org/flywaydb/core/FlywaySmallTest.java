@@ -18,6 +18,8 @@ package org.flywaydb.core;
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.callback.FlywayCallback;
 import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.callback.SqlScriptFlywayCallback;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
 import org.flywaydb.core.internal.dbsupport.Schema;
 import org.flywaydb.core.internal.metadatatable.MetaDataTable;
@@ -27,6 +29,10 @@ import org.junit.Test;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import static org.junit.Assert.*;
@@ -208,4 +214,115 @@ public class FlywaySmallTest {
             //expected
         }
     }
+
+    @Test
+    public void sessionReusedByConsecutiveCommands() {
+        CountingMigrationResolver resolver = new CountingMigrationResolver();
+        Flyway flyway = createSessionFlyway("flyway_session_reused", resolver);
+
+        flyway.migrate();
+        flyway.info();
+        flyway.info();
+        assertEquals(1, resolver.count);
+    }
+
+    @Test
+    public void sessionNotReusedByDefault() {
+        CountingMigrationResolver resolver = new CountingMigrationResolver();
+        Flyway flyway = createSessionFlyway("flyway_session_default", resolver);
+        flyway.setReuseResolvedMigrations(false);
+
+        flyway.info();
+        FlywayCallback first = getSqlScriptFlywayCallback(flyway);
+        flyway.info();
+        assertEquals(2, resolver.count);
+        assertNotSame(first, getSqlScriptFlywayCallback(flyway));
+    }
+
+    @Test
+    public void sessionInvalidatedByLocations() {
+        CountingMigrationResolver resolver = new CountingMigrationResolver();
+        Flyway flyway = createSessionFlyway("flyway_session_locations", resolver);
+
+        flyway.info();
+        flyway.setLocations("migration/placeholder");
+        flyway.info();
+        flyway.info();
+        assertEquals(2, resolver.count);
+    }
+
+    @Test
+    public void sessionInvalidatedByPlaceholders() {
+        CountingMigrationResolver resolver = new CountingMigrationResolver();
+        Flyway flyway = createSessionFlyway("flyway_session_placeholders", resolver);
+
+        flyway.info();
+        Map<String, String> placeholders = new HashMap<String, String>();
+        placeholders.put("tableName", "test_user");
+        flyway.setPlaceholders(placeholders);
+        flyway.info();
+        placeholders.put("tableName", "other_user");
+        flyway.info();
+        assertEquals(3, resolver.count);
+    }
+
+    @Test
+    public void sessionSqlCallbackReplaced() {
+        Flyway flyway = createSessionFlyway("flyway_session_callback", new CountingMigrationResolver());
+
+        flyway.info();
+        FlywayCallback first = getSqlScriptFlywayCallback(flyway);
+
+        flyway.setLocations("migration/placeholder");
+        flyway.info();
+        flyway.info();
+        FlywayCallback second = getSqlScriptFlywayCallback(flyway);
+        assertNotSame(first, second);
+    }
+
+    /**
+     * Creates a Flyway instance reusing its resolved migrations for the session tests, on its own in-memory database.
+     *
+     * @param database The name of the database.
+     * @param resolver The custom resolver to count the resolutions with.
+     * @return The Flyway instance.
+     */
+    private Flyway createSessionFlyway(String database, MigrationResolver resolver) {
+        Flyway flyway = new Flyway();
+        flyway.setDataSource(new DriverDataSource(Thread.currentThread().getContextClassLoader(), null,
+                "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        flyway.setLocations("migration/empty");
+        flyway.setResolvers(resolver);
+        flyway.setReuseResolvedMigrations(true);
+        return flyway;
+    }
+
+    /**
+     * @param flyway The Flyway instance.
+     * @return The only sql callback among the callbacks of this instance.
+     */
+    private FlywayCallback getSqlScriptFlywayCallback(Flyway flyway) {
+        FlywayCallback sqlScriptFlywayCallback = null;
+        for (FlywayCallback callback : flyway.getCallbacks()) {
+            if (callback instanceof SqlScriptFlywayCallback) {
+                assertNull("Duplicate sql callback", sqlScriptFlywayCallback);
+                sqlScriptFlywayCallback = callback;
+            }
+        }
+        assertNotNull(sqlScriptFlywayCallback);
+        return sqlScriptFlywayCallback;
+    }
+
+    /**
+     * Resolver without migrations, counting how often the migrations are resolved.
+     */
+    private static class CountingMigrationResolver implements MigrationResolver {
+        private int count;
+
+        @Override
+        public Collection<ResolvedMigration> resolveMigrations() {
+            count++;
+            return new ArrayList<ResolvedMigration>();
+        }
+    }
 }
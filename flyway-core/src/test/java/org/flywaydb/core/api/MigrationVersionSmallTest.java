@@ -18,6 +18,7 @@ package org.flywaydb.core.api;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -171,5 +172,33 @@ public class MigrationVersionSmallTest {
         MigrationVersion longVersions = MigrationVersion.fromVersion(raw);
         assertEquals(raw, longVersions.getVersion());
     }
-}
 
+    @Test
+    public void compareOverflowingLong() {
+        MigrationVersion maxLong = MigrationVersion.fromVersion("1." + Long.MAX_VALUE);
+        MigrationVersion overflow1 = MigrationVersion.fromVersion("1.9223372036854775808");
+        MigrationVersion overflow2 = MigrationVersion.fromVersion("1.9223372036854775808.0.1");
+        MigrationVersion v2 = MigrationVersion.fromVersion("2");
+
+        assertTrue(maxLong.compareTo(overflow1) < 0);
+        assertTrue(overflow1.compareTo(maxLong) > 0);
+        assertTrue(overflow1.compareTo(overflow2) < 0);
+        assertTrue(overflow2.compareTo(v2) < 0);
+        assertTrue(v2.compareTo(overflow2) > 0);
+        assertEquals(overflow1, MigrationVersion.fromVersion("1.9223372036854775808.0"));
+        assertEquals(overflow1.hashCode(), MigrationVersion.fromVersion("1.9223372036854775808.0").hashCode());
+    }
+
+    @Test
+    public void signedVersionEqualsPlainVersion() {
+        MigrationVersion signed = MigrationVersion.fromVersion("+5.1");
+        MigrationVersion plain = MigrationVersion.fromVersion("5.1");
+        assertEquals(plain, signed);
+        assertEquals(plain.hashCode(), signed.hashCode());
+    }
+
+    @Test
+    public void interned() {
+        assertSame(MigrationVersion.fromVersion("1.2.3"), MigrationVersion.fromVersion("1.2.3"));
+    }
+}
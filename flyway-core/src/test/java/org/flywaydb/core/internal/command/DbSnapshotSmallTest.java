@@ -0,0 +1,72 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.callback.FlywayCallback;
+import org.flywaydb.core.internal.dbsupport.Schema;
+import org.flywaydb.core.internal.dbsupport.sqlite.SQLiteDbSupport;
+import org.flywaydb.core.internal.dbsupport.sqlite.SQLiteSchema;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for DbSnapshot.
+ */
+public class DbSnapshotSmallTest {
+    private final SQLiteDbSupport dbSupport = new SQLiteDbSupport(null);
+
+    @Test
+    public void multipleSqliteSchemasNotSnapshotted() throws Exception {
+        Schema[] schemas = new Schema[]{
+                new SQLiteSchema(null, dbSupport, "main"), new SQLiteSchema(null, dbSupport, "other")};
+        assertTrue(dbSupport.supportsSnapshots(new Schema[]{schemas[0]}));
+        assertFalse(dbSupport.supportsSnapshots(schemas));
+
+        File snapshotDir = File.createTempFile("flyway-snapshots", "");
+        snapshotDir.delete();
+        DbSnapshot dbSnapshot = new DbSnapshot(dbSupport, null, schemas, new FlywayCallback[0], new Flyway(), snapshotDir);
+
+        // Falls back to clean and migrate instead of failing the reset
+        assertFalse(dbSnapshot.exists());
+        dbSnapshot.create();
+        assertFalse(snapshotDir.exists());
+    }
+
+    @Test
+    public void unsupportedSnapshot() throws Exception {
+        Schema[] schemas = new Schema[]{
+                new SQLiteSchema(null, dbSupport, "main"), new SQLiteSchema(null, dbSupport, "other")};
+        try {
+            dbSupport.createSnapshot(schemas, new File("snapshot"));
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getMessage().contains("not supported"));
+        }
+        try {
+            dbSupport.restoreSnapshot(schemas, new File("snapshot"));
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getMessage().contains("not supported"));
+        }
+    }
+}
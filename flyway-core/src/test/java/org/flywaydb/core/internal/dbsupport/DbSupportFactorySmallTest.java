@@ -0,0 +1,79 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.flywaydb.core.internal.dbsupport.sqlite.SQLiteDbSupport;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for DbSupportFactory.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DbSupportFactorySmallTest {
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private DatabaseMetaData databaseMetaData;
+
+    @Before
+    public void setUp() throws SQLException {
+        when(connection.getMetaData()).thenReturn(databaseMetaData);
+        when(databaseMetaData.getURL()).thenReturn("jdbc:sqlite:first.db");
+        when(databaseMetaData.getDatabaseProductName()).thenReturn("SQLite");
+        when(databaseMetaData.getDatabaseMajorVersion()).thenReturn(3);
+        when(databaseMetaData.getDatabaseMinorVersion()).thenReturn(8);
+    }
+
+    @Test
+    public void detectedOncePerDataSourceAndUrl() throws SQLException {
+        assertTrue(DbSupportFactory.createDbSupport(dataSource, connection, true) instanceof SQLiteDbSupport);
+        assertTrue(DbSupportFactory.createDbSupport(dataSource, connection, true) instanceof SQLiteDbSupport);
+
+        verify(databaseMetaData, times(1)).getDatabaseProductName();
+    }
+
+    @Test
+    public void detectedAgainForOtherUrl() throws SQLException {
+        DbSupportFactory.createDbSupport(dataSource, connection, false);
+        when(databaseMetaData.getURL()).thenReturn("jdbc:sqlite:second.db");
+        DbSupportFactory.createDbSupport(dataSource, connection, false);
+
+        verify(databaseMetaData, times(2)).getDatabaseProductName();
+    }
+
+    @Test
+    public void sameTypeWithoutDetection() throws SQLException {
+        assertTrue(DbSupportFactory.createDbSupport(connection, SQLiteDbSupport.class) instanceof SQLiteDbSupport);
+
+        verify(databaseMetaData, never()).getDatabaseProductName();
+    }
+}
@@ -17,6 +17,7 @@ package org.flywaydb.core.internal.dbsupport;
 
 import org.flywaydb.core.internal.dbsupport.mysql.MySQLDbSupport;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.scanner.classpath.ClassPathResource;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -26,7 +27,9 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test for SqlScript.
@@ -304,6 +307,52 @@ public class SqlScriptSmallTest {
         assertEquals(2, sqlStatements.size());
     }
 
+    @Test
+    public void streamFromResource() {
+        Map<String, String> placeholders = new HashMap<String, String>();
+        placeholders.put("abc", "multi\r\nline\nvalue");
+        PlaceholderReplacer placeholderReplacer = new PlaceholderReplacer(placeholders, "${", "}");
+        ClassPathResource resource = new ClassPathResource("migration/placeholder/V1__First.sql", Thread.currentThread().getContextClassLoader());
+
+        List<SqlStatement> expected = sqlScript.parse(placeholderReplacer.replacePlaceholders(resource.loadAsString("UTF-8")));
+        List<SqlStatement> streamed = new SqlScript(new MySQLDbSupport(null), resource, placeholderReplacer, "UTF-8", false, 0).getSqlStatements();
+
+        assertEquals(2, streamed.size());
+        assertEquals(expected.size(), streamed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getLineNumber(), streamed.get(i).getLineNumber());
+            assertEquals(expected.get(i).getSql(), streamed.get(i).getSql());
+        }
+    }
+
+    @Test
+    public void noScanWithoutNonTransactionalStatements() {
+        // MySQL statements are always transactional, so the resource is not even read until execution
+        ClassPathResource resource = new ClassPathResource("non/existing.sql", Thread.currentThread().getContextClassLoader());
+        assertTrue(new SqlScript(new MySQLDbSupport(null), resource, PlaceholderReplacer.NO_PLACEHOLDERS, "UTF-8", false, 0).executeInTransaction());
+    }
+
+    @Test
+    public void batchable() {
+        assertTrue(SqlScript.isBatchable(new SqlStatement(1, "INSERT INTO t VALUES (1)", false)));
+        assertTrue(SqlScript.isBatchable(new SqlStatement(1, "  update t set x = 1", false)));
+        assertTrue(SqlScript.isBatchable(new SqlStatement(1, "/* cleanup */ DELETE FROM t", false)));
+        assertTrue(SqlScript.isBatchable(new SqlStatement(1, "-- comment\nMERGE INTO t USING s ON (t.id = s.id)", false)));
+        assertFalse(SqlScript.isBatchable(new SqlStatement(1, "CREATE TABLE t (x INT)", false)));
+        assertFalse(SqlScript.isBatchable(new SqlStatement(1, "SELECT * FROM t", false)));
+        assertFalse(SqlScript.isBatchable(new SqlStatement(1, "INSERTED", false)));
+        assertFalse(SqlScript.isBatchable(new SqlStatement(1, "INSERT INTO t VALUES (1) RETURNING x", false)));
+        assertFalse(SqlScript.isBatchable(new SqlStatement(1, "delete from t where x = 1 returning x", false)));
+        assertFalse(SqlScript.isBatchable(new SqlStatement(1, "UPDATE t SET x = 1\nRETURNING\tx", false)));
+        assertTrue(SqlScript.isBatchable(new SqlStatement(1, "INSERT INTO t (returning_customer) VALUES (1)", false)));
+        assertTrue(SqlScript.isBatchable(new SqlStatement(1, "INSERT INTO t VALUES ('returning')", false)));
+        assertTrue(SqlScript.isBatchable(new SqlStatement(1, "INSERT INTO t VALUES ('it''s returning')", false)));
+        assertTrue(SqlScript.isBatchable(new SqlStatement(1, "UPDATE \"returning\" SET x = 1 -- returning", false)));
+        assertTrue(SqlScript.isBatchable(new SqlStatement(1, "DELETE FROM t /* returning x */", false)));
+        assertFalse(SqlScript.isBatchable(new SqlStatement(1, "COPY t FROM STDIN", true)));
+        assertFalse(SqlScript.isBatchable(new SqlStatement(1, "INSERT INTO t VALUES (1)", false, false)));
+    }
+
     @Ignore("Currently broken")
     @Test
     public void parseWithTrailingComment() {
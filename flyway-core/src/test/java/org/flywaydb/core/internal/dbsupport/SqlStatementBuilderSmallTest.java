@@ -155,6 +155,17 @@ public class SqlStatementBuilderSmallTest {
         assertFalse(endsWithOpenMultilineStringLiteral(new DerbySqlStatementBuilder(), "SELECT X'0123',X'0456' FROM DUAL;"));
     }
 
+    @Test
+    public void simplifyLine() {
+        SqlStatementBuilder builder = new SqlStatementBuilder();
+        assertEquals("SELECT * FROM T", builder.simplifyLine("  select *\t\tfrom t  "));
+        assertEquals("A -- B /* C */ D", builder.simplifyLine("a--b/*c*/d"));
+        assertEquals("-- -- -", builder.simplifyLine("-----"));
+        assertEquals("* /*", builder.simplifyLine("*/*"));
+        assertEquals("/* /", builder.simplifyLine("/*/"));
+        assertEquals("'A'", builder.simplifyLine("'a'''"));
+    }
+
     @Test
     public void stripDelimiter() {
         StringBuilder sql = new StringBuilder("SELECT * FROM t WHERE a = 'Straßenpaß';");
@@ -25,6 +25,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import javax.sql.DataSource;
+import java.io.File;
 import java.sql.SQLException;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
@@ -62,6 +63,42 @@ public class H2MigrationMediumTest extends MigrationTestCase {
         flyway.baseline();
     }
 
+    @Test
+    public void reset() throws Exception {
+        File snapshotDir = File.createTempFile("flyway-snapshots", "");
+        snapshotDir.delete();
+        flyway.setSnapshotDir(snapshotDir.getAbsolutePath());
+        flyway.setLocations(getBasedir());
+
+        assertEquals(4, flyway.reset());
+        assertEquals(1, snapshotDir.listFiles().length);
+
+        jdbcTemplate.execute("DELETE FROM all_misters");
+        assertEquals(0, flyway.reset());
+        assertEquals("2.0", flyway.info().current().getVersion().toString());
+        assertEquals(2, jdbcTemplate.queryForInt("select count(*) from all_misters"));
+        assertEquals(0, flyway.migrate());
+    }
+
+    @Test
+    public void resetSnapshotKeyedByBaselineSettings() throws Exception {
+        File snapshotDir = File.createTempFile("flyway-snapshots", "");
+        snapshotDir.delete();
+        flyway.setSnapshotDir(snapshotDir.getAbsolutePath());
+        flyway.setLocations(getBasedir());
+
+        assertEquals(4, flyway.reset());
+        assertEquals(1, snapshotDir.listFiles().length);
+
+        flyway.setBaselineOnMigrate(true);
+        assertEquals(4, flyway.reset());
+        assertEquals(2, snapshotDir.listFiles().length);
+
+        flyway.setBaselineVersionAsString("0.5");
+        assertEquals(4, flyway.reset());
+        assertEquals(3, snapshotDir.listFiles().length);
+    }
+
     @Test
     public void dollarQuotedString() throws Exception {
         flyway.setLocations("migration/dbsupport/h2/sql/dollar_quoted_string");
@@ -0,0 +1,111 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport.postgresql;
+
+import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test for PostgreSQLSchema.
+ */
+public class PostgreSQLSchemaSmallTest {
+    private final List<Map<String, String>> catalog = new ArrayList<Map<String, String>>();
+
+    private final List<String> queries = new ArrayList<String>();
+
+    private final PostgreSQLSchema schema = new PostgreSQLSchema(new JdbcTemplate(null, 0) {
+        @Override
+        public List<Map<String, String>> queryForList(String query, String... params) {
+            queries.add(query);
+            return catalog;
+        }
+    }, new PostgreSQLDbSupport(null), "s");
+
+    @Test
+    public void generateDropStatementsFromCatalogSnapshot() throws Exception {
+        addObject("r", "t1", null, null);
+        addObject("v", "v1", null, null);
+        addObject("r", "t2", null, null);
+        addObject("b", "shell", null, "P");
+        addObject("b", "composite", null, "C");
+        addObject("f", "f1", "integer", null);
+        addObject("f", "f2", "", null);
+        addObject("d", "positive", null, null);
+
+        assertEquals(Arrays.asList(
+                "DROP VIEW IF EXISTS \"s\".\"v1\" CASCADE",
+                "DROP TABLE IF EXISTS \"s\".\"t1\", \"s\".\"t2\" CASCADE",
+                "DROP TYPE IF EXISTS \"s\".\"shell\", \"s\".\"composite\" CASCADE",
+                "CREATE TYPE \"s\".\"shell\"",
+                "DROP FUNCTION IF EXISTS \"s\".\"f1\"(integer), \"s\".\"f2\"() CASCADE",
+                "DROP DOMAIN IF EXISTS \"s\".\"positive\"",
+                "DROP TYPE IF EXISTS \"s\".\"shell\", \"s\".\"composite\" CASCADE"),
+                schema.generateDropStatementsFromCatalogSnapshot(true));
+    }
+
+    @Test
+    public void generateDropStatementsFromCatalogSnapshotWithoutGroupedRoutines() throws Exception {
+        addObject("a", "a1", "integer", null);
+        addObject("f", "f1", "integer", null);
+        addObject("f", "f2", "text", null);
+
+        assertEquals(Arrays.asList(
+                "DROP AGGREGATE IF EXISTS \"s\".\"a1\"(integer) CASCADE",
+                "DROP FUNCTION IF EXISTS \"s\".\"f1\"(integer) CASCADE",
+                "DROP FUNCTION IF EXISTS \"s\".\"f2\"(text) CASCADE"),
+                schema.generateDropStatementsFromCatalogSnapshot(false));
+    }
+
+    @Test
+    public void generateDropStatementsFromCatalogSnapshotSplitsLargeGroups() throws Exception {
+        for (int i = 0; i < 1001; i++) {
+            addObject("S", "seq" + i, null, null);
+        }
+
+        List<String> statements = schema.generateDropStatementsFromCatalogSnapshot(true);
+        assertEquals(3, statements.size());
+        assertEquals("DROP SEQUENCE IF EXISTS \"s\".\"seq1000\"", statements.get(2));
+    }
+
+    @Test
+    public void catalogSnapshotOnlyListsAccessibleObjects() throws Exception {
+        schema.generateDropStatementsFromCatalogSnapshot(true);
+
+        // Same visibility as information_schema.tables, information_schema.sequences and information_schema.domains
+        String query = queries.get(0);
+        assertTrue(query.contains("pg_catalog.has_table_privilege(c.oid, "));
+        assertTrue(query.contains("pg_catalog.has_sequence_privilege(c.oid, "));
+        assertTrue(query.contains("pg_catalog.pg_has_role(t.typowner, 'USAGE') OR pg_catalog.has_type_privilege(t.oid, 'USAGE')"));
+    }
+
+    private void addObject(String kind, String name, String args, String category) {
+        Map<String, String> row = new HashMap<String, String>();
+        row.put("kind", kind);
+        row.put("name", name);
+        row.put("args", args);
+        row.put("category", category);
+        catalog.add(row);
+    }
+}
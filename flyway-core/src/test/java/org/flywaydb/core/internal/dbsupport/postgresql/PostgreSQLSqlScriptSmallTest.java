@@ -15,14 +15,28 @@
  */
 package org.flywaydb.core.internal.dbsupport.postgresql;
 
+import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.internal.dbsupport.SqlScript;
 import org.flywaydb.core.internal.dbsupport.SqlStatement;
+import org.flywaydb.core.internal.util.FileCopyUtils;
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
 import org.flywaydb.core.internal.util.scanner.classpath.ClassPathResource;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Test for SqlScript for PostgreSQL.
@@ -40,4 +54,64 @@ public class PostgreSQLSqlScriptSmallTest {
         assertEquals(23, sqlStatements.get(1).getLineNumber());
         assertEquals(28, sqlStatements.get(2).getLineNumber());
     }
+
+    @Test
+    public void executeInTransactionFromResource() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        assertFalse(new SqlScript(new PostgreSQLDbSupport(null),
+                new ClassPathResource("migration/dbsupport/postgresql/sql/vacuum/V1__Vacuum.sql", classLoader),
+                PlaceholderReplacer.NO_PLACEHOLDERS, "UTF-8", true, 0).executeInTransaction());
+        assertTrue(new SqlScript(new PostgreSQLDbSupport(null),
+                new ClassPathResource("migration/dbsupport/postgresql/sql/dollar/V2__Even_more_dollars.sql", classLoader),
+                PlaceholderReplacer.NO_PLACEHOLDERS, "UTF-8", false, 0).executeInTransaction());
+    }
+
+    @Test
+    public void parseCopyFromResource() throws Exception {
+        ClassPathResource resource = new ClassPathResource(
+                "migration/dbsupport/postgresql/sql/copy/V003__fill_copy_test_table_with_copy.sql", Thread.currentThread().getContextClassLoader());
+
+        List<SqlStatement> parsed = new SqlScript(resource.loadAsString("UTF-8"), new PostgreSQLDbSupport(null)).getSqlStatements();
+        List<SqlStatement> streamed = new SqlScript(new PostgreSQLDbSupport(null), resource,
+                PlaceholderReplacer.NO_PLACEHOLDERS, "UTF-8", false, 0).getSqlStatements();
+
+        assertEquals(parsed.size(), streamed.size());
+        for (int i = 0; i < parsed.size(); i++) {
+            assertEquals(parsed.get(i).getSql(), streamed.get(i).getSql());
+            assertEquals(parsed.get(i).getLineNumber(), streamed.get(i).getLineNumber());
+            assertEquals(parsed.get(i).isPgCopy(), streamed.get(i).isPgCopy());
+        }
+    }
+
+    @Test
+    public void executeCopyFromResource() throws Exception {
+        final List<String> commands = new ArrayList<String>();
+        final List<String> data = new ArrayList<String>();
+        PostgreSQLDbSupport dbSupport = new PostgreSQLDbSupport(null) {
+            @Override
+            public void executePgCopy(Connection connection, String command, Reader reader) throws SQLException {
+                commands.add(command);
+                try {
+                    data.add(FileCopyUtils.copyToString(reader));
+                } catch (IOException e) {
+                    throw new SQLException(e);
+                }
+            }
+        };
+
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.getUpdateCount()).thenReturn(-1);
+
+        new SqlScript(dbSupport, new ClassPathResource(
+                "migration/dbsupport/postgresql/sql/copy/V003__fill_copy_test_table_with_copy.sql", Thread.currentThread().getContextClassLoader()),
+                PlaceholderReplacer.NO_PLACEHOLDERS, "UTF-8", false, 0).execute(new JdbcTemplate(connection, Types.NULL));
+
+        assertEquals(2, commands.size());
+        assertEquals("COPY copy_test (c1, c2, c3) FROM stdin", commands.get(0));
+        assertEquals("COPY copy_test (c1, c2, c3)\n  FROM stdin", commands.get(1));
+        assertEquals("1\tutf8: \u00fcmlaute: \u00e4\u00fc\u00df\tNaN\n2\t\\N\t123\n3\ttext\t123.234444444444449\n", data.get(0));
+        assertTrue(data.get(1).startsWith("4\t"));
+    }
 }
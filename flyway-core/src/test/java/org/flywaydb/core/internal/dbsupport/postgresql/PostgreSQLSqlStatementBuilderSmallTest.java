@@ -20,6 +20,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 
@@ -92,6 +93,28 @@ public class PostgreSQLSqlStatementBuilderSmallTest {
         assertEquals(line, statementBuilder.getSqlStatement().getSql());
     }
 
+    @Test
+    public void copyFromStdinWithSemicolonLiteral() {
+        statementBuilder.addLine("COPY copy_test (c1, c2) FROM stdin WITH (DELIMITER ';', NULL 'n;a')");
+        assertTrue(statementBuilder.isPgCopyFromStdIn());
+        assertFalse(statementBuilder.isPgCopyCommandComplete());
+        assertNull(statementBuilder.getPgCopyCommand());
+
+        statementBuilder.addLine("; -- data follows");
+        assertTrue(statementBuilder.isPgCopyCommandComplete());
+        assertEquals("COPY copy_test (c1, c2) FROM stdin WITH (DELIMITER ';', NULL 'n;a')\n",
+                statementBuilder.getPgCopyCommand());
+    }
+
+    @Test
+    public void indexOfPgCopyCommandEnd() {
+        assertEquals(18, PostgreSQLSqlStatementBuilder.indexOfPgCopyCommandEnd("COPY t FROM stdin ;\n1;2"));
+        assertEquals(33, PostgreSQLSqlStatementBuilder.indexOfPgCopyCommandEnd("COPY t FROM stdin DELIMITER ''';';\n1;2"));
+        assertEquals(28, PostgreSQLSqlStatementBuilder.indexOfPgCopyCommandEnd("COPY \";t\" FROM stdin /* ; */;"));
+        assertEquals(29, PostgreSQLSqlStatementBuilder.indexOfPgCopyCommandEnd("COPY t FROM stdin NULL E'\\';';"));
+        assertEquals(-1, PostgreSQLSqlStatementBuilder.indexOfPgCopyCommandEnd("COPY t FROM stdin -- ;"));
+    }
+
     @Test
     public void alterType() {
         String line = "ALTER TYPE \"myschema\".\"colors\" ADD ATTRIBUTE f3 int";
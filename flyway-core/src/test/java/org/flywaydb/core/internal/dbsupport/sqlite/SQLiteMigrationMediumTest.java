@@ -17,6 +17,7 @@ package org.flywaydb.core.internal.dbsupport.sqlite;
 
 import org.flywaydb.core.DbCategory;
 import org.flywaydb.core.Flyway;
+import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.migration.MigrationTestCase;
 import org.flywaydb.core.internal.util.jdbc.DriverDataSource;
 import org.junit.Ignore;
@@ -24,9 +25,12 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import javax.sql.DataSource;
+import java.io.File;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Properties;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -106,6 +110,30 @@ public class SQLiteMigrationMediumTest extends MigrationTestCase {
         jdbcTemplate.execute("CREATE INDEX \"schema_version_s_idx\" ON \"schema_version\" (\"success\")");
     }
 
+    @Test
+    public void bulkMigrate() throws Exception {
+        File file = File.createTempFile("flyway-bulk", ".db");
+        file.deleteOnExit();
+        DriverDataSource dataSource = new DriverDataSource(Thread.currentThread().getContextClassLoader(), null,
+                "jdbc:sqlite:" + file.getAbsolutePath(), "", "");
+
+        Flyway bulkFlyway = new Flyway();
+        bulkFlyway.setDataSource(dataSource);
+        bulkFlyway.setLocations(getBasedir());
+        bulkFlyway.setBulkMigrate(true);
+        assertEquals(4, bulkFlyway.migrate());
+        assertEquals(4, bulkFlyway.info().applied().length);
+
+        Connection connection = dataSource.getConnection();
+        try {
+            JdbcTemplate fileJdbcTemplate = new JdbcTemplate(connection, 0);
+            assertEquals("delete", fileJdbcTemplate.queryForString("PRAGMA journal_mode"));
+            assertEquals("normal", fileJdbcTemplate.queryForString("PRAGMA locking_mode"));
+        } finally {
+            connection.close();
+        }
+    }
+
     @Test
     public void cleanWithSystemTables() throws Exception {
         // AUTOINCREMENT field causes sqlite_sequence table creation
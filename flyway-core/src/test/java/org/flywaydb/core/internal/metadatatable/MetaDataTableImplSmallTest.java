@@ -0,0 +1,172 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.metadatatable;
+
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.FlywayCallback;
+import org.flywaydb.core.internal.command.DbClean;
+import org.flywaydb.core.internal.dbsupport.DbSupport;
+import org.flywaydb.core.internal.dbsupport.Schema;
+import org.flywaydb.core.internal.dbsupport.Table;
+import org.flywaydb.core.internal.dbsupport.h2.H2DbSupport;
+import org.flywaydb.core.internal.util.jdbc.DriverDataSource;
+import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for MetaDataTableImpl against an in-memory H2 database.
+ */
+public class MetaDataTableImplSmallTest {
+    private Connection connection;
+    private DbSupport dbSupport;
+    private Table table;
+    private MetaDataTableImpl metaDataTable;
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = new DriverDataSource(Thread.currentThread().getContextClassLoader(), null,
+                "jdbc:h2:mem:flyway_metadata_table", "sa", "").getConnection();
+        dbSupport = new H2DbSupport(connection);
+        table = dbSupport.getOriginalSchema().getTable("schema_version");
+        metaDataTable = new MetaDataTableImpl(dbSupport, table);
+    }
+
+    @After
+    public void tearDown() {
+        // Closing the last connection drops the in-memory database
+        JdbcUtils.closeConnection(connection);
+    }
+
+    @Test
+    public void installedRankIncreasesUnderLock() {
+        metaDataTable.lock(new Callable<Object>() {
+            @Override
+            public Object call() {
+                metaDataTable.addAppliedMigration(appliedMigration("1"));
+                metaDataTable.addAppliedMigration(appliedMigration("2"));
+                metaDataTable.addAppliedMigration(appliedMigration("3"));
+                return null;
+            }
+        });
+
+        assertInstalledRanks(1, 2, 3);
+    }
+
+    @Test
+    public void insertStatementClosedAndInstalledRankResetOnUnlock() throws SQLException {
+        final PreparedStatement[] insertStatement = new PreparedStatement[1];
+        metaDataTable.lock(new Callable<Object>() {
+            @Override
+            public Object call() {
+                metaDataTable.addAppliedMigration(appliedMigration("1"));
+                insertStatement[0] = metaDataTable.insertStatement;
+                return null;
+            }
+        });
+
+        assertNotNull(insertStatement[0]);
+        assertTrue(insertStatement[0].isClosed());
+        assertNull(metaDataTable.insertStatement);
+
+        // Another migration run adds a row while this instance does not hold the lock
+        new MetaDataTableImpl(dbSupport, table).addAppliedMigration(appliedMigration("2"));
+
+        metaDataTable.lock(new Callable<Object>() {
+            @Override
+            public Object call() {
+                metaDataTable.addAppliedMigration(appliedMigration("3"));
+                return null;
+            }
+        });
+
+        assertInstalledRanks(1, 2, 3);
+    }
+
+    @Test
+    public void snapshotInvalidatedByAddAppliedMigration() {
+        assertTrue(metaDataTable.allAppliedMigrations().isEmpty());
+
+        metaDataTable.addAppliedMigration(appliedMigration("1"));
+        assertEquals(1, metaDataTable.allAppliedMigrations().size());
+
+        metaDataTable.addAppliedMigration(appliedMigration("2"));
+        assertEquals(2, metaDataTable.allAppliedMigrations().size());
+    }
+
+    @Test
+    public void snapshotInvalidatedByClean() {
+        metaDataTable.addAppliedMigration(appliedMigration("1"));
+        assertTrue(metaDataTable.hasAppliedMigrations());
+
+        new DbClean(connection, dbSupport, metaDataTable, new Schema[]{dbSupport.getOriginalSchema()},
+                new FlywayCallback[0], false, null, 1).clean();
+
+        assertFalse(table.exists());
+        assertFalse(metaDataTable.hasAppliedMigrations());
+        assertTrue(metaDataTable.allAppliedMigrations().isEmpty());
+    }
+
+    @Test
+    public void snapshotInvalidatedByLock() {
+        metaDataTable.addAppliedMigration(appliedMigration("1"));
+        assertEquals(1, metaDataTable.allAppliedMigrations().size());
+
+        // Another migration run adds a row, which the snapshot can not know about
+        new MetaDataTableImpl(dbSupport, table).addAppliedMigration(appliedMigration("2"));
+        assertEquals(1, metaDataTable.allAppliedMigrations().size());
+
+        int appliedMigrations = metaDataTable.lock(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return metaDataTable.allAppliedMigrations().size();
+            }
+        });
+        assertEquals(2, appliedMigrations);
+    }
+
+    /**
+     * Checks that the metadata table contains exactly these installed ranks, in this order.
+     *
+     * @param installedRanks The expected installed ranks.
+     */
+    private void assertInstalledRanks(int... installedRanks) {
+        List<AppliedMigration> appliedMigrations = metaDataTable.allAppliedMigrations();
+        assertEquals(installedRanks.length, appliedMigrations.size());
+        for (int i = 0; i < installedRanks.length; i++) {
+            assertEquals(installedRanks[i], appliedMigrations.get(i).getInstalledRank());
+        }
+    }
+
+    /**
+     * @param version The version of the migration.
+     * @return A successful sql migration with this version.
+     */
+    private static AppliedMigration appliedMigration(String version) {
+        return new AppliedMigration(MigrationVersion.fromVersion(version), "Migration " + version, MigrationType.SQL,
+                "V" + version + "__Migration.sql", 123, 0, true);
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver;
+
+import org.flywaydb.core.internal.util.scanner.filesystem.FileSystemResource;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testcase for ChecksumCalculator.
+ */
+public class ChecksumCalculatorSmallTest {
+    @Test
+    public void lineEndings() throws IOException {
+        int lf = checksum("abc\ndef efg\nxyz");
+        assertEquals(lf, checksum("abc\r\ndef efg\r\nxyz\r\n"));
+        assertEquals(lf, checksum("abc\rdef efg\rxyz"));
+        assertEquals(lf, checksum("abc\r\ndef efg\nxyz\r"));
+        assertEquals(lf, checksum("\n\nabc\n\r\ndef efg\n\n\nxyz\n\n"));
+        assertEquals(ChecksumCalculator.calculate("abc\ndef efg\nxyz"), lf);
+    }
+
+    @Test
+    public void sameAsDecodedString() throws IOException {
+        String[] scripts = {
+                "",
+                "\n",
+                "CREATE TABLE t (id INT);\r\nINSERT INTO t VALUES (1);\n",
+                "\ufeffSELECT 1;\r\n",
+                "-- \u00dcmlaut, \u4e2d\u6587, \ud83d\ude00\r\nSELECT '\u00e9';\rSELECT '\ufeff';\n",
+                "\u0000\u007f\u0080\u07ff\u0800\uffff"
+        };
+        for (String script : scripts) {
+            String withoutBom = script.startsWith("\ufeff") ? script.substring(1) : script;
+            assertEquals(script, ChecksumCalculator.calculate(withoutBom), checksum(script));
+        }
+    }
+
+    @Test
+    public void multiByteSequenceAcrossBuffers() throws IOException {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            script.append("INSERT INTO t VALUES ('\u00e9\u4e2d\ud83d\ude00');").append(i % 2 == 0 ? "\r\n" : "\n");
+        }
+        assertEquals(ChecksumCalculator.calculate(script.toString()), checksum(script.toString()));
+    }
+
+    @Test
+    public void malformed() throws IOException {
+        assertNull(ChecksumCalculator.calculateUtf8(stream(new byte[]{'a', (byte) 0xC0, (byte) 0x80})));
+        assertNull(ChecksumCalculator.calculateUtf8(stream(new byte[]{'a', (byte) 0xED, (byte) 0xA0, (byte) 0x80})));
+        assertNull(ChecksumCalculator.calculateUtf8(stream(new byte[]{'a', (byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80})));
+        assertNull(ChecksumCalculator.calculateUtf8(stream(new byte[]{'a', (byte) 0xE4, (byte) 0xB8})));
+        assertNull(ChecksumCalculator.calculateUtf8(stream(new byte[]{'a', (byte) 0xFF, 'b'})));
+
+        byte[] bytes = {'a', '\r', '\n', (byte) 0xE4, '\n', 'b', (byte) 0x80};
+        File file = write(bytes);
+        try {
+            FileSystemResource resource = new FileSystemResource(file.getPath());
+            assertEquals(ChecksumCalculator.calculate(resource.loadAsString("UTF-8")),
+                    ChecksumCalculator.calculate(resource, "UTF-8"));
+        } finally {
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+    }
+
+    @Test
+    public void otherEncoding() throws IOException {
+        File file = write("Gr\u00fc\u00dfe\r\nSELECT 1;\n".getBytes("ISO-8859-1"));
+        try {
+            FileSystemResource resource = new FileSystemResource(file.getPath());
+            assertEquals(ChecksumCalculator.calculate("Gr\u00fc\u00dfe\nSELECT 1;"),
+                    ChecksumCalculator.calculate(resource, "ISO-8859-1"));
+        } finally {
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+    }
+
+    @Test
+    public void random() throws IOException {
+        int[] codePoints = {'a', ' ', '\r', '\n', 0x7f, 0xe9, 0x7ff, 0x800, 0x4e2d, 0xfeff, 0xffff, 0x10000, 0x1f600, 0x10ffff};
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            StringBuilder script = new StringBuilder();
+            int length = random.nextInt(200);
+            for (int j = 0; j < length; j++) {
+                script.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+            }
+            String str = script.toString();
+            String withoutBom = str.startsWith("\ufeff") ? str.substring(1) : str;
+            assertEquals(ChecksumCalculator.calculate(withoutBom), checksum(str));
+        }
+    }
+
+    /**
+     * Calculates the checksum of the UTF-8 bytes of this string through a file on disk.
+     */
+    private int checksum(String str) throws IOException {
+        File file = write(str.getBytes("UTF-8"));
+        try {
+            Integer checksum = ChecksumCalculator.calculateUtf8(stream(str.getBytes("UTF-8")));
+            assertNotNull(checksum);
+            int resourceChecksum = ChecksumCalculator.calculate(new FileSystemResource(file.getPath()), "UTF-8");
+            assertEquals(checksum.intValue(), resourceChecksum);
+            return resourceChecksum;
+        } finally {
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+    }
+
+    private ByteArrayInputStream stream(byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private File write(byte[] bytes) throws IOException {
+        File file = File.createTempFile("flyway-checksum", ".sql");
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(bytes);
+        } finally {
+            outputStream.close();
+        }
+        return file;
+    }
+}
@@ -40,6 +40,7 @@ public class FlywayConfigurationForTests implements SQLFlywayConfiguration {
     private MyCustomMigrationResolver[] migrationResolvers = new MyCustomMigrationResolver[0];
     private boolean skipDefaultResolvers;
     private boolean skipDefaultCallbacks;
+    private int resolverThreads = 1;
 
     public FlywayConfigurationForTests(ClassLoader contextClassLoader, String[] locations, String encoding,
             String sqlMigrationPrefix, String repeatableSqlMigrationPrefix, String sqlMigrationSeparator, String sqlMigrationSuffix,
@@ -78,6 +79,10 @@ public class FlywayConfigurationForTests implements SQLFlywayConfiguration {
         this.migrationResolvers = migrationResolvers;
     }
 
+    public void setResolverThreads(int resolverThreads) {
+        this.resolverThreads = resolverThreads;
+    }
+
     public static FlywayConfigurationForTests create() {
         return new FlywayConfigurationForTests(Thread.currentThread().getContextClassLoader(), new String[0], "UTF-8", "V", "R", "__", ".sql");
     }
@@ -242,6 +247,41 @@ public class FlywayConfigurationForTests implements SQLFlywayConfiguration {
         return false;
     }
 
+    @Override
+    public boolean isPlannedMigrate() {
+        return false;
+    }
+
+    @Override
+    public boolean isBulkMigrate() {
+        return false;
+    }
+
+    @Override
+    public String getSnapshotDir() {
+        return null;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return 0;
+    }
+
+    @Override
+    public String getChecksumCacheFile() {
+        return null;
+    }
+
+    @Override
+    public int getCleanThreads() {
+        return 1;
+    }
+
+    @Override
+    public int getResolverThreads() {
+        return resolverThreads;
+    }
+
     @Override
     public String getEncoding() {
         return this.encoding;
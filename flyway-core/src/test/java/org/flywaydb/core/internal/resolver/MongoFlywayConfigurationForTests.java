@@ -175,6 +175,11 @@ public class MongoFlywayConfigurationForTests implements MongoFlywayConfiguratio
         return false;
     }
 
+    @Override
+    public int getResolverThreads() {
+        return 1;
+    }
+
     public void setRepeatableMongoMigrationPrefix(String repeatablePrefix) {
         this.repeatableMongoMigrationPrefix = repeatablePrefix;
     }
@@ -22,6 +22,7 @@ import org.flywaydb.core.api.resolver.ResolvedMigration;
 import org.flywaydb.core.internal.resolver.FlywayConfigurationForTests;
 import org.flywaydb.core.internal.resolver.jdbc.dummy.V2__InterfaceBasedMigration;
 import org.flywaydb.core.internal.resolver.jdbc.dummy.Version3dot5;
+import org.flywaydb.core.internal.resolver.jdbc.lazy.V1__Lazy;
 import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.scanner.Scanner;
 import org.junit.Test;
@@ -92,4 +93,22 @@ public class JdbcMigrationResolverSmallTest {
         assertEquals("Three Dot Five", migrationInfo.getDescription());
         assertEquals(35, migrationInfo.getChecksum().intValue());
     }
+
+    @Test
+    public void instantiatedOnlyWhenExecuted() throws SQLException {
+        V1__Lazy.instances = 0;
+        JdbcMigrationResolver jdbcMigrationResolver =
+                new JdbcMigrationResolver(scanner, new Location("org/flywaydb/core/internal/resolver/jdbc/lazy"), config);
+        List<ResolvedMigration> migrations = new ArrayList<ResolvedMigration>(jdbcMigrationResolver.resolveMigrations());
+
+        assertEquals(1, migrations.size());
+        assertEquals("1", migrations.get(0).getVersion().toString());
+        assertEquals(V1__Lazy.class.getName(), migrations.get(0).getScript());
+        assertEquals(0, V1__Lazy.instances);
+
+        MigrationExecutor executor = (MigrationExecutor) migrations.get(0).getExecutor();
+        executor.execute(null);
+        executor.execute(null);
+        assertEquals(1, V1__Lazy.instances);
+    }
 }
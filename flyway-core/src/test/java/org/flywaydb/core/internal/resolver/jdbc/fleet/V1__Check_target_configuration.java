@@ -0,0 +1,45 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.jdbc.fleet;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.ConfigurationAware;
+import org.flywaydb.core.api.configuration.FlywayConfiguration;
+import org.flywaydb.core.api.configuration.SQLFlywayConfiguration;
+import org.flywaydb.core.api.migration.jdbc.JdbcMigration;
+import org.flywaydb.core.internal.util.jdbc.DriverDataSource;
+
+import java.sql.Connection;
+
+/**
+ * Test migration checking that the configuration of the target it runs on has been injected.
+ */
+public class V1__Check_target_configuration implements JdbcMigration, ConfigurationAware {
+
+    private FlywayConfiguration flywayConfiguration;
+
+    @Override
+    public void setFlywayConfiguration(FlywayConfiguration flywayConfiguration) {
+        this.flywayConfiguration = flywayConfiguration;
+    }
+
+    public void migrate(Connection connection) throws Exception {
+        String url = ((DriverDataSource) ((SQLFlywayConfiguration) flywayConfiguration).getDataSource()).getUrl();
+        if (!url.startsWith(connection.getMetaData().getURL() + ";")) {
+            throw new FlywayException("Configuration of another target injected: " + url);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package org.flywaydb.core.internal.resolver.mongoscript;
 
 import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.resolver.ChecksumCalculator;
 import org.flywaydb.core.internal.resolver.MongoFlywayConfigurationForTests;
 import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.scanner.Scanner;
@@ -115,7 +116,7 @@ public class MongoScriptMigrationResolverSmallTest {
 
     @Test
     public void calculateChecksum() {
-        assertEquals(MongoScriptMigrationResolver.calculateChecksum(null, "abc\ndef efg\nxyz"),
-                MongoScriptMigrationResolver.calculateChecksum(null, "abc\r\ndef efg\nxyz\r\n"));
+        assertEquals(ChecksumCalculator.calculate("abc\ndef efg\nxyz"),
+                ChecksumCalculator.calculate("abc\r\ndef efg\nxyz\r\n"));
     }
 }
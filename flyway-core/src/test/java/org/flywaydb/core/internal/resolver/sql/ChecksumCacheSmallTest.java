@@ -0,0 +1,204 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.sql;
+
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.resolver.FlywayConfigurationForTests;
+import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.scanner.Scanner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for ChecksumCache.
+ */
+public class ChecksumCacheSmallTest {
+    private final Scanner scanner = new Scanner(Thread.currentThread().getContextClassLoader());
+
+    private File cacheFile;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheFile = File.createTempFile("flyway-checksums", ".properties");
+        //noinspection ResultOfMethodCallIgnored
+        cacheFile.delete();
+    }
+
+    @After
+    public void tearDown() {
+        //noinspection ResultOfMethodCallIgnored
+        cacheFile.delete();
+    }
+
+    @Test
+    public void sameChecksumsAsWithoutCache() {
+        List<ResolvedMigration> expected = resolve(null);
+
+        assertEquals(expected.size(), resolve(new ChecksumCache(cacheFile, "UTF-8")).size());
+        assertTrue(cacheFile.isFile());
+
+        List<ResolvedMigration> cached = resolve(new ChecksumCache(cacheFile, "UTF-8"));
+        assertEquals(expected.size(), cached.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getScript(), cached.get(i).getScript());
+            assertEquals(expected.get(i).getChecksum(), cached.get(i).getChecksum());
+        }
+    }
+
+    @Test
+    public void cachedChecksumUsed() throws IOException {
+        resolve(new ChecksumCache(cacheFile, "UTF-8"));
+
+        Properties properties = load();
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key);
+            if (!key.equals("flyway.encoding")) {
+                properties.setProperty(key, value.substring(0, value.lastIndexOf('|')) + "|42");
+            }
+        }
+        store(properties);
+
+        for (ResolvedMigration migration : resolve(new ChecksumCache(cacheFile, "UTF-8"))) {
+            assertEquals(42, migration.getChecksum().intValue());
+        }
+    }
+
+    @Test
+    public void staleEntriesIgnored() throws IOException {
+        List<ResolvedMigration> expected = resolve(null);
+        resolve(new ChecksumCache(cacheFile, "UTF-8"));
+
+        Properties properties = load();
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.equals("flyway.encoding")) {
+                properties.setProperty(key, "file:0:0|42");
+            }
+        }
+        store(properties);
+
+        List<ResolvedMigration> resolved = resolve(new ChecksumCache(cacheFile, "UTF-8"));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getChecksum(), resolved.get(i).getChecksum());
+        }
+        assertFalse(load().containsValue("file:0:0|42"));
+    }
+
+    @Test
+    public void otherEncodingIgnored() throws IOException {
+        List<ResolvedMigration> expected = resolve(null);
+        resolve(new ChecksumCache(cacheFile, "ISO-8859-1"));
+
+        List<ResolvedMigration> resolved = resolve(new ChecksumCache(cacheFile, "UTF-8"));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getChecksum(), resolved.get(i).getChecksum());
+        }
+        assertEquals("UTF-8", load().getProperty("flyway.encoding"));
+    }
+
+    @Test
+    public void corruptCacheIgnored() throws IOException {
+        List<ResolvedMigration> expected = resolve(null);
+
+        OutputStream outputStream = new FileOutputStream(cacheFile);
+        outputStream.write("flyway.encoding=UTF-8\nbroken=\\uZZZZ".getBytes("ISO-8859-1"));
+        outputStream.close();
+
+        List<ResolvedMigration> resolved = resolve(new ChecksumCache(cacheFile, "UTF-8"));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getChecksum(), resolved.get(i).getChecksum());
+        }
+        assertEquals(expected.size() + 1, load().size());
+    }
+
+    @Test
+    public void unchangedCacheNotWritten() throws IOException {
+        resolve(new ChecksumCache(cacheFile, "UTF-8"));
+        long lastModified = cacheFile.lastModified();
+        assertTrue(cacheFile.setLastModified(lastModified - 60000));
+
+        resolve(new ChecksumCache(cacheFile, "UTF-8"));
+        new ChecksumCache(cacheFile, "UTF-8").save();
+        assertEquals(lastModified - 60000, cacheFile.lastModified());
+    }
+
+    @Test
+    public void entriesOfOtherLocationsKept() throws IOException {
+        resolve(new ChecksumCache(cacheFile, "UTF-8"));
+        int subdirEntries = load().size();
+
+        resolve(new ChecksumCache(cacheFile, "UTF-8"), "migration/sql");
+        int sqlEntries = resolve(null, "migration/sql").size();
+        assertEquals(subdirEntries + sqlEntries, load().size());
+    }
+
+    @Test
+    public void entriesOfDeletedScriptsPruned() throws IOException {
+        resolve(new ChecksumCache(cacheFile, "UTF-8"));
+        Properties properties = load();
+        String missing = new File(cacheFile.getParentFile(), "V999__Deleted.sql").getAbsolutePath();
+        properties.setProperty(missing, "file:1:1|42");
+        store(properties);
+
+        resolve(new ChecksumCache(cacheFile, "UTF-8"), "migration/sql");
+        assertFalse(load().containsKey(missing));
+    }
+
+    private List<ResolvedMigration> resolve(ChecksumCache checksumCache) {
+        return resolve(checksumCache, "migration/subdir");
+    }
+
+    private List<ResolvedMigration> resolve(ChecksumCache checksumCache, String location) {
+        List<ResolvedMigration> migrations = new SqlMigrationResolver(null, scanner, new Location(location),
+                PlaceholderReplacer.NO_PLACEHOLDERS, FlywayConfigurationForTests.create(), checksumCache).resolveMigrations();
+        if (checksumCache != null) {
+            checksumCache.save();
+        }
+        return migrations;
+    }
+
+    private Properties load() throws IOException {
+        Properties properties = new Properties();
+        InputStream inputStream = new FileInputStream(cacheFile);
+        try {
+            properties.load(inputStream);
+        } finally {
+            inputStream.close();
+        }
+        return properties;
+    }
+
+    private void store(Properties properties) throws IOException {
+        OutputStream outputStream = new FileOutputStream(cacheFile);
+        try {
+            properties.store(outputStream, null);
+        } finally {
+            outputStream.close();
+        }
+    }
+}
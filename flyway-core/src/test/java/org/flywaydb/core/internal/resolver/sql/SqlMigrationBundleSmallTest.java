@@ -0,0 +1,224 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.sql;
+
+import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.resolver.FlywayConfigurationForTests;
+import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.scanner.Scanner;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for SqlMigrationBundle.
+ */
+public class SqlMigrationBundleSmallTest {
+    private final Location location = new Location("classpath:db/bundle");
+
+    @Test
+    public void writeAndLoad() throws Exception {
+        File dir = createMigrations();
+        assertEquals(3, SqlMigrationBundle.write(dir, location, FlywayConfigurationForTests.create()));
+
+        SqlMigrationBundle bundle = SqlMigrationBundle.load(classLoader(dir), location, FlywayConfigurationForTests.create());
+        assertNotNull(bundle);
+        assertEquals(3, bundle.getMigrations().size());
+        assertEquals(1, bundle.getCallbacks().size());
+        assertEquals("db/bundle/afterMigrate.sql", bundle.getCallbacks().get(0).getResourcePath());
+    }
+
+    @Test
+    public void resolveSameAsScan() throws Exception {
+        File dir = createMigrations();
+        SqlMigrationBundle.write(dir, location, FlywayConfigurationForTests.create());
+        Scanner scanner = new Scanner(classLoader(dir));
+
+        List<ResolvedMigration> expected = new SqlMigrationResolver(null, scanner, location,
+                PlaceholderReplacer.NO_PLACEHOLDERS, FlywayConfigurationForTests.create()).resolveMigrations();
+        List<ResolvedMigration> migrations = new ArrayList<ResolvedMigration>(new SqlMigrationBundleResolver(null, scanner,
+                location, PlaceholderReplacer.NO_PLACEHOLDERS, FlywayConfigurationForTests.create(), new FailingResolver())
+                .resolveMigrations());
+
+        assertEquals(expected.size(), migrations.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getVersion(), migrations.get(i).getVersion());
+            assertEquals(expected.get(i).getDescription(), migrations.get(i).getDescription());
+            assertEquals(expected.get(i).getScript(), migrations.get(i).getScript());
+            assertEquals(expected.get(i).getChecksum(), migrations.get(i).getChecksum());
+            assertEquals(expected.get(i).getPhysicalLocation(), migrations.get(i).getPhysicalLocation());
+        }
+    }
+
+    @Test
+    public void staleConfiguration() throws Exception {
+        File dir = createMigrations();
+        SqlMigrationBundle.write(dir, location, FlywayConfigurationForTests.create());
+
+        assertNull(SqlMigrationBundle.load(classLoader(dir), location, FlywayConfigurationForTests.createWithPrefix("M")));
+    }
+
+    @Test
+    public void incompleteCoverage() throws Exception {
+        File dir = createMigrations();
+        SqlMigrationBundle.write(dir, location, FlywayConfigurationForTests.create());
+        File other = createMigrations();
+
+        ClassLoader classLoader = new URLClassLoader(new URL[]{dir.toURI().toURL(), other.toURI().toURL()}, null);
+        assertNull(SqlMigrationBundle.load(classLoader, location, FlywayConfigurationForTests.create()));
+    }
+
+    @Test
+    public void jarWithoutDirectoryEntriesNotCovered() throws Exception {
+        File dir = createMigrations();
+        SqlMigrationBundle.write(dir, location, FlywayConfigurationForTests.create());
+        File jar = File.createTempFile("flyway-bundle", ".jar");
+        jar.deleteOnExit();
+        JarOutputStream out = new JarOutputStream(new FileOutputStream(jar));
+        try {
+            out.putNextEntry(new JarEntry("db/bundle/V3__Third.sql"));
+            out.write("CREATE TABLE third (id INT);".getBytes("UTF-8"));
+            out.closeEntry();
+        } finally {
+            out.close();
+        }
+
+        ClassLoader classLoader = new URLClassLoader(new URL[]{dir.toURI().toURL(), jar.toURI().toURL()}, null);
+        assertNull(SqlMigrationBundle.load(classLoader, location, FlywayConfigurationForTests.create()));
+    }
+
+    @Test
+    public void scriptEditedAfterBundling() throws Exception {
+        File dir = createMigrations();
+        SqlMigrationBundle.write(dir, location, FlywayConfigurationForTests.create());
+        writeFile(new File(dir, "db/bundle/V1__First.sql"), "CREATE TABLE first (id INT, name VARCHAR(10));");
+        assertNull(SqlMigrationBundle.load(classLoader(dir), location, FlywayConfigurationForTests.create()));
+
+        Scanner scanner = new Scanner(classLoader(dir));
+        SqlMigrationResolver fallback = new SqlMigrationResolver(null, scanner, location,
+                PlaceholderReplacer.NO_PLACEHOLDERS, FlywayConfigurationForTests.create());
+        List<ResolvedMigration> expected = fallback.resolveMigrations();
+        List<ResolvedMigration> migrations = new ArrayList<ResolvedMigration>(new SqlMigrationBundleResolver(null, scanner,
+                location, PlaceholderReplacer.NO_PLACEHOLDERS, FlywayConfigurationForTests.create(), fallback)
+                .resolveMigrations());
+        assertEquals(expected.size(), migrations.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getChecksum(), migrations.get(i).getChecksum());
+        }
+    }
+
+    @Test
+    public void scriptTouchedAfterBundling() throws Exception {
+        File dir = createMigrations();
+        SqlMigrationBundle.write(dir, location, FlywayConfigurationForTests.create());
+        File script = new File(dir, "db/bundle/sub/V2__Second.sql");
+        assertTrue(script.setLastModified(script.lastModified() - 60000));
+
+        assertNull(SqlMigrationBundle.load(classLoader(dir), location, FlywayConfigurationForTests.create()));
+    }
+
+    @Test
+    public void scriptAddedAfterBundling() throws Exception {
+        File dir = createMigrations();
+        SqlMigrationBundle.write(dir, location, FlywayConfigurationForTests.create());
+        writeFile(new File(dir, "db/bundle/sub/V3__Third.sql"), "CREATE TABLE third (id INT);");
+
+        assertNull(SqlMigrationBundle.load(classLoader(dir), location, FlywayConfigurationForTests.create()));
+    }
+
+    @Test
+    public void scriptRemovedAfterBundling() throws Exception {
+        File dir = createMigrations();
+        SqlMigrationBundle.write(dir, location, FlywayConfigurationForTests.create());
+        assertTrue(new File(dir, "db/bundle/R__Repeatable.sql").delete());
+
+        assertNull(SqlMigrationBundle.load(classLoader(dir), location, FlywayConfigurationForTests.create()));
+    }
+
+    @Test
+    public void noBundle() throws Exception {
+        assertNull(SqlMigrationBundle.load(classLoader(createMigrations()), location, FlywayConfigurationForTests.create()));
+    }
+
+    /**
+     * @return A new temporary directory containing a few migrations and a callback below db/bundle.
+     */
+    private File createMigrations() throws IOException {
+        File dir = File.createTempFile("flyway-bundle", "");
+        dir.delete();
+        dir.deleteOnExit();
+        writeFile(new File(dir, "db/bundle/V1__First.sql"), "CREATE TABLE first (id INT);");
+        writeFile(new File(dir, "db/bundle/sub/V2__Second.sql"), "CREATE TABLE second (id INT);");
+        writeFile(new File(dir, "db/bundle/R__Repeatable.sql"), "CREATE VIEW v AS SELECT * FROM first;");
+        writeFile(new File(dir, "db/bundle/afterMigrate.sql"), "SELECT 1;");
+        writeFile(new File(dir, "db/bundle/README.txt"), "Not a migration");
+        return dir;
+    }
+
+    /**
+     * (Over)writes this file with these contents, creating its parent directories if necessary.
+     *
+     * @param file     The file.
+     * @param contents The contents.
+     */
+    private void writeFile(File file, String contents) throws IOException {
+        file.getParentFile().mkdirs();
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(contents);
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * @param dir The directory.
+     * @return A ClassLoader with only this directory on its classpath.
+     */
+    private ClassLoader classLoader(File dir) throws IOException {
+        return new URLClassLoader(new URL[]{dir.toURI().toURL()}, null);
+    }
+
+    /**
+     * Fallback resolver that must not be used.
+     */
+    private static class FailingResolver implements MigrationResolver {
+        @Override
+        public Collection<ResolvedMigration> resolveMigrations() {
+            fail("Bundle was not used");
+            return null;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package org.flywaydb.core.internal.resolver.sql;
 
 import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.resolver.ChecksumCalculator;
 import org.flywaydb.core.internal.resolver.FlywayConfigurationForTests;
 import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
@@ -57,6 +58,24 @@ public class SqlMigrationResolverSmallTest {
         assertEquals("dir2/V2_0__Add_foreign_key.sql", migrationList.get(2).getScript());
     }
 
+    @Test
+    public void resolveMigrationsParallel() {
+        List<ResolvedMigration> expected = new SqlMigrationResolver(null, scanner, new Location(""),
+                PlaceholderReplacer.NO_PLACEHOLDERS, FlywayConfigurationForTests.create()).resolveMigrations();
+
+        FlywayConfigurationForTests configuration = FlywayConfigurationForTests.create();
+        configuration.setResolverThreads(4);
+        List<ResolvedMigration> migrations = new SqlMigrationResolver(null, scanner, new Location(""),
+                PlaceholderReplacer.NO_PLACEHOLDERS, configuration).resolveMigrations();
+
+        assertTrue(expected.size() > 1);
+        assertEquals(expected.size(), migrations.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getScript(), migrations.get(i).getScript());
+            assertEquals(expected.get(i).getChecksum(), migrations.get(i).getChecksum());
+        }
+    }
+
     @Test
     public void resolveMigrationsRoot() {
         FlywayConfigurationForTests configuration = FlywayConfigurationForTests.createWithPrefix("CheckValidate");
@@ -114,7 +133,7 @@ public class SqlMigrationResolverSmallTest {
 
     @Test
     public void calculateChecksum() {
-        assertEquals(SqlMigrationResolver.calculateChecksum(null, "abc\ndef efg\nxyz"),
-                SqlMigrationResolver.calculateChecksum(null, "abc\r\ndef efg\nxyz\r\n"));
+        assertEquals(ChecksumCalculator.calculate("abc\ndef efg\nxyz"),
+                ChecksumCalculator.calculate("abc\r\ndef efg\nxyz\r\n"));
     }
 }
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util;
+
+import org.flywaydb.core.api.FlywayException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testcase for ParallelUtils.
+ */
+public class ParallelUtilsSmallTest {
+    @Test
+    public void invokeAllKeepsTaskOrder() {
+        List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        for (int i = 0; i < 100; i++) {
+            final int value = i;
+            tasks.add(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    Thread.sleep(value % 7);
+                    return value;
+                }
+            });
+        }
+
+        List<Integer> results = ParallelUtils.invokeAll(tasks, 8, "test");
+        assertEquals(100, results.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, results.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void invokeAllSingleThread() {
+        final Thread caller = Thread.currentThread();
+        List<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
+        for (int i = 0; i < 3; i++) {
+            tasks.add(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    return Thread.currentThread() == caller;
+                }
+            });
+        }
+
+        for (Boolean onCallingThread : ParallelUtils.invokeAll(tasks, 1, "test")) {
+            assertTrue(onCallingThread);
+        }
+    }
+
+    @Test
+    public void invokeAllRuntimeException() {
+        try {
+            ParallelUtils.invokeAll(failingTasks(new FlywayException("Boom")), 4, "test");
+            fail();
+        } catch (FlywayException e) {
+            assertEquals("Boom", e.getMessage());
+        }
+    }
+
+    @Test
+    public void invokeAllCheckedException() {
+        try {
+            ParallelUtils.invokeAll(failingTasks(new IOException("Boom")), 4, "test");
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    private List<Callable<Object>> failingTasks(final Exception exception) {
+        List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+        for (int i = 0; i < 10; i++) {
+            final int value = i;
+            tasks.add(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    if (value == 5) {
+                        throw exception;
+                    }
+                    return value;
+                }
+            });
+        }
+        return tasks;
+    }
+}
@@ -88,6 +88,35 @@ public class PlaceholderReplacerSmallTest {
         placeholderReplacer.replacePlaceholders(TEST_STR + TEST_STR);
     }
 
+    @Test
+    public void valuesNotReplacedAgain() {
+        Map<String, String> placeholders = new HashMap<String, String>();
+        placeholders.put("placeholder", "${replace}");
+        placeholders.put("replace", "be replaced");
+        PlaceholderReplacer placeholderReplacer = new PlaceholderReplacer(placeholders, "${", "}");
+
+        assertEquals("No ${replace} #[left] to be replaced", placeholderReplacer.replacePlaceholders(TEST_STR));
+    }
+
+    @Test
+    public void incompleteExpressions() {
+        Map<String, String> placeholders = new HashMap<String, String>();
+        placeholders.put("a", "1");
+        PlaceholderReplacer placeholderReplacer = new PlaceholderReplacer(placeholders, "${", "}");
+
+        assertEquals("$1 ${\n} ${a", placeholderReplacer.replacePlaceholders("$${a} ${\n} ${a"));
+    }
+
+    @Test
+    public void strayPrefixBeforeExpression() {
+        Map<String, String> placeholders = new HashMap<String, String>();
+        placeholders.put("schema", "public");
+        PlaceholderReplacer placeholderReplacer = new PlaceholderReplacer(placeholders, "${", "}");
+
+        assertEquals("SELECT '${' || x, public", placeholderReplacer.replacePlaceholders("SELECT '${' || x, ${schema}"));
+        assertEquals("${public", placeholderReplacer.replacePlaceholders("${${schema}"));
+    }
+
     @Test
     public void noPlaceholders() {
         PlaceholderReplacer placeholderReplacer = PlaceholderReplacer.NO_PLACEHOLDERS;
@@ -54,6 +54,15 @@ public class StringUtilsSmallTest {
         assertEquals(" a b c ", StringUtils.collapseWhitespace("   a b   c  "));
     }
 
+    @Test
+    public void replaceAll() {
+        assertEquals("", StringUtils.replaceAll("", "a", "b"));
+        assertEquals("xyz", StringUtils.replaceAll("xyz", "a", "b"));
+        assertEquals("b-b-b", StringUtils.replaceAll("a-a-a", "a", "b"));
+        assertEquals("$1\\", StringUtils.replaceAll("ab", "ab", "$1\\"));
+        assertEquals("-a-b-", StringUtils.replaceAll("ab", "", "-"));
+    }
+
     @Test
     public void tokenizeToStringArray() {
         assertArrayEquals(new String[]{"abc"}, StringUtils.tokenizeToStringArray("abc", ","));
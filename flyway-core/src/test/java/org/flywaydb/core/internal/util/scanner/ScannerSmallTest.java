@@ -0,0 +1,55 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner;
+
+import org.flywaydb.core.internal.util.Location;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for Scanner.
+ */
+public class ScannerSmallTest {
+    private final Scanner scanner = new Scanner(Thread.currentThread().getContextClassLoader());
+
+    @Test
+    public void scanForResourcesWithMultiplePrefixes() {
+        Resource[][] resources =
+                scanner.scanForResources(new Location("classpath:migration/repeatable"), new String[]{"V", "R__", ""}, ".sql");
+
+        assertEquals(0, resources[0].length);
+        assertEquals(2, resources[1].length);
+        assertEquals("R__All_View.sql", resources[1][0].getFilename());
+        assertEquals("R__Other_View.sql", resources[1][1].getFilename());
+        assertEquals(2, resources[2].length);
+    }
+
+    @Test
+    public void scanForResourcesReusesWalk() {
+        Location location = new Location("classpath:migration/sql");
+
+        Resource[] versioned = scanner.scanForResources(location, "V", ".sql");
+        Resource[] all = scanner.scanForResources(location, "", "");
+
+        assertEquals(4, versioned.length);
+        assertEquals(4, all.length);
+        for (int i = 0; i < versioned.length; i++) {
+            assertSame(versioned[i], all[i]);
+        }
+    }
+}
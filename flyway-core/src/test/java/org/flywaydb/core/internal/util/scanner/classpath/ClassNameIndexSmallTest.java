@@ -0,0 +1,186 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import org.flywaydb.core.api.migration.jdbc.JdbcMigration;
+import org.flywaydb.core.internal.resolver.jdbc.dummy.DummyAbstractJdbcMigration;
+import org.flywaydb.core.internal.resolver.jdbc.dummy.V2__InterfaceBasedMigration;
+import org.flywaydb.core.internal.resolver.jdbc.dummy.V4__DummyExtendedAbstractJdbcMigration;
+import org.flywaydb.core.internal.util.ClassUtils;
+import org.flywaydb.core.internal.util.FileCopyUtils;
+import org.flywaydb.core.internal.util.Location;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for ClassNameIndex.
+ */
+public class ClassNameIndexSmallTest {
+    private final Location location = new Location("classpath:org/flywaydb/core/internal/resolver/jdbc/dummy");
+
+    @Test
+    public void noIndex() throws Exception {
+        assertNull(ClassNameIndex.read(Thread.currentThread().getContextClassLoader(), location));
+    }
+
+    @Test
+    public void writeAndRead() throws Exception {
+        File dir = createTempDir();
+        createClassFiles(dir, "V1__First", "V2__Second");
+        ClassNameIndex.write(dir, location, Arrays.asList(toClassName("V2__Second"), toClassName("V1__First")));
+
+        Set<String> classNames = ClassNameIndex.read(new URLClassLoader(new URL[]{dir.toURI().toURL()}, null), location);
+        assertEquals(Arrays.asList(toClassName("V1__First"), toClassName("V2__Second")), Arrays.asList(classNames.toArray()));
+    }
+
+    @Test
+    public void staleIndexClassAdded() throws Exception {
+        File dir = createTempDir();
+        createClassFiles(dir, "V1__First");
+        assertEquals(1, ClassNameIndex.generate(dir, location));
+        createClassFiles(dir, "V2__Second");
+
+        assertNull(ClassNameIndex.read(new URLClassLoader(new URL[]{dir.toURI().toURL()}, null), location));
+    }
+
+    @Test
+    public void staleIndexOlderThanDirectory() throws Exception {
+        File dir = createTempDir();
+        createClassFiles(dir, "V1__First");
+        assertEquals(1, ClassNameIndex.generate(dir, location));
+        File indexFile = new File(new File(dir, location.getPath()), ClassNameIndex.FILE_NAME);
+        assertTrue(indexFile.setLastModified(indexFile.lastModified() - 60000));
+
+        assertNull(ClassNameIndex.read(new URLClassLoader(new URL[]{dir.toURI().toURL()}, null), location));
+    }
+
+    @Test
+    public void indexMissingInOneRoot() throws Exception {
+        File indexedDir = createTempDir();
+        createClassFiles(indexedDir, "V1__First");
+        assertEquals(1, ClassNameIndex.generate(indexedDir, location));
+        File otherDir = createTempDir();
+        createClassFiles(otherDir, "V2__Second");
+
+        assertNull(ClassNameIndex.read(new URLClassLoader(
+                new URL[]{indexedDir.toURI().toURL(), otherDir.toURI().toURL()}, null), location));
+    }
+
+    @Test
+    public void scanWithIndex() throws Exception {
+        File dir = createTempDir();
+        copyClassFiles(dir, V2__InterfaceBasedMigration.class, V4__DummyExtendedAbstractJdbcMigration.class,
+                DummyAbstractJdbcMigration.class);
+        assertEquals(3, ClassNameIndex.generate(dir, location));
+
+        String[] classNames = new ClassPathScanner(createClassLoader(dir)).scanForClassNames(location, JdbcMigration.class);
+        assertArrayEquals(new String[]{
+                V2__InterfaceBasedMigration.class.getName(), V4__DummyExtendedAbstractJdbcMigration.class.getName()
+        }, classNames);
+    }
+
+    @Test
+    public void scanWithStaleIndex() throws Exception {
+        File dir = createTempDir();
+        copyClassFiles(dir, V2__InterfaceBasedMigration.class, V4__DummyExtendedAbstractJdbcMigration.class,
+                DummyAbstractJdbcMigration.class);
+        ClassNameIndex.write(dir, location, Arrays.asList(V2__InterfaceBasedMigration.class.getName()));
+
+        String[] classNames = new ClassPathScanner(createClassLoader(dir)).scanForClassNames(location, JdbcMigration.class);
+        assertArrayEquals(new String[]{
+                V2__InterfaceBasedMigration.class.getName(), V4__DummyExtendedAbstractJdbcMigration.class.getName()
+        }, classNames);
+    }
+
+    /**
+     * @param simpleName The simple name of a class in the location.
+     * @return The fully qualified name of the class.
+     */
+    private String toClassName(String simpleName) {
+        return location.getPath().replace('/', '.') + "." + simpleName;
+    }
+
+    /**
+     * Creates empty class files in the location below this directory.
+     *
+     * @param dir         The root directory.
+     * @param simpleNames The simple names of the classes.
+     */
+    private void createClassFiles(File dir, String... simpleNames) throws IOException {
+        File locationDir = new File(dir, location.getPath());
+        locationDir.mkdirs();
+        for (String simpleName : simpleNames) {
+            new FileOutputStream(new File(locationDir, simpleName + ".class")).close();
+        }
+    }
+
+    /**
+     * Copies the class files of these classes from the test classpath to the location below this directory.
+     *
+     * @param dir     The root directory.
+     * @param classes The classes, all in the location.
+     */
+    private void copyClassFiles(File dir, Class<?>... classes) throws IOException {
+        File locationDir = new File(dir, location.getPath());
+        locationDir.mkdirs();
+        for (Class<?> aClass : classes) {
+            byte[] bytes = FileCopyUtils.copyToByteArray(
+                    aClass.getResourceAsStream(aClass.getSimpleName() + ".class"));
+            OutputStream out = new FileOutputStream(new File(locationDir, aClass.getSimpleName() + ".class"));
+            try {
+                out.write(bytes);
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Creates a ClassLoader for this directory and the Flyway classes only, so the location has this directory as its
+     * single classpath root.
+     *
+     * @param dir The root directory.
+     * @return The ClassLoader.
+     */
+    private ClassLoader createClassLoader(File dir) throws IOException {
+        File flywayClasses = new File(ClassUtils.getLocationOnDisk(JdbcMigration.class));
+        return new URLClassLoader(new URL[]{dir.toURI().toURL(), flywayClasses.toURI().toURL()}, null);
+    }
+
+    /**
+     * @return A new empty temporary directory.
+     */
+    private File createTempDir() throws IOException {
+        File dir = File.createTempFile("flyway-index", "");
+        dir.delete();
+        dir.mkdirs();
+        dir.deleteOnExit();
+        return dir;
+    }
+}
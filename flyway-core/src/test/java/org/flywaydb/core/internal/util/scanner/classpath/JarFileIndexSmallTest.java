@@ -0,0 +1,125 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.scanner.Resource;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for JarFileIndex.
+ */
+public class JarFileIndexSmallTest {
+    private final ClassLoader classLoader = new URLClassLoader(new URL[0]);
+
+    @Test
+    public void withoutDirectoryEntries() throws Exception {
+        File jar = createJar("db/migration/V1__First.sql", "db/migration/V2__Second.sql");
+
+        JarFileIndex index = JarFileIndex.forJarFile(classLoader, jar);
+        assertFalse(index.hasDirectoryEntries());
+        assertEquals(Arrays.asList("db/migration/V1__First.sql", "db/migration/V2__Second.sql"), index.getEntryNames());
+    }
+
+    @Test
+    public void withDirectoryEntries() throws Exception {
+        File jar = createJar("db/", "db/migration/", "db/migration/V1__First.sql");
+
+        JarFileIndex index = JarFileIndex.forJarFile(classLoader, jar);
+        assertTrue(index.hasDirectoryEntries());
+        assertTrue(index.getEntryNames().isEmpty());
+    }
+
+    @Test
+    public void cached() throws Exception {
+        File jar = createJar("db/migration/V1__First.sql");
+
+        assertSame(JarFileIndex.forJarFile(classLoader, jar), JarFileIndex.forJarFile(classLoader, jar));
+    }
+
+    @Test
+    public void invalidatedWhenJarChanges() throws Exception {
+        File jar = createJar("db/migration/V1__First.sql");
+        JarFileIndex index = JarFileIndex.forJarFile(classLoader, jar);
+
+        writeJar(jar, "db/migration/V1__First.sql", "db/migration/V2__Second_with_a_longer_name.sql");
+
+        JarFileIndex changed = JarFileIndex.forJarFile(classLoader, jar);
+        assertEquals(1, index.getEntryNames().size());
+        assertEquals(2, changed.getEntryNames().size());
+    }
+
+    @Test
+    public void scanJarWithoutDirectoryEntries() throws Exception {
+        File jar = createJar("db/flat/V1__First.sql", "db/flat/V2__Second.sql", "db/flat/README.txt");
+        ClassPathScanner classPathScanner =
+                new ClassPathScanner(new URLClassLoader(new URL[]{jar.toURI().toURL()}, null));
+
+        Resource[] resources = classPathScanner.scanForResources(new Location("classpath:db/flat"), "V", ".sql");
+        assertEquals(2, resources.length);
+        assertEquals("db/flat/V1__First.sql", resources[0].getLocation());
+        assertEquals("db/flat/V2__Second.sql", resources[1].getLocation());
+
+        resources = classPathScanner.scanForResources(new Location("classpath:db/flat"), "", ".txt");
+        assertEquals(1, resources.length);
+        assertEquals("db/flat/README.txt", resources[0].getLocation());
+    }
+
+    /**
+     * Creates a temporary jar file containing empty entries with these names.
+     *
+     * @param entryNames The names of the entries.
+     * @return The jar file.
+     */
+    private File createJar(String... entryNames) throws IOException {
+        File file = File.createTempFile("flyway-index", ".jar");
+        file.deleteOnExit();
+        writeJar(file, entryNames);
+        return file;
+    }
+
+    /**
+     * (Over)writes this jar file with empty entries with these names.
+     *
+     * @param file       The jar file.
+     * @param entryNames The names of the entries.
+     */
+    private void writeJar(File file, String... entryNames) throws IOException {
+        JarOutputStream out = new JarOutputStream(new FileOutputStream(file));
+        try {
+            for (String entryName : entryNames) {
+                out.putNextEntry(new JarEntry(entryName));
+                out.closeEntry();
+            }
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -16,8 +16,14 @@
 package org.flywaydb.core.internal.util.scanner.filesystem;
 
 import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.scanner.Resource;
 import org.junit.Test;
 
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 /**
  * Test for FileSystemScanner.
  */
@@ -26,4 +32,21 @@ public class FileSystemScannerMediumTest {
     public void nonExistentDirectory() throws Exception {
         new FileSystemScanner().scanForResources(new Location("filesystem:/invalid-path"), "", "");
     }
+
+    @Test
+    public void parallel() throws Exception {
+        Location location = new Location("filesystem:src/test/resources/migration");
+
+        Resource[] expected = new FileSystemScanner().scanForResources(location, "V", ".sql");
+        Resource[] actual = new FileSystemScanner(4).scanForResources(location, "V", ".sql");
+
+        assertTrue(expected.length > 10);
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getLocationOnDisk(), actual[i].getLocationOnDisk());
+            if (i > 0) {
+                assertTrue(new File(actual[i - 1].getLocationOnDisk()).compareTo(new File(actual[i].getLocationOnDisk())) < 0);
+            }
+        }
+    }
 }
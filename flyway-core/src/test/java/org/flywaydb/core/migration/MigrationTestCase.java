@@ -233,6 +233,30 @@ public abstract class MigrationTestCase {
         assertEquals(2, jdbcTemplate.queryForInt("select count(*) from all_misters"));
     }
 
+    @Test
+    public void migratePlanned() throws Exception {
+        flyway.setLocations(getBasedir());
+        flyway.setPlannedMigrate(true);
+        assertEquals(4, flyway.migrate());
+        assertEquals("2.0", flyway.info().current().getVersion().toString());
+        assertEquals(0, flyway.migrate());
+
+        for (MigrationInfo migrationInfo : flyway.info().applied()) {
+            assertChecksum(migrationInfo);
+        }
+
+        assertEquals(2, jdbcTemplate.queryForInt("select count(*) from all_misters"));
+    }
+
+    @Test
+    public void migrateBatched() throws Exception {
+        flyway.setLocations(getBasedir());
+        flyway.setBatchSize(2);
+        assertEquals(4, flyway.migrate());
+        assertEquals("2.0", flyway.info().current().getVersion().toString());
+        assertEquals(2, jdbcTemplate.queryForInt("select count(*) from all_misters"));
+    }
+
     @Test
     public void target() throws Exception {
         flyway.setLocations(getBasedir());
@@ -368,6 +392,43 @@ public abstract class MigrationTestCase {
         }
     }
 
+    @Test
+    public void failedMigrationWithoutPendingMigrations() throws Exception {
+        if (dbSupport.supportsDdlTransactions()) {
+            // The failed migration is rolled back and remains pending
+            return;
+        }
+
+        flyway.setValidateOnMigrate(false);
+        flyway.setLocations(getMigrationDir() + "/failed");
+        Map<String, String> placeholders = new HashMap<String, String>();
+        placeholders.put("tableName", dbSupport.quote("before_the_error"));
+        flyway.setPlaceholders(placeholders);
+
+        try {
+            flyway.migrate();
+            fail();
+        } catch (FlywaySqlScriptException e) {
+            // Expected
+        }
+
+        // Nothing is pending anymore, so the failed migration must be detected before taking the lock
+        try {
+            flyway.migrate();
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getMessage().contains("contains a failed migration"));
+        }
+    }
+
+    @Test
+    public void metaDataTableCreatedWithoutPendingMigrations() throws Exception {
+        flyway.setLocations(getMigrationDir() + "/empty");
+        assertEquals(0, flyway.migrate());
+        assertTrue(dbSupport.getSchema(flyway.getSchemas()[0]).getTable(flyway.getTable()).exists());
+        assertEquals(0, flyway.migrate());
+    }
+
     @Test
     public void futureFailedMigration() throws Exception {
         flyway.setValidateOnMigrate(false);
@@ -195,6 +195,12 @@ public class FlywayExtension {
      */
     public Boolean cleanDisabled;
 
+    /**
+     * The directory in which reset stores snapshots of migrated schemas.
+     * (default: flyway-snapshots in the system temporary directory)
+     */
+    public String snapshotDir;
+
     /**
      * <p>
      * Whether to automatically call baseline when migrate is executed against a non-empty schema with no metadata table.
@@ -212,4 +218,10 @@ public class FlywayExtension {
      * @param baselineOnMigrate {@code true} if baseline should be called on migrate for non-empty schemas, {@code false} if not. (default: {@code false})
      */
     public Boolean baselineOnMigrate;
+
+    /**
+     * The maximum number of threads to use for loading migrations and calculating their checksums. Values lower than
+     * 2 resolve all migrations on the calling thread. (default: 1)
+     */
+    public Integer resolverThreads;
 }
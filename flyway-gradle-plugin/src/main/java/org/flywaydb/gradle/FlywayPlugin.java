@@ -17,10 +17,12 @@ package org.flywaydb.gradle;
 
 import org.flywaydb.gradle.FlywayExtension;
 import org.flywaydb.gradle.task.FlywayBaselineTask;
+import org.flywaydb.gradle.task.FlywayBundleTask;
 import org.flywaydb.gradle.task.FlywayCleanTask;
 import org.flywaydb.gradle.task.FlywayInfoTask;
 import org.flywaydb.gradle.task.FlywayMigrateTask;
 import org.flywaydb.gradle.task.FlywayRepairTask;
+import org.flywaydb.gradle.task.FlywayResetTask;
 import org.flywaydb.gradle.task.FlywayValidateTask;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
@@ -34,6 +36,8 @@ public class FlywayPlugin implements Plugin<Project> {
         project.getTasks().create("flywayClean", FlywayCleanTask.class);
         project.getTasks().create("flywayBaseline", FlywayBaselineTask.class);
         project.getTasks().create("flywayMigrate", FlywayMigrateTask.class);
+        project.getTasks().create("flywayReset", FlywayResetTask.class);
+        project.getTasks().create("flywayBundle", FlywayBundleTask.class);
         project.getTasks().create("flywayValidate", FlywayValidateTask.class);
         project.getTasks().create("flywayInfo", FlywayInfoTask.class);
         project.getTasks().create("flywayRepair", FlywayRepairTask.class);
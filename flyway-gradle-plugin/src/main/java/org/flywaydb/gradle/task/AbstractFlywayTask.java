@@ -218,6 +218,12 @@ abstract class AbstractFlywayTask extends DefaultTask {
      */
     public Boolean cleanDisabled;
 
+    /**
+     * The directory in which reset stores snapshots of migrated schemas.
+     * (default: flyway-snapshots in the system temporary directory)
+     */
+    public String snapshotDir;
+
     /**
      * <p>
      * Whether to automatically call baseline when migrate is executed against a non-empty schema with no metadata table.
@@ -236,6 +242,12 @@ abstract class AbstractFlywayTask extends DefaultTask {
      */
     public Boolean baselineOnMigrate;
 
+    /**
+     * The maximum number of threads to use for loading migrations and calculating their checksums. Values lower than
+     * 2 resolve all migrations on the calling thread. (default: 1)
+     */
+    public Integer resolverThreads;
+
     public AbstractFlywayTask() {
         super();
         setGroup("Flyway");
@@ -305,7 +317,9 @@ abstract class AbstractFlywayTask extends DefaultTask {
         putIfSet(conf, "cleanOnValidationError", cleanOnValidationError, extension.cleanOnValidationError);
         putIfSet(conf, "ignoreFutureMigrations", ignoreFutureMigrations, extension.ignoreFutureMigrations);
         putIfSet(conf, "cleanDisabled", cleanDisabled, extension.cleanDisabled);
+        putIfSet(conf, "snapshotDir", snapshotDir, extension.snapshotDir);
         putIfSet(conf, "baselineOnMigrate", baselineOnMigrate, extension.baselineOnMigrate);
+        putIfSet(conf, "resolverThreads", resolverThreads, extension.resolverThreads);
         putIfSet(conf, "skipDefaultResolvers", skipDefaultResolvers, extension.skipDefaultResolvers);
         putIfSet(conf, "skipDefaultCallbacks", skipDefaultCallbacks, extension.skipDefaultCallbacks);
         putIfSet(conf, "schemas", StringUtils.arrayToCommaDelimitedString(schemas), StringUtils.arrayToCommaDelimitedString(extension.schemas));
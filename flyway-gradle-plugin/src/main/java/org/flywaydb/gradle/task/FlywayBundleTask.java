@@ -0,0 +1,38 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.gradle.task;
+
+import org.flywaydb.core.Flyway;
+import org.gradle.api.plugins.JavaPluginConvention;
+import org.gradle.api.tasks.SourceSet;
+
+public class FlywayBundleTask extends AbstractFlywayTask {
+    public FlywayBundleTask() {
+        super();
+        setDescription("Precompiles the migrations of the main source set for faster startup.");
+    }
+
+    @Override
+    protected Object run(Flyway flyway) {
+        JavaPluginConvention plugin = getProject().getConvention().getPlugin(JavaPluginConvention.class);
+        SourceSet main = plugin.getSourceSets().getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+        int migrations = flyway.bundle(main.getOutput().getResourcesDir());
+        if (!main.getOutput().getResourcesDir().equals(main.getOutput().getClassesDir())) {
+            migrations += flyway.bundle(main.getOutput().getClassesDir());
+        }
+        return migrations;
+    }
+}
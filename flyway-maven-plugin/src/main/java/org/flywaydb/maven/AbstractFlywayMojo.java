@@ -245,6 +245,15 @@ abstract class AbstractFlywayMojo extends AbstractMojo {
      */
     private boolean cleanDisabled;
 
+    /**
+     * The directory in which reset stores snapshots of migrated schemas.
+     * (default: flyway-snapshots in the system temporary directory)
+     * <p>Also configurable with Maven or System Property: ${flyway.snapshotDir}</p>
+     *
+     * @parameter property="flyway.snapshotDir"
+     */
+    private String snapshotDir = flyway.getSnapshotDir();
+
     /**
      * The target version up to which Flyway should consider migrations.
      * Migrations with a higher version number will be ignored.
@@ -372,6 +381,15 @@ abstract class AbstractFlywayMojo extends AbstractMojo {
      */
     private boolean validateOnMigrate = flyway.isValidateOnMigrate();
 
+    /**
+     * The maximum number of threads to use for loading migrations and calculating their checksums. Values lower than
+     * 2 resolve all migrations on the calling thread. (default: 1)<br/>
+     * <p>Also configurable with Maven or System Property: ${flyway.resolverThreads}</p>
+     *
+     * @parameter property="flyway.resolverThreads"
+     */
+    private int resolverThreads = flyway.getResolverThreads();
+
     /**
      * Properties file from which to load the Flyway configuration. The names of the individual properties match the ones you would
      * use as Maven or System properties. The encoding of the file must be the same as the encoding defined with the
@@ -498,6 +516,7 @@ abstract class AbstractFlywayMojo extends AbstractMojo {
             flyway.setSqlMigrationSuffix(sqlMigrationSuffix);
             flyway.setCleanOnValidationError(cleanOnValidationError);
             flyway.setCleanDisabled(cleanDisabled);
+            flyway.setSnapshotDir(snapshotDir);
             flyway.setOutOfOrder(outOfOrder);
             flyway.setTargetAsString(target);
             flyway.setIgnoreFutureMigrations(ignoreFutureMigrations);
@@ -512,6 +531,7 @@ abstract class AbstractFlywayMojo extends AbstractMojo {
                 flyway.setBaselineOnMigrate(baselineOnMigrate);
             }
             flyway.setValidateOnMigrate(validateOnMigrate);
+            flyway.setResolverThreads(resolverThreads);
 
             Properties properties = new Properties();
             properties.putAll(mavenProject.getProperties());
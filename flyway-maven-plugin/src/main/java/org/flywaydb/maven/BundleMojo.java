@@ -0,0 +1,35 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.maven;
+
+import org.flywaydb.core.Flyway;
+
+import java.io.File;
+
+/**
+ * Maven goal that precompiles the migrations of the configured classpath locations in the build output directory, so
+ * they can be resolved at runtime without scanning the classpath. Does not require a database.
+ *
+ * @goal bundle
+ * @phase prepare-package
+ */
+@SuppressWarnings({"JavaDoc", "UnusedDeclaration"})
+public class BundleMojo extends AbstractFlywayMojo {
+    @Override
+    protected void doExecute(Flyway flyway) throws Exception {
+        flyway.bundle(new File(mavenProject.getBuild().getOutputDirectory()));
+    }
+}
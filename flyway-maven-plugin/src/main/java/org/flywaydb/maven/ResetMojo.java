@@ -0,0 +1,33 @@
+/**
+ * Copyright 2010-2016 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.maven;
+
+import org.flywaydb.core.Flyway;
+
+/**
+ * Maven goal that resets the configured schemas to the latest version. A snapshot taken by a previous reset is
+ * restored when the migrations have not changed since, otherwise the schemas are cleaned and migrated and a new
+ * snapshot is taken. Intended for test databases.
+ *
+ * @goal reset
+ */
+@SuppressWarnings({"JavaDoc", "UnusedDeclaration"})
+public class ResetMojo extends AbstractFlywayMojo {
+    @Override
+    protected void doExecute(Flyway flyway) throws Exception {
+        flyway.reset();
+    }
+}